@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.cluster;
+
+import org.apache.dubbo.benchmark.support.BenchmarkInvoker;
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.cluster.loadbalance.ConsistentHashLoadBalance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost of a {@link ConsistentHashLoadBalance} selection while providers are being replaced one at a time, as
+ * during a rolling deploy: every invocation sees an address list that differs from the previous one by a single
+ * provider.
+ */
+@State(Scope.Benchmark)
+public class ConsistentHashBenchmark {
+
+    @Param({"md5", "murmur3"})
+    private String hashFunction;
+
+    @Param({"100", "300"})
+    private int providers;
+
+    private ConsistentHashLoadBalance balancer;
+
+    private List<Invoker<GreetingService>> original;
+
+    private List<Invoker<GreetingService>> replacements;
+
+    private List<Invoker<GreetingService>> invokers;
+
+    private URL consumerUrl;
+
+    private RpcInvocation invocation;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        balancer = new ConsistentHashLoadBalance();
+        original = new ArrayList<>(providers);
+        replacements = new ArrayList<>(providers);
+        for (Invoker<GreetingService> invoker : Providers.create(providers)) {
+            URL url = invoker.getUrl().addParameter(ConsistentHashLoadBalance.HASH_FUNCTION, hashFunction);
+            original.add(new BenchmarkInvoker<>(GreetingService.class, url, "hello"));
+            replacements.add(new BenchmarkInvoker<>(GreetingService.class, url.setPort(url.getPort() + 1), "hello"));
+        }
+        invokers = new ArrayList<>(original);
+        consumerUrl = Providers.consumerUrl();
+        invocation = new RpcInvocation("hello", Providers.SERVICE_NAME, new Class<?>[]{String.class},
+                new Object[]{"world"});
+    }
+
+    @Benchmark
+    public Invoker<GreetingService> selectStable() {
+        return balancer.select(original, consumerUrl, invocation);
+    }
+
+    @Benchmark
+    public Invoker<GreetingService> selectDuringRollingDeploy() {
+        int slot = cursor++ % providers;
+        invokers.set(slot, invokers.get(slot) == original.get(slot) ? replacements.get(slot) : original.get(slot));
+        return balancer.select(invokers, consumerUrl, invocation);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.cluster;
+
+import org.apache.dubbo.benchmark.support.BenchmarkInvoker;
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invoker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.dubbo.common.constants.CommonConstants.REMOTE_APPLICATION_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.TAG_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.WEIGHT_KEY;
+
+/**
+ * Builds provider address lists shared by the cluster benchmarks.
+ */
+final class Providers {
+
+    static final String SERVICE_NAME = GreetingService.class.getName();
+
+    private Providers() {
+    }
+
+    /**
+     * Creates {@code count} providers spread over distinct hosts; every fourth provider carries a "gray" tag and
+     * every other provider a doubled weight, so that routers and weighted balancers have real work to do.
+     */
+    static List<Invoker<GreetingService>> create(int count) {
+        List<Invoker<GreetingService>> invokers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            URL url = new URL("dubbo", "10.0." + (i / 250) + "." + (i % 250 + 1), 20880, SERVICE_NAME)
+                    .addParameter(REMOTE_APPLICATION_KEY, "benchmark-provider")
+                    .addParameter(WEIGHT_KEY, i % 2 == 0 ? 100 : 200);
+            if (i % 4 == 0) {
+                url = url.addParameter(TAG_KEY, "gray");
+            }
+            invokers.add(new BenchmarkInvoker<>(GreetingService.class, url, "hello"));
+        }
+        return invokers;
+    }
+
+    static URL consumerUrl() {
+        return URL.valueOf("consumer://10.1.0.1/" + SERVICE_NAME + "?application=benchmark-consumer&interface="
+                + SERVICE_NAME);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.cluster;
+
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.cluster.Router;
+import org.apache.dubbo.rpc.cluster.RouterChain;
+import org.apache.dubbo.rpc.cluster.router.condition.ConditionRouter;
+import org.apache.dubbo.rpc.cluster.router.mock.MockInvokersSelector;
+import org.apache.dubbo.rpc.cluster.router.tag.TagRouter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.dubbo.rpc.cluster.Constants.ROUTER_CACHE_KEY;
+
+/**
+ * Cost of a single {@link RouterChain#route(URL, org.apache.dubbo.rpc.Invocation)} call over a mock, a tag and a
+ * condition router, with and without the route cache.
+ */
+@State(Scope.Benchmark)
+public class RouterChainBenchmark {
+
+    @Param({"100", "1000"})
+    private int providers;
+
+    @Param({"false", "true"})
+    private boolean routeCache;
+
+    private RouterChain<GreetingService> routerChain;
+
+    private URL consumerUrl;
+
+    private RpcInvocation invocation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        consumerUrl = Providers.consumerUrl().addParameter(ROUTER_CACHE_KEY, routeCache);
+        List<Router> routers = Arrays.asList(
+                new MockInvokersSelector(),
+                new TagRouter(consumerUrl),
+                new ConditionRouter("method = hello => host != 10.0.0.1", false, true));
+        routerChain = RouterChain.buildChain(consumerUrl);
+        routerChain.initWithRouters(routers);
+        routerChain.setInvokers(Providers.create(providers));
+
+        invocation = new RpcInvocation("hello", Providers.SERVICE_NAME, new Class<?>[]{String.class},
+                new Object[]{"world"});
+    }
+
+    @Benchmark
+    public List<Invoker<GreetingService>> route() {
+        return routerChain.route(consumerUrl, invocation);
+    }
+}
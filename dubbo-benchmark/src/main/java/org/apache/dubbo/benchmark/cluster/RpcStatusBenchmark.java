@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.cluster;
+
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.RpcStatus;
+import org.apache.dubbo.rpc.cluster.LoadBalance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RpcStatus} bookkeeping as done by the limit filters, and the selection cost of the balancers reading it
+ * while other threads keep counting calls.
+ */
+@State(Scope.Group)
+public class RpcStatusBenchmark {
+
+    @Param({"leastactive", "shortestresponse"})
+    private String loadBalance;
+
+    @Param({"500"})
+    private int providers;
+
+    private LoadBalance balancer;
+
+    private List<Invoker<GreetingService>> invokers;
+
+    private URL consumerUrl;
+
+    private RpcInvocation invocation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        balancer = ExtensionLoader.getExtensionLoader(LoadBalance.class).getExtension(loadBalance);
+        invokers = Providers.create(providers);
+        consumerUrl = Providers.consumerUrl();
+        invocation = new RpcInvocation("hello", Providers.SERVICE_NAME, new Class<?>[]{String.class},
+                new Object[]{"world"});
+    }
+
+    @Benchmark
+    @Group("counting")
+    @GroupThreads(3)
+    public boolean count() {
+        URL url = invokers.get(ThreadLocalRandom.current().nextInt(providers)).getUrl();
+        boolean began = RpcStatus.beginCount(url, "hello", Integer.MAX_VALUE);
+        RpcStatus.endCount(url, "hello", 1, true);
+        return began;
+    }
+
+    @Benchmark
+    @Group("counting")
+    @GroupThreads(1)
+    public Invoker<GreetingService> select() {
+        return balancer.select(invokers, consumerUrl, invocation);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.codec;
+
+import org.apache.dubbo.benchmark.support.BenchmarkChannel;
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.Version;
+import org.apache.dubbo.common.io.UnsafeByteArrayInputStream;
+import org.apache.dubbo.remoting.buffer.ChannelBuffer;
+import org.apache.dubbo.remoting.buffer.ChannelBuffers;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.model.ApplicationModel;
+import org.apache.dubbo.rpc.protocol.dubbo.DecodeableRpcInvocation;
+import org.apache.dubbo.rpc.protocol.dubbo.DubboCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+
+/**
+ * Cost of {@link DecodeableRpcInvocation#decode()} over an already framed request body, i.e. the work done on the
+ * business thread when {@code decode.in.io=false}.
+ */
+@State(Scope.Thread)
+public class DecodeableRpcInvocationBenchmark {
+
+    private static final int HEADER_LENGTH = 16;
+
+    @Param({"16", "1024", "65536"})
+    private int payloadSize;
+
+    private BenchmarkChannel channel;
+
+    private byte[] body;
+
+    private byte serializationId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ApplicationModel.getServiceRepository().registerService(GreetingService.class);
+        channel = new BenchmarkChannel(URL.valueOf("dubbo://127.0.0.1:20880/" + GreetingService.class.getName()));
+
+        byte[] payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'd');
+        RpcInvocation invocation = new RpcInvocation("echo", GreetingService.class.getName(),
+                new Class<?>[]{byte[].class}, new Object[]{payload});
+        invocation.setAttachment(PATH_KEY, GreetingService.class.getName());
+        invocation.setAttachment(VERSION_KEY, "0.0.0");
+        Request request = new Request(1L);
+        request.setVersion(Version.getProtocolVersion());
+        request.setTwoWay(true);
+        request.setData(invocation);
+
+        ChannelBuffer buffer = ChannelBuffers.dynamicBuffer(payloadSize + 1024);
+        new DubboCodec().encode(channel, buffer, request);
+        byte[] header = new byte[HEADER_LENGTH];
+        buffer.readBytes(header);
+        serializationId = (byte) (header[2] & 0x1f);
+        body = new byte[buffer.readableBytes()];
+        buffer.readBytes(body);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ApplicationModel.getServiceRepository().unregisterService(GreetingService.class);
+    }
+
+    @Benchmark
+    public DecodeableRpcInvocation decode() throws Exception {
+        DecodeableRpcInvocation invocation = new DecodeableRpcInvocation(channel, new Request(1L),
+                new UnsafeByteArrayInputStream(body), serializationId);
+        invocation.decode();
+        return invocation;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.codec;
+
+import org.apache.dubbo.benchmark.support.BenchmarkChannel;
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.Version;
+import org.apache.dubbo.remoting.buffer.ChannelBuffer;
+import org.apache.dubbo.remoting.buffer.ChannelBuffers;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.exchange.Response;
+import org.apache.dubbo.rpc.AppResponse;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.model.ApplicationModel;
+import org.apache.dubbo.rpc.protocol.dubbo.DubboCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DECODE_IN_IO_THREAD_KEY;
+
+/**
+ * Encode/decode cost of {@link DubboCodec} (and the {@link org.apache.dubbo.remoting.exchange.codec.ExchangeCodec}
+ * header handling underneath) for requests and responses carrying a byte[] payload.
+ */
+@State(Scope.Thread)
+public class ExchangeCodecBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    private int payloadSize;
+
+    private DubboCodec codec;
+
+    private BenchmarkChannel channel;
+
+    private ChannelBuffer encodeBuffer;
+
+    private Request request;
+
+    private Response response;
+
+    private byte[] encodedRequest;
+
+    private byte[] encodedResponse;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ApplicationModel.getServiceRepository().registerService(GreetingService.class);
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/" + GreetingService.class.getName())
+                .addParameter(DECODE_IN_IO_THREAD_KEY, true);
+        codec = new DubboCodec();
+        channel = new BenchmarkChannel(url);
+        encodeBuffer = ChannelBuffers.dynamicBuffer(payloadSize + 1024);
+
+        byte[] payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'd');
+
+        RpcInvocation invocation = new RpcInvocation("echo", GreetingService.class.getName(),
+                new Class<?>[]{byte[].class}, new Object[]{payload});
+        invocation.setAttachment(PATH_KEY, GreetingService.class.getName());
+        invocation.setAttachment(VERSION_KEY, "0.0.0");
+        request = new Request(1L);
+        request.setVersion(Version.getProtocolVersion());
+        request.setTwoWay(true);
+        request.setData(invocation);
+
+        response = new Response(1L, Version.getProtocolVersion());
+        response.setResult(new AppResponse(payload));
+
+        encodedRequest = encode(request);
+        encodedResponse = encode(response);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ApplicationModel.getServiceRepository().unregisterService(GreetingService.class);
+    }
+
+    private byte[] encode(Object message) throws IOException {
+        ChannelBuffer buffer = ChannelBuffers.dynamicBuffer(payloadSize + 1024);
+        codec.encode(channel, buffer, message);
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public ChannelBuffer encodeRequest() throws IOException {
+        encodeBuffer.clear();
+        codec.encode(channel, encodeBuffer, request);
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public ChannelBuffer encodeResponse() throws IOException {
+        encodeBuffer.clear();
+        codec.encode(channel, encodeBuffer, response);
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public Object decodeRequest() throws IOException {
+        return codec.decode(channel, ChannelBuffers.wrappedBuffer(encodedRequest));
+    }
+
+    @Benchmark
+    public Object decodeResponse() throws IOException {
+        return codec.decode(channel, ChannelBuffers.wrappedBuffer(encodedResponse));
+    }
+}
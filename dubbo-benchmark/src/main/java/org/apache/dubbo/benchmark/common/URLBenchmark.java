@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.common;
+
+import org.apache.dubbo.common.URL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parameter accessors and copies of {@link URL} on a provider url as a registry pushes it, with the compact
+ * parameters of this class and, in {@link HashMapParameters}, with the HashMap per url they replace.
+ */
+@State(Scope.Benchmark)
+public class URLBenchmark {
+
+    private static final String PROVIDER_URL = "dubbo://192.168.1.41:20880/org.apache.dubbo.demo.DemoService"
+            + "?anyhost=true&application=demo-provider&deprecated=false&dubbo=2.0.2&dynamic=true&generic=false"
+            + "&interface=org.apache.dubbo.demo.DemoService&methods=sayHello,sayHelloAsync,sayGoodbye"
+            + "&pid=65557&release=2.7.7&revision=1.0.0&sayHello.timeout=1000&sayHello.retries=0"
+            + "&side=provider&timeout=3000&threads=200&timestamp=1583136298859&version=1.0.0&group=demo"
+            + "&weight=100&warmup=600000&token=false&serialization=hessian2&loadbalance=random";
+
+    private URL url;
+
+    private Map<String, String> consumerParameters;
+
+    @Setup
+    public void setup() {
+        url = URL.valueOf(PROVIDER_URL);
+        consumerParameters = new HashMap<>();
+        consumerParameters.put("check", "false");
+        consumerParameters.put("timeout", "5000");
+        consumerParameters.put("application", "demo-consumer");
+        consumerParameters.put("side", "consumer");
+    }
+
+    @Benchmark
+    public String getParameter() {
+        return url.getParameter("timeout");
+    }
+
+    @Benchmark
+    public String getMethodParameter() {
+        return url.getMethodParameter("sayHello", "timeout");
+    }
+
+    @Benchmark
+    public URL addParameters() {
+        return url.addParameters(consumerParameters);
+    }
+
+    /**
+     * On a copy of the url, as the string of the url itself is cached after the first call.
+     */
+    @Benchmark
+    public String toFullString() {
+        return url.setPath(url.getPath()).toFullString();
+    }
+
+    @Fork(jvmArgsAppend = "-Ddubbo.url.compact=false")
+    public static class HashMapParameters extends URLBenchmark {
+    }
+}
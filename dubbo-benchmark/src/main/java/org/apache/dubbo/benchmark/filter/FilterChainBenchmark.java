@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.filter;
+
+import org.apache.dubbo.benchmark.support.BenchmarkInvoker;
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Exporter;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Protocol;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcContext;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.model.ApplicationModel;
+import org.apache.dubbo.rpc.protocol.AbstractExporter;
+import org.apache.dubbo.rpc.protocol.ProtocolFilterWrapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Traversal cost of the provider and consumer filter chains built by {@link ProtocolFilterWrapper}, with an
+ * invoker at the end of the chain that returns immediately.
+ */
+@State(Scope.Thread)
+public class FilterChainBenchmark {
+
+    private Invoker<GreetingService> providerChain;
+
+    private Invoker<GreetingService> consumerChain;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ApplicationModel.getServiceRepository().registerService(GreetingService.class);
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/" + GreetingService.class.getName()
+                + "?interface=" + GreetingService.class.getName());
+        ProtocolFilterWrapper wrapper = new ProtocolFilterWrapper(new DirectProtocol());
+        providerChain = wrapper.export(new BenchmarkInvoker<>(GreetingService.class, url, "hello")).getInvoker();
+        consumerChain = wrapper.refer(GreetingService.class, url);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ApplicationModel.getServiceRepository().unregisterService(GreetingService.class);
+    }
+
+    @Benchmark
+    public Object providerFilters() {
+        return invoke(providerChain);
+    }
+
+    @Benchmark
+    public Object consumerFilters() {
+        return invoke(consumerChain);
+    }
+
+    private Object invoke(Invoker<GreetingService> chain) {
+        RpcInvocation invocation = new RpcInvocation("hello", GreetingService.class.getName(),
+                new Class<?>[]{String.class}, new Object[]{"world"});
+        invocation.setInvoker(chain);
+        try {
+            Result result = chain.invoke(invocation);
+            return result.getValue();
+        } finally {
+            RpcContext.removeContext();
+        }
+    }
+
+    /**
+     * Protocol that hands back the invoker it was given, so that only the wrapping filters are measured.
+     */
+    private static class DirectProtocol implements Protocol {
+
+        @Override
+        public int getDefaultPort() {
+            return 20880;
+        }
+
+        @Override
+        public <T> Exporter<T> export(Invoker<T> invoker) throws RpcException {
+            return new AbstractExporter<T>(invoker) {
+            };
+        }
+
+        @Override
+        public <T> Invoker<T> refer(Class<T> type, URL url) throws RpcException {
+            return new BenchmarkInvoker<>(type, url, "hello");
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.protocol;
+
+import org.apache.dubbo.benchmark.support.GreetingService;
+import org.apache.dubbo.benchmark.support.GreetingServiceImpl;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.utils.NetUtils;
+import org.apache.dubbo.rpc.Exporter;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Protocol;
+import org.apache.dubbo.rpc.ProxyFactory;
+import org.apache.dubbo.rpc.model.ApplicationModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+
+import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
+import static org.apache.dubbo.remoting.Constants.CLIENT_KEY;
+import static org.apache.dubbo.remoting.Constants.SERVER_KEY;
+
+/**
+ * Loopback round trip through {@code DubboProtocol}: consumer proxy, filters, codec, netty4 client and server,
+ * provider dispatch and back.
+ */
+@State(Scope.Benchmark)
+public class DubboProtocolBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    private int payloadSize;
+
+    private Exporter<GreetingService> exporter;
+
+    private Invoker<GreetingService> invoker;
+
+    private GreetingService service;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ApplicationModel.getServiceRepository().registerService(GreetingService.class);
+        Protocol protocol = ExtensionLoader.getExtensionLoader(Protocol.class).getExtension("dubbo");
+        ProxyFactory proxyFactory = ExtensionLoader.getExtensionLoader(ProxyFactory.class).getAdaptiveExtension();
+
+        int port = NetUtils.getAvailablePort();
+        URL url = URL.valueOf("dubbo://127.0.0.1:" + port + "/" + GreetingService.class.getName())
+                .addParameter(SERVER_KEY, "netty4")
+                .addParameter(CLIENT_KEY, "netty4")
+                .addParameter(TIMEOUT_KEY, 3000);
+        exporter = protocol.export(proxyFactory.getInvoker(new GreetingServiceImpl(), GreetingService.class, url));
+        invoker = protocol.refer(GreetingService.class, url);
+        service = proxyFactory.getProxy(invoker);
+
+        payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'd');
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        invoker.destroy();
+        exporter.unexport();
+        ExtensionLoader.getExtensionLoader(Protocol.class).getExtension("dubbo").destroy();
+        ApplicationModel.getServiceRepository().unregisterService(GreetingService.class);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() {
+        return service.echo(payload);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.support;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.remoting.Channel;
+import org.apache.dubbo.remoting.ChannelHandler;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link Channel} handed to codecs, so that encode/decode can be measured without any socket.
+ */
+public class BenchmarkChannel implements Channel {
+
+    private static final InetSocketAddress LOCAL_ADDRESS = new InetSocketAddress("127.0.0.1", 20880);
+
+    private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("127.0.0.1", 30880);
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    private final URL url;
+
+    public BenchmarkChannel(URL url) {
+        this.url = url;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return REMOTE_ADDRESS;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public boolean hasAttribute(String key) {
+        return attributes.containsKey(key);
+    }
+
+    @Override
+    public Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    @Override
+    public void setAttribute(String key, Object value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String key) {
+        attributes.remove(key);
+    }
+
+    @Override
+    public URL getUrl() {
+        return url;
+    }
+
+    @Override
+    public ChannelHandler getChannelHandler() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return LOCAL_ADDRESS;
+    }
+
+    @Override
+    public void send(Object message) {
+    }
+
+    @Override
+    public void send(Object message, boolean sent) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(int timeout) {
+    }
+
+    @Override
+    public void startClose() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+}
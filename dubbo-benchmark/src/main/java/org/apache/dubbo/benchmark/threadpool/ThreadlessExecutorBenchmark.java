@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.benchmark.threadpool;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.ThreadlessExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_WAIT_KEY;
+
+/**
+ * Round trip of a synchronous call through {@link ThreadlessExecutor}: the benchmark thread waits in
+ * {@link ThreadlessExecutor#waitAndDrain()} while a responder thread, standing in for the IO thread, delivers the
+ * response as soon as it sees the call. Compares the blocking wait with the spin-then-park wait; meant to be run
+ * with a single benchmark thread.
+ */
+@State(Scope.Benchmark)
+public class ThreadlessExecutorBenchmark {
+
+    private static final Runnable RESPONSE = () -> {
+    };
+
+    @Param({"block", "spin"})
+    private String wait;
+
+    private URL url;
+
+    private ExecutorService sharedExecutor;
+
+    private final AtomicReference<ThreadlessExecutor> pending = new AtomicReference<>();
+
+    private volatile boolean running;
+
+    private Thread responder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        url = URL.valueOf("dubbo://127.0.0.1:20880/DemoService").addParameter(THREADLESS_WAIT_KEY, wait);
+        sharedExecutor = Executors.newSingleThreadExecutor();
+        running = true;
+        responder = new Thread(() -> {
+            while (running) {
+                ThreadlessExecutor executor = pending.getAndSet(null);
+                if (executor != null) {
+                    executor.execute(RESPONSE);
+                }
+            }
+        }, "benchmark-responder");
+        responder.setDaemon(true);
+        responder.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        responder.join();
+        sharedExecutor.shutdown();
+    }
+
+    @Benchmark
+    public ThreadlessExecutor roundTrip() throws InterruptedException {
+        ThreadlessExecutor executor = new ThreadlessExecutor(sharedExecutor, url);
+        pending.set(executor);
+        executor.waitAndDrain();
+        return executor;
+    }
+}
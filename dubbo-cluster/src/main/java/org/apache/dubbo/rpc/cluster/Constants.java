@@ -91,6 +91,19 @@ public interface Constants {
      * key for router type, for e.g., "script"/"file",  corresponding to ScriptRouterFactory.NAME, FileRouterFactory.NAME
      */
     String ROUTER_KEY = "router";
+
+    /**
+     * To decide whether to serve routing results of cacheable routers from per-router address pools, which are only
+     * recomputed when addresses or routing rules change
+     */
+    String ROUTER_CACHE_KEY = "router.cache";
+
+    /**
+     * The default value of router.cache
+     *
+     * @see #ROUTER_CACHE_KEY
+     */
+    boolean DEFAULT_ROUTER_CACHE = false;
     /**
      * The key name for reference URL in register center
      */
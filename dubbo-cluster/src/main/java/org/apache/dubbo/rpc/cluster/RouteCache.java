@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.cluster.router.CacheableRouter;
+import org.apache.dubbo.rpc.cluster.router.RouteCacheStatistics;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Route results of one address list, kept per router stage.
+ * <p>
+ * The result of stage {@code i} is cached under the identity of its input list, which is the cached result of stage
+ * {@code i - 1}, and the route key of the router. A router that is not a {@link CacheableRouter}, or that returns no
+ * route key, produces a fresh list, so it and every router after it run uncached for that invocation.
+ * A new instance is built whenever the address list or the routers change.
+ */
+final class RouteCache<T> {
+
+    /**
+     * upper bound of cached results per router, in case a route key has unexpectedly many values
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final List<Invoker<T>> invokers;
+
+    private final Stage[] stages;
+
+    // the consumer url the cached results are computed against
+    private volatile URL consumerUrl;
+
+    RouteCache(List<Invoker<T>> invokers, List<Router> routers, List<RouteCacheStatistics> statistics) {
+        this.invokers = invokers;
+        this.stages = new Stage[routers.size()];
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new Stage(routers.get(i), statistics.get(i));
+        }
+    }
+
+    List<Invoker<T>> route(URL url, Invocation invocation) {
+        URL boundUrl = consumerUrl;
+        if (url != boundUrl && !url.equals(boundUrl)) {
+            // the consumer url has changed, e.g. overridden by a configurator
+            for (Stage stage : stages) {
+                stage.entries.clear();
+            }
+            consumerUrl = url;
+            boundUrl = url;
+        }
+        boolean cacheable = true;
+        List<Invoker<T>> result = invokers;
+        for (int i = 0; i < stages.length; i++) {
+            Stage stage = stages[i];
+            Object key = cacheable && stage.cacheableRouter != null
+                    ? stage.cacheableRouter.getRouteKey(url, invocation) : null;
+            if (key == null) {
+                cacheable = false;
+                stage.statistics.bypass();
+                result = RouterChain.route(stage.router, result, url, invocation);
+                continue;
+            }
+
+            // read the version before routing, a rule changing meanwhile only leads to one more miss
+            long version = stage.cacheableRouter.getRuleVersion();
+            StageKey stageKey = new StageKey(result, key);
+            Entry entry = stage.entries.get(stageKey);
+            if (entry != null && entry.version == version && entry.consumerUrl == boundUrl) {
+                stage.statistics.hit();
+                result = entry.result();
+                continue;
+            }
+            if (entry != null && entry.version != version) {
+                // the rule has changed, results of this and the following stages are keyed by outdated lists
+                for (int j = i; j < stages.length; j++) {
+                    stages[j].entries.clear();
+                }
+            }
+            stage.statistics.miss();
+            result = RouterChain.route(stage.router, result, url, invocation);
+            if (stage.entries.size() < MAX_ENTRIES) {
+                stage.entries.put(stageKey, new Entry(version, boundUrl, result));
+            }
+        }
+        return result;
+    }
+
+    private static final class Stage {
+
+        private final Router router;
+
+        private final CacheableRouter cacheableRouter;
+
+        private final RouteCacheStatistics statistics;
+
+        private final ConcurrentMap<StageKey, Entry> entries = new ConcurrentHashMap<>();
+
+        Stage(Router router, RouteCacheStatistics statistics) {
+            this.router = router;
+            this.cacheableRouter = router instanceof CacheableRouter ? (CacheableRouter) router : null;
+            this.statistics = statistics;
+        }
+    }
+
+    private static final class StageKey {
+
+        private final List<?> input;
+
+        private final Object key;
+
+        private final int hash;
+
+        StageKey(List<?> input, Object key) {
+            this.input = input;
+            this.key = key;
+            this.hash = 31 * System.identityHashCode(input) + key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StageKey)) {
+                return false;
+            }
+            StageKey other = (StageKey) o;
+            return input == other.input && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+
+        private final URL consumerUrl;
+
+        // may be null, some routers return null instead of an empty list
+        private final List<?> result;
+
+        Entry(long version, URL consumerUrl, List<?> result) {
+            this.version = version;
+            this.consumerUrl = consumerUrl;
+            this.result = result;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<Invoker<T>> result() {
+            return (List<Invoker<T>>) result;
+        }
+    }
+}
@@ -65,6 +65,19 @@ public interface Router extends Comparable<Router> {
 
     }
 
+    /**
+     * Notify the router the invoker list after some invokers were added or removed. Routers keeping state per invoker
+     * may update just that state, by default the router is notified of the whole list as in {@link #notify(List)}.
+     *
+     * @param invokers invoker list
+     * @param added    invokers which were not in the previous list
+     * @param removed  invokers of the previous list which are gone
+     * @param <T>      invoker's type
+     */
+    default <T> void notify(List<Invoker<T>> invokers, List<Invoker<T>> added, List<Invoker<T>> removed) {
+        notify(invokers);
+    }
+
     /**
      * To decide whether this router need to execute every time an RPC comes or should only execute when addresses or
      * rule change.
@@ -21,19 +21,26 @@ import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.cluster.router.BitList;
+import org.apache.dubbo.rpc.cluster.router.RouteCacheStatistics;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_ROUTER_CACHE;
+import static org.apache.dubbo.rpc.cluster.Constants.ROUTER_CACHE_KEY;
+
 /**
  * Router chain
  */
 public class RouterChain<T> {
 
-    // full list of addresses from registry, classified by method name.
-    private List<Invoker<T>> invokers = Collections.emptyList();
+    // full list of addresses from registry, classified by method name. Routers narrow it down as bitmaps.
+    private BitList<Invoker<T>> invokers = new BitList<>(Collections.emptyList());
 
     // containing all routers, reconstruct every time 'route://' urls change.
     private volatile List<Router> routers = Collections.emptyList();
@@ -42,11 +49,20 @@ public class RouterChain<T> {
     // instance will never delete or recreate.
     private List<Router> builtinRouters = Collections.emptyList();
 
+    private final URL url;
+
+    // route results of cacheable routers, null if 'router.cache' is not enabled.
+    private volatile RouteCache<T> routeCache;
+
+    // statistics survive the rebuild of the route cache, keyed by router instance.
+    private final Map<Router, RouteCacheStatistics> routeCacheStatistics = new IdentityHashMap<>();
+
     public static <T> RouterChain<T> buildChain(URL url) {
         return new RouterChain<>(url);
     }
 
     private RouterChain(URL url) {
+        this.url = url;
         List<RouterFactory> extensionFactories = ExtensionLoader.getExtensionLoader(RouterFactory.class)
                 .getActivateExtension(url, "router");
 
@@ -65,6 +81,7 @@ public class RouterChain<T> {
         this.builtinRouters = builtinRouters;
         this.routers = new ArrayList<>(builtinRouters);
         this.sort();
+        this.rebuildRouteCache();
     }
 
     /**
@@ -81,6 +98,7 @@ public class RouterChain<T> {
         newRouters.addAll(routers);
         CollectionUtils.sort(newRouters);
         this.routers = newRouters;
+        this.rebuildRouteCache();
     }
 
     private void sort() {
@@ -94,19 +112,81 @@ public class RouterChain<T> {
      * @return
      */
     public List<Invoker<T>> route(URL url, Invocation invocation) {
+        RouteCache<T> cache = routeCache;
+        if (cache != null) {
+            return cache.route(url, invocation);
+        }
         List<Invoker<T>> finalInvokers = invokers;
         for (Router router : routers) {
-            finalInvokers = router.route(finalInvokers, url, invocation);
+            finalInvokers = route(router, finalInvokers, url, invocation);
         }
         return finalInvokers;
     }
 
+    /**
+     * Runs one router. Routers unaware of {@link BitList} return a plain list, it is converted back into a bitmap of
+     * the same addresses so that the following routers still work on bitmaps.
+     */
+    static <T> List<Invoker<T>> route(Router router, List<Invoker<T>> invokers, URL url, Invocation invocation) {
+        List<Invoker<T>> result = router.route(invokers, url, invocation);
+        if (result == null || result instanceof BitList || !(invokers instanceof BitList)) {
+            return result;
+        }
+        BitList<Invoker<T>> bits = ((BitList<Invoker<T>>) invokers).subsetOf(result);
+        return bits != null ? bits : result;
+    }
+
     /**
      * Notify router chain of the initial addresses from registry at the first time.
      * Notify whenever addresses in registry change.
      */
     public void setInvokers(List<Invoker<T>> invokers) {
-        this.invokers = (invokers == null ? Collections.emptyList() : invokers);
+        this.invokers = new BitList<>(invokers == null ? Collections.emptyList() : invokers);
         routers.forEach(router -> router.notify(this.invokers));
+        this.rebuildRouteCache();
+    }
+
+    /**
+     * Notify router chain of the addresses after some of them were added or removed, routers which are able to may
+     * update their state from just the changed invokers.
+     *
+     * @param invokers the full list of addresses
+     * @param added    invokers in the list which were not in the previous one
+     * @param removed  invokers of the previous list which are gone
+     */
+    public void setInvokers(List<Invoker<T>> invokers, List<Invoker<T>> added, List<Invoker<T>> removed) {
+        this.invokers = new BitList<>(invokers == null ? Collections.emptyList() : invokers);
+        routers.forEach(router -> router.notify(this.invokers, added, removed));
+        this.rebuildRouteCache();
+    }
+
+    /**
+     * @return route cache statistics of the current routers, in routing order; empty if 'router.cache' is not
+     * enabled on the consumer url
+     */
+    public List<RouteCacheStatistics> getRouteCacheStatistics() {
+        if (routeCache == null) {
+            return Collections.emptyList();
+        }
+        return statisticsOf(routers);
+    }
+
+    private void rebuildRouteCache() {
+        if (url == null || !url.getParameter(ROUTER_CACHE_KEY, DEFAULT_ROUTER_CACHE)) {
+            return;
+        }
+        List<Router> currentRouters = routers;
+        this.routeCache = new RouteCache<>(invokers, currentRouters, statisticsOf(currentRouters));
+    }
+
+    private List<RouteCacheStatistics> statisticsOf(List<Router> routers) {
+        synchronized (routeCacheStatistics) {
+            List<RouteCacheStatistics> statistics = new ArrayList<>(routers.size());
+            for (Router router : routers) {
+                statistics.add(routeCacheStatistics.computeIfAbsent(router,
+                        r -> new RouteCacheStatistics(r.getClass().getSimpleName())));
+            }
+            return statistics;
+        }
     }
 }
@@ -24,9 +24,10 @@ import org.apache.dubbo.rpc.support.RpcUtils;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -48,6 +49,12 @@ public class ConsistentHashLoadBalance extends AbstractLoadBalance {
      */
     public static final String HASH_ARGUMENTS = "hash.arguments";
 
+    /**
+     * Hash function name, <code>md5</code> (default) or the faster non-cryptographic <code>murmur3</code>.
+     * Both sides of a migration must agree, since the two functions place virtual nodes differently.
+     */
+    public static final String HASH_FUNCTION = "hash.function";
+
     private final ConcurrentMap<String, ConsistentHashSelector<?>> selectors = new ConcurrentHashMap<String, ConsistentHashSelector<?>>();
 
     @SuppressWarnings("unchecked")
@@ -59,48 +66,164 @@ public class ConsistentHashLoadBalance extends AbstractLoadBalance {
         int invokersHashCode = invokers.hashCode();
         ConsistentHashSelector<T> selector = (ConsistentHashSelector<T>) selectors.get(key);
         if (selector == null || selector.identityHashCode != invokersHashCode) {
-            selectors.put(key, new ConsistentHashSelector<T>(invokers, methodName, invokersHashCode));
-            selector = (ConsistentHashSelector<T>) selectors.get(key);
+            // only the virtual nodes of added or removed invokers are touched, the rest of the ring is reused
+            selector = new ConsistentHashSelector<T>(invokers, methodName, invokersHashCode, selector);
+            selectors.put(key, selector);
         }
         return selector.select(invocation);
     }
 
+    /**
+     * An immutable ring: the sorted virtual node positions live in <code>points</code> and the
+     * index of the owning invoker in <code>owners</code>, so a lookup is a single binary search.
+     */
     private static final class ConsistentHashSelector<T> {
 
-        private final TreeMap<Long, Invoker<T>> virtualInvokers;
+        private static final long[] EMPTY_POINTS = new long[0];
+
+        private static final int[] EMPTY_OWNERS = new int[0];
 
         private final int replicaNumber;
 
+        private final String arguments;
+
+        private final HashFunction hashFunction;
+
         private final int identityHashCode;
 
         private final int[] argumentIndex;
 
-        ConsistentHashSelector(List<Invoker<T>> invokers, String methodName, int identityHashCode) {
-            this.virtualInvokers = new TreeMap<Long, Invoker<T>>();
+        private final Invoker<T>[] invokers;
+
+        private final long[] points;
+
+        private final int[] owners;
+
+        @SuppressWarnings("unchecked")
+        ConsistentHashSelector(List<Invoker<T>> invokers, String methodName, int identityHashCode,
+                               ConsistentHashSelector<T> previous) {
             this.identityHashCode = identityHashCode;
             URL url = invokers.get(0).getUrl();
             this.replicaNumber = url.getMethodParameter(methodName, HASH_NODES, 160);
-            String[] index = COMMA_SPLIT_PATTERN.split(url.getMethodParameter(methodName, HASH_ARGUMENTS, "0"));
+            this.arguments = url.getMethodParameter(methodName, HASH_ARGUMENTS, "0");
+            this.hashFunction = HashFunction.of(url.getMethodParameter(methodName, HASH_FUNCTION, HashFunction.MD5.value));
+            String[] index = COMMA_SPLIT_PATTERN.split(arguments);
             argumentIndex = new int[index.length];
             for (int i = 0; i < index.length; i++) {
                 argumentIndex[i] = Integer.parseInt(index[i]);
             }
+            if (previous != null && !previous.isCompatible(this)) {
+                previous = null;
+            }
+
+            Map<Invoker<T>, Integer> positions = new HashMap<Invoker<T>, Integer>(invokers.size() * 4 / 3 + 1);
             for (Invoker<T> invoker : invokers) {
-                String address = invoker.getUrl().getAddress();
-                for (int i = 0; i < replicaNumber / 4; i++) {
-                    byte[] digest = md5(address + i);
-                    for (int h = 0; h < 4; h++) {
-                        long m = hash(digest, h);
-                        virtualInvokers.put(m, invoker);
+                if (!positions.containsKey(invoker)) {
+                    positions.put(invoker, positions.size());
+                }
+            }
+            this.invokers = new Invoker[positions.size()];
+            for (Map.Entry<Invoker<T>, Integer> entry : positions.entrySet()) {
+                this.invokers[entry.getValue()] = entry.getKey();
+            }
+
+            long[] oldPoints = EMPTY_POINTS;
+            int[] oldOwners = EMPTY_OWNERS;
+            int[] remap = EMPTY_OWNERS;
+            boolean[] retained = new boolean[this.invokers.length];
+            if (previous != null) {
+                oldPoints = previous.points;
+                oldOwners = previous.owners;
+                remap = new int[previous.invokers.length];
+                for (int i = 0; i < remap.length; i++) {
+                    Integer position = positions.get(previous.invokers[i]);
+                    remap[i] = position == null ? -1 : position;
+                    if (position != null) {
+                        retained[position] = true;
                     }
                 }
             }
+
+            long[] added = virtualNodes(retained);
+            int size = added.length;
+            for (int owner : oldOwners) {
+                if (remap[owner] >= 0) {
+                    size++;
+                }
+            }
+            this.points = new long[size];
+            this.owners = new int[size];
+            // merge the surviving part of the previous ring with the sorted nodes of the added invokers
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < size; k++) {
+                while (i < oldPoints.length && remap[oldOwners[i]] < 0) {
+                    i++;
+                }
+                if (j >= added.length || (i < oldPoints.length && oldPoints[i] <= pointOf(added[j]))) {
+                    points[k] = oldPoints[i];
+                    owners[k] = remap[oldOwners[i]];
+                    i++;
+                } else {
+                    points[k] = pointOf(added[j]);
+                    owners[k] = ownerOf(added[j]);
+                    j++;
+                }
+            }
+        }
+
+        /**
+         * Virtual nodes of every invoker not carried over from the previous ring, each packed as
+         * <code>point &lt;&lt; 32 | owner</code> and sorted by point.
+         */
+        private long[] virtualNodes(boolean[] retained) {
+            int count = 0;
+            for (boolean r : retained) {
+                if (!r) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return EMPTY_POINTS;
+            }
+            int perInvoker = hashFunction.nodes(replicaNumber);
+            long[] nodes = new long[count * perInvoker];
+            long[] buffer = new long[perInvoker];
+            int n = 0;
+            for (int owner = 0; owner < invokers.length; owner++) {
+                if (retained[owner]) {
+                    continue;
+                }
+                hashFunction.fill(invokers[owner].getUrl().getAddress(), buffer);
+                for (long point : buffer) {
+                    // flip the sign bit so that signed sorting orders the unsigned packed values
+                    nodes[n++] = ((point << 32) | owner) ^ Long.MIN_VALUE;
+                }
+            }
+            Arrays.sort(nodes);
+            for (int k = 0; k < nodes.length; k++) {
+                nodes[k] ^= Long.MIN_VALUE;
+            }
+            return nodes;
+        }
+
+        private static long pointOf(long node) {
+            return node >>> 32;
+        }
+
+        private static int ownerOf(long node) {
+            return (int) node;
+        }
+
+        private boolean isCompatible(ConsistentHashSelector<T> other) {
+            return replicaNumber == other.replicaNumber
+                    && hashFunction == other.hashFunction
+                    && arguments.equals(other.arguments);
         }
 
         public Invoker<T> select(Invocation invocation) {
             String key = toKey(invocation.getArguments());
-            byte[] digest = md5(key);
-            return selectForKey(hash(digest, 0));
+            return selectForKey(hashFunction.hash(key));
         }
 
         private String toKey(Object[] args) {
@@ -114,34 +237,151 @@ public class ConsistentHashLoadBalance extends AbstractLoadBalance {
         }
 
         private Invoker<T> selectForKey(long hash) {
-            Map.Entry<Long, Invoker<T>> entry = virtualInvokers.ceilingEntry(hash);
-            if (entry == null) {
-                entry = virtualInvokers.firstEntry();
+            if (points.length == 0) {
+                return invokers[0];
+            }
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+                if (index == points.length) {
+                    index = 0;
+                }
             }
-            return entry.getValue();
+            return invokers[owners[index]];
         }
 
-        private long hash(byte[] digest, int number) {
-            return (((long) (digest[3 + number * 4] & 0xFF) << 24)
-                    | ((long) (digest[2 + number * 4] & 0xFF) << 16)
-                    | ((long) (digest[1 + number * 4] & 0xFF) << 8)
-                    | (digest[number * 4] & 0xFF))
-                    & 0xFFFFFFFFL;
-        }
+    }
+
+    private enum HashFunction {
+
+        MD5("md5") {
+            @Override
+            int nodes(int replicaNumber) {
+                return replicaNumber / 4 * 4;
+            }
+
+            @Override
+            void fill(String address, long[] points) {
+                MessageDigest md5 = md5();
+                for (int i = 0; i < points.length / 4; i++) {
+                    md5.reset();
+                    byte[] digest = md5.digest((address + i).getBytes(StandardCharsets.UTF_8));
+                    for (int h = 0; h < 4; h++) {
+                        points[i * 4 + h] = hash(digest, h);
+                    }
+                }
+            }
+
+            @Override
+            long hash(String key) {
+                return hash(md5().digest(key.getBytes(StandardCharsets.UTF_8)), 0);
+            }
+
+            private long hash(byte[] digest, int number) {
+                return (((long) (digest[3 + number * 4] & 0xFF) << 24)
+                        | ((long) (digest[2 + number * 4] & 0xFF) << 16)
+                        | ((long) (digest[1 + number * 4] & 0xFF) << 8)
+                        | (digest[number * 4] & 0xFF))
+                        & 0xFFFFFFFFL;
+            }
+
+            private MessageDigest md5() {
+                try {
+                    return MessageDigest.getInstance("MD5");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+        },
+
+        MURMUR3("murmur3") {
+            @Override
+            int nodes(int replicaNumber) {
+                return replicaNumber;
+            }
 
-        private byte[] md5(String value) {
-            MessageDigest md5;
-            try {
-                md5 = MessageDigest.getInstance("MD5");
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-            md5.reset();
-            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
-            md5.update(bytes);
-            return md5.digest();
+            @Override
+            void fill(String address, long[] points) {
+                byte[] bytes = address.getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i < points.length; i++) {
+                    points[i] = murmur3(bytes, i) & 0xFFFFFFFFL;
+                }
+            }
+
+            @Override
+            long hash(String key) {
+                return murmur3(key.getBytes(StandardCharsets.UTF_8), 0) & 0xFFFFFFFFL;
+            }
+
+            /**
+             * MurmurHash3 x86 32-bit
+             */
+            private int murmur3(byte[] data, int seed) {
+                int h = seed;
+                int tail = data.length & ~3;
+                for (int i = 0; i < tail; i += 4) {
+                    int k = (data[i] & 0xFF)
+                            | ((data[i + 1] & 0xFF) << 8)
+                            | ((data[i + 2] & 0xFF) << 16)
+                            | (data[i + 3] << 24);
+                    h ^= mixK(k);
+                    h = Integer.rotateLeft(h, 13);
+                    h = h * 5 + 0xE6546B64;
+                }
+                int k = 0;
+                int remaining = data.length & 3;
+                if (remaining == 3) {
+                    k ^= (data[tail + 2] & 0xFF) << 16;
+                }
+                if (remaining >= 2) {
+                    k ^= (data[tail + 1] & 0xFF) << 8;
+                }
+                if (remaining >= 1) {
+                    k ^= data[tail] & 0xFF;
+                    h ^= mixK(k);
+                }
+                h ^= data.length;
+                h ^= h >>> 16;
+                h *= 0x85EBCA6B;
+                h ^= h >>> 13;
+                h *= 0xC2B2AE35;
+                h ^= h >>> 16;
+                return h;
+            }
+
+            private int mixK(int k) {
+                k *= 0xCC9E2D51;
+                k = Integer.rotateLeft(k, 15);
+                return k * 0x1B873593;
+            }
+        };
+
+        private final String value;
+
+        HashFunction(String value) {
+            this.value = value;
         }
 
+        /**
+         * Number of virtual nodes placed per invoker for the configured replica number
+         */
+        abstract int nodes(int replicaNumber);
+
+        /**
+         * Fill in the ring positions, each in <code>[0, 2^32)</code>, of one invoker's virtual nodes
+         */
+        abstract void fill(String address, long[] points);
+
+        abstract long hash(String key);
+
+        static HashFunction of(String value) {
+            for (HashFunction function : values()) {
+                if (function.value.equalsIgnoreCase(value)) {
+                    return function;
+                }
+            }
+            return MD5;
+        }
     }
 
 }
@@ -18,9 +18,14 @@ package org.apache.dubbo.rpc.cluster.router;
 
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.cluster.Router;
 import org.apache.dubbo.rpc.cluster.governance.GovernanceRuleRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
 public abstract class AbstractRouter implements Router {
     protected int priority = DEFAULT_PRIORITY;
     protected boolean force = false;
@@ -68,4 +73,21 @@ public abstract class AbstractRouter implements Router {
         this.priority = priority;
     }
 
+    /**
+     * Keeps the invokers matching the predicate. A {@link BitList} is filtered into another bitmap of the same
+     * addresses, any other list into a new list.
+     */
+    protected static <T> List<Invoker<T>> filterInvokers(List<Invoker<T>> invokers, Predicate<Invoker<T>> predicate) {
+        if (invokers instanceof BitList) {
+            return ((BitList<Invoker<T>>) invokers).filter(predicate);
+        }
+        List<Invoker<T>> result = new ArrayList<>();
+        for (Invoker<T> invoker : invokers) {
+            if (predicate.test(invoker)) {
+                result.add(invoker);
+            }
+        }
+        return result;
+    }
+
 }
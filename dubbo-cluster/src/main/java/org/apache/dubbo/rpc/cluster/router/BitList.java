@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * An immutable subset of an origin list, stored as one bit per origin element.
+ * <p>
+ * The router chain passes the full address list as a {@code BitList} through the routers. Routers narrowing it down
+ * with {@link #filter(Predicate)} or {@link #and(BitList)} only allocate a bitmap instead of a new element list, and the
+ * elements are only materialized when the final list is indexed, which is usually done by the load balance.
+ * Since it is a plain {@link List}, routers that know nothing about bitmaps keep working on it unchanged.
+ *
+ * @param <E> element type
+ */
+public class BitList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Origin<E> origin;
+
+    private final long[] words;
+
+    private final int size;
+
+    // elements of the set bits, built on the first indexed access
+    private volatile Object[] elements;
+
+    /**
+     * @param originList the full list, which must not change afterwards
+     */
+    public BitList(List<E> originList) {
+        this(new Origin<>(originList instanceof RandomAccess ? originList : new ArrayList<>(originList)),
+                allSet(originList.size()));
+    }
+
+    private BitList(Origin<E> origin, long[] words) {
+        this.origin = origin;
+        this.words = words;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    private static long[] allSet(int size) {
+        long[] words = new long[wordCount(size)];
+        for (int i = 0; i < size >>> 6; i++) {
+            words[i] = -1L;
+        }
+        if ((size & 63) != 0) {
+            words[words.length - 1] = (1L << size) - 1;
+        }
+        return words;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * @return the elements of this list which match the predicate, in origin order
+     */
+    public BitList<E> filter(Predicate<? super E> predicate) {
+        long[] result = new long[words.length];
+        List<E> list = origin.list;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                long lowest = word & -word;
+                if (predicate.test(list.get((i << 6) + Long.numberOfTrailingZeros(word)))) {
+                    result[i] |= lowest;
+                }
+                word ^= lowest;
+            }
+        }
+        return new BitList<>(origin, result);
+    }
+
+    /**
+     * @return the elements contained in both lists
+     * @throws IllegalArgumentException if the lists do not share the same origin
+     */
+    public BitList<E> and(BitList<E> other) {
+        if (!hasSameOrigin(other)) {
+            throw new IllegalArgumentException("Can not intersect bit lists of different origins");
+        }
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new BitList<>(origin, result);
+    }
+
+    /**
+     * @return whether both lists are subsets of the same origin list, so that they can be combined
+     */
+    public boolean hasSameOrigin(BitList<?> other) {
+        return other != null && origin == other.origin;
+    }
+
+    /**
+     * Converts a list holding elements of the origin list, e.g. the result of a router which does not know about
+     * bitmaps, into a bit list of the same origin.
+     *
+     * @return the bit list, or null if the list contains an element not in the origin list, or is not in origin order
+     */
+    public BitList<E> subsetOf(List<E> list) {
+        if (list instanceof BitList && hasSameOrigin((BitList<E>) list)) {
+            return (BitList<E>) list;
+        }
+        Map<Object, Integer> indexes = origin.indexes();
+        long[] result = new long[words.length];
+        int previous = -1;
+        for (E element : list) {
+            Integer index = indexes.get(element);
+            if (index == null || index <= previous) {
+                return null;
+            }
+            previous = index;
+            result[index >>> 6] |= 1L << index;
+        }
+        return new BitList<>(origin, result);
+    }
+
+    /**
+     * @return an empty list of the same origin
+     */
+    public BitList<E> empty() {
+        return new BitList<>(origin, new long[words.length]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] array = elements;
+        if (array == null) {
+            array = toArray();
+            elements = array;
+        }
+        return (E) array[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int n = 0;
+        for (E element : this) {
+            array[n++] = element;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int wordIndex;
+
+            private long word = words.length == 0 ? 0 : words[0];
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0) {
+                    if (++wordIndex >= words.length) {
+                        return false;
+                    }
+                    word = words[wordIndex];
+                }
+                return true;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return origin.list.get(index);
+            }
+        };
+    }
+
+    private static final class Origin<E> {
+
+        private final List<E> list;
+
+        // element -> position in the origin list, built when a plain list is converted for the first time
+        private volatile Map<Object, Integer> indexes;
+
+        Origin(List<E> list) {
+            this.list = list;
+        }
+
+        Map<Object, Integer> indexes() {
+            Map<Object, Integer> map = indexes;
+            if (map == null) {
+                map = new IdentityHashMap<>(list.size() * 2);
+                for (int i = 0; i < list.size(); i++) {
+                    map.putIfAbsent(list.get(i), i);
+                }
+                map = Collections.unmodifiableMap(map);
+                indexes = map;
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.cluster.Router;
+
+/**
+ * A router whose result only depends on the invoker list, the consumer url, its rule and a few invocation attributes.
+ * When {@code router.cache} is enabled on the consumer, the router chain keeps the route result of such routers per
+ * route key, and recomputes it only when addresses or the rule change.
+ *
+ * @see org.apache.dubbo.rpc.cluster.RouterChain
+ */
+public interface CacheableRouter extends Router {
+
+    /**
+     * Key of the invocation attributes the route result depends on, two invocations with equal keys must be routed
+     * to the same invokers.
+     *
+     * @param url        refer url
+     * @param invocation invocation
+     * @return route key, or null if this invocation can not be served from the cache
+     */
+    Object getRouteKey(URL url, Invocation invocation);
+
+    /**
+     * @return a number which increases whenever the routing rule changes, cached results of older versions are
+     * discarded
+     */
+    long getRuleVersion();
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Route cache hits and misses of one router in a router chain.
+ *
+ * @see CacheableRouter
+ */
+public class RouteCacheStatistics {
+
+    private final String router;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder bypasses = new LongAdder();
+
+    public RouteCacheStatistics(String router) {
+        this.router = router;
+    }
+
+    public String getRouter() {
+        return router;
+    }
+
+    /**
+     * @return times the route result was served from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return times the route result was computed and cached
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return times the router was run without the cache, because it or a router before it is not cacheable
+     */
+    public long getBypasses() {
+        return bypasses.sum();
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void bypass() {
+        bypasses.increment();
+    }
+
+    @Override
+    public String toString() {
+        return router + "[hits=" + getHits() + ", misses=" + getMisses() + ", bypasses=" + getBypasses() + "]";
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.cluster.router.AbstractRouter;
+import org.apache.dubbo.rpc.cluster.router.BitList;
+import org.apache.dubbo.rpc.cluster.router.CacheableRouter;
 
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -52,7 +54,7 @@ import static org.apache.dubbo.rpc.cluster.Constants.RUNTIME_KEY;
  * ConditionRouter
  *
  */
-public class ConditionRouter extends AbstractRouter {
+public class ConditionRouter extends AbstractRouter implements CacheableRouter {
     public static final String NAME = "condition";
 
     private static final Logger logger = LoggerFactory.getLogger(ConditionRouter.class);
@@ -62,6 +64,11 @@ public class ConditionRouter extends AbstractRouter {
 
     private boolean enabled;
 
+    // whether the when condition refers to the invoked method, the only invocation attribute it can depend on
+    private volatile boolean methodDependent;
+
+    private volatile long ruleVersion;
+
     public ConditionRouter(String rule, boolean force, boolean enabled) {
         this.force = force;
         this.enabled = enabled;
@@ -90,6 +97,8 @@ public class ConditionRouter extends AbstractRouter {
             // NOTE: It should be determined on the business level whether the `When condition` can be empty or not.
             this.whenCondition = when;
             this.thenCondition = then;
+            this.methodDependent = when.containsKey(METHOD_KEY) || when.containsKey(METHODS_KEY);
+            this.ruleVersion++;
         } catch (ParseException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -179,16 +188,11 @@ public class ConditionRouter extends AbstractRouter {
             if (!matchWhen(url, invocation)) {
                 return invokers;
             }
-            List<Invoker<T>> result = new ArrayList<Invoker<T>>();
             if (thenCondition == null) {
                 logger.warn("The current consumer in the service blacklist. consumer: " + NetUtils.getLocalHost() + ", service: " + url.getServiceKey());
-                return result;
-            }
-            for (Invoker<T> invoker : invokers) {
-                if (matchThen(invoker.getUrl(), url)) {
-                    result.add(invoker);
-                }
+                return invokers instanceof BitList ? ((BitList<Invoker<T>>) invokers).empty() : new ArrayList<Invoker<T>>();
             }
+            List<Invoker<T>> result = filterInvokers(invokers, invoker -> matchThen(invoker.getUrl(), url));
             if (!result.isEmpty()) {
                 return result;
             } else if (force) {
@@ -201,6 +205,16 @@ public class ConditionRouter extends AbstractRouter {
         return invokers;
     }
 
+    @Override
+    public Object getRouteKey(URL url, Invocation invocation) {
+        return methodDependent ? invocation.getMethodName() : "";
+    }
+
+    @Override
+    public long getRuleVersion() {
+        return ruleVersion;
+    }
+
     @Override
     public boolean isRuntime() {
         // We always return true for previously defined Router, that is, old Router doesn't support cache anymore.
@@ -30,6 +30,7 @@ import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.cluster.Router;
 import org.apache.dubbo.rpc.cluster.router.AbstractRouter;
+import org.apache.dubbo.rpc.cluster.router.CacheableRouter;
 import org.apache.dubbo.rpc.cluster.router.condition.ConditionRouter;
 import org.apache.dubbo.rpc.cluster.router.condition.config.model.ConditionRouterRule;
 import org.apache.dubbo.rpc.cluster.router.condition.config.model.ConditionRuleParser;
@@ -41,13 +42,14 @@ import java.util.stream.Collectors;
 /**
  * Abstract router which listens to dynamic configuration
  */
-public abstract class ListenableRouter extends AbstractRouter implements ConfigurationListener {
+public abstract class ListenableRouter extends AbstractRouter implements ConfigurationListener, CacheableRouter {
     public static final String NAME = "LISTENABLE_ROUTER";
     private static final String RULE_SUFFIX = ".condition-router";
 
     private static final Logger logger = LoggerFactory.getLogger(ListenableRouter.class);
     private ConditionRouterRule routerRule;
     private List<ConditionRouter> conditionRouters = Collections.emptyList();
+    private volatile long ruleVersion;
 
     public ListenableRouter(URL url, String ruleKey) {
         super(url);
@@ -74,6 +76,7 @@ public abstract class ListenableRouter extends AbstractRouter implements Configu
                         "if the condition rule matches with the template, the raw rule is:\n " + event.getContent(), e);
             }
         }
+        ruleVersion++;
     }
 
     @Override
@@ -90,6 +93,22 @@ public abstract class ListenableRouter extends AbstractRouter implements Configu
         return invokers;
     }
 
+    @Override
+    public Object getRouteKey(URL url, Invocation invocation) {
+        for (ConditionRouter router : conditionRouters) {
+            Object key = router.getRouteKey(url, invocation);
+            if (!"".equals(key)) {
+                return key;
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public long getRuleVersion() {
+        return ruleVersion;
+    }
+
     @Override
     public int getPriority() {
         return DEFAULT_PRIORITY;
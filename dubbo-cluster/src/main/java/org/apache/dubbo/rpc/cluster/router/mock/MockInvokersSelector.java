@@ -22,8 +22,8 @@ import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.cluster.router.AbstractRouter;
+import org.apache.dubbo.rpc.cluster.router.CacheableRouter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.dubbo.rpc.cluster.Constants.INVOCATION_NEED_MOCK;
@@ -33,11 +33,15 @@ import static org.apache.dubbo.rpc.cluster.Constants.MOCK_PROTOCOL;
  * A specific Router designed to realize mock feature.
  * If a request is configured to use mock, then this router guarantees that only the invokers with protocol MOCK appear in final the invoker list, all other invokers will be excluded.
  */
-public class MockInvokersSelector extends AbstractRouter {
+public class MockInvokersSelector extends AbstractRouter implements CacheableRouter {
 
     public static final String NAME = "MOCK_ROUTER";
     private static final int MOCK_INVOKERS_DEFAULT_PRIORITY = Integer.MIN_VALUE;
 
+    private static final String NORMAL_ROUTE = "normal";
+    private static final String MOCKED_ROUTE = "mocked";
+    private static final String ALL_ROUTE = "all";
+
     public MockInvokersSelector() {
         this.priority = MOCK_INVOKERS_DEFAULT_PRIORITY;
     }
@@ -62,30 +66,35 @@ public class MockInvokersSelector extends AbstractRouter {
         return invokers;
     }
 
+    @Override
+    public Object getRouteKey(URL url, Invocation invocation) {
+        if (invocation.getObjectAttachments() == null) {
+            return NORMAL_ROUTE;
+        }
+        String value = (String) invocation.getObjectAttachments().get(INVOCATION_NEED_MOCK);
+        if (value == null) {
+            return NORMAL_ROUTE;
+        }
+        return Boolean.TRUE.toString().equalsIgnoreCase(value) ? MOCKED_ROUTE : ALL_ROUTE;
+    }
+
+    @Override
+    public long getRuleVersion() {
+        return 0;
+    }
+
     private <T> List<Invoker<T>> getMockedInvokers(final List<Invoker<T>> invokers) {
         if (!hasMockProviders(invokers)) {
             return null;
         }
-        List<Invoker<T>> sInvokers = new ArrayList<Invoker<T>>(1);
-        for (Invoker<T> invoker : invokers) {
-            if (invoker.getUrl().getProtocol().equals(MOCK_PROTOCOL)) {
-                sInvokers.add(invoker);
-            }
-        }
-        return sInvokers;
+        return filterInvokers(invokers, invoker -> invoker.getUrl().getProtocol().equals(MOCK_PROTOCOL));
     }
 
     private <T> List<Invoker<T>> getNormalInvokers(final List<Invoker<T>> invokers) {
         if (!hasMockProviders(invokers)) {
             return invokers;
         } else {
-            List<Invoker<T>> sInvokers = new ArrayList<Invoker<T>>(invokers.size());
-            for (Invoker<T> invoker : invokers) {
-                if (!invoker.getUrl().getProtocol().equals(MOCK_PROTOCOL)) {
-                    sInvokers.add(invoker);
-                }
-            }
-            return sInvokers;
+            return filterInvokers(invokers, invoker -> !invoker.getUrl().getProtocol().equals(MOCK_PROTOCOL));
         }
     }
 
@@ -31,13 +31,19 @@ import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.cluster.router.AbstractRouter;
+import org.apache.dubbo.rpc.cluster.router.BitList;
+import org.apache.dubbo.rpc.cluster.router.CacheableRouter;
 import org.apache.dubbo.rpc.cluster.router.tag.model.TagRouterRule;
 import org.apache.dubbo.rpc.cluster.router.tag.model.TagRuleParser;
 
 import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static org.apache.dubbo.common.constants.CommonConstants.ANYHOST_VALUE;
 import static org.apache.dubbo.common.constants.CommonConstants.TAG_KEY;
@@ -46,7 +52,7 @@ import static org.apache.dubbo.rpc.Constants.FORCE_USE_TAG;
 /**
  * TagRouter, "application.tag-router"
  */
-public class TagRouter extends AbstractRouter implements ConfigurationListener {
+public class TagRouter extends AbstractRouter implements ConfigurationListener, CacheableRouter {
     public static final String NAME = "TAG_ROUTER";
     private static final int TAG_ROUTER_DEFAULT_PRIORITY = 100;
     private static final Logger logger = LoggerFactory.getLogger(TagRouter.class);
@@ -54,6 +60,9 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
 
     private TagRouterRule tagRouterRule;
     private String application;
+    private volatile long ruleVersion;
+    // bitmaps of the notified addresses per static tag, intersected with the routed addresses
+    private volatile StaticTagBitmaps staticTagBitmaps;
 
     public TagRouter(URL url) {
         super(url);
@@ -77,6 +86,7 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
             logger.error("Failed to parse the raw tag router rule and it will not take effect, please check if the " +
                     "rule matches with the template, the raw rule is:\n ", e);
         }
+        ruleVersion++;
     }
 
     @Override
@@ -113,7 +123,7 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
             } else {
                 // dynamic tag group doesn't have any item about the requested app OR it's null after filtered by
                 // dynamic tag group but force=false. check static tag
-                result = filterInvoker(invokers, invoker -> tag.equals(invoker.getUrl().getParameter(TAG_KEY)));
+                result = filterByStaticTag(invokers, tag);
             }
             // If there's no tagged providers that can match the current tagged request. force.tag is set by default
             // to false, which means it will invoke any providers without a tag unless it's explicitly disallowed.
@@ -124,7 +134,7 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
             else {
                 List<Invoker<T>> tmp = filterInvoker(invokers, invoker -> addressNotMatches(invoker.getUrl(),
                         tagRouterRuleCopy.getAddresses()));
-                return filterInvoker(tmp, invoker -> StringUtils.isEmpty(invoker.getUrl().getParameter(TAG_KEY)));
+                return filterByStaticTag(tmp, null);
             }
         } else {
             // List<String> addresses = tagRouterRule.filter(providerApp);
@@ -167,16 +177,32 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
                 invocation.getAttachment(TAG_KEY);
         // Tag request
         if (!StringUtils.isEmpty(tag)) {
-            result = filterInvoker(invokers, invoker -> tag.equals(invoker.getUrl().getParameter(TAG_KEY)));
+            result = filterByStaticTag(invokers, tag);
             if (CollectionUtils.isEmpty(result) && !isForceUseTag(invocation)) {
-                result = filterInvoker(invokers, invoker -> StringUtils.isEmpty(invoker.getUrl().getParameter(TAG_KEY)));
+                result = filterByStaticTag(invokers, null);
             }
         } else {
-            result = filterInvoker(invokers, invoker -> StringUtils.isEmpty(invoker.getUrl().getParameter(TAG_KEY)));
+            result = filterByStaticTag(invokers, null);
         }
         return result;
     }
 
+    @Override
+    public Object getRouteKey(URL url, Invocation invocation) {
+        String tag = StringUtils.isEmpty(invocation.getAttachment(TAG_KEY)) ? url.getParameter(TAG_KEY) :
+                invocation.getAttachment(TAG_KEY);
+        if (StringUtils.isEmpty(tag)) {
+            return "";
+        }
+        // a forced tag request must not fall back to untagged providers, a singleton list never equals a plain tag
+        return isForceUseTag(invocation) ? Collections.singletonList(tag) : tag;
+    }
+
+    @Override
+    public long getRuleVersion() {
+        return ruleVersion;
+    }
+
     @Override
     public boolean isRuntime() {
         return tagRouterRule != null && tagRouterRule.isRuntime();
@@ -193,9 +219,24 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
     }
 
     private <T> List<Invoker<T>> filterInvoker(List<Invoker<T>> invokers, Predicate<Invoker<T>> predicate) {
-        return invokers.stream()
-                .filter(predicate)
-                .collect(Collectors.toList());
+        return filterInvokers(invokers, predicate);
+    }
+
+    /**
+     * @param tag the static tag, or null to keep the invokers without a static tag
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<Invoker<T>> filterByStaticTag(List<Invoker<T>> invokers, String tag) {
+        StaticTagBitmaps bitmaps = staticTagBitmaps;
+        if (bitmaps != null && invokers instanceof BitList && ((BitList<?>) invokers).hasSameOrigin(bitmaps.untagged)) {
+            BitList<Invoker<T>> routed = (BitList<Invoker<T>>) invokers;
+            BitList<Invoker<T>> tagged = (BitList<Invoker<T>>) (tag == null ? bitmaps.untagged : bitmaps.tagged.get(tag));
+            return tagged == null ? routed.empty() : routed.and(tagged);
+        }
+        if (tag == null) {
+            return filterInvoker(invokers, invoker -> StringUtils.isEmpty(invoker.getUrl().getParameter(TAG_KEY)));
+        }
+        return filterInvoker(invokers, invoker -> tag.equals(invoker.getUrl().getParameter(TAG_KEY)));
     }
 
     private boolean addressMatches(URL url, List<String> addresses) {
@@ -230,6 +271,7 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
 
     @Override
     public <T> void notify(List<Invoker<T>> invokers) {
+        staticTagBitmaps = invokers instanceof BitList ? new StaticTagBitmaps((BitList<?>) invokers) : null;
         if (CollectionUtils.isEmpty(invokers)) {
             return;
         }
@@ -260,4 +302,26 @@ public class TagRouter extends AbstractRouter implements ConfigurationListener {
         }
     }
 
+    private static final class StaticTagBitmaps {
+
+        private final BitList<?> untagged;
+
+        private final Map<String, BitList<?>> tagged = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        StaticTagBitmaps(BitList<?> invokers) {
+            BitList<Invoker<?>> all = (BitList<Invoker<?>>) invokers;
+            Set<String> tags = new HashSet<>();
+            for (Invoker<?> invoker : all) {
+                String tag = invoker.getUrl().getParameter(TAG_KEY);
+                if (StringUtils.isNotEmpty(tag)) {
+                    tags.add(tag);
+                }
+            }
+            this.untagged = all.filter(invoker -> StringUtils.isEmpty(invoker.getUrl().getParameter(TAG_KEY)));
+            for (String tag : tags) {
+                tagged.put(tag, all.filter(invoker -> tag.equals(invoker.getUrl().getParameter(TAG_KEY))));
+            }
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.cluster.router.MockInvoker;
+import org.apache.dubbo.rpc.cluster.router.RouteCacheStatistics;
+import org.apache.dubbo.rpc.cluster.router.condition.ConditionRouter;
+import org.apache.dubbo.rpc.cluster.router.mock.MockInvokersSelector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.dubbo.rpc.cluster.Constants.RULE_KEY;
+
+public class RouterChainTest {
+
+    private static final URL ROUTE_URL = URL.valueOf("condition://0.0.0.0/com.foo.BarService");
+
+    private static final URL CONSUMER_URL = URL.valueOf("consumer://1.1.1.1/com.foo.BarService?router.cache=true");
+
+    private final List<Invoker<String>> invokers = Arrays.asList(
+            new MockInvoker<>(URL.valueOf("dubbo://10.0.0.1:20880/com.foo.BarService")),
+            new MockInvoker<>(URL.valueOf("dubbo://10.0.0.2:20880/com.foo.BarService")),
+            new MockInvoker<>(URL.valueOf("dubbo://10.0.0.3:20880/com.foo.BarService")));
+
+    private RouterChain<String> buildChain(URL url, ConditionRouter conditionRouter) {
+        RouterChain<String> chain = RouterChain.buildChain(url);
+        List<Router> routers = new ArrayList<>();
+        routers.add(new MockInvokersSelector());
+        routers.add(conditionRouter);
+        chain.initWithRouters(routers);
+        chain.setInvokers(invokers);
+        return chain;
+    }
+
+    private ConditionRouter conditionRouter(String rule) {
+        return new ConditionRouter(ROUTE_URL.addParameterAndEncoded(RULE_KEY, rule));
+    }
+
+    @Test
+    public void testCachedRoute() {
+        ConditionRouter conditionRouter = conditionRouter("method = hello => host = 10.0.0.1");
+        RouterChain<String> chain = buildChain(CONSUMER_URL, conditionRouter);
+
+        List<Invoker<String>> hello = chain.route(CONSUMER_URL, new RpcInvocation("hello", "", new Class<?>[0], new Object[0]));
+        Assertions.assertEquals(1, hello.size());
+        Assertions.assertSame(hello, chain.route(CONSUMER_URL, new RpcInvocation("hello", "", new Class<?>[0], new Object[0])));
+        Assertions.assertEquals(3, chain.route(CONSUMER_URL, new RpcInvocation("world", "", new Class<?>[0], new Object[0])).size());
+
+        RouteCacheStatistics statistics = chain.getRouteCacheStatistics().get(1);
+        Assertions.assertEquals("ConditionRouter", statistics.getRouter());
+        Assertions.assertEquals(1, statistics.getHits());
+        Assertions.assertEquals(2, statistics.getMisses());
+
+        // a rule change is picked up by the next invocation
+        conditionRouter.init("method = hello => host = 10.0.0.2,10.0.0.3");
+        List<Invoker<String>> changed = chain.route(CONSUMER_URL, new RpcInvocation("hello", "", new Class<?>[0], new Object[0]));
+        Assertions.assertEquals(2, changed.size());
+        Assertions.assertEquals(3, statistics.getMisses());
+
+        // so is an address change
+        chain.setInvokers(invokers.subList(0, 2));
+        Assertions.assertEquals(1, chain.route(CONSUMER_URL, new RpcInvocation("hello", "", new Class<?>[0], new Object[0])).size());
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() {
+        URL url = CONSUMER_URL.removeParameter(Constants.ROUTER_CACHE_KEY);
+        RouterChain<String> chain = buildChain(url, conditionRouter("method = hello => host = 10.0.0.1"));
+        List<Invoker<String>> first = chain.route(url, new RpcInvocation("hello", "", new Class<?>[0], new Object[0]));
+        Assertions.assertEquals(1, first.size());
+        Assertions.assertNotSame(first, chain.route(url, new RpcInvocation("hello", "", new Class<?>[0], new Object[0])));
+        Assertions.assertTrue(chain.getRouteCacheStatistics().isEmpty());
+    }
+}
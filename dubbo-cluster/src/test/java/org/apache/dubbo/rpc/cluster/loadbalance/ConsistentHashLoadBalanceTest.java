@@ -18,16 +18,21 @@ package org.apache.dubbo.rpc.cluster.loadbalance;
 
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
 import org.apache.dubbo.rpc.cluster.LoadBalance;
 import org.apache.dubbo.rpc.cluster.RouterChain;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
 @SuppressWarnings("rawtypes")
 public class ConsistentHashLoadBalanceTest extends LoadBalanceBaseTest {
 
@@ -69,4 +74,81 @@ public class ConsistentHashLoadBalanceTest extends LoadBalanceBaseTest {
             Assertions.assertEquals(result, finalInvoker);
         }
     }
+
+    @Test
+    public void testIncrementalRingMatchesRebuiltRing() {
+        Invoker<LoadBalanceBaseTest> invoker6 = mockInvoker(URL.valueOf("test://127.0.0.1:6/DemoService"));
+        ConsistentHashLoadBalance incremental = new ConsistentHashLoadBalance();
+        URL url = invokers.get(0).getUrl();
+        select(incremental, invokers, url, 100);
+
+        List<Invoker<LoadBalanceBaseTest>> changed = new ArrayList<>(invokers);
+        changed.remove(invoker3);
+        changed.add(invoker6);
+        Map<String, Invoker<LoadBalanceBaseTest>> updated = select(incremental, changed, url, 1000);
+        Map<String, Invoker<LoadBalanceBaseTest>> rebuilt = select(new ConsistentHashLoadBalance(), changed, url, 1000);
+        Assertions.assertEquals(rebuilt, updated);
+    }
+
+    @Test
+    public void testRemovalOnlyMovesKeysOfRemovedInvoker() {
+        ConsistentHashLoadBalance lb = new ConsistentHashLoadBalance();
+        URL url = invokers.get(0).getUrl();
+        Map<String, Invoker<LoadBalanceBaseTest>> before = select(lb, invokers, url, 1000);
+
+        List<Invoker<LoadBalanceBaseTest>> changed = new ArrayList<>(invokers);
+        changed.remove(invoker2);
+        Map<String, Invoker<LoadBalanceBaseTest>> after = select(lb, changed, url, 1000);
+        for (Map.Entry<String, Invoker<LoadBalanceBaseTest>> entry : before.entrySet()) {
+            if (entry.getValue() != invoker2) {
+                Assertions.assertSame(entry.getValue(), after.get(entry.getKey()));
+            } else {
+                Assertions.assertNotSame(invoker2, after.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testMurmur3HashFunction() {
+        List<Invoker<LoadBalanceBaseTest>> murmurInvokers = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            murmurInvokers.add(mockInvoker(URL.valueOf("test://127.0.0.1:" + i + "/DemoService?"
+                    + ConsistentHashLoadBalance.HASH_FUNCTION + "=murmur3")));
+        }
+        ConsistentHashLoadBalance lb = new ConsistentHashLoadBalance();
+        URL url = murmurInvokers.get(0).getUrl();
+        Map<String, Invoker<LoadBalanceBaseTest>> selected = select(lb, murmurInvokers, url, 1000);
+        Assertions.assertTrue(selected.values().containsAll(murmurInvokers));
+        Assertions.assertEquals(selected, select(lb, murmurInvokers, url, 1000));
+
+        List<Invoker<LoadBalanceBaseTest>> changed = new ArrayList<>(murmurInvokers);
+        Invoker<LoadBalanceBaseTest> removed = changed.remove(0);
+        Map<String, Invoker<LoadBalanceBaseTest>> after = select(lb, changed, url, 1000);
+        for (Map.Entry<String, Invoker<LoadBalanceBaseTest>> entry : selected.entrySet()) {
+            if (entry.getValue() != removed) {
+                Assertions.assertSame(entry.getValue(), after.get(entry.getKey()));
+            }
+        }
+    }
+
+    private Map<String, Invoker<LoadBalanceBaseTest>> select(LoadBalance lb, List<Invoker<LoadBalanceBaseTest>> invokers,
+                                                             URL url, int keys) {
+        Map<String, Invoker<LoadBalanceBaseTest>> selected = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            String key = "key" + i;
+            RpcInvocation invocation = new RpcInvocation("method1", "DemoService", new Class<?>[]{String.class},
+                    new Object[]{key});
+            selected.put(key, lb.select(invokers, url, invocation));
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Invoker<LoadBalanceBaseTest> mockInvoker(URL url) {
+        Invoker<LoadBalanceBaseTest> invoker = mock(Invoker.class);
+        given(invoker.isAvailable()).willReturn(true);
+        given(invoker.getInterface()).willReturn(LoadBalanceBaseTest.class);
+        given(invoker.getUrl()).willReturn(url);
+        return invoker;
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BitListTest {
+
+    private final List<Integer> origin = IntStream.range(0, 150).boxed().collect(Collectors.toList());
+
+    @Test
+    public void testFilterAndIntersect() {
+        BitList<Integer> all = new BitList<>(origin);
+        Assertions.assertEquals(150, all.size());
+        Assertions.assertEquals(origin, all);
+
+        BitList<Integer> even = all.filter(i -> i % 2 == 0);
+        BitList<Integer> triple = all.filter(i -> i % 3 == 0);
+        Assertions.assertEquals(75, even.size());
+        Assertions.assertEquals(Integer.valueOf(148), even.get(74));
+
+        BitList<Integer> both = even.and(triple);
+        Assertions.assertEquals(origin.stream().filter(i -> i % 6 == 0).collect(Collectors.toList()), both);
+        Assertions.assertTrue(both.contains(144));
+        Assertions.assertFalse(both.contains(145));
+        Assertions.assertTrue(all.empty().isEmpty());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> both.get(both.size()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> both.add(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> both.and(new BitList<>(origin)));
+    }
+
+    @Test
+    public void testSubsetOf() {
+        BitList<Integer> all = new BitList<>(new LinkedList<>(origin));
+        List<Integer> plain = new ArrayList<>(Arrays.asList(origin.get(3), origin.get(64), origin.get(149)));
+
+        BitList<Integer> subset = all.subsetOf(plain);
+        Assertions.assertEquals(plain, subset);
+        Assertions.assertTrue(subset.hasSameOrigin(all));
+        Assertions.assertSame(subset, all.subsetOf(subset));
+
+        // not an element of the origin, or not in origin order
+        Assertions.assertNull(all.subsetOf(Arrays.asList(origin.get(3), new Integer(1000))));
+        Assertions.assertNull(all.subsetOf(Arrays.asList(origin.get(64), origin.get(3))));
+    }
+
+    @Test
+    public void testEmptyOrigin() {
+        BitList<Integer> empty = new BitList<>(new ArrayList<>());
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertFalse(empty.iterator().hasNext());
+        Assertions.assertTrue(empty.filter(i -> true).isEmpty());
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable map backing the parameters of a {@link URL}: one array of interned keys in their natural order and one
+ * of values, plus a small open addressing table of key positions for lookups. It takes a fraction of the memory of a
+ * HashMap, iterates in the order a URL string lists its parameters, and the copies made by the add and remove methods
+ * of URL are array copies that keep whatever did not change.
+ * <p>
+ * A map is never modified once built, so maps and their keys are shared freely between URLs. Serialized, it is
+ * replaced by a HashMap that older peers understand.
+ */
+final class SortedArrayMap<V> extends AbstractMap<String, V> implements Serializable {
+
+    private static final long serialVersionUID = 4406462935447431542L;
+
+    private static final SortedArrayMap<?> EMPTY = new SortedArrayMap<>(new String[0], new Object[0]);
+
+    private static final Comparator<Entry<String, ?>> KEY_ORDER = (e1, e2) -> compare(e1.getKey(), e2.getKey());
+
+    private final String[] keys;
+
+    private final Object[] values;
+
+    /**
+     * Position + 1 of each key at the slot of its hash, 0 for a free slot; null for maps too large to index this way,
+     * which are binary searched.
+     */
+    private final char[] table;
+
+    private transient int hash;
+
+    private transient Set<String> keySet;
+
+    private transient Set<Entry<String, V>> entrySet;
+
+    private SortedArrayMap(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.table = keys.length < Character.MAX_VALUE / 2 ? index(keys) : null;
+    }
+
+    private static char[] index(String[] keys) {
+        char[] table = new char[Math.max(2, Integer.highestOneBit(keys.length) << 2)];
+        int mask = table.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = spread(keys[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = (char) (i + 1);
+        }
+        return table;
+    }
+
+    private static int spread(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> SortedArrayMap<V> empty() {
+        return (SortedArrayMap<V>) EMPTY;
+    }
+
+    /**
+     * @return the map itself if it already is a SortedArrayMap, otherwise a sorted copy with interned keys
+     */
+    @SuppressWarnings("unchecked")
+    static <V> SortedArrayMap<V> copyOf(Map<String, ? extends V> map) {
+        if (map instanceof SortedArrayMap) {
+            return (SortedArrayMap<V>) map;
+        }
+        if (map == null || map.isEmpty()) {
+            return empty();
+        }
+        Entry<String, ? extends V>[] entries = map.entrySet().toArray(new Entry[0]);
+        Arrays.sort(entries, KEY_ORDER);
+        String[] keys = new String[entries.length];
+        Object[] values = new Object[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = URLItemCache.internKey(entries[i].getKey());
+            values[i] = entries[i].getValue();
+        }
+        return new SortedArrayMap<>(keys, values);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = find(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> ks = keySet;
+        if (ks == null) {
+            keySet = ks = new KeySet();
+        }
+        return ks;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        Set<Entry<String, V>> es = entrySet;
+        if (es == null) {
+            entrySet = es = new EntrySet();
+        }
+        return es;
+    }
+
+    /**
+     * @return this map if the key already maps to the value, otherwise a copy with the key mapped to it
+     */
+    SortedArrayMap<V> with(String key, V value) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            if (Objects.equals(values[i], value)) {
+                return this;
+            }
+            Object[] newValues = values.clone();
+            newValues[i] = value;
+            return new SortedArrayMap<>(keys, newValues);
+        }
+        int at = -(i + 1);
+        String[] newKeys = new String[keys.length + 1];
+        Object[] newValues = new Object[keys.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, at);
+        System.arraycopy(values, 0, newValues, 0, at);
+        newKeys[at] = URLItemCache.internKey(key);
+        newValues[at] = value;
+        System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+        System.arraycopy(values, at, newValues, at + 1, keys.length - at);
+        return new SortedArrayMap<>(newKeys, newValues);
+    }
+
+    /**
+     * Merges the two sorted maps in one pass.
+     *
+     * @param overwrite whether the given values replace the ones of this map, or only fill in the keys it lacks
+     * @return this map if the merge changes nothing
+     */
+    SortedArrayMap<V> withAll(Map<String, ? extends V> map, boolean overwrite) {
+        SortedArrayMap<? extends V> other = copyOf(map);
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return copyOf(other);
+        }
+        String[] newKeys = new String[keys.length + other.keys.length];
+        Object[] newValues = new Object[newKeys.length];
+        boolean changed = false;
+        int i = 0, j = 0, n = 0;
+        while (i < keys.length || j < other.keys.length) {
+            int c = i == keys.length ? 1 : j == other.keys.length ? -1 : compare(keys[i], other.keys[j]);
+            if (c < 0) {
+                newKeys[n] = keys[i];
+                newValues[n++] = values[i++];
+            } else if (c > 0) {
+                newKeys[n] = other.keys[j];
+                newValues[n++] = other.values[j++];
+                changed = true;
+            } else {
+                newKeys[n] = keys[i];
+                if (overwrite && !Objects.equals(values[i], other.values[j])) {
+                    newValues[n++] = other.values[j];
+                    changed = true;
+                } else {
+                    newValues[n++] = values[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        if (!changed) {
+            return this;
+        }
+        return new SortedArrayMap<>(n == newKeys.length ? newKeys : Arrays.copyOf(newKeys, n),
+                n == newValues.length ? newValues : Arrays.copyOf(newValues, n));
+    }
+
+    /**
+     * @return this map if it has none of the keys
+     */
+    SortedArrayMap<V> without(String... removedKeys) {
+        boolean[] removed = null;
+        int count = 0;
+        for (String key : removedKeys) {
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (removed == null) {
+                    removed = new boolean[keys.length];
+                }
+                if (!removed[i]) {
+                    removed[i] = true;
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            return this;
+        }
+        if (count == keys.length) {
+            return empty();
+        }
+        String[] newKeys = new String[keys.length - count];
+        Object[] newValues = new Object[newKeys.length];
+        for (int i = 0, n = 0; i < keys.length; i++) {
+            if (!removed[i]) {
+                newKeys[n] = keys[i];
+                newValues[n++] = values[i];
+            }
+        }
+        return new SortedArrayMap<>(newKeys, newValues);
+    }
+
+    /**
+     * @return the index of the key, or a negative number
+     */
+    private int find(Object key) {
+        if (table == null) {
+            return indexOf(key);
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(key) & mask; ; slot = (slot + 1) & mask) {
+            int i = table[slot] - 1;
+            if (i < 0) {
+                return -1;
+            }
+            String k = keys[i];
+            if (k == key || (key != null && key.equals(k))) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the key, or (-(insertion point) - 1) as {@link Arrays#binarySearch(Object[], Object)}
+     */
+    private int indexOf(Object key) {
+        if (key != null && !(key instanceof String)) {
+            return -1;
+        }
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(keys[mid], (String) key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int compare(String k1, String k2) {
+        // keys are mostly interned constants, so identity settles most hits without comparing characters
+        if (k1 == k2) {
+            return 0;
+        }
+        if (k1 == null) {
+            return -1;
+        }
+        if (k2 == null) {
+            return 1;
+        }
+        return k1.compareTo(k2);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof SortedArrayMap) {
+            SortedArrayMap<?> other = (SortedArrayMap<?>) o;
+            return Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && keys.length > 0) {
+            for (int i = 0; i < keys.length; i++) {
+                h += Objects.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return find(o) >= 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public String next() {
+                    if (next >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return keys[next++];
+                }
+            };
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new Iterator<Entry<String, V>>() {
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<String, V> next() {
+                    if (next >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    int i = next++;
+                    return new SimpleImmutableEntry<>(keys[i], (V) values[i]);
+                }
+            };
+        }
+    }
+}
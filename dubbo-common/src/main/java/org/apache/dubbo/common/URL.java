@@ -93,6 +93,12 @@ class URL implements Serializable {
 
     private static final long serialVersionUID = -1985165475234910535L;
 
+    /**
+     * Whether parameters are kept in a compact {@link SortedArrayMap}, the default, rather than in a HashMap of
+     * their own per URL. Set -Ddubbo.url.compact=false to go back to the latter.
+     */
+    private static final boolean COMPACT = Boolean.parseBoolean(System.getProperty("dubbo.url.compact", "true"));
+
     private final String protocol;
 
     private final String username;
@@ -211,13 +217,26 @@ class URL implements Serializable {
             path = path.substring(1);
         }
         this.path = path;
-        if (parameters == null) {
-            parameters = new HashMap<>();
+        if (COMPACT) {
+            this.parameters = SortedArrayMap.copyOf(parameters);
+            this.methodParameters = toCompactMethodParameters(methodParameters);
         } else {
-            parameters = new HashMap<>(parameters);
+            this.parameters = Collections.unmodifiableMap(parameters == null ? new HashMap<>() : new HashMap<>(parameters));
+            this.methodParameters = Collections.unmodifiableMap(methodParameters);
         }
-        this.parameters = Collections.unmodifiableMap(parameters);
-        this.methodParameters = Collections.unmodifiableMap(methodParameters);
+    }
+
+    private static Map<String, Map<String, String>> toCompactMethodParameters(Map<String, Map<String, String>> methodParameters) {
+        if (methodParameters instanceof SortedArrayMap) {
+            // another url's, or interned by URLItemCache, the method maps are compact already
+            return methodParameters;
+        }
+        if (methodParameters == null || methodParameters.isEmpty()) {
+            return SortedArrayMap.empty();
+        }
+        Map<String, Map<String, String>> compact = new HashMap<>(methodParameters.size() * 4 / 3 + 1);
+        methodParameters.forEach((method, keyMap) -> compact.put(method, SortedArrayMap.copyOf(keyMap)));
+        return SortedArrayMap.copyOf(compact);
     }
 
     private static String getAddress(String host, int port) {
@@ -1073,10 +1092,7 @@ class URL implements Serializable {
             return this;
         }
 
-        Map<String, String> map = new HashMap<>(getParameters());
-        map.put(key, value);
-
-        return new URL(protocol, username, password, host, port, path, map);
+        return new URL(protocol, username, password, host, port, path, withParameter(key, value));
     }
 
     public URL addParameterIfAbsent(String key, String value) {
@@ -1087,10 +1103,7 @@ class URL implements Serializable {
         if (hasParameter(key)) {
             return this;
         }
-        Map<String, String> map = new HashMap<>(getParameters());
-        map.put(key, value);
-
-        return new URL(protocol, username, password, host, port, path, map);
+        return new URL(protocol, username, password, host, port, path, withParameter(key, value));
     }
 
     public URL addMethodParameter(String method, String key, String value) {
@@ -1100,8 +1113,7 @@ class URL implements Serializable {
             return this;
         }
 
-        Map<String, String> map = new HashMap<>(getParameters());
-        map.put(method + "." + key, value);
+        Map<String, String> map = withParameter(method + "." + key, value);
         Map<String, Map<String, String>> methodMap = toMethodParameters(map);
         URL.putMethodParameter(method, key, value, methodMap);
 
@@ -1118,8 +1130,7 @@ class URL implements Serializable {
             return this;
         }
 
-        Map<String, String> map = new HashMap<>(getParameters());
-        map.put(method + "." + key, value);
+        Map<String, String> map = withParameter(method + "." + key, value);
         Map<String, Map<String, String>> methodMap = toMethodParameters(map);
         URL.putMethodParameter(method, key, value, methodMap);
 
@@ -1157,18 +1168,14 @@ class URL implements Serializable {
             return this;
         }
 
-        Map<String, String> map = new HashMap<>(getParameters());
-        map.putAll(parameters);
-        return new URL(protocol, username, password, host, port, path, map);
+        return new URL(protocol, username, password, host, port, path, withParameters(parameters, true));
     }
 
     public URL addParametersIfAbsent(Map<String, String> parameters) {
         if (CollectionUtils.isEmptyMap(parameters)) {
             return this;
         }
-        Map<String, String> map = new HashMap<>(parameters);
-        map.putAll(getParameters());
-        return new URL(protocol, username, password, host, port, path, map);
+        return new URL(protocol, username, password, host, port, path, withParameters(parameters, false));
     }
 
     public URL addParameters(String... pairs) {
@@ -1211,16 +1218,51 @@ class URL implements Serializable {
         if (keys == null || keys.length == 0) {
             return this;
         }
-        Map<String, String> map = new HashMap<>(getParameters());
-        for (String key : keys) {
-            map.remove(key);
-        }
+        Map<String, String> map = withoutParameters(keys);
         if (map.size() == getParameters().size()) {
             return this;
         }
         return new URL(protocol, username, password, host, port, path, map);
     }
 
+    /**
+     * The parameters with the key mapped to the value, copied as cheaply as their map allows.
+     */
+    private Map<String, String> withParameter(String key, String value) {
+        if (parameters instanceof SortedArrayMap) {
+            return ((SortedArrayMap<String>) parameters).with(key, value);
+        }
+        Map<String, String> map = new HashMap<>(parameters);
+        map.put(key, value);
+        return map;
+    }
+
+    private Map<String, String> withParameters(Map<String, String> added, boolean overwrite) {
+        if (parameters instanceof SortedArrayMap) {
+            return ((SortedArrayMap<String>) parameters).withAll(added, overwrite);
+        }
+        Map<String, String> map;
+        if (overwrite) {
+            map = new HashMap<>(parameters);
+            map.putAll(added);
+        } else {
+            map = new HashMap<>(added);
+            map.putAll(parameters);
+        }
+        return map;
+    }
+
+    private Map<String, String> withoutParameters(String... keys) {
+        if (parameters instanceof SortedArrayMap) {
+            return ((SortedArrayMap<String>) parameters).without(keys);
+        }
+        Map<String, String> map = new HashMap<>(parameters);
+        for (String key : keys) {
+            map.remove(key);
+        }
+        return map;
+    }
+
     public URL clearParameters() {
         return new URL(protocol, username, password, host, port, path, new HashMap<>());
     }
@@ -1321,7 +1363,9 @@ class URL implements Serializable {
         if (CollectionUtils.isNotEmptyMap(getParameters())) {
             List<String> includes = (ArrayUtils.isEmpty(parameters) ? null : Arrays.asList(parameters));
             boolean first = true;
-            for (Map.Entry<String, String> entry : new TreeMap<>(getParameters()).entrySet()) {
+            // a compact map is sorted already
+            Map<String, String> sorted = getParameters() instanceof SortedArrayMap ? getParameters() : new TreeMap<>(getParameters());
+            for (Map.Entry<String, String> entry : sorted.entrySet()) {
                 if (StringUtils.isNotEmpty(entry.getKey())
                         && (includes == null || includes.contains(entry.getKey()))) {
                     if (first) {
@@ -1630,6 +1674,17 @@ class URL implements Serializable {
         return true;
     }
 
+    /**
+     * Compacts the parameters of a url serialized by a peer, or by this process before compaction was switched on.
+     */
+    private Object readResolve() {
+        if (!COMPACT || parameters == null || parameters instanceof SortedArrayMap) {
+            return this;
+        }
+        return new URL(protocol, username, password, host, port, path, parameters,
+                methodParameters != null ? methodParameters : toMethodParameters(parameters));
+    }
+
     public static void putMethodParameter(String method, String key, String value, Map<String, Map<String, String>> methodParameters) {
         Map<String, String> subParameter = methodParameters.computeIfAbsent(method, k -> new HashMap<>());
         subParameter.put(key, value);
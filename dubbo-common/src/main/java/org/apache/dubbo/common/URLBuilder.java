@@ -43,6 +43,11 @@ public final class URLBuilder {
 
     private Map<String, Map<String, String>> methodParameters;
 
+    // the maps of the url built from, copied on the first change only
+    private boolean parametersShared;
+
+    private boolean methodParametersShared;
+
     public URLBuilder() {
         protocol = null;
         username = null;
@@ -111,17 +116,37 @@ public final class URLBuilder {
         String host = url.getHost();
         int port = url.getPort();
         String path = url.getPath();
-        Map<String, String> parameters = new HashMap<>(url.getParameters());
-        Map<String, Map<String, String>> methodParameters = new HashMap<>(url.getMethodParameters());
-        return new URLBuilder(
+        URLBuilder builder = new URLBuilder(
                 protocol,
                 username,
                 password,
                 host,
                 port,
                 path,
-                parameters,
-                methodParameters);
+                url.getParameters(),
+                url.getMethodParameters());
+        builder.parametersShared = true;
+        builder.methodParametersShared = true;
+        return builder;
+    }
+
+    private Map<String, String> mutableParameters() {
+        if (parametersShared) {
+            parameters = new HashMap<>(parameters);
+            parametersShared = false;
+        }
+        return parameters;
+    }
+
+    private Map<String, Map<String, String>> mutableMethodParameters() {
+        if (methodParametersShared) {
+            // copied one level deeper, the method maps of a url may be shared with other urls
+            Map<String, Map<String, String>> copy = new HashMap<>();
+            methodParameters.forEach((method, keyMap) -> copy.put(method, new HashMap<>(keyMap)));
+            methodParameters = copy;
+            methodParametersShared = false;
+        }
+        return methodParameters;
     }
 
     public URL build() {
@@ -259,7 +284,7 @@ public final class URLBuilder {
             return this;
         }
 
-        parameters.put(key, value);
+        mutableParameters().put(key, value);
         return this;
     }
 
@@ -267,7 +292,7 @@ public final class URLBuilder {
         if (StringUtils.isEmpty(method) || StringUtils.isEmpty(key) || StringUtils.isEmpty(value)) {
             return this;
         }
-        URL.putMethodParameter(method, key, value, methodParameters);
+        URL.putMethodParameter(method, key, value, mutableMethodParameters());
         return this;
     }
 
@@ -278,7 +303,7 @@ public final class URLBuilder {
         if (hasParameter(key)) {
             return this;
         }
-        parameters.put(key, value);
+        mutableParameters().put(key, value);
         return this;
     }
 
@@ -289,7 +314,7 @@ public final class URLBuilder {
         if (hasMethodParameter(method, key)) {
             return this;
         }
-        URL.putMethodParameter(method, key, value, methodParameters);
+        URL.putMethodParameter(method, key, value, mutableMethodParameters());
         return this;
     }
 
@@ -312,7 +337,7 @@ public final class URLBuilder {
             return this;
         }
 
-        this.parameters.putAll(parameters);
+        mutableParameters().putAll(parameters);
         return this;
     }
 
@@ -321,7 +346,7 @@ public final class URLBuilder {
             return this;
         }
 
-        this.methodParameters.putAll(methodParameters);
+        mutableMethodParameters().putAll(methodParameters);
         return this;
     }
 
@@ -329,7 +354,7 @@ public final class URLBuilder {
         if (CollectionUtils.isEmptyMap(parameters)) {
             return this;
         }
-        this.parameters.putAll(parameters);
+        mutableParameters().putAll(parameters);
         return this;
     }
 
@@ -374,13 +399,20 @@ public final class URLBuilder {
             return this;
         }
         for (String key : keys) {
-            parameters.remove(key);
+            if (parameters.containsKey(key)) {
+                mutableParameters().remove(key);
+            }
         }
         return this;
     }
 
     public URLBuilder clearParameters() {
-        parameters.clear();
+        if (parametersShared) {
+            parameters = new HashMap<>();
+            parametersShared = false;
+        } else {
+            parameters.clear();
+        }
         return this;
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.apache.dubbo.common.utils.LRUCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.apache.dubbo.common.constants.CommonConstants.PID_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
+
+/**
+ * Shares what the URLs pushed by a registry have in common. Thousands of providers carry the same parameter keys
+ * and mostly the same values, so {@link URLStrParser} interns both, and the method parameters derived from them are
+ * kept as shared immutable maps. Parsed URLs themselves are cached by their raw encoded string, which a registry
+ * pushes again unchanged on every notification of the category.
+ * <p>
+ * All pools are bounded: a string pool that fills up is cleared and refilled with whatever is still in use, and the
+ * URL cache evicts the least recently used entry.
+ */
+public final class URLItemCache {
+
+    private static final int KEY_POOL_SIZE = Integer.getInteger("dubbo.url.cache.keys", 4096);
+
+    private static final int VALUE_POOL_SIZE = Integer.getInteger("dubbo.url.cache.values", 65536);
+
+    private static final int METHOD_PARAMETERS_POOL_SIZE = Integer.getInteger("dubbo.url.cache.methods", 4096);
+
+    private static final int URL_CACHE_SIZE = Integer.getInteger("dubbo.url.cache.size", 10000);
+
+    private static final ConcurrentMap<String, String> KEY_POOL = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, String> VALUE_POOL = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Map<String, Map<String, String>>, Map<String, Map<String, String>>> METHOD_PARAMETERS_POOL =
+            new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Map<String, String>, Map<String, String>> METHOD_PARAMETER_POOL =
+            new ConcurrentHashMap<>();
+
+    private static final Map<String, URL> URL_CACHE = new LRUCache<>(URL_CACHE_SIZE);
+
+    private URLItemCache() {
+    }
+
+    /**
+     * Keys are also interned by the JVM, so that they are the very instances of the constants looked up in code.
+     */
+    public static String internKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        String shared = KEY_POOL.get(key);
+        return shared != null ? shared : intern(KEY_POOL, KEY_POOL_SIZE, key.intern());
+    }
+
+    /**
+     * Values unique to one provider process, the pid and timestamp, are not worth pooling.
+     */
+    public static String internValue(String key, String value) {
+        if (PID_KEY.equals(key) || TIMESTAMP_KEY.equals(key)) {
+            return value;
+        }
+        return intern(VALUE_POOL, VALUE_POOL_SIZE, value);
+    }
+
+    /**
+     * @param methodParameters as built by {@link URL#toMethodParameters(Map)}, not to be modified afterwards
+     * @return an equal immutable map, shared with every other URL that has the same method parameters
+     */
+    public static Map<String, Map<String, String>> internMethodParameters(Map<String, Map<String, String>> methodParameters) {
+        if (methodParameters.isEmpty()) {
+            return SortedArrayMap.empty();
+        }
+        Map<String, Map<String, String>> shared = METHOD_PARAMETERS_POOL.get(methodParameters);
+        if (shared != null) {
+            return shared;
+        }
+        Map<String, Map<String, String>> copy = new HashMap<>(methodParameters.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Map<String, String>> entry : methodParameters.entrySet()) {
+            copy.put(entry.getKey(), intern(METHOD_PARAMETER_POOL, METHOD_PARAMETERS_POOL_SIZE,
+                    SortedArrayMap.copyOf(entry.getValue())));
+        }
+        return intern(METHOD_PARAMETERS_POOL, METHOD_PARAMETERS_POOL_SIZE, SortedArrayMap.copyOf(copy));
+    }
+
+    static URL getURL(String encodedURLStr) {
+        return URL_CACHE.get(encodedURLStr);
+    }
+
+    static void putURL(String encodedURLStr, URL url) {
+        URL_CACHE.put(encodedURLStr, url);
+    }
+
+    /**
+     * Drops everything pooled and cached, for tests and for applications that have just unsubscribed from most of
+     * their services.
+     */
+    public static void clear() {
+        KEY_POOL.clear();
+        VALUE_POOL.clear();
+        METHOD_PARAMETERS_POOL.clear();
+        METHOD_PARAMETER_POOL.clear();
+        URL_CACHE.clear();
+    }
+
+    static int getCachedURLCount() {
+        return URL_CACHE.size();
+    }
+
+    private static <T> T intern(ConcurrentMap<T, T> pool, int maxSize, T item) {
+        if (item == null) {
+            return null;
+        }
+        T shared = pool.get(item);
+        if (shared != null) {
+            return shared;
+        }
+        if (pool.size() >= maxSize) {
+            pool.clear();
+        }
+        shared = pool.putIfAbsent(item, item);
+        return shared != null ? shared : item;
+    }
+}
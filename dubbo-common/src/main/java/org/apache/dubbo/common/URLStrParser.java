@@ -149,7 +149,8 @@ public final class URLStrParser {
         if (endIdx > starIdx) {
             host = decodedBody.substring(starIdx, endIdx);
         }
-        return new URL(protocol, username, password, host, port, path, parameters);
+        return new URL(protocol, username, password, host, port, path, parameters,
+                URLItemCache.internMethodParameters(URL.toMethodParameters(parameters)));
     }
 
     /**
@@ -171,6 +172,24 @@ public final class URLStrParser {
         return parseURLBody(encodedURLStr, decodedBody, parameters);
     }
 
+    /**
+     * Same as {@link #parseEncodedStr(String)}, but looks the string up in the {@link URLItemCache} first. Meant for
+     * the strings a registry pushes, most of which it pushes again unchanged on every notification.
+     *
+     * @param cached whether to use and fill the cache
+     */
+    public static URL parseEncodedStr(String encodedURLStr, boolean cached) {
+        if (!cached) {
+            return parseEncodedStr(encodedURLStr);
+        }
+        URL url = URLItemCache.getURL(encodedURLStr);
+        if (url == null) {
+            url = parseEncodedStr(encodedURLStr);
+            URLItemCache.putURL(encodedURLStr, url);
+        }
+        return url;
+    }
+
     private static Map<String, String> parseEncodedParams(String str, int from) {
         int len = str.length();
         if (from >= len) {
@@ -224,13 +243,13 @@ public final class URLStrParser {
         }
 
         if (isEncoded) {
-            String name = decodeComponent(str, nameStart, valueStart - 3, false, tempBuf);
+            String name = URLItemCache.internKey(decodeComponent(str, nameStart, valueStart - 3, false, tempBuf));
             String value = decodeComponent(str, valueStart, valueEnd, false, tempBuf);
-            params.put(name, value);
+            params.put(name, URLItemCache.internValue(name, value));
         } else {
-            String name = str.substring(nameStart, valueStart -1);
+            String name = URLItemCache.internKey(str.substring(nameStart, valueStart -1));
             String value = str.substring(valueStart, valueEnd);
-            params.put(name, value);
+            params.put(name, URLItemCache.internValue(name, value));
         }
         return true;
     }
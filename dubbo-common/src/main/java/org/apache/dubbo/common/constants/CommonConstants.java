@@ -106,6 +106,36 @@ public interface CommonConstants {
 
     int DEFAULT_ALIVE = 60 * 1000;
 
+    /**
+     * How a synchronous consumer waits for its response in {@link org.apache.dubbo.common.threadpool.ThreadlessExecutor}:
+     * {@link #THREADLESS_WAIT_BLOCK} (default) or {@link #THREADLESS_WAIT_SPIN}.
+     */
+    String THREADLESS_WAIT_KEY = "threadless.wait";
+
+    String THREADLESS_WAIT_BLOCK = "block";
+
+    String THREADLESS_WAIT_SPIN = "spin";
+
+    String THREADLESS_SPINS_KEY = "threadless.spins";
+
+    int DEFAULT_THREADLESS_SPINS = 1000;
+
+    String THREADLESS_YIELDS_KEY = "threadless.yields";
+
+    int DEFAULT_THREADLESS_YIELDS = 50;
+
+    /**
+     * Queueing delay in milliseconds the {@link org.apache.dubbo.common.threadpool.support.codel.CoDelThreadPool}
+     * aims for: once tasks wait longer than this for a whole {@link #CODEL_INTERVAL_KEY interval}, it starts dropping.
+     */
+    String CODEL_TARGET_KEY = "codel.target";
+
+    int DEFAULT_CODEL_TARGET = 5;
+
+    String CODEL_INTERVAL_KEY = "codel.interval";
+
+    int DEFAULT_CODEL_INTERVAL = 100;
+
     String TIMEOUT_KEY = "timeout";
 
     int DEFAULT_TIMEOUT = 1000;
@@ -224,6 +254,18 @@ public interface CommonConstants {
     @Deprecated
     String SHUTDOWN_WAIT_SECONDS_KEY = "dubbo.service.shutdown.wait.seconds";
     String SHUTDOWN_WAIT_KEY = "dubbo.service.shutdown.wait";
+
+    /**
+     * The number of threads the bootstrap exports and refers the services with, when asked to do it asynchronously
+     */
+    String STARTUP_THREADS_KEY = "dubbo.startup.threads";
+
+    int DEFAULT_STARTUP_THREADS = Math.min(Runtime.getRuntime().availableProcessors() + 1, 32);
+
+    /**
+     * Whether the bootstrap registers the services it exports all at once, in a single request per registry
+     */
+    String STARTUP_BATCH_REGISTER_KEY = "dubbo.startup.register.batch";
     String DUBBO_PROTOCOL = "dubbo";
 
     String DUBBO_LABELS = "dubbo.labels";
@@ -20,5 +20,10 @@ package org.apache.dubbo.common.constants;
 public interface FilterConstants {
     String CACHE_KEY = "cache";
 
+    /**
+     * Whether concurrent invocations with the same arguments share one underlying call when the cache misses
+     */
+    String CACHE_COALESCE_KEY = "cache.coalesce";
+
     String VALIDATION_KEY = "validation";
 }
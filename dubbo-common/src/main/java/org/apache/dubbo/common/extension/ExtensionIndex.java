@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The extension configuration files of a whole classpath, merged into the single resource {@link #RESOURCE} by
+ * {@link ExtensionPrecompiler} at build time. When it is present, {@link ExtensionLoader} takes the lines of a
+ * configuration file from it, instead of reading the copy of the file in each classpath entry.
+ * <p>
+ * The lines of a file are grouped by the name of the classpath entry they come from, the jar file or classes
+ * directory. A copy of the file found on the classpath in an entry the index does not list for it, e.g. in a jar added
+ * after the index was generated, is still read.
+ * <pre>
+ * [META-INF/dubbo/internal/org.apache.dubbo.rpc.Protocol]
+ * &#64;dubbo-rpc-dubbo-2.7.7.jar
+ * dubbo=org.apache.dubbo.rpc.protocol.dubbo.DubboProtocol
+ * &#64;dubbo-rpc-injvm-2.7.7.jar
+ * injvm=org.apache.dubbo.rpc.protocol.injvm.InjvmProtocol
+ * </pre>
+ */
+final class ExtensionIndex {
+
+    static final String RESOURCE = "META-INF/dubbo-extensions.index";
+
+    static final String ENABLED_KEY = "dubbo.extension.index";
+
+    /**
+     * starts the line naming the classpath entry the following lines of a file come from
+     */
+    static final String SOURCE_PREFIX = "@";
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtensionIndex.class);
+
+    private static final ExtensionIndex NONE = new ExtensionIndex(null, Collections.emptyMap(),
+            Collections.emptyMap());
+
+    /**
+     * the index of each class loader, an absent index is remembered too so that the class loader is only searched once
+     */
+    private static final Map<ClassLoader, ExtensionIndex> INDEXES = new WeakHashMap<>();
+
+    private final java.net.URL resourceURL;
+
+    private final Map<String, List<String>> files;
+
+    private final Map<String, Set<String>> sources;
+
+    private ExtensionIndex(java.net.URL resourceURL, Map<String, List<String>> files, Map<String, Set<String>> sources) {
+        this.resourceURL = resourceURL;
+        this.files = files;
+        this.sources = sources;
+    }
+
+    /**
+     * @return the index of the class loader, null if it has none or indexes are disabled
+     */
+    static ExtensionIndex get(ClassLoader classLoader) {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_KEY, "true"))) {
+            return null;
+        }
+        ExtensionIndex index;
+        synchronized (INDEXES) {
+            index = INDEXES.get(classLoader);
+            if (index == null) {
+                index = load(classLoader);
+                INDEXES.put(classLoader, index);
+            }
+        }
+        return index == NONE ? null : index;
+    }
+
+    private static ExtensionIndex load(ClassLoader classLoader) {
+        Map<String, List<String>> files = new LinkedHashMap<>();
+        Map<String, Set<String>> sources = new HashMap<>();
+        java.net.URL first = null;
+        try {
+            Enumeration<java.net.URL> urls = classLoader != null ? classLoader.getResources(RESOURCE)
+                    : ClassLoader.getSystemResources(RESOURCE);
+            while (urls.hasMoreElements()) {
+                java.net.URL url = urls.nextElement();
+                read(url, files, sources);
+                if (first == null) {
+                    first = url;
+                }
+            }
+        } catch (Throwable t) {
+            logger.error("Failed to read the extension index " + RESOURCE + ", loading extensions without it.", t);
+            return NONE;
+        }
+        return first == null ? NONE : new ExtensionIndex(first, files, sources);
+    }
+
+    private static void read(java.net.URL url, Map<String, List<String>> files, Map<String, Set<String>> sources)
+            throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String fileName = null;
+            List<String> lines = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    fileName = line.substring(1, line.length() - 1);
+                    lines = files.computeIfAbsent(fileName, k -> new ArrayList<>());
+                } else if (fileName != null && line.startsWith(SOURCE_PREFIX)) {
+                    sources.computeIfAbsent(fileName, k -> new HashSet<>()).add(line.substring(SOURCE_PREFIX.length()));
+                } else if (lines != null) {
+                    lines.add(line);
+                }
+            }
+        }
+    }
+
+    static void write(Map<String, List<String>> files, Writer writer) throws IOException {
+        writer.write("# Generated by " + ExtensionPrecompiler.class.getName() + ", do not edit\n");
+        for (Map.Entry<String, List<String>> file : files.entrySet()) {
+            writer.write("\n[" + file.getKey() + "]\n");
+            for (String line : file.getValue()) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * @param fileName directory and name of an extension configuration file
+     * @return its lines from every classpath entry, in classpath order, without comments
+     */
+    List<String> getLines(String fileName) {
+        return files.getOrDefault(fileName, Collections.emptyList());
+    }
+
+    /**
+     * @param fileName    directory and name of an extension configuration file
+     * @param resourceURL a copy of the file found on the classpath
+     * @return whether the lines of that copy are in the index
+     */
+    boolean contains(String fileName, java.net.URL resourceURL) {
+        Set<String> names = sources.get(fileName);
+        return names != null && names.contains(getSourceName(resourceURL, fileName));
+    }
+
+    java.net.URL getResourceURL() {
+        return resourceURL;
+    }
+
+    /**
+     * @return the name of the jar file or directory a copy of an extension configuration file was found in
+     */
+    static String getSourceName(java.net.URL resourceURL, String fileName) {
+        String path = resourceURL.toExternalForm();
+        // the last jar of nested ones, as packaged by Spring Boot
+        int separator = path.lastIndexOf("!/");
+        String entry;
+        if (separator >= 0) {
+            entry = path.substring(0, separator);
+        } else if (path.endsWith(fileName)) {
+            entry = path.substring(0, path.length() - fileName.length());
+        } else {
+            entry = path;
+        }
+        while (entry.endsWith("/")) {
+            entry = entry.substring(0, entry.length() - 1);
+        }
+        return entry.substring(entry.lastIndexOf('/') + 1);
+    }
+}
@@ -872,6 +872,27 @@ public class ExtensionLoader<T> {
 			Enumeration<java.net.URL> urls = null;
 			ClassLoader classLoader = findClassLoader();
 
+			// an index precompiled at build time saves reading the file in each classpath entry
+			ExtensionIndex index = ExtensionIndex.get(classLoader);
+			if (index != null) {
+				for (String line : index.getLines(fileName)) {
+					loadLine(extensionClasses, classLoader,
+							index.getResourceURL(), line, overridden,
+							excludedPackages);
+				}
+				// extension files in classpath entries the index was not generated from
+				urls = classLoader != null ? classLoader.getResources(fileName)
+						: ClassLoader.getSystemResources(fileName);
+				while (urls.hasMoreElements()) {
+					java.net.URL resourceURL = urls.nextElement();
+					if (!index.contains(fileName, resourceURL)) {
+						loadResource(extensionClasses, classLoader, resourceURL,
+								overridden, excludedPackages);
+					}
+				}
+				return;
+			}
+
 			// try to load from ExtensionLoader's ClassLoader first
 			if (extensionLoaderClassLoaderFirst) {
 				ClassLoader extensionLoaderClassLoader = ExtensionLoader.class
@@ -920,28 +941,8 @@ public class ExtensionLoader<T> {
 					}
 					line = line.trim();
 					if (line.length() > 0) {
-						try {
-							String name = null;
-							int i = line.indexOf('=');
-							if (i > 0) {
-								name = line.substring(0, i).trim();
-								line = line.substring(i + 1).trim();
-							}
-							if (line.length() > 0
-									&& !isExcluded(line, excludedPackages)) {
-								loadClass(extensionClasses, resourceURL,
-										Class.forName(line, true, classLoader),
-										name, overridden);
-							}
-						} catch (Throwable t) {
-							IllegalStateException e = new IllegalStateException(
-									"Failed to load extension class (interface: "
-											+ type + ", class line: " + line
-											+ ") in " + resourceURL
-											+ ", cause: " + t.getMessage(),
-									t);
-							exceptions.put(line, e);
-						}
+						loadLine(extensionClasses, classLoader, resourceURL,
+								line, overridden, excludedPackages);
 					}
 				}
 			}
@@ -954,6 +955,34 @@ public class ExtensionLoader<T> {
 		}
 	}
 
+	/**
+	 * @param line a trimmed, non-empty line without comment
+	 */
+	private void loadLine(Map<String, Class<?>> extensionClasses,
+			ClassLoader classLoader, java.net.URL resourceURL, String line,
+			boolean overridden, String... excludedPackages) {
+		try {
+			String name = null;
+			int i = line.indexOf('=');
+			if (i > 0) {
+				name = line.substring(0, i).trim();
+				line = line.substring(i + 1).trim();
+			}
+			if (line.length() > 0 && !isExcluded(line, excludedPackages)) {
+				loadClass(extensionClasses, resourceURL,
+						Class.forName(line, true, classLoader), name,
+						overridden);
+			}
+		} catch (Throwable t) {
+			IllegalStateException e = new IllegalStateException(
+					"Failed to load extension class (interface: " + type
+							+ ", class line: " + line + ") in " + resourceURL
+							+ ", cause: " + t.getMessage(),
+					t);
+			exceptions.put(line, e);
+		}
+	}
+
 	private boolean isExcluded(String className, String... excludedPackages) {
 		if (excludedPackages != null) {
 			for (String excludePackage : excludedPackages) {
@@ -1123,6 +1152,10 @@ public class ExtensionLoader<T> {
 	}
 
 	private Class<?> createAdaptiveExtensionClass() {
+		Class<?> precompiled = findPrecompiledAdaptiveClass();
+		if (precompiled != null) {
+			return precompiled;
+		}
 		String code = new AdaptiveClassCodeGenerator(type, cachedDefaultName)
 				.generate();
 		ClassLoader classLoader = findClassLoader();
@@ -1133,6 +1166,29 @@ public class ExtensionLoader<T> {
 		return compiler.compile(code, classLoader);
 	}
 
+	/**
+	 * The adaptive class compiled at build time by
+	 * {@link ExtensionPrecompiler}, named as the one generated at runtime
+	 */
+	private Class<?> findPrecompiledAdaptiveClass() {
+		if (type.getPackage() == null) {
+			return null;
+		}
+		String className = type.getPackage().getName() + "."
+				+ type.getSimpleName() + "$Adaptive";
+		try {
+			Class<?> clazz = Class.forName(className, true, findClassLoader());
+			return type.isAssignableFrom(clazz) ? clazz : null;
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (LinkageError e) {
+			logger.warn("Failed to load the precompiled adaptive class "
+					+ className + ", generating it again, cause: "
+					+ e.getMessage(), e);
+			return null;
+		}
+	}
+
 	@Override
 	public String toString() {
 		return this.getClass().getName() + "[" + type.getName() + "]";
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Does at build time what {@link ExtensionLoader} would otherwise do at every startup: it merges the extension
+ * configuration files of the classpath into an {@link ExtensionIndex}, and compiles the adaptive class of each
+ * extension interface that has adaptive methods but no adaptive implementation. Both are written to an output
+ * directory, usually the classes directory of the application, where ExtensionLoader picks them up; anything missing
+ * is still found or generated at runtime.
+ * <p>
+ * It runs with the classpath of the application and needs a JDK, e.g. in the process-classes phase of the
+ * application module:
+ * <pre>{@code
+ * <plugin>
+ *     <groupId>org.codehaus.mojo</groupId>
+ *     <artifactId>exec-maven-plugin</artifactId>
+ *     <executions>
+ *         <execution>
+ *             <id>dubbo-extension-precompiler</id>
+ *             <phase>process-classes</phase>
+ *             <goals>
+ *                 <goal>exec</goal>
+ *             </goals>
+ *             <configuration>
+ *                 <executable>java</executable>
+ *                 <classpathScope>runtime</classpathScope>
+ *                 <arguments>
+ *                     <argument>-classpath</argument>
+ *                     <classpath/>
+ *                     <argument>org.apache.dubbo.common.extension.ExtensionPrecompiler</argument>
+ *                     <argument>${project.build.outputDirectory}</argument>
+ *                 </arguments>
+ *             </configuration>
+ *         </execution>
+ *     </executions>
+ * </plugin>
+ * }</pre>
+ */
+public class ExtensionPrecompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtensionPrecompiler.class);
+
+    private static final Pattern NAME_SEPARATOR = Pattern.compile("\\s*[,]+\\s*");
+
+    private final List<String> classpath;
+
+    private final ClassLoader classLoader;
+
+    public ExtensionPrecompiler(String classpath, ClassLoader classLoader) {
+        this.classpath = resolveClasspath(classpath);
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Includes the Class-Path of jar manifests, as a classpath too long for a command line is often passed in
+     * one.
+     */
+    private static List<String> resolveClasspath(String classpath) {
+        Set<String> entries = new LinkedHashSet<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            addClasspathEntry(entries, new File(entry));
+        }
+        return new ArrayList<>(entries);
+    }
+
+    private static void addClasspathEntry(Set<String> entries, File file) {
+        if (!entries.add(file.getPath()) || !file.isFile()) {
+            return;
+        }
+        try (JarFile jar = new JarFile(file)) {
+            Manifest manifest = jar.getManifest();
+            String manifestClasspath = manifest == null ? null
+                    : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            if (manifestClasspath != null) {
+                for (String entry : manifestClasspath.trim().split("\\s+")) {
+                    if (entry.length() > 0) {
+                        addClasspathEntry(entries, new File(file.toURI().resolve(entry)));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to read the manifest of " + file + ", cause: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: java -classpath <application classpath> "
+                    + ExtensionPrecompiler.class.getName() + " <output directory>");
+        }
+        new ExtensionPrecompiler(System.getProperty("java.class.path"), ExtensionPrecompiler.class.getClassLoader())
+                .precompile(Paths.get(args[0]));
+    }
+
+    public void precompile(Path outputDirectory) throws IOException {
+        Map<String, List<String>> files = scan();
+        Path index = outputDirectory.resolve(ExtensionIndex.RESOURCE);
+        Files.createDirectories(index.getParent());
+        try (Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            ExtensionIndex.write(files, writer);
+        }
+        logger.info("Wrote " + files.size() + " extension configuration files to " + index);
+
+        List<JavaFileObject> sources = generateAdaptiveClasses(files);
+        if (!sources.isEmpty()) {
+            compile(sources, outputDirectory);
+        }
+    }
+
+    /**
+     * @return the lines of each extension configuration file, by directory and name, in classpath order, the lines of
+     * each copy of a file following one naming the classpath entry it comes from
+     */
+    Map<String, List<String>> scan() throws IOException {
+        Set<String> directories = new LinkedHashSet<>();
+        for (LoadingStrategy strategy : ExtensionLoader.getLoadingStrategies()) {
+            directories.add(strategy.directory().endsWith("/") ? strategy.directory() : strategy.directory() + "/");
+        }
+        Map<String, List<String>> files = new TreeMap<>();
+        for (String entry : classpath) {
+            File file = new File(entry);
+            if (file.isDirectory()) {
+                for (String directory : directories) {
+                    Path dir = file.toPath().resolve(directory);
+                    if (Files.isDirectory(dir)) {
+                        try (Stream<Path> paths = Files.list(dir)) {
+                            for (Path path : (Iterable<Path>) paths.sorted()::iterator) {
+                                if (Files.isRegularFile(path)) {
+                                    try (InputStream in = Files.newInputStream(path)) {
+                                        readLines(file, in, files.computeIfAbsent(directory + path.getFileName(),
+                                                k -> new ArrayList<>()));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } else if (file.isFile()) {
+                try (JarFile jar = new JarFile(file)) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        JarEntry jarEntry = entries.nextElement();
+                        String name = jarEntry.getName();
+                        for (String directory : directories) {
+                            if (!jarEntry.isDirectory() && name.startsWith(directory)
+                                    && name.indexOf('/', directory.length()) < 0) {
+                                try (InputStream in = jar.getInputStream(jarEntry)) {
+                                    readLines(file, in, files.computeIfAbsent(name, k -> new ArrayList<>()));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Adds the lines of a copy of a file, after one naming the classpath entry it was found in
+     */
+    private static void readLines(File entry, InputStream in, List<String> lines) throws IOException {
+        lines.add(ExtensionIndex.SOURCE_PREFIX + entry.getName());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int ci = line.indexOf('#');
+            if (ci >= 0) {
+                line = line.substring(0, ci);
+            }
+            line = line.trim();
+            if (line.length() > 0) {
+                lines.add(line);
+            }
+        }
+    }
+
+    /**
+     * @return the source of the adaptive class of each extension interface that ExtensionLoader would generate one for
+     */
+    List<JavaFileObject> generateAdaptiveClasses(Map<String, List<String>> files) {
+        Map<String, List<String>> types = new TreeMap<>();
+        files.forEach((fileName, lines) -> {
+            List<String> typeLines = types.computeIfAbsent(fileName.substring(fileName.lastIndexOf('/') + 1),
+                    k -> new ArrayList<>());
+            for (String line : lines) {
+                if (!line.startsWith(ExtensionIndex.SOURCE_PREFIX)) {
+                    typeLines.add(line);
+                }
+            }
+        });
+
+        List<JavaFileObject> sources = new ArrayList<>();
+        types.forEach((typeName, lines) -> {
+            Class<?> type;
+            try {
+                type = Class.forName(typeName, false, classLoader);
+            } catch (Throwable t) {
+                return;
+            }
+            if (!type.isInterface() || !type.isAnnotationPresent(SPI.class) || !hasAdaptiveMethod(type)
+                    || hasAdaptiveClass(lines)) {
+                return;
+            }
+            String defaultName = getDefaultName(type);
+            try {
+                String code = new AdaptiveClassCodeGenerator(type, defaultName).generate();
+                sources.add(new Source(type.getPackage().getName() + "." + type.getSimpleName() + "$Adaptive", code));
+            } catch (Throwable t) {
+                logger.warn("Not precompiling the adaptive class of " + typeName + ", cause: " + t.getMessage());
+            }
+        });
+        return sources;
+    }
+
+    private static boolean hasAdaptiveMethod(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(Adaptive.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAdaptiveClass(List<String> lines) {
+        for (String line : lines) {
+            String className = line.substring(line.indexOf('=') + 1).trim();
+            try {
+                if (Class.forName(className, false, classLoader).isAnnotationPresent(Adaptive.class)) {
+                    return true;
+                }
+            } catch (Throwable t) {
+                // an optional extension missing its dependencies, it cannot be the adaptive one at runtime either
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as the default extension name cached by ExtensionLoader
+     */
+    private static String getDefaultName(Class<?> type) {
+        String value = type.getAnnotation(SPI.class).value().trim();
+        if (value.length() == 0) {
+            return null;
+        }
+        String[] names = NAME_SEPARATOR.split(value);
+        return names.length == 1 ? names[0] : null;
+    }
+
+    private void compile(List<JavaFileObject> sources, Path outputDirectory) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Precompiling adaptive classes needs a JDK, not a JRE");
+        }
+        List<String> options = Arrays.asList("-d", outputDirectory.toString(),
+                "-classpath", String.join(File.pathSeparator, classpath),
+                "-source", "1.8", "-target", "1.8", "-nowarn", "-Xlint:-options");
+        if (compiler.getTask(null, null, null, options, null, sources).call()) {
+            logger.info("Precompiled " + sources.size() + " adaptive classes to " + outputDirectory);
+            return;
+        }
+        // one at a time, so that a class that does not compile leaves it to runtime generation alone
+        int compiled = 0;
+        for (JavaFileObject source : sources) {
+            if (compiler.getTask(null, null, null, options, null, Collections.singletonList(source)).call()) {
+                compiled++;
+            } else {
+                logger.warn("Failed to precompile " + source.getName() + ", it will be generated at runtime.");
+            }
+        }
+        logger.info("Precompiled " + compiled + " of " + sources.size() + " adaptive classes to " + outputDirectory);
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String code;
+
+        Source(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+}
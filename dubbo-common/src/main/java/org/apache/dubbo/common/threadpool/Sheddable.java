@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool;
+
+/**
+ * A task that is told when a thread pool drops it from its queue before it gets to run, so that whoever waits for
+ * its outcome can be answered right away.
+ *
+ * @see org.apache.dubbo.common.threadpool.support.priority.PriorityThreadPool
+ * @see org.apache.dubbo.common.threadpool.support.codel.CoDelThreadPool
+ * @see org.apache.dubbo.common.utils.ExecutorUtil
+ */
+public interface Sheddable extends Runnable {
+
+    /**
+     * Called instead of {@link #run()} when the task is shed, on the thread that dropped it from the queue.
+     */
+    void shed();
+
+    /**
+     * Whether the task may be shed at all. Tasks that must run, whatever the load, say so here and are kept queued.
+     */
+    default boolean isSheddable() {
+        return true;
+    }
+
+}
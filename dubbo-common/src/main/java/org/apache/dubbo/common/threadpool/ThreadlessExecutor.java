@@ -16,18 +16,31 @@
  */
 package org.apache.dubbo.common.threadpool;
 
+import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREADLESS_SPINS;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREADLESS_YIELDS;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_SPINS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_WAIT_BLOCK;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_WAIT_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_WAIT_SPIN;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADLESS_YIELDS_KEY;
 
 /**
  * The most important difference between this Executor and other normal Executor is that this one doesn't manage
@@ -36,11 +49,15 @@ import java.util.concurrent.TimeoutException;
  * Tasks submitted to this executor through {@link #execute(Runnable)} will not get scheduled to a specific thread, though normal executors always do the schedule.
  * Those tasks are stored in a blocking queue and will only be executed when a thread calls {@link #waitAndDrain()}, the thread executing the task
  * is exactly the same as the one calling waitAndDrain.
+ *
+ * How the calling thread waits is chosen per reference with {@code threadless.wait}: {@code block} (default) parks on a
+ * blocking queue, {@code spin} busy-spins {@code threadless.spins} times, then yields {@code threadless.yields} times
+ * and only then parks, which saves the park/unpark round trip when the response arrives within microseconds.
  */
 public class ThreadlessExecutor extends AbstractExecutorService {
     private static final Logger logger = LoggerFactory.getLogger(ThreadlessExecutor.class.getName());
 
-    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final CallbackQueue queue;
 
     private ExecutorService sharedExecutor;
 
@@ -54,6 +71,18 @@ public class ThreadlessExecutor extends AbstractExecutorService {
 
     public ThreadlessExecutor(ExecutorService sharedExecutor) {
         this.sharedExecutor = sharedExecutor;
+        this.queue = new BlockingCallbackQueue();
+    }
+
+    public ThreadlessExecutor(ExecutorService sharedExecutor, URL url) {
+        this.sharedExecutor = sharedExecutor;
+        String wait = url.getParameter(THREADLESS_WAIT_KEY, THREADLESS_WAIT_BLOCK);
+        if (THREADLESS_WAIT_SPIN.equals(wait)) {
+            this.queue = new SpinningCallbackQueue(url.getParameter(THREADLESS_SPINS_KEY, DEFAULT_THREADLESS_SPINS),
+                    url.getParameter(THREADLESS_YIELDS_KEY, DEFAULT_THREADLESS_YIELDS));
+        } else {
+            this.queue = new BlockingCallbackQueue();
+        }
     }
 
     public CompletableFuture<?> getWaitingFuture() {
@@ -180,4 +209,119 @@ public class ThreadlessExecutor extends AbstractExecutorService {
     public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
         return false;
     }
+
+    /**
+     * Callback tasks of one call: any thread may add, only the thread calling {@link #waitAndDrain()} takes.
+     */
+    interface CallbackQueue {
+
+        void add(Runnable runnable);
+
+        Runnable take() throws InterruptedException;
+
+        Runnable poll();
+    }
+
+    static class BlockingCallbackQueue implements CallbackQueue {
+
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+
+        @Override
+        public void add(Runnable runnable) {
+            queue.add(runnable);
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            return queue.take();
+        }
+
+        @Override
+        public Runnable poll() {
+            return queue.poll();
+        }
+    }
+
+    /**
+     * Specialized for the one-response-per-call case: the first task is handed over through a single slot without
+     * allocating a node or taking a lock, later tasks (a timeout racing the response, a shutdown notification) fall
+     * back to a lock-free linked queue. The slot is used at most once, so tasks are always taken in the order they
+     * were added.
+     */
+    static class SpinningCallbackQueue implements CallbackQueue {
+
+        private static final Runnable TAKEN = () -> {
+        };
+
+        private final AtomicReference<Runnable> first = new AtomicReference<>();
+
+        private final Queue<Runnable> rest = new ConcurrentLinkedQueue<>();
+
+        private final int spins;
+
+        private final int yields;
+
+        private volatile Thread waiter;
+
+        SpinningCallbackQueue(int spins, int yields) {
+            this.spins = spins;
+            this.yields = yields;
+        }
+
+        @Override
+        public void add(Runnable runnable) {
+            if (!first.compareAndSet(null, runnable)) {
+                rest.offer(runnable);
+            }
+            Thread thread = waiter;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Runnable runnable;
+            for (int i = 0; i < spins; i++) {
+                if ((runnable = poll()) != null) {
+                    return runnable;
+                }
+            }
+            for (int i = 0; i < yields; i++) {
+                Thread.yield();
+                if ((runnable = poll()) != null) {
+                    return runnable;
+                }
+            }
+            // publish the waiter before the last check, add() reads it after publishing the task
+            waiter = Thread.currentThread();
+            try {
+                while ((runnable = poll()) == null) {
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                return runnable;
+            } finally {
+                waiter = null;
+            }
+        }
+
+        @Override
+        public Runnable poll() {
+            Runnable runnable = first.get();
+            if (runnable == null) {
+                return null;
+            }
+            if (runnable != TAKEN) {
+                first.lazySet(TAKEN);
+                return runnable;
+            }
+            return rest.poll();
+        }
+    }
 }
@@ -17,23 +17,31 @@
 package org.apache.dubbo.common.threadpool.manager;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.config.ConfigurationUtils;
 import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.store.DataStore;
 import org.apache.dubbo.common.threadpool.ThreadPool;
 import org.apache.dubbo.common.utils.NamedThreadFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER_SIDE;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_STARTUP_THREADS;
 import static org.apache.dubbo.common.constants.CommonConstants.EXECUTOR_SERVICE_COMPONENT_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.SIDE_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.STARTUP_THREADS_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
 
 /**
@@ -48,12 +56,14 @@ public class DefaultExecutorRepository implements ExecutorRepository {
 
     private Ring<ScheduledExecutorService> scheduledExecutors = new Ring<>();
 
-    private ScheduledExecutorService serviceExporterExecutor;
+    private volatile ScheduledExecutorService serviceExporterExecutor;
 
     private ScheduledExecutorService reconnectScheduledExecutor;
 
     private ConcurrentMap<String, ConcurrentMap<Integer, ExecutorService>> data = new ConcurrentHashMap<>();
 
+    private ConcurrentMap<Integer, ConcurrentMap<String, ExecutorService>> bulkheads = new ConcurrentHashMap<>();
+
     public DefaultExecutorRepository() {
 //        for (int i = 0; i < DEFAULT_SCHEDULER_SIZE; i++) {
 //            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Dubbo-framework-scheduler"));
@@ -61,7 +71,6 @@ public class DefaultExecutorRepository implements ExecutorRepository {
 //        }
 //
 //        reconnectScheduledExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Dubbo-reconnect-scheduler"));
-        serviceExporterExecutor = Executors.newScheduledThreadPool(1, new NamedThreadFactory("Dubbo-exporter-scheduler"));
     }
 
     /**
@@ -84,6 +93,7 @@ public class DefaultExecutorRepository implements ExecutorRepository {
             executor = createExecutor(url);
             executors.put(portKey, executor);
         }
+        publish(componentKey, portKey, executor);
         return executor;
     }
 
@@ -111,6 +121,7 @@ public class DefaultExecutorRepository implements ExecutorRepository {
                 executors.remove(portKey);
                 executor = createExecutor(url);
                 executors.put(portKey, executor);
+                publish(componentKey, portKey, executor);
             }
         }
         return executor;
@@ -144,6 +155,44 @@ public class DefaultExecutorRepository implements ExecutorRepository {
         }
     }
 
+    @Override
+    public synchronized ExecutorService createBulkheadExecutorIfAbsent(URL url, String name) {
+        Map<String, ExecutorService> executors = bulkheads.computeIfAbsent(url.getPort(), k -> new ConcurrentHashMap<>());
+        ExecutorService executor = executors.computeIfAbsent(name, k -> createExecutor(url));
+        // If executor has been shut down, create a new one
+        if (executor.isShutdown() || executor.isTerminated()) {
+            executor = createExecutor(url);
+            executors.put(name, executor);
+        }
+        return executor;
+    }
+
+    @Override
+    public Map<String, ExecutorService> getBulkheadExecutors(URL url) {
+        Map<String, ExecutorService> executors = bulkheads.get(url.getPort());
+        return executors == null ? Collections.emptyMap() : Collections.unmodifiableMap(executors);
+    }
+
+    @Override
+    public Map<Integer, Map<String, ExecutorService>> getAllBulkheadExecutors() {
+        Map<Integer, Map<String, ExecutorService>> all = new HashMap<>();
+        bulkheads.forEach((port, executors) -> {
+            if (!executors.isEmpty()) {
+                all.put(port, Collections.unmodifiableMap(executors));
+            }
+        });
+        return all;
+    }
+
+    @Override
+    public synchronized void destroyBulkheadExecutor(URL url, String name) {
+        Map<String, ExecutorService> executors = bulkheads.get(url.getPort());
+        ExecutorService executor = executors == null ? null : executors.remove(name);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     @Override
     public ScheduledExecutorService nextScheduledExecutor() {
         return scheduledExecutors.pollItem();
@@ -151,6 +200,21 @@ public class DefaultExecutorRepository implements ExecutorRepository {
 
     @Override
     public ScheduledExecutorService getServiceExporterExecutor() {
+        if (serviceExporterExecutor == null) {
+            synchronized (this) {
+                if (serviceExporterExecutor == null) {
+                    // created on first use, so that the size can be taken from the configurations loaded by then
+                    int threads = Integer.parseInt(ConfigurationUtils.getProperty(STARTUP_THREADS_KEY,
+                            String.valueOf(DEFAULT_STARTUP_THREADS)));
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads,
+                            new NamedThreadFactory("Dubbo-exporter-scheduler"));
+                    // the threads are only busy while the application starts up
+                    executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+                    executor.allowCoreThreadTimeOut(true);
+                    serviceExporterExecutor = executor;
+                }
+            }
+        }
         return serviceExporterExecutor;
     }
 
@@ -159,6 +223,16 @@ public class DefaultExecutorRepository implements ExecutorRepository {
         return SHARED_EXECUTOR;
     }
 
+    /**
+     * Server executors are published in the {@link DataStore} for the status checkers and metrics reading it.
+     */
+    private void publish(String componentKey, Integer portKey, ExecutorService executor) {
+        if (EXECUTOR_SERVICE_COMPONENT_KEY.equals(componentKey)) {
+            DataStore dataStore = ExtensionLoader.getExtensionLoader(DataStore.class).getDefaultExtension();
+            dataStore.put(componentKey, Integer.toString(portKey), executor);
+        }
+    }
+
     private ExecutorService createExecutor(URL url) {
         return (ExecutorService) ExtensionLoader.getExtensionLoader(ThreadPool.class).getAdaptiveExtension().getExecutor(url);
     }
@@ -19,6 +19,8 @@ package org.apache.dubbo.common.threadpool.manager;
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.extension.SPI;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -47,6 +49,50 @@ public interface ExecutorRepository {
      */
     void updateThreadpool(URL url, ExecutorService executor);
 
+    /**
+     * Creates, if not there yet, the dedicated executor of a service or method (a bulkhead) served on the port of the
+     * given url. The threadpool, threads and queues of the url decide how the bulkhead is sized, tasks overflowing it
+     * are rejected without touching the executor of the port or of any other bulkhead.
+     * <p>
+     * Repositories that do not support bulkheads return the {@link #getSharedExecutor() shared executor} and register
+     * nothing, so that requests keep going to the executor of the port.
+     *
+     * @param url  url of the bulkhead, its port identifies the server
+     * @param name name of the bulkhead, unique per port
+     * @return
+     */
+    default ExecutorService createBulkheadExecutorIfAbsent(URL url, String name) {
+        return getSharedExecutor();
+    }
+
+    /**
+     * Bulkheads of the server on the port of the given url, keyed by name, empty if there are none.
+     *
+     * @param url
+     * @return
+     */
+    default Map<String, ExecutorService> getBulkheadExecutors(URL url) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Bulkheads of all servers, keyed by port and then by name.
+     *
+     * @return
+     */
+    default Map<Integer, Map<String, ExecutorService>> getAllBulkheadExecutors() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Shuts down and forgets the bulkhead, called when the service owning it is unexported.
+     *
+     * @param url
+     * @param name
+     */
+    default void destroyBulkheadExecutor(URL url, String name) {
+    }
+
     /**
      * Returns a scheduler from the scheduler list, call this method whenever you need a scheduler for a cron job.
      * If your cron cannot burden the possible schedule delay caused by sharing the same scheduler, please consider define a dedicate one.
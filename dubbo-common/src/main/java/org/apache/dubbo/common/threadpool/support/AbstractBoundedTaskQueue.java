@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.Sheddable;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue of tasks guarded by a single lock, leaving to subclasses how tasks are stored and which one
+ * is taken next. The storage methods are called holding the {@link #lock}.
+ * <p>
+ * Taking a task may drop others, which are then {@link Sheddable#shed() told} so once the lock is released.
+ *
+ * @see org.apache.dubbo.common.threadpool.support.priority.PriorityTaskQueue
+ * @see org.apache.dubbo.common.threadpool.support.codel.CoDelTaskQueue
+ */
+public abstract class AbstractBoundedTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractBoundedTaskQueue.class);
+
+    protected final int capacity;
+
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    protected final Condition notEmpty = lock.newCondition();
+
+    protected final Condition notFull = lock.newCondition();
+
+    protected AbstractBoundedTaskQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, but was " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the number of tasks queued
+     */
+    protected abstract int count();
+
+    /**
+     * Adds a task, there is room for it
+     */
+    protected abstract void enqueue(Runnable runnable);
+
+    /**
+     * @return the next task in order, regardless of any drop policy, null if there is none
+     */
+    protected abstract Runnable pollFirst();
+
+    /**
+     * @return the next task in order without taking it, null if there is none
+     */
+    protected abstract Runnable peekFirst();
+
+    /**
+     * @return whether the task was queued and is now removed
+     */
+    protected abstract boolean removeTask(Object o);
+
+    /**
+     * Adds the queued tasks to the list, in order
+     */
+    protected abstract void copyTo(List<Runnable> list);
+
+    /**
+     * Takes the next task to run, the queue is not empty. Tasks dropped on the way are added to the list.
+     */
+    protected Runnable dequeue(List<Runnable> dropped) {
+        return pollFirst();
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (count() >= capacity) {
+                return false;
+            }
+            enqueue(runnable);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Goes through {@link #offer(Runnable)} every time there is room, so that subclasses making room on offer apply
+     * their policy as well.
+     */
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        while (!offer(runnable)) {
+            lock.lockInterruptibly();
+            try {
+                while (count() >= capacity) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void put(Runnable runnable) throws InterruptedException {
+        offer(runnable, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Runnable poll() {
+        List<Runnable> dropped = new ArrayList<>(0);
+        lock.lock();
+        try {
+            return count() == 0 ? null : takeNext(dropped);
+        } finally {
+            lock.unlock();
+            shed(dropped);
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        List<Runnable> dropped = new ArrayList<>(0);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return takeNext(dropped);
+        } finally {
+            lock.unlock();
+            shed(dropped);
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        List<Runnable> dropped = new ArrayList<>(0);
+        lock.lockInterruptibly();
+        try {
+            while (count() == 0) {
+                notEmpty.await();
+            }
+            return takeNext(dropped);
+        } finally {
+            lock.unlock();
+            shed(dropped);
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            return peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (removeTask(o)) {
+                notFull.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drains in order without dropping, the tasks are not taken to be run
+     */
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            Runnable runnable;
+            while (n < maxElements && (runnable = pollFirst()) != null) {
+                c.add(runnable);
+                n++;
+            }
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Weakly consistent: iterates over a snapshot taken in order
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            copyTo(snapshot);
+        } finally {
+            lock.unlock();
+        }
+        Iterator<Runnable> iterator = snapshot.iterator();
+        return new Iterator<Runnable>() {
+
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                AbstractBoundedTaskQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private Runnable takeNext(List<Runnable> dropped) {
+        Runnable runnable = dequeue(dropped);
+        if (dropped.isEmpty()) {
+            notFull.signal();
+        } else {
+            notFull.signalAll();
+        }
+        return runnable;
+    }
+
+    protected static void shed(Runnable runnable) {
+        shed(Collections.singletonList(runnable));
+    }
+
+    protected static void shed(List<Runnable> dropped) {
+        for (Runnable runnable : dropped) {
+            if (runnable instanceof Sheddable) {
+                try {
+                    ((Sheddable) runnable).shed();
+                } catch (Throwable t) {
+                    logger.warn("Failed to notify the shed task " + runnable, t);
+                }
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Shed task " + runnable + " without notifying it.");
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.codel;
+
+import org.apache.dubbo.common.threadpool.Sheddable;
+import org.apache.dubbo.common.threadpool.support.AbstractBoundedTaskQueue;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * FIFO queue of the {@link CoDelThreadPool} that keeps the time tasks spend in it around a target by dropping tasks
+ * as they are taken, following the CoDel (controlled delay) algorithm of RFC 8289.
+ * <p>
+ * The queue only starts dropping once every task taken during an interval has waited longer than the target, so a
+ * burst that drains within an interval goes through untouched. While it keeps failing to get under the target it
+ * drops more and more often, the time to the next drop shrinking with the square root of the drops so far. A task
+ * is only dropped if it is {@link Sheddable#isSheddable() sheddable}, in which case it is {@link Sheddable#shed() told}
+ * so on the taking thread, and never when it is the last one queued. Dropping stops at the first task that is not.
+ */
+public class CoDelTaskQueue extends AbstractBoundedTaskQueue {
+
+    private final long targetNanos;
+
+    private final long intervalNanos;
+
+    private final LongSupplier clock;
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    // CoDel state, guarded by the lock
+
+    private long firstAboveTime;
+
+    private boolean aboveTarget;
+
+    private boolean okToDrop;
+
+    private boolean dropping;
+
+    private long dropNext;
+
+    private int dropCount;
+
+    private int lastDropCount;
+
+    public CoDelTaskQueue(int capacity, long target, long interval, TimeUnit unit) {
+        this(capacity, target, interval, unit, System::nanoTime);
+    }
+
+    CoDelTaskQueue(int capacity, long target, long interval, TimeUnit unit, LongSupplier clock) {
+        super(capacity);
+        if (target <= 0 || interval <= 0) {
+            throw new IllegalArgumentException("target and interval must be positive, but were " + target
+                    + " and " + interval);
+        }
+        this.targetNanos = unit.toNanos(target);
+        this.intervalNanos = unit.toNanos(interval);
+        this.clock = clock;
+    }
+
+    @Override
+    protected int count() {
+        return entries.size();
+    }
+
+    @Override
+    protected void enqueue(Runnable runnable) {
+        entries.addLast(new Entry(runnable, clock.getAsLong()));
+    }
+
+    @Override
+    protected Runnable pollFirst() {
+        Entry entry = entries.pollFirst();
+        return entry == null ? null : entry.task;
+    }
+
+    @Override
+    protected Runnable peekFirst() {
+        Entry entry = entries.peekFirst();
+        return entry == null ? null : entry.task;
+    }
+
+    @Override
+    protected boolean removeTask(Object o) {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            if (o.equals(iterator.next().task)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void copyTo(List<Runnable> list) {
+        for (Entry entry : entries) {
+            list.add(entry.task);
+        }
+    }
+
+    /**
+     * Number of tasks dropped so far for waiting too long
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Takes the next task to run, dropping the ones before it as CoDel decides. Never drops the last queued task, so
+     * returns a task whenever the queue is not empty.
+     */
+    @Override
+    protected Runnable dequeue(List<Runnable> dropped) {
+        long now = clock.getAsLong();
+        Entry entry = doDequeue(now);
+        if (dropping) {
+            if (!okToDrop) {
+                dropping = false;
+            }
+            while (dropping && now - dropNext >= 0 && isSheddable(entry)) {
+                drop(entry, dropped);
+                dropCount++;
+                entry = doDequeue(now);
+                if (!okToDrop) {
+                    dropping = false;
+                } else {
+                    dropNext = controlLaw(dropNext, dropCount);
+                }
+            }
+        } else if (okToDrop && isSheddable(entry)) {
+            drop(entry, dropped);
+            entry = doDequeue(now);
+            dropping = true;
+            // resume near the previous drop rate if dropping stopped only a short while ago
+            int delta = dropCount - lastDropCount;
+            dropCount = delta > 1 && now - dropNext < 16 * intervalNanos ? delta : 1;
+            dropNext = controlLaw(now, dropCount);
+            lastDropCount = dropCount;
+        }
+        return entry == null ? null : entry.task;
+    }
+
+    /**
+     * Polls the head and tells through {@link #okToDrop} whether it has been above the target for an interval
+     */
+    private Entry doDequeue(long now) {
+        Entry entry = entries.pollFirst();
+        if (entry == null) {
+            aboveTarget = false;
+            okToDrop = false;
+            return null;
+        }
+        okToDrop = false;
+        long sojourn = now - entry.enqueueTime;
+        if (sojourn < targetNanos || entries.isEmpty()) {
+            aboveTarget = false;
+        } else if (!aboveTarget) {
+            aboveTarget = true;
+            firstAboveTime = now + intervalNanos;
+        } else if (now - firstAboveTime >= 0) {
+            okToDrop = true;
+        }
+        return entry;
+    }
+
+    private long controlLaw(long time, int count) {
+        return time + (long) (intervalNanos / Math.sqrt(count));
+    }
+
+    private void drop(Entry entry, List<Runnable> dropped) {
+        droppedCount.increment();
+        dropped.add(entry.task);
+    }
+
+    private static boolean isSheddable(Entry entry) {
+        return entry != null && entry.task instanceof Sheddable && ((Sheddable) entry.task).isSheddable();
+    }
+
+    private static class Entry {
+
+        private final Runnable task;
+
+        private final long enqueueTime;
+
+        Entry(Runnable task, long enqueueTime) {
+            this.task = task;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.codel;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadlocal.NamedInternalThreadFactory;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.common.threadpool.support.AbortPolicyWithReport;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.dubbo.common.constants.CommonConstants.CODEL_INTERVAL_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.CODEL_TARGET_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_CODEL_INTERVAL;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_CODEL_TARGET;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_QUEUES;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREADS;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREAD_NAME;
+import static org.apache.dubbo.common.constants.CommonConstants.QUEUES_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+
+/**
+ * Creates a thread pool with a fixed number of threads whose queue drops
+ * {@link org.apache.dubbo.common.threadpool.Sheddable sheddable} tasks once they keep waiting longer than
+ * <code>codel.target</code> milliseconds for <code>codel.interval</code> milliseconds. The queue is unbounded unless
+ * <code>queues</code> is set.
+ *
+ * @see CoDelTaskQueue
+ */
+public class CoDelThreadPool implements ThreadPool {
+
+    @Override
+    public Executor getExecutor(URL url) {
+        String name = url.getParameter(THREAD_NAME_KEY, DEFAULT_THREAD_NAME);
+        int threads = url.getParameter(THREADS_KEY, DEFAULT_THREADS);
+        int queues = url.getParameter(QUEUES_KEY, DEFAULT_QUEUES);
+        int target = url.getParameter(CODEL_TARGET_KEY, DEFAULT_CODEL_TARGET);
+        int interval = url.getParameter(CODEL_INTERVAL_KEY, DEFAULT_CODEL_INTERVAL);
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new CoDelTaskQueue(queues > 0 ? queues : Integer.MAX_VALUE, target, interval, TimeUnit.MILLISECONDS),
+                new NamedInternalThreadFactory(name, true), new AbortPolicyWithReport(name, url));
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.priority;
+
+import org.apache.dubbo.common.lang.Prioritized;
+import org.apache.dubbo.common.threadpool.Sheddable;
+import org.apache.dubbo.common.threadpool.support.AbstractBoundedTaskQueue;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of the {@link PriorityThreadPool}: tasks are taken by {@link Prioritized#getPriority() priority}
+ * (smaller first, {@link Prioritized#NORMAL_PRIORITY} for tasks that are not {@link Prioritized}) and in arrival
+ * order within a priority.
+ * <p>
+ * When the queue is full a new task evicts the oldest task of the least urgent priority, provided that priority is not
+ * more urgent than its own. The evicted task is {@link Sheddable#shed() told} so and counted per priority, see
+ * {@link #getShedCounts()}. A new task less urgent than everything queued is refused, as is one that would evict a
+ * task that is not {@link Sheddable#isSheddable() sheddable}.
+ * <p>
+ * Asking a task for its priority may be costly, a received request has to be decoded for it, and happens on the
+ * submitting thread. So tasks offered while fewer than <code>watermark</code> tasks are queued are not asked and
+ * are queued as {@link Prioritized#NORMAL_PRIORITY normal}: the queue is short enough that the order hardly matters.
+ */
+public class PriorityTaskQueue extends AbstractBoundedTaskQueue {
+
+    private final int watermark;
+
+    private final TreeMap<Integer, ArrayDeque<Runnable>> buckets = new TreeMap<>();
+
+    private final ConcurrentMap<Integer, LongAdder> shedCounts = new ConcurrentHashMap<>();
+
+    private volatile int count;
+
+    public PriorityTaskQueue(int capacity) {
+        this(capacity, 0);
+    }
+
+    public PriorityTaskQueue(int capacity, int watermark) {
+        super(capacity);
+        if (watermark < 0 || watermark > capacity) {
+            throw new IllegalArgumentException("watermark must be between 0 and " + capacity + ", but was " + watermark);
+        }
+        this.watermark = watermark;
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        boolean ranked = count >= watermark;
+        int priority = ranked ? priorityOf(runnable) : Prioritized.NORMAL_PRIORITY;
+        Runnable shed = null;
+        lock.lock();
+        try {
+            if (count >= capacity) {
+                if (!ranked) {
+                    // filled up since the count was read, rare enough to ask under the lock
+                    priority = priorityOf(runnable);
+                }
+                Map.Entry<Integer, ArrayDeque<Runnable>> lowest = buckets.lastEntry();
+                if (lowest.getKey() < priority || !isEvictable(lowest.getValue().peekFirst())) {
+                    return false;
+                }
+                shed = lowest.getValue().pollFirst();
+                if (lowest.getValue().isEmpty()) {
+                    buckets.remove(lowest.getKey());
+                }
+                count--;
+                shedCounts.computeIfAbsent(lowest.getKey(), k -> new LongAdder()).increment();
+            }
+            enqueue(runnable, priority);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (shed != null) {
+            shed(shed);
+        }
+        return true;
+    }
+
+    /**
+     * Number of tasks shed so far, keyed by their priority
+     */
+    public Map<Integer, Long> getShedCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        shedCounts.forEach((priority, adder) -> counts.put(priority, adder.sum()));
+        return counts;
+    }
+
+    @Override
+    protected int count() {
+        return count;
+    }
+
+    @Override
+    protected void enqueue(Runnable runnable) {
+        enqueue(runnable, priorityOf(runnable));
+    }
+
+    private void enqueue(Runnable runnable, int priority) {
+        buckets.computeIfAbsent(priority, k -> new ArrayDeque<>()).addLast(runnable);
+        count++;
+    }
+
+    @Override
+    protected Runnable pollFirst() {
+        if (count == 0) {
+            return null;
+        }
+        Map.Entry<Integer, ArrayDeque<Runnable>> first = buckets.firstEntry();
+        Runnable runnable = first.getValue().pollFirst();
+        if (first.getValue().isEmpty()) {
+            buckets.remove(first.getKey());
+        }
+        count--;
+        return runnable;
+    }
+
+    @Override
+    protected Runnable peekFirst() {
+        return count == 0 ? null : buckets.firstEntry().getValue().peekFirst();
+    }
+
+    @Override
+    protected boolean removeTask(Object o) {
+        Iterator<Map.Entry<Integer, ArrayDeque<Runnable>>> iterator = buckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            ArrayDeque<Runnable> bucket = iterator.next().getValue();
+            if (bucket.remove(o)) {
+                if (bucket.isEmpty()) {
+                    iterator.remove();
+                }
+                count--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void copyTo(List<Runnable> list) {
+        for (ArrayDeque<Runnable> bucket : buckets.values()) {
+            list.addAll(bucket);
+        }
+    }
+
+    private static boolean isEvictable(Runnable runnable) {
+        return !(runnable instanceof Sheddable) || ((Sheddable) runnable).isSheddable();
+    }
+
+    private static int priorityOf(Runnable runnable) {
+        return runnable instanceof Prioritized ? ((Prioritized) runnable).getPriority() : Prioritized.NORMAL_PRIORITY;
+    }
+}
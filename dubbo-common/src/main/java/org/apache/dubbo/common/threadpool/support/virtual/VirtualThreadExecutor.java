@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.virtual;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.event.ThreadPoolExhaustedEvent;
+import org.apache.dubbo.event.EventDispatcher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts a new thread, normally a virtual one, for every task. A semaphore instead of a queue bounds the tasks
+ * running at once.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+    private final String name;
+
+    private final URL url;
+
+    private final ThreadFactory threadFactory;
+
+    private final int maxConcurrency;
+
+    /**
+     * null when the concurrency is unbounded
+     */
+    private final Semaphore permits;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private final Object termination = new Object();
+
+    private volatile boolean shutdown;
+
+    public VirtualThreadExecutor(String name, URL url, ThreadFactory threadFactory, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.name = name;
+        this.url = url;
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = maxConcurrency == Integer.MAX_VALUE ? null : new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor " + name + " has been shut down");
+        }
+        if (permits != null && !permits.tryAcquire()) {
+            reject();
+        }
+        running.incrementAndGet();
+        try {
+            threadFactory.newThread(() -> runTask(command)).start();
+        } catch (Throwable t) {
+            afterTask();
+            throw new RejectedExecutionException("Failed to start a thread for " + name, t);
+        }
+    }
+
+    private void runTask(Runnable command) {
+        Thread thread = Thread.currentThread();
+        threads.add(thread);
+        try {
+            command.run();
+        } finally {
+            threads.remove(thread);
+            afterTask();
+        }
+    }
+
+    private void afterTask() {
+        if (permits != null) {
+            permits.release();
+        }
+        if (running.decrementAndGet() == 0 && shutdown) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    private void reject() {
+        String msg = String.format("Thread pool is EXHAUSTED!" +
+                        " Thread Name: %s, Running: %d (max: %d), Executor status:(isShutdown:%s), in %s://%s:%d!",
+                name, running.get(), maxConcurrency, shutdown, url.getProtocol(), url.getIp(), url.getPort());
+        logger.warn(msg);
+        EventDispatcher.getDefaultExtension().dispatch(new ThreadPoolExhaustedEvent(this, msg));
+        throw new RejectedExecutionException(msg);
+    }
+
+    /**
+     * @return the number of tasks running right now
+     */
+    public int getActiveCount() {
+        return running.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (running.get() == 0) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // nothing is ever queued
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && running.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (termination) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(termination, remaining);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.virtual;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.common.threadpool.support.fixed.FixedThreadPool;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREAD_NAME;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+
+/**
+ * Runs every task on its own virtual thread. There is no queue: when <b>threads</b> is configured it bounds the
+ * number of tasks running at once, and tasks beyond it are rejected; otherwise the concurrency is unbounded.
+ * <p>
+ * Virtual threads need JDK 21 (or a later release). On older runtimes this falls back to {@link FixedThreadPool}.
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPool.class);
+
+    private static final boolean SUPPORTED = newVirtualThreadFactory("probe") != null;
+
+    @Override
+    public Executor getExecutor(URL url) {
+        String name = url.getParameter(THREAD_NAME_KEY, DEFAULT_THREAD_NAME);
+        ThreadFactory threadFactory = SUPPORTED ? newVirtualThreadFactory(name) : null;
+        if (threadFactory == null) {
+            logger.warn("Virtual threads are not supported by the running JVM " + System.getProperty("java.version")
+                    + ", fall back to the fixed thread pool for " + name);
+            return new FixedThreadPool().getExecutor(url);
+        }
+        int maxConcurrency = url.getParameter(THREADS_KEY, Integer.MAX_VALUE);
+        return new VirtualThreadExecutor(name, url, threadFactory, maxConcurrency);
+    }
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * <code>Thread.ofVirtual().name(name + "-", 1).factory()</code>, looked up reflectively to keep running on JDK 8
+     *
+     * @return null when virtual threads are absent, or only available as a preview feature
+     */
+    static ThreadFactory newVirtualThreadFactory(String name) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+}
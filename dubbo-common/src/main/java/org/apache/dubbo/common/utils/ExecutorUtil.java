@@ -19,7 +19,9 @@ package org.apache.dubbo.common.utils;
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.Sheddable;
 
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -68,10 +70,10 @@ public class ExecutorUtil {
         try {
             // Wait a while for existing tasks to terminate
             if (!es.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
-                es.shutdownNow();
+                shed(es.shutdownNow());
             }
         } catch (InterruptedException ex) {
-            es.shutdownNow();
+            shed(es.shutdownNow());
             Thread.currentThread().interrupt();
         }
         if (!isTerminated(es)) {
@@ -85,7 +87,7 @@ public class ExecutorUtil {
         }
         final ExecutorService es = (ExecutorService) executor;
         try {
-            es.shutdownNow();
+            shed(es.shutdownNow());
         } catch (SecurityException ex2) {
             return;
         } catch (NullPointerException ex2) {
@@ -101,6 +103,28 @@ public class ExecutorUtil {
         }
     }
 
+    /**
+     * Tells the tasks that never got to run, so that e.g. the senders of queued requests are answered and the
+     * buffers kept for decoding them are let go. Tasks that must not be shed are run on the calling thread instead.
+     */
+    private static void shed(List<Runnable> dropped) {
+        for (Runnable runnable : dropped) {
+            if (!(runnable instanceof Sheddable)) {
+                continue;
+            }
+            Sheddable task = (Sheddable) runnable;
+            try {
+                if (task.isSheddable()) {
+                    task.shed();
+                } else {
+                    task.run();
+                }
+            } catch (Throwable t) {
+                logger.warn("Failed to notify the dropped task " + runnable, t);
+            }
+        }
+    }
+
     private static void newThreadToCloseExecutor(final ExecutorService es) {
         if (!isTerminated(es)) {
             SHUTDOWN_EXECUTOR.execute(new Runnable() {
@@ -108,7 +132,7 @@ public class ExecutorUtil {
                 public void run() {
                     try {
                         for (int i = 0; i < 1000; i++) {
-                            es.shutdownNow();
+                            shed(es.shutdownNow());
                             if (es.awaitTermination(10, TimeUnit.MILLISECONDS)) {
                                 break;
                             }
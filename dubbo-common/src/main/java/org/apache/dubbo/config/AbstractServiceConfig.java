@@ -102,6 +102,16 @@ public abstract class AbstractServiceConfig extends AbstractInterfaceConfig {
     // max allowed execute times
     private Integer executes;
 
+    /**
+     * Threads of the dedicated executor of the service, only takes effect with dispatcher="bulkhead"
+     */
+    private Integer bulkheadThreads;
+
+    /**
+     * Queue size of the dedicated executor of the service
+     */
+    private Integer bulkheadQueues;
+
     /**
      * Whether to register
      */
@@ -248,6 +258,22 @@ public abstract class AbstractServiceConfig extends AbstractInterfaceConfig {
         this.executes = executes;
     }
 
+    public Integer getBulkheadThreads() {
+        return bulkheadThreads;
+    }
+
+    public void setBulkheadThreads(Integer bulkheadThreads) {
+        this.bulkheadThreads = bulkheadThreads;
+    }
+
+    public Integer getBulkheadQueues() {
+        return bulkheadQueues;
+    }
+
+    public void setBulkheadQueues(Integer bulkheadQueues) {
+        this.bulkheadQueues = bulkheadQueues;
+    }
+
     @Override
     @Parameter(key = SERVICE_FILTER_KEY, append = true)
     public String getFilter() {
@@ -66,6 +66,21 @@ public class MethodConfig extends AbstractMethodConfig {
      */
     private Integer executes;
 
+    /**
+     * Threads of the dedicated executor of the method, only takes effect with dispatcher="bulkhead"
+     */
+    private Integer bulkheadThreads;
+
+    /**
+     * Queue size of the dedicated executor of the method
+     */
+    private Integer bulkheadQueues;
+
+    /**
+     * Priority of the method's requests in threadpool="priority", smaller is more urgent
+     */
+    private Integer priority;
+
     /**
      * If it's deprecated
      */
@@ -211,6 +226,30 @@ public class MethodConfig extends AbstractMethodConfig {
         this.executes = executes;
     }
 
+    public Integer getBulkheadThreads() {
+        return bulkheadThreads;
+    }
+
+    public void setBulkheadThreads(Integer bulkheadThreads) {
+        this.bulkheadThreads = bulkheadThreads;
+    }
+
+    public Integer getBulkheadQueues() {
+        return bulkheadQueues;
+    }
+
+    public void setBulkheadQueues(Integer bulkheadQueues) {
+        this.bulkheadQueues = bulkheadQueues;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
     public Boolean getDeprecated() {
         return deprecated;
     }
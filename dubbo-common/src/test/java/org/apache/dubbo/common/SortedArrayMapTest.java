@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortedArrayMapTest {
+
+    @Test
+    public void testCopyOf() {
+        Map<String, String> map = new HashMap<>();
+        map.put("version", "1.0.0");
+        map.put("application", "demo");
+        map.put("timeout", "100");
+        SortedArrayMap<String> compact = SortedArrayMap.copyOf(map);
+
+        assertEquals(map, compact);
+        assertEquals(compact, map);
+        assertEquals(map.hashCode(), compact.hashCode());
+        assertEquals(Arrays.asList("application", "timeout", "version"), new ArrayList<>(compact.keySet()));
+        assertEquals("100", compact.get("timeout"));
+        assertNull(compact.get("methods"));
+        assertNull(compact.get(1));
+        assertTrue(compact.containsKey("version"));
+        assertSame(compact, SortedArrayMap.copyOf(compact));
+        assertSame(SortedArrayMap.empty(), SortedArrayMap.copyOf(new HashMap<>()));
+        assertThrows(UnsupportedOperationException.class, () -> compact.put("timeout", "200"));
+        assertThrows(UnsupportedOperationException.class, () -> compact.entrySet().iterator().next().setValue("200"));
+    }
+
+    @Test
+    public void testWith() {
+        SortedArrayMap<String> compact = SortedArrayMap.copyOf(map("b", "2", "d", "4"));
+        assertSame(compact, compact.with("b", "2"));
+        assertEquals(map("a", "1", "b", "2", "d", "4"), compact.with("a", "1"));
+        assertEquals(map("b", "2", "c", "3", "d", "4"), compact.with("c", "3"));
+        assertEquals(map("b", "2", "d", "4", "e", "5"), compact.with("e", "5"));
+        assertEquals(map("b", "3", "d", "4"), compact.with("b", "3"));
+        assertEquals(map("b", "2", "d", "4"), compact);
+    }
+
+    @Test
+    public void testWithAll() {
+        SortedArrayMap<String> compact = SortedArrayMap.copyOf(map("b", "2", "d", "4"));
+        assertSame(compact, compact.withAll(map("d", "4"), true));
+        assertSame(compact, compact.withAll(map("d", "5"), false));
+        assertEquals(map("a", "1", "b", "2", "d", "5", "e", "5"), compact.withAll(map("a", "1", "d", "5", "e", "5"), true));
+        assertEquals(map("a", "1", "b", "2", "d", "4"), compact.withAll(map("a", "1", "d", "5"), false));
+        assertEquals(map("a", "1"), SortedArrayMap.<String>empty().withAll(map("a", "1"), true));
+    }
+
+    @Test
+    public void testWithout() {
+        SortedArrayMap<String> compact = SortedArrayMap.copyOf(map("a", "1", "b", "2", "c", "3"));
+        assertSame(compact, compact.without("d"));
+        assertEquals(map("a", "1", "c", "3"), compact.without("b", "b", "d"));
+        assertSame(SortedArrayMap.empty(), compact.without("a", "b", "c"));
+    }
+
+    @Test
+    public void testURL() throws Exception {
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/DemoService?version=1.0.0&application=demo&sayHello.timeout=100&methods=sayHello");
+        assertTrue(url.getParameters() instanceof SortedArrayMap);
+        assertEquals("dubbo://127.0.0.1:20880/DemoService?application=demo&methods=sayHello&sayHello.timeout=100&version=1.0.0",
+                url.toFullString());
+        assertEquals("100", url.getMethodParameter("sayHello", "timeout"));
+
+        URL added = url.addParameter("group", "g1");
+        assertEquals("g1", added.getParameter("group"));
+        assertNull(url.getParameter("group"));
+        assertSame(url, url.removeParameter("group"));
+        assertEquals(url, added.removeParameter("group"));
+
+        URL built = URLBuilder.from(url).setPort(20881).build();
+        assertSame(url.getParameters(), built.getParameters());
+        built = URLBuilder.from(url).addMethodParameter("sayHello", "timeout", "200").build();
+        assertEquals("200", built.getMethodParameter("sayHello", "timeout"));
+        assertEquals("100", url.getMethodParameter("sayHello", "timeout"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(url);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            URL read = (URL) in.readObject();
+            assertEquals(url, read);
+            assertTrue(read.getParameters() instanceof SortedArrayMap);
+            assertEquals("100", read.getMethodParameter("sayHello", "timeout"));
+        }
+        assertFalse(bytes.toString("ISO-8859-1").contains(SortedArrayMap.class.getName()));
+    }
+
+    private static Map<String, String> map(String... pairs) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+}
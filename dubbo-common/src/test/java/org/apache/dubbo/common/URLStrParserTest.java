@@ -16,10 +16,17 @@
  */
 package org.apache.dubbo.common;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Created by LinShunkang on 2020/03/12
@@ -37,4 +44,43 @@ public class URLStrParserTest {
         assertThat(URLStrParser.parseDecodedStr(decodeStr), equalTo(originalUrl));
     }
 
+    @AfterEach
+    public void tearDown() {
+        URLItemCache.clear();
+    }
+
+    @Test
+    public void testCached() {
+        String str = URL.encode("dubbo://192.168.1.41:20880/org.test.api.DemoService?application=demo&interface=org.test.api.DemoService&methods=sayHello&sayHello.timeout=100&timestamp=1583136298859");
+        URL url = URLStrParser.parseEncodedStr(str, true);
+        assertEquals(URLStrParser.parseEncodedStr(str), url);
+        assertSame(url, URLStrParser.parseEncodedStr(str, true));
+        assertNotSame(url, URLStrParser.parseEncodedStr(str, false));
+        assertEquals(1, URLItemCache.getCachedURLCount());
+    }
+
+    @Test
+    public void testInterned() {
+        URL url1 = URLStrParser.parseEncodedStr(URL.encode("dubbo://192.168.1.41:20880/org.test.api.DemoService?application=demo&methods=sayHello&sayHello.timeout=100&timestamp=1"));
+        URL url2 = URLStrParser.parseEncodedStr(URL.encode("dubbo://192.168.1.42:20880/org.test.api.DemoService?application=demo&methods=sayHello&sayHello.timeout=100&timestamp=2"));
+        assertSame(key(url1, "application"), key(url2, "application"));
+        assertSame(url1.getParameter("application"), url2.getParameter("application"));
+        assertSame(url1.getMethodParameters(), url2.getMethodParameters());
+        assertEquals("100", url2.getMethodParameter("sayHello", "timeout"));
+
+        Map<String, String> sayHello = url1.getMethodParameters().get("sayHello");
+        assertThrows(UnsupportedOperationException.class, () -> sayHello.put("timeout", "200"));
+        URL url3 = URLBuilder.from(url1).addMethodParameter("sayHello", "timeout", "200").build();
+        assertEquals("200", url3.getMethodParameter("sayHello", "timeout"));
+        assertEquals("100", url2.getMethodParameter("sayHello", "timeout"));
+    }
+
+    private static String key(URL url, String key) {
+        for (String name : url.getParameters().keySet()) {
+            if (name.equals(key)) {
+                return name;
+            }
+        }
+        return null;
+    }
 }
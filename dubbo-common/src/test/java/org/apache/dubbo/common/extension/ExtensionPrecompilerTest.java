@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.extension.ext1.SimpleExt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExtensionPrecompilerTest {
+
+    private static final String SIMPLE_EXT_FILE = "META-INF/dubbo/internal/" + SimpleExt.class.getName();
+
+    @Test
+    public void testPrecompile(@TempDir Path dir) throws Exception {
+        new ExtensionPrecompiler(System.getProperty("java.class.path"), getClass().getClassLoader()).precompile(dir);
+
+        assertTrue(Files.isRegularFile(dir.resolve(ExtensionIndex.RESOURCE)));
+        assertTrue(Files.isRegularFile(dir.resolve("org/apache/dubbo/common/extension/ext1/SimpleExt$Adaptive.class")));
+        // has an adaptive implementation, AdaptiveExtensionFactory
+        assertFalse(Files.exists(dir.resolve("org/apache/dubbo/common/extension/ExtensionFactory$Adaptive.class")));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+            ExtensionIndex index = ExtensionIndex.get(classLoader);
+            assertEquals(Arrays.asList("impl1=org.apache.dubbo.common.extension.ext1.impl.SimpleExtImpl1",
+                    "impl2=org.apache.dubbo.common.extension.ext1.impl.SimpleExtImpl2",
+                    "impl3=org.apache.dubbo.common.extension.ext1.impl.SimpleExtImpl3"), index.getLines(SIMPLE_EXT_FILE));
+
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(classLoader);
+            ExtensionLoader.resetExtensionLoader(SimpleExt.class);
+            try {
+                ExtensionLoader<SimpleExt> loader = ExtensionLoader.getExtensionLoader(SimpleExt.class);
+                assertEquals(new HashSet<>(Arrays.asList("impl1", "impl2", "impl3")), loader.getSupportedExtensions());
+                assertEquals(SimpleExt.class.getName() + "$Adaptive", loader.getAdaptiveExtension().getClass().getName());
+            } finally {
+                Thread.currentThread().setContextClassLoader(contextClassLoader);
+                ExtensionLoader.resetExtensionLoader(SimpleExt.class);
+            }
+        }
+    }
+
+    @Test
+    public void testReadFilesNotInIndex(@TempDir Path dir) throws Exception {
+        Path index = dir.resolve("index");
+        new ExtensionPrecompiler(System.getProperty("java.class.path"), getClass().getClassLoader()).precompile(index);
+        // a jar added to the classpath after the index was generated
+        Path extra = dir.resolve("extra");
+        Files.createDirectories(extra.resolve(SIMPLE_EXT_FILE).getParent());
+        Files.write(extra.resolve(SIMPLE_EXT_FILE),
+                "impl4=org.apache.dubbo.common.extension.ext1.impl.SimpleExtImpl1\n".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{index.toUri().toURL(), extra.toUri().toURL()},
+                getClass().getClassLoader())) {
+            // cached for the class loader
+            assertSame(ExtensionIndex.get(classLoader), ExtensionIndex.get(classLoader));
+            assertFalse(ExtensionIndex.get(classLoader).contains(SIMPLE_EXT_FILE,
+                    extra.resolve(SIMPLE_EXT_FILE).toUri().toURL()));
+
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(classLoader);
+            ExtensionLoader.resetExtensionLoader(SimpleExt.class);
+            try {
+                assertEquals(new HashSet<>(Arrays.asList("impl1", "impl2", "impl3", "impl4")),
+                        ExtensionLoader.getExtensionLoader(SimpleExt.class).getSupportedExtensions());
+            } finally {
+                Thread.currentThread().setContextClassLoader(contextClassLoader);
+                ExtensionLoader.resetExtensionLoader(SimpleExt.class);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSourceName() throws Exception {
+        assertEquals("dubbo-2.7.7.jar", ExtensionIndex.getSourceName(
+                new URL("jar:file:/lib/dubbo-2.7.7.jar!/" + SIMPLE_EXT_FILE), SIMPLE_EXT_FILE));
+        assertEquals("classes", ExtensionIndex.getSourceName(
+                new URL("file:/app/target/classes/" + SIMPLE_EXT_FILE), SIMPLE_EXT_FILE));
+    }
+
+    @Test
+    public void testDisabled() {
+        System.setProperty(ExtensionIndex.ENABLED_KEY, "false");
+        try {
+            assertNull(ExtensionIndex.get(getClass().getClassLoader()));
+        } finally {
+            System.clearProperty(ExtensionIndex.ENABLED_KEY);
+        }
+        // no index on the test classpath
+        assertNull(ExtensionIndex.get(getClass().getClassLoader()));
+    }
+}
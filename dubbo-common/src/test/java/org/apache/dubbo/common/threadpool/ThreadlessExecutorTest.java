@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool;
+
+import org.apache.dubbo.common.URL;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ThreadlessExecutorTest {
+
+    private static final URL BLOCK_URL = URL.valueOf("dubbo://127.0.0.1:20880/DemoService?threadless.wait=block");
+
+    private static final URL SPIN_URL = URL.valueOf("dubbo://127.0.0.1:20880/DemoService?threadless.wait=spin");
+
+    @Test
+    public void testWaitAndDrainBlocking() throws Exception {
+        assertWaitAndDrain(BLOCK_URL);
+    }
+
+    @Test
+    public void testWaitAndDrainSpinning() throws Exception {
+        assertWaitAndDrain(SPIN_URL);
+        // no spinning at all, goes straight to park
+        assertWaitAndDrain(SPIN_URL.addParameter("threadless.spins", 0).addParameter("threadless.yields", 0));
+    }
+
+    @Test
+    public void testTasksKeepOrder() throws Exception {
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            ThreadlessExecutor executor = new ThreadlessExecutor(shared, SPIN_URL);
+            List<Integer> executed = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                int index = i;
+                executor.execute(() -> executed.add(index));
+            }
+            executor.waitAndDrain();
+            Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4), executed);
+            Assertions.assertFalse(executor.isWaiting());
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testLateTaskGoesToSharedExecutor() throws Exception {
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            ThreadlessExecutor executor = new ThreadlessExecutor(shared, SPIN_URL);
+            executor.execute(() -> {
+            });
+            executor.waitAndDrain();
+
+            CountDownLatch latch = new CountDownLatch(1);
+            Thread[] runner = new Thread[1];
+            executor.execute(() -> {
+                runner[0] = Thread.currentThread();
+                latch.countDown();
+            });
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assertions.assertNotSame(Thread.currentThread(), runner[0]);
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testInterruptWhileParked() throws Exception {
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            ThreadlessExecutor executor = new ThreadlessExecutor(shared, SPIN_URL);
+            Thread current = Thread.currentThread();
+            Thread interrupter = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignored) {
+                }
+                current.interrupt();
+            });
+            interrupter.start();
+            Assertions.assertThrows(InterruptedException.class, executor::waitAndDrain);
+            interrupter.join();
+        } finally {
+            Thread.interrupted();
+            shared.shutdown();
+        }
+    }
+
+    private void assertWaitAndDrain(URL url) throws Exception {
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 100; i++) {
+                ThreadlessExecutor executor = new ThreadlessExecutor(shared, url);
+                Thread[] runner = new Thread[1];
+                Thread producer = new Thread(() -> executor.execute(() -> runner[0] = Thread.currentThread()));
+                producer.start();
+                executor.waitAndDrain();
+                producer.join();
+                // the callback runs on the thread waiting for it
+                Assertions.assertSame(Thread.currentThread(), runner[0]);
+                // later calls return immediately
+                executor.waitAndDrain();
+            }
+        } finally {
+            shared.shutdown();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.codel;
+
+import org.apache.dubbo.common.threadpool.Sheddable;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CoDelTaskQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final List<String> shed = new ArrayList<>();
+
+    private final CoDelTaskQueue queue = new CoDelTaskQueue(100, 5, 100, TimeUnit.MILLISECONDS, now::get);
+
+    @Test
+    public void testBelowTargetNothingDropped() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new Task("t" + i));
+        }
+        advance(4);
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.take().toString(), is("t" + i));
+        }
+        assertThat(queue.getDroppedCount(), is(0L));
+        assertThat(shed.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testBurstWithinIntervalNotDropped() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new Task("t" + i));
+        }
+        advance(50);
+        // above target, but not yet for a whole interval
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.take().toString(), is("t" + i));
+        }
+        assertThat(queue.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void testDropWhenAboveTargetForInterval() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new Task("t" + i));
+        }
+        advance(10);
+        assertThat(queue.poll().toString(), is("t0"));
+        advance(100);
+        // has stayed above the target for an interval: t1 is dropped, t2 is handed out
+        assertThat(queue.poll().toString(), is("t2"));
+        assertThat(shed, contains("t1"));
+        assertThat(queue.getDroppedCount(), is(1L));
+        // the next drop is an interval later
+        assertThat(queue.poll().toString(), is("t3"));
+        advance(100);
+        assertThat(queue.poll().toString(), is("t5"));
+        assertThat(shed, contains("t1", "t4"));
+        // and comes sooner then, 100 / sqrt(2) ms later
+        advance(71);
+        assertThat(queue.poll().toString(), is("t7"));
+        assertThat(queue.getDroppedCount(), is(3L));
+    }
+
+    @Test
+    public void testStopDroppingBelowTarget() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            queue.offer(new Task("t" + i));
+        }
+        advance(10);
+        queue.poll();
+        advance(100);
+        assertThat(queue.poll().toString(), is("t2"));
+        assertThat(queue.poll().toString(), is("t3"));
+        assertThat(queue.getDroppedCount(), is(1L));
+        for (int i = 0; i < 3; i++) {
+            queue.offer(new Task("a" + i));
+        }
+        advance(1);
+        assertThat(queue.poll().toString(), is("a0"));
+        // back under the target, it takes another interval above it before dropping again
+        advance(200);
+        assertThat(queue.poll().toString(), is("a1"));
+        assertThat(queue.poll().toString(), is("a2"));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    public void testNeverDropLastTask() throws Exception {
+        queue.offer(new Task("t0"));
+        queue.offer(new Task("t1"));
+        advance(10);
+        queue.poll();
+        advance(500);
+        assertThat(queue.poll().toString(), is("t1"));
+        assertThat(queue.getDroppedCount(), is(0L));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    @Test
+    public void testNeverDropUnsheddableTask() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            String name = "r" + i;
+            queue.offer(new Runnable() {
+                @Override
+                public void run() {
+                }
+
+                @Override
+                public String toString() {
+                    return name;
+                }
+            });
+        }
+        advance(10);
+        queue.poll();
+        advance(500);
+        assertThat(queue.poll().toString(), is("r1"));
+        assertThat(queue.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void testStopDroppingAtTaskThatMustRun() throws Exception {
+        queue.offer(new Task("t0"));
+        queue.offer(new Task("t1"));
+        queue.offer(new Task("t2"));
+        queue.offer(new Task("event", false));
+        queue.offer(new Task("t3"));
+        advance(10);
+        queue.poll();
+        advance(500);
+        assertThat(queue.poll().toString(), is("t2"));
+        assertThat(shed, contains("t1"));
+        // the next drop is due, but the event has to run
+        advance(100);
+        assertThat(queue.poll().toString(), is("event"));
+        assertThat(queue.poll().toString(), is("t3"));
+        assertThat(shed, contains("t1"));
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        CoDelTaskQueue bounded = new CoDelTaskQueue(2, 5, 100, TimeUnit.MILLISECONDS);
+        assertThat(bounded.offer(new Task("t0")), is(true));
+        assertThat(bounded.offer(new Task("t1")), is(true));
+        assertThat(bounded.offer(new Task("t2")), is(false));
+        assertThat(bounded.offer(new Task("t2"), 10, TimeUnit.MILLISECONDS), is(false));
+        assertThat(bounded.remainingCapacity(), is(0));
+        assertThat(bounded.remove(bounded.peek()), is(true));
+        assertThat(bounded.size(), is(1));
+        assertThat(bounded.poll(10, TimeUnit.MILLISECONDS).toString(), is("t1"));
+        assertThat(bounded.poll(10, TimeUnit.MILLISECONDS), nullValue());
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CoDelTaskQueue(0, 5, 100, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new CoDelTaskQueue(1, 0, 100, TimeUnit.MILLISECONDS));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private class Task implements Sheddable {
+
+        private final String name;
+
+        private final boolean sheddable;
+
+        Task(String name) {
+            this(name, true);
+        }
+
+        Task(String name, boolean sheddable) {
+            this.name = name;
+            this.sheddable = sheddable;
+        }
+
+        @Override
+        public boolean isSheddable() {
+            return sheddable;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void shed() {
+            shed.add(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
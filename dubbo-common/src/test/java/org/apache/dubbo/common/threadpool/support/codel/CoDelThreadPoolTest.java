@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.codel;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.common.threadpool.support.AbortPolicyWithReport;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.dubbo.common.constants.CommonConstants.QUEUES_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CoDelThreadPoolTest {
+
+    @Test
+    public void getExecutor() throws Exception {
+        URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path?" +
+                THREAD_NAME_KEY + "=demo&" +
+                THREADS_KEY + "=2&" +
+                QUEUES_KEY + "=10");
+        ThreadPool threadPool = new CoDelThreadPool();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) threadPool.getExecutor(url);
+        assertThat(executor.getCorePoolSize(), is(2));
+        assertThat(executor.getMaximumPoolSize(), is(2));
+        assertThat(executor.getQueue(), Matchers.<BlockingQueue<Runnable>>instanceOf(CoDelTaskQueue.class));
+        assertThat(executor.getQueue().remainingCapacity(), is(10));
+        assertThat(executor.getRejectedExecutionHandler(),
+                Matchers.<RejectedExecutionHandler>instanceOf(AbortPolicyWithReport.class));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(latch::countDown);
+        assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+        executor.shutdown();
+    }
+
+    @Test
+    public void getExecutorWithoutQueues() throws Exception {
+        URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path?" + THREADS_KEY + "=1");
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) new CoDelThreadPool().getExecutor(url);
+        assertThat(executor.getQueue().remainingCapacity(), is(Integer.MAX_VALUE));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.priority;
+
+import org.apache.dubbo.common.lang.Prioritized;
+import org.apache.dubbo.common.threadpool.Sheddable;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class PriorityTaskQueueTest {
+
+    @Test
+    public void testOrder() throws Exception {
+        PriorityTaskQueue queue = new PriorityTaskQueue(10);
+        Task normal1 = new Task("normal1", 0);
+        Task batch = new Task("batch", 100);
+        Task critical = new Task("critical", -100);
+        Task normal2 = new Task("normal2", 0);
+        Runnable plain = () -> {
+        };
+        queue.offer(normal1);
+        queue.offer(batch);
+        queue.offer(critical);
+        queue.offer(normal2);
+        queue.offer(plain);
+        Assertions.assertEquals(5, queue.size());
+        Assertions.assertSame(critical, queue.peek());
+
+        Assertions.assertSame(critical, queue.take());
+        Assertions.assertSame(normal1, queue.poll());
+        Assertions.assertSame(normal2, queue.poll(1, TimeUnit.SECONDS));
+        // tasks that are not prioritized are normal
+        Assertions.assertSame(plain, queue.poll());
+        Assertions.assertSame(batch, queue.poll());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testShedOldestOfLeastUrgent() {
+        PriorityTaskQueue queue = new PriorityTaskQueue(3);
+        Task batch1 = new Task("batch1", 100);
+        Task batch2 = new Task("batch2", 100);
+        Task normal = new Task("normal", 0);
+        queue.offer(batch1);
+        queue.offer(batch2);
+        queue.offer(normal);
+        Assertions.assertEquals(0, queue.remainingCapacity());
+
+        Task critical = new Task("critical", -100);
+        Assertions.assertTrue(queue.offer(critical));
+        Assertions.assertTrue(batch1.shed);
+        Assertions.assertFalse(batch2.shed);
+        Assertions.assertEquals(3, queue.size());
+
+        // same priority as the least urgent queued: the older one goes
+        Task batch3 = new Task("batch3", 100);
+        Assertions.assertTrue(queue.offer(batch3));
+        Assertions.assertTrue(batch2.shed);
+
+        // less urgent than everything queued: refused
+        Task background = new Task("background", 1000);
+        Assertions.assertFalse(queue.offer(background));
+        Assertions.assertFalse(background.shed);
+
+        Assertions.assertEquals(2L, queue.getShedCounts().get(100).longValue());
+        Assertions.assertEquals(1, queue.getShedCounts().size());
+
+        List<Runnable> drained = new ArrayList<>();
+        Assertions.assertEquals(3, queue.drainTo(drained));
+        Assertions.assertEquals(Arrays.asList(critical, normal, batch3), drained);
+    }
+
+    @Test
+    public void testNeverShedTaskThatMustRun() {
+        PriorityTaskQueue queue = new PriorityTaskQueue(2);
+        Task event = new Task("event", Prioritized.MAX_PRIORITY, false);
+        Task batch = new Task("batch", 100);
+        queue.offer(event);
+        queue.offer(batch);
+
+        Task other = new Task("other", Prioritized.MAX_PRIORITY, false);
+        Assertions.assertTrue(queue.offer(other));
+        Assertions.assertTrue(batch.shed);
+        // only events that must run are left, a full queue refuses instead of shedding one
+        Assertions.assertFalse(queue.offer(new Task("last", Prioritized.MAX_PRIORITY)));
+        Assertions.assertFalse(event.shed);
+        Assertions.assertEquals(Arrays.asList(event, other), new ArrayList<>(queue));
+    }
+
+    @Test
+    public void testPriorityOnlyAskedAboveWatermark() {
+        PriorityTaskQueue queue = new PriorityTaskQueue(4, 2);
+        Task batch = new Task("batch", 100);
+        Task normal = new Task("normal", 0);
+        Task critical = new Task("critical", -100);
+        Task background = new Task("background", 1000);
+        queue.offer(batch);
+        queue.offer(normal);
+        queue.offer(critical);
+        queue.offer(background);
+        Assertions.assertEquals(0, batch.asked);
+        Assertions.assertEquals(0, normal.asked);
+        Assertions.assertEquals(1, critical.asked);
+        Assertions.assertEquals(1, background.asked);
+
+        // full: the newcomer is ranked against the least urgent, the unranked batch task counts as normal
+        Task urgent = new Task("urgent", -1);
+        Assertions.assertTrue(queue.offer(urgent));
+        Assertions.assertTrue(background.shed);
+
+        List<Runnable> drained = new ArrayList<>();
+        Assertions.assertEquals(4, queue.drainTo(drained));
+        Assertions.assertEquals(Arrays.asList(critical, urgent, batch, normal), drained);
+    }
+
+    @Test
+    public void testRemove() {
+        PriorityTaskQueue queue = new PriorityTaskQueue(3);
+        Task a = new Task("a", 1);
+        Task b = new Task("b", 2);
+        queue.offer(a);
+        queue.offer(b);
+        Assertions.assertTrue(queue.remove(a));
+        Assertions.assertFalse(queue.remove(a));
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertTrue(queue.contains(b));
+        queue.iterator().forEachRemaining(task -> Assertions.assertSame(b, task));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PriorityTaskQueue(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PriorityTaskQueue(2, 3));
+    }
+
+    private static class Task implements Sheddable, Prioritized {
+
+        private final String name;
+
+        private final int priority;
+
+        private final boolean sheddable;
+
+        private volatile boolean shed;
+
+        private volatile int asked;
+
+        Task(String name, int priority) {
+            this(name, priority, true);
+        }
+
+        Task(String name, int priority, boolean sheddable) {
+            this.name = name;
+            this.priority = priority;
+            this.sheddable = sheddable;
+        }
+
+        @Override
+        public boolean isSheddable() {
+            return sheddable;
+        }
+
+        @Override
+        public int getPriority() {
+            asked++;
+            return priority;
+        }
+
+        @Override
+        public void shed() {
+            shed = true;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
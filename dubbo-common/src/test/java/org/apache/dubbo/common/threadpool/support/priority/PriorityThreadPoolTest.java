@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.priority;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.lang.Prioritized;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.common.threadpool.support.AbortPolicyWithReport;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.dubbo.common.constants.CommonConstants.QUEUES_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class PriorityThreadPoolTest {
+
+    @Test
+    public void getExecutor() throws Exception {
+        URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path?" +
+                THREAD_NAME_KEY + "=demo&" +
+                THREADS_KEY + "=2&" +
+                QUEUES_KEY + "=10");
+        ThreadPool threadPool = new PriorityThreadPool();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) threadPool.getExecutor(url);
+        assertThat(executor.getCorePoolSize(), is(2));
+        assertThat(executor.getMaximumPoolSize(), is(2));
+        assertThat(executor.getQueue(), Matchers.<BlockingQueue<Runnable>>instanceOf(PriorityTaskQueue.class));
+        assertThat(executor.getQueue().remainingCapacity(), is(10));
+        assertThat(executor.getRejectedExecutionHandler(),
+                Matchers.<RejectedExecutionHandler>instanceOf(AbortPolicyWithReport.class));
+        executor.shutdown();
+    }
+
+    @Test
+    public void getExecutorWithoutQueues() throws Exception {
+        URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path?" + THREADS_KEY + "=3");
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) new PriorityThreadPool().getExecutor(url);
+        // as deep as the pool
+        assertThat(executor.getQueue().remainingCapacity(), is(3));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testMostUrgentRunsFirst() throws Exception {
+        URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path?" + THREADS_KEY + "=1&" + QUEUES_KEY + "=6");
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) new PriorityThreadPool().getExecutor(url);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocked.await();
+
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(6);
+        // the first three fill the queue up to its watermark and are served as normal, in arrival order
+        for (int priority : new int[]{1, 2, -1, 10, -5, 0}) {
+            executor.execute(new Task(priority, () -> {
+                executed.add(priority);
+                done.countDown();
+            }));
+        }
+        release.countDown();
+        done.await(5, TimeUnit.SECONDS);
+        assertThat(executed, is(Arrays.asList(-5, 1, 2, -1, 0, 10)));
+        executor.shutdown();
+    }
+
+    private static class Task implements Runnable, Prioritized {
+
+        private final int priority;
+
+        private final Runnable runnable;
+
+        Task(int priority, Runnable runnable) {
+            this.priority = priority;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.threadpool.support.virtual;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VirtualThreadExecutorTest {
+
+    private final URL url = URL.valueOf("dubbo://10.20.130.230:20880/context/path");
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", url, new NamedThreadFactory("test", true), 2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, executor.getActiveCount());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+
+        release.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    public void testPermitReleasedAfterTask() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", url, new NamedThreadFactory("test", true), 1);
+        AtomicInteger done = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            executor.submit(done::incrementAndGet).get(5, TimeUnit.SECONDS);
+            // the permit is given back only after the worker thread leaves the task
+            while (executor.getActiveCount() > 0) {
+                Thread.yield();
+            }
+        }
+        Assertions.assertEquals(20, done.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", url, new NamedThreadFactory("test", true),
+                Integer.MAX_VALUE);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Runnable> pending = executor.shutdownNow();
+        Assertions.assertTrue(pending.isEmpty());
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.isTerminated());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -18,13 +18,18 @@
 package org.apache.dubbo.common.utils;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.Sheddable;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -75,6 +80,53 @@ public class ExecutorUtilTest {
         verify(executor).awaitTermination(20, TimeUnit.MILLISECONDS);
     }
 
+    @Test
+    public void testShutdownNowShedsQueuedTasks() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        AtomicBoolean shed = new AtomicBoolean();
+        executor.execute(new Sheddable() {
+            @Override
+            public void shed() {
+                shed.set(true);
+            }
+
+            @Override
+            public void run() {
+            }
+        });
+        AtomicBoolean ran = new AtomicBoolean();
+        executor.execute(new Sheddable() {
+            @Override
+            public boolean isSheddable() {
+                return false;
+            }
+
+            @Override
+            public void shed() {
+            }
+
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        });
+        ExecutorUtil.shutdownNow(executor, 1000);
+        assertThat(shed.get(), is(true));
+        assertThat(ran.get(), is(true));
+        assertThat(executor.isTerminated(), is(true));
+    }
+
     @Test
     public void testSetThreadName() throws Exception {
         URL url = new URL("dubbo", "localhost", 1234).addParameter(THREAD_NAME_KEY, "custom-thread");
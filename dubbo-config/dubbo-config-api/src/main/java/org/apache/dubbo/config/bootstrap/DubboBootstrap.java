@@ -17,6 +17,7 @@
 package org.apache.dubbo.config.bootstrap;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.config.ConfigurationUtils;
 import org.apache.dubbo.common.config.Environment;
 import org.apache.dubbo.common.config.configcenter.DynamicConfiguration;
 import org.apache.dubbo.common.config.configcenter.wrapper.CompositeDynamicConfiguration;
@@ -25,7 +26,6 @@ import org.apache.dubbo.common.lang.ShutdownHookCallback;
 import org.apache.dubbo.common.lang.ShutdownHookCallbacks;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
-import org.apache.dubbo.common.threadpool.concurrent.ScheduledCompletableFuture;
 import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.common.utils.StringUtils;
@@ -40,6 +40,7 @@ import org.apache.dubbo.config.MonitorConfig;
 import org.apache.dubbo.config.ProtocolConfig;
 import org.apache.dubbo.config.ProviderConfig;
 import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.config.ReferenceConfigBase;
 import org.apache.dubbo.config.RegistryConfig;
 import org.apache.dubbo.config.ServiceConfig;
 import org.apache.dubbo.config.ServiceConfigBase;
@@ -67,6 +68,7 @@ import org.apache.dubbo.registry.client.ServiceDiscovery;
 import org.apache.dubbo.registry.client.ServiceDiscoveryRegistry;
 import org.apache.dubbo.registry.client.ServiceInstance;
 import org.apache.dubbo.registry.support.AbstractRegistryFactory;
+import org.apache.dubbo.registry.support.RegistrationBatch;
 import org.apache.dubbo.rpc.model.ApplicationModel;
 
 import java.io.IOException;
@@ -74,11 +76,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -87,13 +90,21 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.apache.dubbo.common.config.ConfigurationUtils.parseProperties;
 import static org.apache.dubbo.common.config.configcenter.DynamicConfiguration.getDynamicConfiguration;
 import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_METADATA_STORAGE_TYPE;
 import static org.apache.dubbo.common.constants.CommonConstants.REMOTE_METADATA_STORAGE_TYPE;
+import static org.apache.dubbo.common.constants.CommonConstants.STARTUP_BATCH_REGISTER_KEY;
 import static org.apache.dubbo.common.function.ThrowableAction.execute;
 import static org.apache.dubbo.common.utils.StringUtils.isNotEmpty;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.EXPORT_PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.INSTANCE_PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.METADATA_PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.REFER_PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.REGISTER_PHASE;
 import static org.apache.dubbo.metadata.WritableMetadataService.getExtension;
 import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.setMetadataStorageType;
 import static org.apache.dubbo.remoting.Constants.CLIENT_KEY;
@@ -166,12 +177,19 @@ public class DubboBootstrap extends GenericEventListener {
 
     private volatile MetadataServiceExporter metadataServiceExporter;
 
-    private List<ServiceConfigBase<?>> exportedServices = new ArrayList<>();
+    private List<ServiceConfigBase<?>> exportedServices = new CopyOnWriteArrayList<>();
 
-    private List<Future<?>> asyncExportingFutures = new ArrayList<>();
+    private List<CompletableFuture<Void>> asyncExportingFutures = new ArrayList<>();
 
     private List<CompletableFuture<Object>> asyncReferringFutures = new ArrayList<>();
 
+    /**
+     * The exports in progress by interface, the references to them waiting for their completion
+     */
+    private Map<String, CompletableFuture<Void>> exportingServices = new HashMap<>();
+
+    private final StartupTimeline startupTimeline = new StartupTimeline();
+
     /**
      * See {@link ApplicationModel} and {@link ExtensionLoader} for why DubboBootstrap is designed to be singleton.
      */
@@ -491,6 +509,10 @@ public class DubboBootstrap extends GenericEventListener {
         return this;
     }
 
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
     @Deprecated
     public void init() {
         initialize();
@@ -745,36 +767,43 @@ public class DubboBootstrap extends GenericEventListener {
             if (logger.isInfoEnabled()) {
                 logger.info(NAME + " is starting...");
             }
-            // 1. export Dubbo Services
-            exportServices();
+            startupTimeline.start();
+            // 1. export Dubbo Services, and register them at once
+            CompletableFuture<Void> exported = exportServices();
 
+            CompletableFuture<Void> published;
             // Not only provider register
-            if (!isOnlyRegisterProvider() || hasExportedServices()) {
-                // 2. export MetadataService
-                exportMetadataService();
-                //3. Register the local ServiceInstance if required
-                registerServiceInstance();
+            if (!isOnlyRegisterProvider()) {
+                // 2. export MetadataService, which doesn't depend on the other services, alongside them
+                CompletableFuture<Void> metadataExported = runAfter(completedFuture(null),
+                        () -> runPhase(METADATA_PHASE, this::exportMetadataService));
+                //3. Register the local ServiceInstance if required, once its metadata covers all the services
+                published = runAfter(allOf(exported, metadataExported),
+                        () -> runPhase(INSTANCE_PHASE, this::registerServiceInstance));
+            } else {
+                published = runAfter(exported, () -> {
+                    if (hasExportedServices()) {
+                        runPhase(METADATA_PHASE, this::exportMetadataService);
+                        runPhase(INSTANCE_PHASE, this::registerServiceInstance);
+                    }
+                });
+            }
+            if (exportAsync) {
+                asyncExportingFutures.add(published);
             }
 
-            referServices();
-            if (asyncExportingFutures.size() > 0) {
-                new Thread(() -> {
-                    try {
-                        this.awaitFinish();
-                    } catch (Exception e) {
-                        logger.warn(NAME + " exportAsync occurred an exception.");
-                    }
-                    ready.set(true);
-                    if (logger.isInfoEnabled()) {
-                        logger.info(NAME + " is ready.");
-                    }
-                }).start();
-            } else {
+            CompletableFuture<Void> referred = referServices();
+
+            allOf(published, referred).whenComplete((v, t) -> {
+                if (t != null) {
+                    logger.warn(NAME + " exportAsync / referAsync occurred an exception.", t);
+                }
                 ready.set(true);
+                startupTimeline.ready();
                 if (logger.isInfoEnabled()) {
                     logger.info(NAME + " is ready.");
                 }
-            }
+            });
             if (logger.isInfoEnabled()) {
                 logger.info(NAME + " has started.");
             }
@@ -926,24 +955,83 @@ public class DubboBootstrap extends GenericEventListener {
         }
     }
 
-    private void exportServices() {
-        configManager.getServices().forEach(sc -> {
-            // TODO, compatible with ServiceConfig.export()
-            ServiceConfig serviceConfig = (ServiceConfig) sc;
-            serviceConfig.setBootstrap(this);
+    /**
+     * Run the action after the given stage in the exporter executor when exporting asynchronously, otherwise right away
+     * in the current thread, which the exceptions are thrown to.
+     */
+    private CompletableFuture<Void> runAfter(CompletableFuture<?> stage, Runnable action) {
+        if (exportAsync) {
+            return stage.thenRunAsync(action, executorRepository.getServiceExporterExecutor());
+        }
+        action.run();
+        return completedFuture(null);
+    }
 
-            if (exportAsync) {
-                ExecutorService executor = executorRepository.getServiceExporterExecutor();
-                Future<?> future = executor.submit(() -> {
-                    sc.export();
-                    exportedServices.add(sc);
-                });
-                asyncExportingFutures.add(future);
-            } else {
-                sc.export();
-                exportedServices.add(sc);
+    private void runPhase(String phase, Runnable action) {
+        startupTimeline.phaseStarted(phase);
+        try {
+            action.run();
+        } finally {
+            startupTimeline.phaseFinished(phase);
+        }
+    }
+
+    private CompletableFuture<Void> exportServices() {
+        boolean batchRegister = Boolean.parseBoolean(ConfigurationUtils.getProperty(STARTUP_BATCH_REGISTER_KEY, "true"));
+        if (batchRegister) {
+            RegistrationBatch.open();
+        }
+        startupTimeline.phaseStarted(EXPORT_PHASE);
+
+        if (!exportAsync) {
+            try {
+                configManager.getServices().forEach(this::exportService);
+            } catch (RuntimeException e) {
+                exportFinished(batchRegister, e);
+                throw e;
             }
+            exportFinished(batchRegister, null);
+            return completedFuture(null);
+        }
+
+        ExecutorService executor = executorRepository.getServiceExporterExecutor();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        configManager.getServices().forEach(sc -> {
+            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> exportService(sc), executor);
+            exportingServices.merge(sc.getInterface(), future, CompletableFuture::allOf);
+            futures.add(future);
         });
+        asyncExportingFutures.addAll(futures);
+        return allOf(futures.toArray(new CompletableFuture[0])).whenComplete((v, t) -> exportFinished(batchRegister, t));
+    }
+
+    /**
+     * The services exported or not, send the registrations held back, without hiding the failure of an export
+     */
+    private void exportFinished(boolean batchRegister, Throwable failure) {
+        startupTimeline.phaseFinished(EXPORT_PHASE);
+        if (!batchRegister) {
+            return;
+        }
+        try {
+            runPhase(REGISTER_PHASE, RegistrationBatch::flush);
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void exportService(ServiceConfigBase<?> sc) {
+        // TODO, compatible with ServiceConfig.export()
+        ServiceConfig serviceConfig = (ServiceConfig) sc;
+        serviceConfig.setBootstrap(this);
+
+        long start = System.currentTimeMillis();
+        sc.export();
+        exportedServices.add(sc);
+        startupTimeline.taskFinished(EXPORT_PHASE, sc.getUniqueServiceName(), System.currentTimeMillis() - start);
     }
 
     private void unexportServices() {
@@ -958,14 +1046,16 @@ public class DubboBootstrap extends GenericEventListener {
             }
         });
         asyncExportingFutures.clear();
+        exportingServices.clear();
         exportedServices.clear();
     }
 
-    private void referServices() {
+    private CompletableFuture<Void> referServices() {
         if (cache == null) {
             cache = ReferenceConfigCache.getCache();
         }
 
+        startupTimeline.phaseStarted(REFER_PHASE);
         configManager.getReferences().forEach(rc -> {
             // TODO, compatible with  ReferenceConfig.refer()
             ReferenceConfig referenceConfig = (ReferenceConfig) rc;
@@ -973,16 +1063,25 @@ public class DubboBootstrap extends GenericEventListener {
 
             if (rc.shouldInit()) {
                 if (referAsync) {
-                    CompletableFuture<Object> future = ScheduledCompletableFuture.submit(
-                            executorRepository.getServiceExporterExecutor(),
-                            () -> cache.get(rc)
-                    );
+                    // a service of this application is referred once exported, to be called in-jvm
+                    CompletableFuture<Void> exported = exportingServices.getOrDefault(rc.getInterface(), completedFuture(null));
+                    CompletableFuture<Object> future = exported.handle((v, t) -> null)
+                            .thenApplyAsync(v -> referService(rc), executorRepository.getServiceExporterExecutor());
                     asyncReferringFutures.add(future);
                 } else {
-                    cache.get(rc);
+                    referService(rc);
                 }
             }
         });
+        return allOf(asyncReferringFutures.toArray(new CompletableFuture[0]))
+                .whenComplete((v, t) -> startupTimeline.phaseFinished(REFER_PHASE));
+    }
+
+    private Object referService(ReferenceConfigBase<?> rc) {
+        long start = System.currentTimeMillis();
+        Object ref = cache.get(rc);
+        startupTimeline.taskFinished(REFER_PHASE, rc.getUniqueServiceName(), System.currentTimeMillis() - start);
+        return ref;
     }
 
     private void unreferServices() {
@@ -1067,6 +1166,7 @@ public class DubboBootstrap extends GenericEventListener {
                 if (started.compareAndSet(true, false)
                         && destroyed.compareAndSet(false, true)) {
 
+                    RegistrationBatch.discard();
                     unregisterServiceInstance();
                     unexportMetadataService();
                     unexportServices();
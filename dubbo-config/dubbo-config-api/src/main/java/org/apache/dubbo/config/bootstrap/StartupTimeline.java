@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.config.bootstrap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * When the phases of the {@link DubboBootstrap#start() start} of the application began and ended, and how long each
+ * of the services took to be exported or referred, in milliseconds since the start.
+ *
+ * @see DubboBootstrap#getStartupTimeline()
+ */
+public class StartupTimeline {
+
+    public static final String EXPORT_PHASE = "export";
+
+    public static final String REGISTER_PHASE = "register";
+
+    public static final String METADATA_PHASE = "metadata";
+
+    public static final String INSTANCE_PHASE = "instance";
+
+    public static final String REFER_PHASE = "refer";
+
+    private volatile long startTime;
+
+    private volatile long readyTime = -1;
+
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Long>> tasks = new ConcurrentHashMap<>();
+
+    synchronized void start() {
+        startTime = System.currentTimeMillis();
+        readyTime = -1;
+        phases.clear();
+        tasks.clear();
+    }
+
+    synchronized void phaseStarted(String phase) {
+        phases.put(phase, new long[]{elapsed(), -1});
+    }
+
+    synchronized void phaseFinished(String phase) {
+        long[] times = phases.get(phase);
+        if (times != null) {
+            times[1] = elapsed();
+        }
+    }
+
+    void taskFinished(String phase, String task, long cost) {
+        tasks.computeIfAbsent(phase, k -> new ConcurrentHashMap<>()).put(task, cost);
+    }
+
+    void ready() {
+        readyTime = elapsed();
+    }
+
+    private long elapsed() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * @return the time the application took to be ready, -1 while it isn't
+     */
+    public long getReadyTime() {
+        return readyTime;
+    }
+
+    /**
+     * @return the phases in the order they started, with when they started and ended, -1 for those not over yet
+     */
+    public synchronized Map<String, long[]> getPhases() {
+        Map<String, long[]> copy = new LinkedHashMap<>();
+        phases.forEach((phase, times) -> copy.put(phase, times.clone()));
+        return copy;
+    }
+
+    /**
+     * @return the tasks of the phase that took the longest, with how long each did
+     */
+    public List<Map.Entry<String, Long>> getSlowestTasks(String phase, int limit) {
+        Map<String, Long> costs = tasks.get(phase);
+        if (costs == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<String, Long>> slowest = new ArrayList<>(costs.entrySet());
+        slowest.sort(comparingLong(Map.Entry<String, Long>::getValue).reversed());
+        return slowest.size() > limit ? new ArrayList<>(slowest.subList(0, limit)) : slowest;
+    }
+}
@@ -92,6 +92,10 @@ public abstract class AbstractServiceBuilder<T extends AbstractServiceConfig, B
     // max allowed execute times
     private Integer executes;
 
+    private Integer bulkheadThreads;
+
+    private Integer bulkheadQueues;
+
     /**
      * Whether to register
      */
@@ -201,6 +205,16 @@ public abstract class AbstractServiceBuilder<T extends AbstractServiceConfig, B
         return getThis();
     }
 
+    public B bulkheadThreads(Integer bulkheadThreads) {
+        this.bulkheadThreads = bulkheadThreads;
+        return getThis();
+    }
+
+    public B bulkheadQueues(Integer bulkheadQueues) {
+        this.bulkheadQueues = bulkheadQueues;
+        return getThis();
+    }
+
     public B register(Boolean register) {
         this.register = register;
         return getThis();
@@ -259,6 +273,12 @@ public abstract class AbstractServiceBuilder<T extends AbstractServiceConfig, B
         if (executes != null) {
             instance.setExecutes(executes);
         }
+        if (bulkheadThreads != null) {
+            instance.setBulkheadThreads(bulkheadThreads);
+        }
+        if (bulkheadQueues != null) {
+            instance.setBulkheadQueues(bulkheadQueues);
+        }
         if (register != null) {
             instance.setRegister(register);
         }
@@ -53,6 +53,21 @@ public class MethodBuilder extends AbstractMethodBuilder<MethodConfig, MethodBui
      */
     private Integer executes;
 
+    /**
+     * Threads of the dedicated executor of the method
+     */
+    private Integer bulkheadThreads;
+
+    /**
+     * Queue size of the dedicated executor of the method
+     */
+    private Integer bulkheadQueues;
+
+    /**
+     * Priority of the method's requests in threadpool="priority"
+     */
+    private Integer priority;
+
     /**
      * If it's deprecated
      */
@@ -134,6 +149,21 @@ public class MethodBuilder extends AbstractMethodBuilder<MethodConfig, MethodBui
         return getThis();
     }
 
+    public MethodBuilder bulkheadThreads(Integer bulkheadThreads) {
+        this.bulkheadThreads = bulkheadThreads;
+        return getThis();
+    }
+
+    public MethodBuilder bulkheadQueues(Integer bulkheadQueues) {
+        this.bulkheadQueues = bulkheadQueues;
+        return getThis();
+    }
+
+    public MethodBuilder priority(Integer priority) {
+        this.priority = priority;
+        return getThis();
+    }
+
     public MethodBuilder deprecated(Boolean deprecated) {
         this.deprecated = deprecated;
         return getThis();
@@ -212,6 +242,9 @@ public class MethodBuilder extends AbstractMethodBuilder<MethodConfig, MethodBui
         methodConfig.setArguments(arguments);
         methodConfig.setDeprecated(deprecated);
         methodConfig.setExecutes(executes);
+        methodConfig.setBulkheadThreads(bulkheadThreads);
+        methodConfig.setBulkheadQueues(bulkheadQueues);
+        methodConfig.setPriority(priority);
         methodConfig.setName(name);
         methodConfig.setOninvoke(oninvoke);
         methodConfig.setOninvokeMethod(oninvokeMethod);
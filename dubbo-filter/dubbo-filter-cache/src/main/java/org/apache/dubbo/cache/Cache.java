@@ -24,6 +24,8 @@ package org.apache.dubbo.cache;
  * @see org.apache.dubbo.cache.support.jcache.JCache
  * @see org.apache.dubbo.cache.support.expiring.ExpiringCache
  * @see org.apache.dubbo.cache.support.threadlocal.ThreadLocalCache
+ * @see org.apache.dubbo.cache.support.concurrent.TinyLfuCache
+ * @see org.apache.dubbo.cache.support.concurrent.ConcurrentLruCache
  */
 public interface Cache {
     /**
@@ -19,19 +19,35 @@ package org.apache.dubbo.cache.filter;
 import org.apache.dubbo.cache.Cache;
 import org.apache.dubbo.cache.CacheFactory;
 import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.utils.ConfigUtils;
 import org.apache.dubbo.common.utils.StringUtils;
+import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.AsyncRpcResult;
 import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.InvokeMode;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.support.RpcUtils;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_TIMEOUT;
 import static org.apache.dubbo.common.constants.CommonConstants.PROVIDER;
+import static org.apache.dubbo.common.constants.FilterConstants.CACHE_COALESCE_KEY;
 import static org.apache.dubbo.common.constants.FilterConstants.CACHE_KEY;
 
 /**
@@ -41,6 +57,8 @@ import static org.apache.dubbo.common.constants.FilterConstants.CACHE_KEY;
  * <li>threadlocal</li>
  * <li>jcache</li>
  * <li>expiring</li>
+ * <li>tinylfu</li>
+ * <li>concurrentlru</li>
  *
  * <pre>
  *   e.g. 1)&lt;dubbo:service cache="lru" /&gt;
@@ -53,6 +71,10 @@ import static org.apache.dubbo.common.constants.FilterConstants.CACHE_KEY;
  *be backed by <b>lru</b>
  *</pre>
  *
+ * With <b>cache.coalesce</b> set to true, the arguments are keyed by their serialized bytes ({@link CacheKey}), and
+ * concurrent invocations missing the cache with the same arguments are coalesced: only the first one calls the
+ * invoker, the others complete with a copy of its {@link AppResponse}, also when it is returned asynchronously.
+ *
  * @see org.apache.dubbo.rpc.Filter
  * @see org.apache.dubbo.cache.support.lru.LruCacheFactory
  * @see org.apache.dubbo.cache.support.lru.LruCache
@@ -62,11 +84,19 @@ import static org.apache.dubbo.common.constants.FilterConstants.CACHE_KEY;
  * @see org.apache.dubbo.cache.support.threadlocal.ThreadLocalCache
  * @see org.apache.dubbo.cache.support.expiring.ExpiringCacheFactory
  * @see org.apache.dubbo.cache.support.expiring.ExpiringCache
+ * @see org.apache.dubbo.cache.support.concurrent.TinyLfuCacheFactory
+ * @see org.apache.dubbo.cache.support.concurrent.TinyLfuCache
+ * @see org.apache.dubbo.cache.support.concurrent.ConcurrentLruCacheFactory
+ * @see org.apache.dubbo.cache.support.concurrent.ConcurrentLruCache
  *
  */
 @Activate(group = {CONSUMER, PROVIDER}, value = CACHE_KEY)
 public class CacheFilter implements Filter {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheFilter.class);
+
+    private final ConcurrentMap<Cache, ConcurrentMap<CacheKey, CompletableFuture<AppResponse>>> inflights = new ConcurrentHashMap<>();
+
     private CacheFactory cacheFactory;
 
     /**
@@ -93,6 +123,9 @@ public class CacheFilter implements Filter {
     public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
         if (cacheFactory != null && ConfigUtils.isNotEmpty(invoker.getUrl().getMethodParameter(invocation.getMethodName(), CACHE_KEY))) {
             Cache cache = cacheFactory.getCache(invoker.getUrl(), invocation);
+            if (cache != null && invoker.getUrl().getMethodParameter(invocation.getMethodName(), CACHE_COALESCE_KEY, false)) {
+                return invokeCoalesced(invoker, invocation, cache);
+            }
             if (cache != null) {
                 String key = StringUtils.toArgumentString(invocation.getArguments());
                 Object value = cache.get(key);
@@ -113,6 +146,102 @@ public class CacheFilter implements Filter {
         return invoker.invoke(invocation);
     }
 
+    private Result invokeCoalesced(Invoker<?> invoker, Invocation invocation, Cache cache) throws RpcException {
+        CacheKey key;
+        try {
+            key = CacheKey.of(invoker.getUrl(), invocation.getArguments());
+        } catch (IOException e) {
+            logger.warn("Failed to build the cache key of " + invocation.getMethodName() + ", skip the cache, cause: " + e.getMessage(), e);
+            return invoker.invoke(invocation);
+        }
+        Object value = cache.get(key);
+        if (value != null) {
+            return newCachedResult(value, invocation);
+        }
+
+        ConcurrentMap<CacheKey, CompletableFuture<AppResponse>> inflight = inflights.computeIfAbsent(cache, k -> new ConcurrentHashMap<>());
+        CompletableFuture<AppResponse> future = new CompletableFuture<>();
+        CompletableFuture<AppResponse> leader = inflight.putIfAbsent(key, future);
+        if (leader != null) {
+            return joinLeader(leader, invoker, invocation);
+        }
+
+        // the previous leader may have filled the cache between our lookup and putIfAbsent
+        value = cache.get(key);
+        if (value != null) {
+            inflight.remove(key, future);
+            AppResponse response = new AppResponse(value instanceof ValueWrapper ? ((ValueWrapper) value).get() : value);
+            future.complete(response);
+            return newCachedResult(value, invocation);
+        }
+
+        try {
+            Result result = invoker.invoke(invocation);
+            return result.whenCompleteWithContext((r, t) -> {
+                if (t != null) {
+                    inflight.remove(key, future);
+                    future.completeExceptionally(t);
+                    return;
+                }
+                if (!r.hasException()) {
+                    cache.put(key, new ValueWrapper(r.getValue()));
+                }
+                inflight.remove(key, future);
+                future.complete(copyOf(r));
+            });
+        } catch (Throwable t) {
+            inflight.remove(key, future);
+            future.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private Result joinLeader(CompletableFuture<AppResponse> leader, Invoker<?> invoker, Invocation invocation) throws RpcException {
+        AsyncRpcResult result = new AsyncRpcResult(leader.thenApply(CacheFilter::copyOf), invocation);
+        // a sync consumer reads the result as soon as the filter returns, so wait here as the leader does, but no
+        // longer than this invocation would have waited for its own response
+        if (invocation instanceof RpcInvocation && InvokeMode.SYNC == ((RpcInvocation) invocation).getInvokeMode()) {
+            long timeout = RpcUtils.getTimeout(invocation, RpcUtils.getTimeout(invoker.getUrl(),
+                    invocation.getMethodName(), RpcContext.getContext(), DEFAULT_TIMEOUT));
+            try {
+                result.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new RpcException("Interrupted while waiting for the coalesced invocation of method: "
+                        + invocation.getMethodName() + ", cause: " + e.getMessage(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RpcException ? (RpcException) cause : new RpcException(cause.getMessage(), cause);
+            } catch (TimeoutException e) {
+                throw new RpcException(RpcException.TIMEOUT_EXCEPTION, "Waiting for the coalesced invocation of method: "
+                        + invocation.getMethodName() + " timed out after " + timeout + "ms, provider: " + invoker.getUrl(), e);
+            } catch (Exception e) {
+                throw new RpcException(e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    private static AsyncRpcResult newCachedResult(Object value, Invocation invocation) {
+        if (value instanceof ValueWrapper) {
+            return AsyncRpcResult.newDefaultAsyncResult(((ValueWrapper) value).get(), invocation);
+        }
+        return AsyncRpcResult.newDefaultAsyncResult(value, invocation);
+    }
+
+    /**
+     * Every waiter gets its own response, as filters further up may add attachments to it.
+     */
+    private static AppResponse copyOf(Result result) {
+        AppResponse response = new AppResponse();
+        if (result.hasException()) {
+            response.setException(result.getException());
+        } else {
+            response.setValue(result.getValue());
+        }
+        response.addObjectAttachments(result.getObjectAttachments());
+        return response;
+    }
+
     /**
      * Cache value wrapper.
      */
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.cache.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.io.UnsafeByteArrayOutputStream;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.serialize.Serialization;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import static org.apache.dubbo.remoting.Constants.DEFAULT_REMOTING_SERIALIZATION;
+import static org.apache.dubbo.remoting.Constants.SERIALIZATION_KEY;
+
+/**
+ * Cache key made of the invocation arguments serialized the same way as they go on the wire, so that arguments are
+ * told apart by their content rather than by their <code>toString()</code>.
+ */
+public final class CacheKey implements Serializable {
+
+    private static final long serialVersionUID = 5376421489437581264L;
+
+    private final byte[] bytes;
+
+    private final int hash;
+
+    CacheKey(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * @param url the url whose <b>serialization</b> is used, <b>hessian2</b> by default
+     */
+    public static CacheKey of(URL url, Object[] arguments) throws IOException {
+        Serialization serialization = ExtensionLoader.getExtensionLoader(Serialization.class)
+                .getExtension(url.getParameter(SERIALIZATION_KEY, DEFAULT_REMOTING_SERIALIZATION));
+        UnsafeByteArrayOutputStream output = new UnsafeByteArrayOutputStream(64);
+        ObjectOutput objectOutput = serialization.serialize(url, output);
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                objectOutput.writeObject(argument);
+            }
+        }
+        objectOutput.flushBuffer();
+        return new CacheKey(output.toByteArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey that = (CacheKey) o;
+        return hash == that.hash && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheKey[" + bytes.length + " bytes, hash=" + Integer.toHexString(hash) + "]";
+    }
+}
@@ -36,6 +36,8 @@ import static org.apache.dubbo.common.constants.CommonConstants.METHOD_KEY;
  * @see org.apache.dubbo.cache.support.lru.LruCacheFactory
  * @see org.apache.dubbo.cache.support.threadlocal.ThreadLocalCacheFactory
  * @see org.apache.dubbo.cache.support.expiring.ExpiringCacheFactory
+ * @see org.apache.dubbo.cache.support.concurrent.TinyLfuCacheFactory
+ * @see org.apache.dubbo.cache.support.concurrent.ConcurrentLruCacheFactory
  */
 public abstract class AbstractCacheFactory implements CacheFactory {
 
@@ -0,0 +1,456 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.cache.support.concurrent;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A concurrent cache bounded by entry count or total weight, with optional per-entry time to live.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so reads never block. The eviction policy is not updated inline:
+ * hits are recorded into {@link StripedReadBuffer lossy striped buffers} and writes into a queue, and whichever thread
+ * wins a try-lock replays them against the policy. Nothing on the read path waits on that lock.
+ * <p>
+ * With frequency admission enabled the policy is W-TinyLFU: new entries enter a small LRU window (1% of the
+ * capacity), and leave it for the segmented LRU main space (a probation segment and a protected segment of 80%) only
+ * if a {@link FrequencySketch} estimates they are used more often than the entry they would evict. Without admission
+ * the window spans the whole capacity and the cache is a plain LRU.
+ */
+public class BoundedCache<K, V> {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private static final byte UNLINKED = 0;
+
+    private static final byte WINDOW = 1;
+
+    private static final byte PROBATION = 2;
+
+    private static final byte PROTECTED = 3;
+
+    private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+
+    private final long maximum;
+
+    private final long windowMaximum;
+
+    private final long protectedMaximum;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier ticker;
+
+    private final StripedReadBuffer<Node<K, V>> readBuffer = new StripedReadBuffer<>();
+
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /*
+     * Policy state below is guarded by evictionLock.
+     */
+
+    private final FrequencySketch sketch;
+
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+
+    private final AccessOrder<K, V> protect = new AccessOrder<>();
+
+    private long windowWeight;
+
+    private long protectedWeight;
+
+    private long weightedSize;
+
+    /**
+     * A cache holding at most <code>maximumSize</code> entries that never expire
+     */
+    public BoundedCache(long maximumSize, boolean frequencyAdmission) {
+        this(maximumSize, (k, v) -> 1, 0, TimeUnit.MILLISECONDS, frequencyAdmission);
+    }
+
+    /**
+     * @param maximumWeight      bound of the summed weight of all entries
+     * @param weigher            weight of an entry, computed once when it is put
+     * @param timeToLive         default time to live of an entry, 0 for none
+     * @param unit               unit of <code>timeToLive</code>
+     * @param frequencyAdmission W-TinyLFU when true, LRU otherwise
+     */
+    public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+                        long timeToLive, TimeUnit unit, boolean frequencyAdmission) {
+        this(maximumWeight, weigher, unit.toNanos(timeToLive), frequencyAdmission, System::nanoTime);
+    }
+
+    BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+                 long timeToLiveNanos, boolean frequencyAdmission, LongSupplier ticker) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximum weight must be positive: " + maximumWeight);
+        }
+        if (timeToLiveNanos < 0) {
+            throw new IllegalArgumentException("time to live must not be negative: " + timeToLiveNanos);
+        }
+        this.maximum = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.ticker = ticker;
+        if (frequencyAdmission) {
+            this.windowMaximum = Math.max(1, maximumWeight / 100);
+            this.protectedMaximum = (maximumWeight - windowMaximum) * 80 / 100;
+            this.sketch = new FrequencySketch(maximumWeight);
+        } else {
+            this.windowMaximum = maximumWeight;
+            this.protectedMaximum = 0;
+            this.sketch = null;
+        }
+    }
+
+    /**
+     * @return the value mapped to <code>key</code>, or null when absent or expired
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        if (node.isExpired(ticker.getAsLong())) {
+            if (data.remove(key, node)) {
+                statistics.recordExpiration();
+                afterWrite(() -> onRemove(node));
+            }
+            statistics.recordMiss();
+            return null;
+        }
+        statistics.recordHit();
+        if (readBuffer.offer(node)) {
+            drain();
+        }
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, timeToLiveNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Put an entry with its own time to live, 0 for none
+     */
+    public void put(K key, V value, long timeToLive, TimeUnit unit) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        long expireAt = timeToLive > 0 ? ticker.getAsLong() + unit.toNanos(timeToLive) : NEVER;
+        Node<K, V> node = new Node<>(key, value, weight, expireAt);
+        Node<K, V> prior = data.put(key, node);
+        if (prior != null) {
+            writeBuffer.add(() -> onRemove(prior));
+        }
+        afterWrite(() -> onAdd(node));
+    }
+
+    public V remove(K key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        afterWrite(() -> onRemove(node));
+        return node.value;
+    }
+
+    /**
+     * Number of mapped entries, possibly including expired ones not yet cleaned up
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Summed weight of the entries known to the eviction policy
+     */
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Replay all pending reads and writes against the eviction policy
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        drain();
+    }
+
+    private void drain() {
+        // re-check after unlocking, a task may have been queued while the lock holder was finishing
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (!writeBuffer.isEmpty());
+    }
+
+    private void maintenance() {
+        readBuffer.drainTo(this::onAccess);
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+        evict();
+    }
+
+    private void onAdd(Node<K, V> node) {
+        if (data.get(node.key) != node) {
+            // already replaced or removed, its removal task will not find it linked
+            return;
+        }
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+        link(window, node, WINDOW);
+        windowWeight += node.weight;
+        weightedSize += node.weight;
+    }
+
+    private void onRemove(Node<K, V> node) {
+        if (node.queue != UNLINKED) {
+            unlink(node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == UNLINKED) {
+            return;
+        }
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROTECTED) {
+            protect.moveToLast(node);
+        } else if (sketch == null) {
+            // plain LRU, an entry about to be evicted was used again
+            probation.remove(node);
+            link(window, node, WINDOW);
+            windowWeight += node.weight;
+        } else {
+            probation.remove(node);
+            link(protect, node, PROTECTED);
+            protectedWeight += node.weight;
+            while (protectedWeight > protectedMaximum) {
+                Node<K, V> demoted = protect.pollFirst();
+                protectedWeight -= demoted.weight;
+                link(probation, demoted, PROBATION);
+            }
+        }
+    }
+
+    private void evict() {
+        Node<K, V> candidate = evictFromWindow();
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.first;
+            if (victim == null || victim == candidate) {
+                // no older entry left to compete with, fall back to access order
+                if (victim == null) {
+                    victim = protect.first != null ? protect.first : window.first;
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (victim == candidate) {
+                    candidate = candidate.next;
+                }
+                evictEntry(victim);
+            } else if (candidate == null) {
+                evictEntry(victim);
+            } else {
+                Node<K, V> next = candidate.next;
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evictEntry(victim);
+                } else {
+                    evictEntry(candidate);
+                }
+                candidate = next;
+            }
+        }
+    }
+
+    /**
+     * Move the overflow of the window to the tail of probation
+     *
+     * @return the first node moved, the candidates run from it to the tail of probation
+     */
+    private Node<K, V> evictFromWindow() {
+        Node<K, V> first = null;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            if (node == null) {
+                break;
+            }
+            windowWeight -= node.weight;
+            link(probation, node, PROBATION);
+            if (first == null) {
+                first = node;
+            }
+        }
+        return first;
+    }
+
+    private void evictEntry(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            statistics.recordEviction();
+        }
+        unlink(node);
+    }
+
+    private void link(AccessOrder<K, V> order, Node<K, V> node, byte queue) {
+        node.queue = queue;
+        order.addLast(node);
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.remove(node);
+            windowWeight -= node.weight;
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+        } else {
+            protect.remove(node);
+            protectedWeight -= node.weight;
+        }
+        node.queue = UNLINKED;
+        weightedSize -= node.weight;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        private final int weight;
+
+        private final long expireAt;
+
+        private Node<K, V> prev;
+
+        private Node<K, V> next;
+
+        private byte queue;
+
+        Node(K key, V value, int weight, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt != NEVER && now - expireAt >= 0;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list, least recently used first
+     */
+    private static final class AccessOrder<K, V> {
+
+        private Node<K, V> first;
+
+        private Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+}
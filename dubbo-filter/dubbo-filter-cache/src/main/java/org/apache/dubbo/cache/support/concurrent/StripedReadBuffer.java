@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.cache.support.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy buffers recording cache hits, striped by thread so that readers rarely contend with each other. A read that
+ * loses a race for a slot is simply dropped: the access order is a hint, not a guarantee.
+ */
+final class StripedReadBuffer<E> {
+
+    private static final int BUFFER_SIZE = 16;
+
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private static final int MAXIMUM_STRIPES = 64;
+
+    private final Stripe<E>[] stripes;
+
+    private final int stripeMask;
+
+    @SuppressWarnings("unchecked")
+    StripedReadBuffer() {
+        int count = Math.min(MAXIMUM_STRIPES, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * @return true when the stripe of the calling thread is full and should be drained
+     */
+    boolean offer(E e) {
+        Stripe<E> stripe = stripes[stripeIndex()];
+        long head = stripe.readCounter;
+        long tail = stripe.writeCounter.get();
+        if (tail - head >= BUFFER_SIZE) {
+            return true;
+        }
+        if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            stripe.buffer.lazySet((int) (tail & BUFFER_MASK), e);
+            return tail + 1 - head >= BUFFER_SIZE;
+        }
+        return false;
+    }
+
+    /**
+     * Must only be called by one thread at a time.
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            long head = stripe.readCounter;
+            long tail = stripe.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & BUFFER_MASK);
+                E e = stripe.buffer.get(index);
+                if (e == null) {
+                    // the writer claimed the slot but has not published yet, pick it up next time
+                    break;
+                }
+                stripe.buffer.lazySet(index, null);
+                consumer.accept(e);
+            }
+            stripe.readCounter = head;
+        }
+    }
+
+    private int stripeIndex() {
+        int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    private static final class Stripe<E> {
+
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+
+        private final AtomicLong writeCounter = new AtomicLong();
+
+        private volatile long readCounter;
+    }
+}
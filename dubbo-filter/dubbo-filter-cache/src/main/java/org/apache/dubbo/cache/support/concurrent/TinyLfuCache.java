@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.cache.support.concurrent;
+
+import org.apache.dubbo.cache.Cache;
+import org.apache.dubbo.common.URL;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class store the cache value in a {@link BoundedCache} with the W-TinyLFU eviction policy. If a service,method,consumer
+ * or provided is configured with key <b>cache</b> with value <b>tinylfu</b>, dubbo initialize the instance of this class
+ * using {@link TinyLfuCacheFactory} to store method's returns value to server from store without making method call.
+ * Unlike {@link org.apache.dubbo.cache.support.lru.LruCache}, cache hits do not take any lock.
+ * <pre>
+ *     e.g. 1) &lt;dubbo:service cache="tinylfu" cache.size="5000" cache.seconds="60"/&gt;
+ *          2) &lt;dubbo:consumer cache="tinylfu" /&gt;
+ * </pre>
+ * <li>It uses url's <b>cache.size</b> value for its max store size, if nothing is provided then default value will be 1000</li>
+ * <li>It uses url's <b>cache.seconds</b> value as the time to live of cached values, if nothing is provided they never expire</li>
+ *
+ * @see Cache
+ * @see TinyLfuCacheFactory
+ * @see org.apache.dubbo.cache.support.AbstractCacheFactory
+ * @see org.apache.dubbo.cache.filter.CacheFilter
+ */
+public class TinyLfuCache implements Cache {
+
+    /**
+     * This is used to store cache records
+     */
+    private final BoundedCache<Object, Object> store;
+
+    public TinyLfuCache(URL url) {
+        final int max = url.getParameter("cache.size", 1000);
+        final int secondsToLive = url.getParameter("cache.seconds", 0);
+        this.store = new BoundedCache<>(max, (k, v) -> 1, secondsToLive, TimeUnit.SECONDS, true);
+    }
+
+    /**
+     * API to store value against a key.
+     * @param key  Unique identifier for the object being store.
+     * @param value Value getting store
+     */
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, value);
+    }
+
+    /**
+     * API to return stored value using a key.
+     * @param key Unique identifier for cache lookup
+     * @return Return stored object against key
+     */
+    @Override
+    public Object get(Object key) {
+        return store.get(key);
+    }
+
+    public CacheStatistics getStatistics() {
+        return store.getStatistics();
+    }
+
+}
@@ -22,18 +22,25 @@ import org.apache.dubbo.cache.support.jcache.JCacheFactory;
 import org.apache.dubbo.cache.support.lru.LruCacheFactory;
 import org.apache.dubbo.cache.support.threadlocal.ThreadLocalCacheFactory;
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.AsyncRpcResult;
+import org.apache.dubbo.rpc.InvokeMode;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.RpcInvocation;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -134,4 +141,98 @@ public class CacheFilterTest {
         Assertions.assertNull(result1.getValue());
         Assertions.assertNull(result2.getValue());
     }
+
+    @Test
+    public void testCoalesceConcurrentInvocations() {
+        CompletableFuture<AppResponse> future = new CompletableFuture<>();
+        AtomicInteger invoked = new AtomicInteger();
+        Invoker<?> slowInvoker = newCoalescingInvoker(future, invoked);
+        cacheFilter.setCacheFactory(new LruCacheFactory());
+        RpcInvocation invocation = newInvocation("coalesce", "arg1");
+
+        Result leader = cacheFilter.invoke(slowInvoker, invocation);
+        Result follower = cacheFilter.invoke(slowInvoker, invocation);
+        Assertions.assertEquals(1, invoked.get());
+        Assertions.assertFalse(((AsyncRpcResult) follower).getResponseFuture().isDone());
+
+        AppResponse response = new AppResponse("value");
+        response.setAttachment("k", "v");
+        future.complete(response);
+        Assertions.assertEquals("value", leader.getValue());
+        Assertions.assertEquals("value", follower.getValue());
+        Assertions.assertEquals("v", follower.getAttachment("k"));
+        Assertions.assertNotSame(((AsyncRpcResult) leader).getAppResponse(), ((AsyncRpcResult) follower).getAppResponse());
+
+        Assertions.assertEquals("value", cacheFilter.invoke(slowInvoker, invocation).getValue());
+        Assertions.assertEquals(1, invoked.get());
+    }
+
+    @Test
+    public void testCoalesceOnlySameArguments() {
+        AtomicInteger invoked = new AtomicInteger();
+        Invoker<?> slowInvoker = newCoalescingInvoker(new CompletableFuture<>(), invoked);
+        cacheFilter.setCacheFactory(new LruCacheFactory());
+
+        cacheFilter.invoke(slowInvoker, newInvocation("coalesceArgs", "arg1"));
+        cacheFilter.invoke(slowInvoker, newInvocation("coalesceArgs", "arg2"));
+        cacheFilter.invoke(slowInvoker, newInvocation("coalesceArgs", "arg1"));
+        Assertions.assertEquals(2, invoked.get());
+    }
+
+    @Test
+    public void testCoalesceException() {
+        CompletableFuture<AppResponse> future = new CompletableFuture<>();
+        AtomicInteger invoked = new AtomicInteger();
+        Invoker<?> slowInvoker = newCoalescingInvoker(future, invoked);
+        cacheFilter.setCacheFactory(new LruCacheFactory());
+        RpcInvocation invocation = newInvocation("coalesceException", "arg1");
+
+        cacheFilter.invoke(slowInvoker, invocation);
+        Result follower = cacheFilter.invoke(slowInvoker, invocation);
+        future.complete(new AppResponse(new RuntimeException()));
+        Assertions.assertTrue(follower.hasException());
+
+        // the failure is not cached, the next invocation goes to the invoker again
+        cacheFilter.invoke(slowInvoker, invocation);
+        Assertions.assertEquals(2, invoked.get());
+    }
+
+    @Test
+    public void testCoalescedSyncFollowerTimesOut() {
+        AtomicInteger invoked = new AtomicInteger();
+        Invoker<?> slowInvoker = mock(Invoker.class);
+        URL url = URL.valueOf("test://test:11/test?cache=lru&cache.coalesce=true&serialization=java&timeout=50");
+        given(slowInvoker.getUrl()).willReturn(url);
+        given(slowInvoker.invoke(any())).willAnswer(answer -> {
+            invoked.incrementAndGet();
+            return new AsyncRpcResult(new CompletableFuture<>(), answer.getArgument(0));
+        });
+        cacheFilter.setCacheFactory(new LruCacheFactory());
+
+        cacheFilter.invoke(slowInvoker, newInvocation("coalesceTimeout", "arg1"));
+        RpcInvocation follower = newInvocation("coalesceTimeout", "arg1");
+        follower.setInvokeMode(InvokeMode.SYNC);
+        RpcException e = Assertions.assertThrows(RpcException.class, () -> cacheFilter.invoke(slowInvoker, follower));
+        Assertions.assertTrue(e.isTimeout());
+        Assertions.assertEquals(1, invoked.get());
+    }
+
+    private Invoker<?> newCoalescingInvoker(CompletableFuture<AppResponse> future, AtomicInteger invoked) {
+        Invoker<?> slowInvoker = mock(Invoker.class);
+        URL url = URL.valueOf("test://test:11/test?cache=lru&cache.coalesce=true&serialization=java");
+        given(slowInvoker.getUrl()).willReturn(url);
+        given(slowInvoker.invoke(any())).willAnswer(answer -> {
+            invoked.incrementAndGet();
+            return new AsyncRpcResult(future, answer.getArgument(0));
+        });
+        return slowInvoker;
+    }
+
+    private RpcInvocation newInvocation(String methodName, String argument) {
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setMethodName(methodName);
+        invocation.setParameterTypes(new Class<?>[]{String.class});
+        invocation.setArguments(new Object[]{argument});
+        return invocation;
+    }
 }
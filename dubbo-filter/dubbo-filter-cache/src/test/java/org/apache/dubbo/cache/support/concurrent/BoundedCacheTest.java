@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.cache.support.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        BoundedCache<String, String> cache = new BoundedCache<>(3, false);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        Assertions.assertEquals("1", cache.get("a"));
+        cache.cleanUp();
+        cache.put("d", "4");
+        cache.cleanUp();
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals("1", cache.get("a"));
+        Assertions.assertEquals("4", cache.get("d"));
+        Assertions.assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, true);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, i);
+        }
+        cache.cleanUp();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+            cache.cleanUp();
+        }
+        // a burst of one-hit keys must not flush the hot set
+        for (int i = 1000; i < 1500; i++) {
+            cache.put(i, i);
+        }
+        cache.cleanUp();
+
+        Assertions.assertEquals(100, cache.size());
+        for (int i = 0; i < 50; i++) {
+            Assertions.assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void testBoundedByWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, (k, v) -> v.length(), 0, TimeUnit.SECONDS, true);
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        cache.put("c", "123");
+        cache.cleanUp();
+
+        Assertions.assertTrue(cache.weightedSize() <= 10);
+        Assertions.assertEquals(2, cache.size());
+
+        cache.put("d", "12345678901");
+        cache.cleanUp();
+        Assertions.assertNull(cache.get("d"));
+        Assertions.assertTrue(cache.weightedSize() <= 10);
+    }
+
+    @Test
+    public void testReplaceUpdatesWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, (k, v) -> v.length(), 0, TimeUnit.SECONDS, false);
+        cache.put("a", "12345");
+        cache.put("a", "12");
+        cache.cleanUp();
+
+        Assertions.assertEquals(2, cache.weightedSize());
+        Assertions.assertEquals("12", cache.get("a"));
+        Assertions.assertEquals("12", cache.remove("a"));
+        cache.cleanUp();
+        Assertions.assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void testTimeToLive() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, String> cache = new BoundedCache<>(10, (k, v) -> 1,
+                TimeUnit.SECONDS.toNanos(10), true, now::get);
+        cache.put("default", "1");
+        cache.put("short", "2", 1, TimeUnit.SECONDS);
+        cache.put("forever", "3", 0, TimeUnit.SECONDS);
+
+        now.set(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertNull(cache.get("short"));
+        Assertions.assertEquals("1", cache.get("default"));
+
+        now.set(TimeUnit.SECONDS.toNanos(10));
+        Assertions.assertNull(cache.get("default"));
+        Assertions.assertEquals("3", cache.get("forever"));
+
+        cache.cleanUp();
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.weightedSize());
+        Assertions.assertEquals(2, cache.getStatistics().getExpirationCount());
+    }
+
+    @Test
+    public void testStatistics() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, true);
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        CacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(2, statistics.getHitCount());
+        Assertions.assertEquals(1, statistics.getMissCount());
+        Assertions.assertEquals(2.0 / 3, statistics.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testConcurrentAccessStaysBounded() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(64, true);
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        int key = (i * 31 + seed) % 256;
+                        Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else {
+                            Assertions.assertEquals(key, value.intValue());
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        Assertions.assertTrue(done.await(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(errors.isEmpty(), errors.toString());
+
+        cache.cleanUp();
+        Assertions.assertEquals(64, cache.size());
+        Assertions.assertEquals(64, cache.weightedSize());
+    }
+}
@@ -21,8 +21,11 @@ import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.store.DataStore;
+import org.apache.dubbo.common.threadpool.support.codel.CoDelTaskQueue;
+import org.apache.dubbo.common.threadpool.support.priority.PriorityTaskQueue;
 import org.apache.dubbo.common.utils.NetUtils;
 import org.apache.dubbo.monitor.MetricsService;
+import org.apache.dubbo.remoting.transport.dispatcher.ChannelEventRunnable;
 import org.apache.dubbo.rpc.AsyncRpcResult;
 import org.apache.dubbo.rpc.Filter;
 import org.apache.dubbo.rpc.Invocation;
@@ -191,13 +194,27 @@ public class MetricsFilter implements Filter {
                 threadPoolMtricList.add(value2MetricObject("threadPool.core", tp.getCorePoolSize(), MetricLevel.MAJOR));
                 threadPoolMtricList.add(value2MetricObject("threadPool.max", tp.getMaximumPoolSize(), MetricLevel.MAJOR));
                 threadPoolMtricList.add(value2MetricObject("threadPool.current", tp.getPoolSize(), MetricLevel.MAJOR));
+                if (tp.getQueue() instanceof PriorityTaskQueue) {
+                    for (Map.Entry<Integer, Long> shed : ((PriorityTaskQueue) tp.getQueue()).getShedCounts().entrySet()) {
+                        threadPoolMtricList.add(value2MetricObject("threadPool.shed.priority." + shed.getKey(),
+                                shed.getValue(), MetricLevel.MAJOR));
+                    }
+                } else if (tp.getQueue() instanceof CoDelTaskQueue) {
+                    threadPoolMtricList.add(value2MetricObject("threadPool.dropped",
+                            ((CoDelTaskQueue) tp.getQueue()).getDroppedCount(), MetricLevel.MAJOR));
+                }
             }
         }
 
+        for (Map.Entry<Integer, Long> expired : ChannelEventRunnable.getExpiredCounts().entrySet()) {
+            threadPoolMtricList.add(value2MetricObject("threadPool.expired." + expired.getKey(), expired.getValue(),
+                    MetricLevel.MAJOR));
+        }
+
         return threadPoolMtricList;
     }
 
-    private MetricObject value2MetricObject(String metric, Integer value, MetricLevel level) {
+    private MetricObject value2MetricObject(String metric, Number value, MetricLevel level) {
         if (metric == null || value == null || level == null) {
             return null;
         }
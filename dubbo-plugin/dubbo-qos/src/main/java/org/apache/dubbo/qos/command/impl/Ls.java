@@ -16,6 +16,8 @@
  */
 package org.apache.dubbo.qos.command.impl;
 
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
 import org.apache.dubbo.qos.command.BaseCommand;
 import org.apache.dubbo.qos.command.CommandContext;
 import org.apache.dubbo.qos.command.annotation.Cmd;
@@ -26,6 +28,9 @@ import org.apache.dubbo.rpc.model.ConsumerModel;
 import org.apache.dubbo.rpc.model.ProviderModel;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Cmd(name = "ls", summary = "ls service", example = {
         "ls"
@@ -36,6 +41,7 @@ public class Ls implements BaseCommand {
         StringBuilder result = new StringBuilder();
         result.append(listProvider());
         result.append(listConsumer());
+        result.append(listBulkhead());
 
         return result.toString();
     }
@@ -85,4 +91,40 @@ public class Ls implements BaseCommand {
 
         return stringBuilder.toString();
     }
+
+    public String listBulkhead() {
+        Map<Integer, Map<String, ExecutorService>> bulkheads =
+                ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension().getAllBulkheadExecutors();
+        if (bulkheads.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("Bulkheads:" + System.lineSeparator());
+
+        TTable tTable = new TTable(new TTable.ColumnDefine[]{
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE)
+        });
+
+        //Header
+        tTable.addRow("Bulkhead Name", "PORT", "ACTIVE/MAX", "QUEUE");
+
+        //Content
+        for (Map.Entry<Integer, Map<String, ExecutorService>> entry : bulkheads.entrySet()) {
+            for (Map.Entry<String, ExecutorService> bulkhead : entry.getValue().entrySet()) {
+                if (bulkhead.getValue() instanceof ThreadPoolExecutor) {
+                    ThreadPoolExecutor tp = (ThreadPoolExecutor) bulkhead.getValue();
+                    tTable.addRow(bulkhead.getKey(), entry.getKey(), tp.getActiveCount() + "/" + tp.getMaximumPoolSize(),
+                            tp.getQueue().size());
+                }
+            }
+        }
+
+        stringBuilder.append(tTable.rendering());
+
+        return stringBuilder.toString();
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.config.bootstrap.DubboBootstrap;
+import org.apache.dubbo.config.bootstrap.StartupTimeline;
+import org.apache.dubbo.qos.command.BaseCommand;
+import org.apache.dubbo.qos.command.CommandContext;
+import org.apache.dubbo.qos.command.annotation.Cmd;
+import org.apache.dubbo.qos.textui.TTable;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.EXPORT_PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.REFER_PHASE;
+
+@Cmd(name = "startup", summary = "show how long the phases of the startup took, and the slowest services", example = {
+        "startup",
+        "startup 20"
+})
+public class Startup implements BaseCommand {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    @Override
+    public String execute(CommandContext commandContext, String[] args) {
+        int limit = DEFAULT_LIMIT;
+        if (args != null && args.length > 0) {
+            try {
+                limit = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                return "Illegal number of services: " + args[0];
+            }
+        }
+        StartupTimeline timeline = DubboBootstrap.getInstance().getStartupTimeline();
+
+        StringBuilder result = new StringBuilder();
+        result.append(listPhases(timeline));
+        result.append(listSlowest(timeline, EXPORT_PHASE, "Service", limit));
+        result.append(listSlowest(timeline, REFER_PHASE, "Reference", limit));
+        return result.toString();
+    }
+
+    private String listPhases(StartupTimeline timeline) {
+        StringBuilder stringBuilder = new StringBuilder();
+        long readyTime = timeline.getReadyTime();
+        stringBuilder.append(readyTime < 0 ? "Not ready yet:" : "Ready in " + readyTime + " ms:")
+                .append(System.lineSeparator());
+
+        TTable tTable = new TTable(new TTable.ColumnDefine[]{
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE)
+        });
+
+        //Header
+        tTable.addRow("Phase", "START(ms)", "END(ms)", "COST(ms)");
+
+        //Content
+        for (Map.Entry<String, long[]> phase : timeline.getPhases().entrySet()) {
+            long start = phase.getValue()[0];
+            long end = phase.getValue()[1];
+            tTable.addRow(phase.getKey(), start, end < 0 ? "-" : end, end < 0 ? "-" : end - start);
+        }
+        stringBuilder.append(tTable.rendering());
+
+        return stringBuilder.toString();
+    }
+
+    private String listSlowest(StartupTimeline timeline, String phase, String title, int limit) {
+        List<Map.Entry<String, Long>> slowest = timeline.getSlowestTasks(phase, limit);
+        if (slowest.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("Slowest in " + phase + ":" + System.lineSeparator());
+
+        TTable tTable = new TTable(new TTable.ColumnDefine[]{
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE)
+        });
+
+        //Header
+        tTable.addRow(title + " Name", "COST(ms)");
+
+        //Content
+        for (Map.Entry<String, Long> task : slowest) {
+            tTable.addRow(task.getKey(), task.getValue());
+        }
+        stringBuilder.append(tTable.rendering());
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.qos.command.CommandContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+public class StartupTest {
+    @Test
+    public void testExecute() throws Exception {
+        Startup startup = new Startup();
+        String output = startup.execute(Mockito.mock(CommandContext.class), null);
+        assertThat(output, containsString("Not ready yet"));
+        assertThat(output, containsString("Phase"));
+        assertThat(output, containsString("COST(ms)"));
+    }
+
+    @Test
+    public void testIllegalLimit() throws Exception {
+        Startup startup = new Startup();
+        String output = startup.execute(Mockito.mock(CommandContext.class), new String[]{"all"});
+        assertThat(output, containsString("Illegal number of services: all"));
+    }
+}
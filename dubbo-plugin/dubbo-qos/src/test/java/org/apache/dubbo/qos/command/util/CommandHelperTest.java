@@ -32,6 +32,7 @@ import org.apache.dubbo.qos.command.impl.Offline;
 import org.apache.dubbo.qos.command.impl.Online;
 import org.apache.dubbo.qos.command.impl.Quit;
 import org.apache.dubbo.qos.command.impl.Ready;
+import org.apache.dubbo.qos.command.impl.Startup;
 import org.apache.dubbo.qos.command.impl.Version;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -49,7 +50,7 @@ public class CommandHelperTest {
 	public void testGetAllCommandClass() throws Exception {
 		List<Class<?>> classes = CommandHelper.getAllCommandClass();
 		assertThat(classes, containsInAnyOrder(GreetingCommand.class, Help.class, Ls.class, Offline.class, Online.class,
-				Quit.class, Ready.class, Version.class));
+				Quit.class, Ready.class, Startup.class, Version.class));
 	}
 
 	@Test
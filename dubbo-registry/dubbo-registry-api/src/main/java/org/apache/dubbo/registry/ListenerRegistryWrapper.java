@@ -22,6 +22,7 @@ import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.utils.CollectionUtils;
 
+import java.util.Collection;
 import java.util.List;
 
 public class ListenerRegistryWrapper implements Registry {
@@ -75,6 +76,32 @@ public class ListenerRegistryWrapper implements Registry {
         }
     }
 
+    @Override
+    public void batchRegister(Collection<URL> urls) {
+        try {
+            registry.batchRegister(urls);
+        } finally {
+            if (CollectionUtils.isNotEmpty(listeners)) {
+                RuntimeException exception = null;
+                for (URL url : urls) {
+                    for (RegistryServiceListener listener : listeners) {
+                        if (listener != null) {
+                            try {
+                                listener.onRegister(url);
+                            } catch (RuntimeException t) {
+                                logger.error(t.getMessage(), t);
+                                exception = t;
+                            }
+                        }
+                    }
+                }
+                if (exception != null) {
+                    throw exception;
+                }
+            }
+        }
+    }
+
     @Override
     public void unregister(URL url) {
         try {
@@ -155,4 +182,23 @@ public class ListenerRegistryWrapper implements Registry {
     public Registry getRegistry() {
         return registry;
     }
+
+    /**
+     * A wrapper is created at each lookup of the registry, they stand for the same one
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ListenerRegistryWrapper)) {
+            return false;
+        }
+        return registry.equals(((ListenerRegistryWrapper) o).registry);
+    }
+
+    @Override
+    public int hashCode() {
+        return registry.hashCode();
+    }
 }
@@ -41,4 +41,17 @@ public interface NotifyListener {
      */
     void notify(List<URL> urls);
 
+    /**
+     * Triggered instead of {@link #notify(List)} when the registry knows what changed since its previous notification
+     * of the same category to this listener. The contract of <code>urls</code> is unchanged, it is still the full list;
+     * listeners able to apply just the difference override this method, the others get the full list as before.
+     *
+     * @param urls    the full list of registered information, as in {@link #notify(List)}
+     * @param added   urls in <code>urls</code> but not in the previous notification
+     * @param removed urls in the previous notification but no longer in <code>urls</code>
+     */
+    default void notify(List<URL> urls, List<URL> added, List<URL> removed) {
+        notify(urls);
+    }
+
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ package org.apache.dubbo.registry;
 import org.apache.dubbo.common.Node;
 import org.apache.dubbo.common.URL;
 
+import java.util.Collection;
+
 /**
  * Registry. (SPI, Prototype, ThreadSafe)
  *
@@ -33,4 +35,15 @@ public interface Registry extends Node, RegistryService {
     default void reExportUnregister(URL url) {
         unregister(url);
     }
+
+    /**
+     * Register several data at once, in as few requests to the registry as it allows.
+     *
+     * @param urls Registration information, same as {@link #register(URL)} for each of them
+     */
+    default void batchRegister(Collection<URL> urls) {
+        for (URL url : urls) {
+            register(url);
+        }
+    }
 }
\ No newline at end of file
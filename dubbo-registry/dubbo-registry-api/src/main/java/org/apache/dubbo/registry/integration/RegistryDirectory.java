@@ -53,6 +53,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -130,6 +131,9 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
     // Set<invokerUrls> cache invokeUrls to invokers mapping.
     private volatile Set<URL> cachedInvokerUrls; // The initial value is null and the midway may be assigned to null, please use the local variable reference
 
+    // Map<providerUrl, key of urlInvokerMap>, finds the invoker of a removed provider url. Only touched inside notify.
+    private Map<URL, String> providerUrlKeys = new HashMap<>();
+
     private static final ConsumerConfigurationListener CONSUMER_CONFIGURATION_LISTENER = new ConsumerConfigurationListener();
     private ReferenceConfigurationListener serviceConfigurationListener;
 
@@ -254,6 +258,63 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
         refreshOverrideAndInvoker(providerURLs);
     }
 
+    /**
+     * Applies only the added and removed providers when possible: the invokers of the other providers are neither
+     * merged nor compared again, and the router chain is told which invokers changed. Anything else, e.g. a change of
+     * configurators or routers, a forbidden directory or active {@link AddressListener}s, goes through the full
+     * {@link #notify(List)}.
+     */
+    @Override
+    public synchronized void notify(List<URL> urls, List<URL> added, List<URL> removed) {
+        if (!isDeltaApplicable(urls, added, removed)) {
+            notify(urls);
+            return;
+        }
+        boolean applied = false;
+        try {
+            applied = refreshInvokerDelta(toProviderUrls(added), toProviderUrls(removed));
+        } catch (Throwable t) {
+            logger.warn("Failed to apply the changed providers of " + serviceKey + ", refresh all of them instead, cause: "
+                    + t.getMessage(), t);
+        }
+        if (!applied) {
+            notify(urls);
+        }
+    }
+
+    private boolean isDeltaApplicable(List<URL> urls, List<URL> added, List<URL> removed) {
+        if (added == null || removed == null || forbidden || this.urlInvokerMap == null || this.cachedInvokerUrls == null) {
+            return false;
+        }
+        if (urls.size() == 1 && EMPTY_PROTOCOL.equals(urls.get(0).getProtocol())) {
+            return false;
+        }
+        for (URL url : added) {
+            if (!isDeltaProvider(url)) {
+                return false;
+            }
+        }
+        for (URL url : removed) {
+            if (!isDeltaProvider(url)) {
+                return false;
+            }
+        }
+        List<AddressListener> supportedListeners = ExtensionLoader.getExtensionLoader(AddressListener.class)
+                .getActivateExtension(getUrl(), (String[]) null);
+        return CollectionUtils.isEmpty(supportedListeners);
+    }
+
+    private boolean isDeltaProvider(URL url) {
+        return url != null && !EMPTY_PROTOCOL.equals(url.getProtocol()) && PROVIDERS_CATEGORY.equals(judgeCategory(url));
+    }
+
+    private List<URL> toProviderUrls(List<URL> urls) {
+        return urls.stream()
+                .filter(this::isValidCategory)
+                .filter(this::isNotCompatibleFor26x)
+                .collect(Collectors.toList());
+    }
+
     private String judgeCategory(URL url) {
         if (UrlUtils.isConfigurator(url)) {
             return CONFIGURATORS_CATEGORY;
@@ -294,6 +355,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             this.invokers = Collections.emptyList();
             routerChain.setInvokers(this.invokers);
             destroyAllInvokers(); // Close all invokers
+            this.providerUrlKeys = new HashMap<>();
         } else {
             this.forbidden = false; // Allow to access
             Map<String, Invoker<T>> oldUrlInvokerMap = this.urlInvokerMap; // local reference
@@ -309,7 +371,8 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             if (invokerUrls.isEmpty()) {
                 return;
             }
-            Map<String, Invoker<T>> newUrlInvokerMap = toInvokers(invokerUrls);// Translate url list to Invoker map
+            Map<URL, String> newProviderUrlKeys = new HashMap<>();
+            Map<String, Invoker<T>> newUrlInvokerMap = toInvokers(invokerUrls, newProviderUrlKeys);// Translate url list to Invoker map
 
             /**
              * If the calculation is wrong, it is not processed.
@@ -331,6 +394,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             routerChain.setInvokers(newInvokers);
             this.invokers = multiGroup ? toMergeInvokerList(newInvokers) : newInvokers;
             this.urlInvokerMap = newUrlInvokerMap;
+            this.providerUrlKeys = newProviderUrlKeys;
 
             try {
                 destroyUnusedInvokers(oldUrlInvokerMap, newUrlInvokerMap); // Close the unused Invoker
@@ -340,6 +404,63 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
         }
     }
 
+    /**
+     * Refer the added providers and destroy the removed ones, leaving the invokers of all other providers as they are.
+     * Adding a provider which is already there or removing one which is not is ignored, so a difference computed
+     * against an older notification is still safe to apply.
+     *
+     * @return false if nothing would be left, the full refresh decides what to do then
+     */
+    private boolean refreshInvokerDelta(List<URL> added, List<URL> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return true;
+        }
+        Map<String, Invoker<T>> newUrlInvokerMap = new LinkedHashMap<>(this.urlInvokerMap); // keeps the order of the rest
+        List<Invoker<T>> removedInvokers = new ArrayList<>();
+        for (URL providerUrl : removed) {
+            String key = providerUrlKeys.remove(providerUrl);
+            Invoker<T> invoker = key == null ? null : newUrlInvokerMap.remove(key);
+            if (invoker != null) {
+                removedInvokers.add(invoker);
+            }
+        }
+        List<Invoker<T>> addedInvokers = new ArrayList<>();
+        String queryProtocols = this.queryMap.get(PROTOCOL_KEY);
+        for (URL providerUrl : added) {
+            if (!isAcceptable(providerUrl, queryProtocols)) {
+                continue;
+            }
+            URL url = mergeUrl(providerUrl);
+            String key = url.toFullString();
+            if (!newUrlInvokerMap.containsKey(key)) {
+                Invoker<T> invoker = referInvoker(url, providerUrl);
+                if (invoker == null) {
+                    continue;
+                }
+                newUrlInvokerMap.put(key, invoker);
+                addedInvokers.add(invoker);
+            }
+            providerUrlKeys.put(providerUrl, key);
+        }
+        if (newUrlInvokerMap.isEmpty()) {
+            return false;
+        }
+
+        List<Invoker<T>> newInvokers = Collections.unmodifiableList(new ArrayList<>(newUrlInvokerMap.values()));
+        routerChain.setInvokers(newInvokers, addedInvokers, removedInvokers);
+        this.invokers = multiGroup ? toMergeInvokerList(newInvokers) : newInvokers;
+        this.urlInvokerMap = newUrlInvokerMap;
+        Set<URL> newCachedInvokerUrls = new HashSet<>(this.cachedInvokerUrls);
+        newCachedInvokerUrls.removeAll(removed);
+        newCachedInvokerUrls.addAll(added);
+        this.cachedInvokerUrls = newCachedInvokerUrls;
+
+        for (Invoker<T> invoker : removedInvokers) {
+            destroyInvoker(invoker);
+        }
+        return true;
+    }
+
     private List<Invoker<T>> toMergeInvokerList(List<Invoker<T>> invokers) {
         List<Invoker<T>> mergedInvokers = new ArrayList<>();
         Map<String, List<Invoker<T>>> groupMap = new HashMap<>();
@@ -401,7 +522,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
      * @param urls
      * @return invokers
      */
-    private Map<String, Invoker<T>> toInvokers(List<URL> urls) {
+    private Map<String, Invoker<T>> toInvokers(List<URL> urls, Map<URL, String> providerUrlKeys) {
         Map<String, Invoker<T>> newUrlInvokerMap = new HashMap<>();
         if (urls == null || urls.isEmpty()) {
             return newUrlInvokerMap;
@@ -409,28 +530,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
         Set<String> keys = new HashSet<>();
         String queryProtocols = this.queryMap.get(PROTOCOL_KEY);
         for (URL providerUrl : urls) {
-            // If protocol is configured at the reference side, only the matching protocol is selected
-            if (queryProtocols != null && queryProtocols.length() > 0) {
-                boolean accept = false;
-                String[] acceptProtocols = queryProtocols.split(",");
-                for (String acceptProtocol : acceptProtocols) {
-                    if (providerUrl.getProtocol().equals(acceptProtocol)) {
-                        accept = true;
-                        break;
-                    }
-                }
-                if (!accept) {
-                    continue;
-                }
-            }
-            if (EMPTY_PROTOCOL.equals(providerUrl.getProtocol())) {
-                continue;
-            }
-            if (!ExtensionLoader.getExtensionLoader(Protocol.class).hasExtension(providerUrl.getProtocol())) {
-                logger.error(new IllegalStateException("Unsupported protocol " + providerUrl.getProtocol() +
-                        " in notified url: " + providerUrl + " from registry " + getUrl().getAddress() +
-                        " to consumer " + NetUtils.getLocalHost() + ", supported protocol: " +
-                        ExtensionLoader.getExtensionLoader(Protocol.class).getSupportedExtensions()));
+            if (!isAcceptable(providerUrl, queryProtocols)) {
                 continue;
             }
             URL url = mergeUrl(providerUrl);
@@ -444,30 +544,62 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             Map<String, Invoker<T>> localUrlInvokerMap = this.urlInvokerMap; // local reference
             Invoker<T> invoker = localUrlInvokerMap == null ? null : localUrlInvokerMap.get(key);
             if (invoker == null) { // Not in the cache, refer again
-                try {
-                    boolean enabled = true;
-                    if (url.hasParameter(DISABLED_KEY)) {
-                        enabled = !url.getParameter(DISABLED_KEY, false);
-                    } else {
-                        enabled = url.getParameter(ENABLED_KEY, true);
-                    }
-                    if (enabled) {
-                        invoker = new InvokerDelegate<>(protocol.refer(serviceType, url), url, providerUrl);
-                    }
-                } catch (Throwable t) {
-                    logger.error("Failed to refer invoker for interface:" + serviceType + ",url:(" + url + ")" + t.getMessage(), t);
-                }
-                if (invoker != null) { // Put new invoker in cache
-                    newUrlInvokerMap.put(key, invoker);
-                }
-            } else {
+                invoker = referInvoker(url, providerUrl);
+            }
+            if (invoker != null) { // Put new invoker in cache
                 newUrlInvokerMap.put(key, invoker);
+                providerUrlKeys.put(providerUrl, key);
             }
         }
         keys.clear();
         return newUrlInvokerMap;
     }
 
+    private boolean isAcceptable(URL providerUrl, String queryProtocols) {
+        // If protocol is configured at the reference side, only the matching protocol is selected
+        if (queryProtocols != null && queryProtocols.length() > 0) {
+            boolean accept = false;
+            String[] acceptProtocols = queryProtocols.split(",");
+            for (String acceptProtocol : acceptProtocols) {
+                if (providerUrl.getProtocol().equals(acceptProtocol)) {
+                    accept = true;
+                    break;
+                }
+            }
+            if (!accept) {
+                return false;
+            }
+        }
+        if (EMPTY_PROTOCOL.equals(providerUrl.getProtocol())) {
+            return false;
+        }
+        if (!ExtensionLoader.getExtensionLoader(Protocol.class).hasExtension(providerUrl.getProtocol())) {
+            logger.error(new IllegalStateException("Unsupported protocol " + providerUrl.getProtocol() +
+                    " in notified url: " + providerUrl + " from registry " + getUrl().getAddress() +
+                    " to consumer " + NetUtils.getLocalHost() + ", supported protocol: " +
+                    ExtensionLoader.getExtensionLoader(Protocol.class).getSupportedExtensions()));
+            return false;
+        }
+        return true;
+    }
+
+    private Invoker<T> referInvoker(URL url, URL providerUrl) {
+        try {
+            boolean enabled = true;
+            if (url.hasParameter(DISABLED_KEY)) {
+                enabled = !url.getParameter(DISABLED_KEY, false);
+            } else {
+                enabled = url.getParameter(ENABLED_KEY, true);
+            }
+            if (enabled) {
+                return new InvokerDelegate<>(protocol.refer(serviceType, url), url, providerUrl);
+            }
+        } catch (Throwable t) {
+            logger.error("Failed to refer invoker for interface:" + serviceType + ",url:(" + url + ")" + t.getMessage(), t);
+        }
+        return null;
+    }
+
     /**
      * Merge url parameters. the order is: override > -D >Consumer > Provider
      *
@@ -576,20 +708,24 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
                 if (url != null) {
                     Invoker<T> invoker = oldUrlInvokerMap.remove(url);
                     if (invoker != null) {
-                        try {
-                            invoker.destroy();
-                            if (logger.isDebugEnabled()) {
-                                logger.debug("destroy invoker[" + invoker.getUrl() + "] success. ");
-                            }
-                        } catch (Exception e) {
-                            logger.warn("destroy invoker[" + invoker.getUrl() + "] failed. " + e.getMessage(), e);
-                        }
+                        destroyInvoker(invoker);
                     }
                 }
             }
         }
     }
 
+    private void destroyInvoker(Invoker<T> invoker) {
+        try {
+            invoker.destroy();
+            if (logger.isDebugEnabled()) {
+                logger.debug("destroy invoker[" + invoker.getUrl() + "] success. ");
+            }
+        } catch (Exception e) {
+            logger.warn("destroy invoker[" + invoker.getUrl() + "] failed. " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Invoker<T>> doList(Invocation invocation) {
         if (forbidden) {
@@ -33,6 +33,7 @@ import org.apache.dubbo.registry.Registry;
 import org.apache.dubbo.registry.RegistryFactory;
 import org.apache.dubbo.registry.RegistryService;
 import org.apache.dubbo.registry.retry.ReExportTask;
+import org.apache.dubbo.registry.support.RegistrationBatch;
 import org.apache.dubbo.registry.support.SkipFailbackWrapperException;
 import org.apache.dubbo.rpc.Exporter;
 import org.apache.dubbo.rpc.Invoker;
@@ -106,6 +107,7 @@ import static org.apache.dubbo.rpc.Constants.DEPRECATED_KEY;
 import static org.apache.dubbo.rpc.Constants.INTERFACES;
 import static org.apache.dubbo.rpc.Constants.MOCK_KEY;
 import static org.apache.dubbo.rpc.Constants.TOKEN_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_TOTAL_KEY;
 import static org.apache.dubbo.rpc.cluster.Constants.EXPORT_KEY;
 import static org.apache.dubbo.rpc.cluster.Constants.REFER_KEY;
 import static org.apache.dubbo.rpc.cluster.Constants.WARMUP_KEY;
@@ -127,6 +129,7 @@ public class RegistryProtocol implements Protocol {
 
     private final static Logger logger = LoggerFactory.getLogger(RegistryProtocol.class);
     private final Map<URL, NotifyListener> overrideListeners = new ConcurrentHashMap<>();
+    private final Map<URL, TpsQuotaListener> tpsQuotaListeners = new ConcurrentHashMap<>();
     private final Map<String, ServiceConfigurationListener> serviceConfigurationListeners = new ConcurrentHashMap<>();
     private final ProviderConfigurationListener providerConfigurationListener = new ProviderConfigurationListener();
     //To solve the problem of RMI repeated exposure port conflicts, the services that have been exposed are no longer exposed.
@@ -182,12 +185,9 @@ public class RegistryProtocol implements Protocol {
         registry.register(registeredProviderUrl);
     }
 
-    private void registerStatedUrl(URL registryUrl, URL registeredProviderUrl, boolean registered) {
-        ProviderModel model = ApplicationModel.getProviderModel(registeredProviderUrl.getServiceKey());
-        model.addStatedUrl(new ProviderModel.RegisterStatedURL(
-                registeredProviderUrl,
-                registryUrl,
-                registered));
+    private void registerStatedUrl(ProviderModel.RegisterStatedURL statedUrl) {
+        ProviderModel model = ApplicationModel.getProviderModel(statedUrl.getProviderUrl().getServiceKey());
+        model.addStatedUrl(statedUrl);
     }
 
     @Override
@@ -214,16 +214,33 @@ public class RegistryProtocol implements Protocol {
 
         // decide if we need to delay publish
         boolean register = providerUrl.getParameter(REGISTER_KEY, true);
+        final ProviderModel.RegisterStatedURL statedUrl = new ProviderModel.RegisterStatedURL(
+                registeredProviderUrl,
+                registryUrl,
+                false);
         if (register) {
-            register(registryUrl, registeredProviderUrl);
+            // held back while the bootstrap exports, only stated registered once actually sent to the registry
+            if (!RegistrationBatch.defer(registry, registeredProviderUrl, () -> statedUrl.setRegistered(true))) {
+                register(registryUrl, registeredProviderUrl);
+                statedUrl.setRegistered(true);
+            }
         }
 
         // register stated url on provider model
-        registerStatedUrl(registryUrl, registeredProviderUrl, register);
+        registerStatedUrl(statedUrl);
 
         // Deprecated! Subscribe to override rules in 2.6.x or before.
         registry.subscribe(overrideSubscribeUrl, overrideSubscribeListener);
 
+        // Subscribe to the providers of the service to take this provider's share of its tps quota
+        if (providerUrl.getParameter(TPS_TOTAL_KEY, -1) > 0) {
+            URL providersSubscribeUrl = getSubscribedProvidersUrl(providerUrl);
+            TpsQuotaListener tpsQuotaListener = new TpsQuotaListener(providerUrl);
+            tpsQuotaListeners.put(providersSubscribeUrl, tpsQuotaListener);
+            registry.subscribe(providersSubscribeUrl, tpsQuotaListener);
+            exporter.setProvidersSubscribeUrl(providersSubscribeUrl);
+        }
+
         exporter.setRegisterUrl(registeredProviderUrl);
         exporter.setSubscribeUrl(overrideSubscribeUrl);
 
@@ -409,6 +426,11 @@ public class RegistryProtocol implements Protocol {
                 .addParameters(CATEGORY_KEY, CONFIGURATORS_CATEGORY, CHECK_KEY, String.valueOf(false));
     }
 
+    private URL getSubscribedProvidersUrl(URL registeredProviderUrl) {
+        return registeredProviderUrl.setProtocol(PROVIDER_PROTOCOL)
+                .addParameters(CATEGORY_KEY, PROVIDERS_CATEGORY, CHECK_KEY, String.valueOf(false));
+    }
+
     /**
      * Get the address of the providerUrl through the url of the invoker
      *
@@ -744,6 +766,7 @@ public class RegistryProtocol implements Protocol {
         private final Invoker<T> originInvoker;
         private Exporter<T> exporter;
         private URL subscribeUrl;
+        private URL providersSubscribeUrl;
         private URL registerUrl;
 
         public ExporterChangeableWrapper(Exporter<T> exporter, Invoker<T> originInvoker) {
@@ -771,6 +794,7 @@ public class RegistryProtocol implements Protocol {
 
             Registry registry = RegistryProtocol.this.getRegistry(originInvoker);
             try {
+                RegistrationBatch.cancel(registry, registerUrl);
                 registry.unregister(registerUrl);
             } catch (Throwable t) {
                 logger.warn(t.getMessage(), t);
@@ -784,6 +808,15 @@ public class RegistryProtocol implements Protocol {
             } catch (Throwable t) {
                 logger.warn(t.getMessage(), t);
             }
+            if (providersSubscribeUrl != null) {
+                try {
+                    TpsQuotaListener listener = RegistryProtocol.this.tpsQuotaListeners.remove(providersSubscribeUrl);
+                    registry.unsubscribe(providersSubscribeUrl, listener);
+                    listener.destroy();
+                } catch (Throwable t) {
+                    logger.warn(t.getMessage(), t);
+                }
+            }
 
             executor.submit(() -> {
                 try {
@@ -804,6 +837,10 @@ public class RegistryProtocol implements Protocol {
             this.subscribeUrl = subscribeUrl;
         }
 
+        public void setProvidersSubscribeUrl(URL providersSubscribeUrl) {
+            this.providersSubscribeUrl = providersSubscribeUrl;
+        }
+
         public void setRegisterUrl(URL registerUrl) {
             this.registerUrl = registerUrl;
         }
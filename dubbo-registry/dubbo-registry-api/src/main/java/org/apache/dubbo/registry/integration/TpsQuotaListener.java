@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.integration;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.registry.NotifyListener;
+import org.apache.dubbo.rpc.filter.tps.ClusterTpsQuota;
+
+import java.util.List;
+
+import static org.apache.dubbo.common.constants.CommonConstants.ENABLED_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.CATEGORY_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.DEFAULT_CATEGORY;
+import static org.apache.dubbo.common.constants.RegistryConstants.EMPTY_PROTOCOL;
+import static org.apache.dubbo.common.constants.RegistryConstants.PROVIDERS_CATEGORY;
+import static org.apache.dubbo.rpc.Constants.TPS_TOTAL_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_WEIGHT;
+import static org.apache.dubbo.rpc.cluster.Constants.WEIGHT_KEY;
+
+/**
+ * Watches the providers of an exported service and gives this provider its share of the <b>tps.total</b> quota,
+ * in proportion to its weight among the enabled providers.
+ *
+ * @see ClusterTpsQuota
+ */
+class TpsQuotaListener implements NotifyListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TpsQuotaListener.class);
+
+    private final URL providerUrl;
+
+    TpsQuotaListener(URL providerUrl) {
+        this.providerUrl = providerUrl;
+    }
+
+    @Override
+    public synchronized void notify(List<URL> urls) {
+        int total = providerUrl.getParameter(TPS_TOTAL_KEY, -1);
+        if (total <= 0) {
+            return;
+        }
+        int weight = Math.max(0, providerUrl.getParameter(WEIGHT_KEY, DEFAULT_WEIGHT));
+        long totalWeight = 0;
+        boolean self = false;
+        for (URL url : urls) {
+            if (EMPTY_PROTOCOL.equals(url.getProtocol())
+                    || !PROVIDERS_CATEGORY.equals(url.getParameter(CATEGORY_KEY, DEFAULT_CATEGORY))
+                    || !url.getParameter(ENABLED_KEY, true)) {
+                continue;
+            }
+            if (providerUrl.getAddress().equals(url.getAddress())) {
+                self = true;
+                weight = Math.max(0, url.getParameter(WEIGHT_KEY, DEFAULT_WEIGHT));
+            } else {
+                totalWeight += Math.max(0, url.getParameter(WEIGHT_KEY, DEFAULT_WEIGHT));
+            }
+        }
+        totalWeight += weight;
+        // rounded up so that the shares do not add up to less than the quota, and never 0 which means unlimited
+        int share = totalWeight == 0 ? total : (int) Math.max(1, (total * (long) weight + totalWeight - 1) / totalWeight);
+        ClusterTpsQuota.setShare(providerUrl.getServiceKey(), share);
+        if (logger.isInfoEnabled()) {
+            logger.info("TPS share of " + providerUrl.getServiceKey() + " on " + providerUrl.getAddress() + " is "
+                    + share + " of " + total + (self ? "" : ", not registered yet"));
+        }
+    }
+
+    void destroy() {
+        ClusterTpsQuota.removeShare(providerUrl.getServiceKey());
+    }
+}
@@ -38,6 +38,7 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -89,6 +90,8 @@ public abstract class AbstractRegistry implements Registry {
     private final Set<URL> registered = new ConcurrentHashSet<>();
     private final ConcurrentMap<URL, Set<NotifyListener>> subscribed = new ConcurrentHashMap<>();
     private final ConcurrentMap<URL, Map<String, List<URL>>> notified = new ConcurrentHashMap<>();
+    // urls last notified to each listener successfully, by category, the base of the added and removed urls of the next notification
+    private final ConcurrentMap<URL, Map<NotifyListener, Map<String, Set<URL>>>> listenerNotified = new ConcurrentHashMap<>();
     private URL registryUrl;
     // Local disk cache file
     private File file;
@@ -331,6 +334,10 @@ public abstract class AbstractRegistry implements Registry {
         if (listeners != null) {
             listeners.remove(listener);
         }
+        Map<NotifyListener, Map<String, Set<URL>>> listenerCategoryNotified = listenerNotified.get(url);
+        if (listenerCategoryNotified != null) {
+            listenerCategoryNotified.remove(listener);
+        }
     }
 
     protected void recover() throws Exception {
@@ -419,17 +426,37 @@ public abstract class AbstractRegistry implements Registry {
             return;
         }
         Map<String, List<URL>> categoryNotified = notified.computeIfAbsent(url, u -> new ConcurrentHashMap<>());
+        Map<String, Set<URL>> listenerCategoryNotified = listenerNotified.computeIfAbsent(url, u -> new ConcurrentHashMap<>())
+                .computeIfAbsent(listener, l -> new ConcurrentHashMap<>());
         for (Map.Entry<String, List<URL>> entry : result.entrySet()) {
             String category = entry.getKey();
             List<URL> categoryList = entry.getValue();
             categoryNotified.put(category, categoryList);
-            listener.notify(categoryList);
+            Set<URL> previous = listenerCategoryNotified.get(category);
+            Set<URL> current = new HashSet<>(categoryList);
+            if (previous == null) {
+                listener.notify(categoryList);
+            } else {
+                listener.notify(categoryList, difference(categoryList, previous), difference(previous, current));
+            }
+            // only after the listener took it, so that a failed notification is contained in the next difference
+            listenerCategoryNotified.put(category, current);
             // We will update our cache file after each notification.
             // When our Registry has a subscribe failure due to network jitter, we can return at least the existing cache URL.
             saveProperties(url);
         }
     }
 
+    private static List<URL> difference(Collection<URL> urls, Set<URL> excluded) {
+        List<URL> result = new ArrayList<>();
+        for (URL u : urls) {
+            if (!excluded.contains(u)) {
+                result.add(u);
+            }
+        }
+        return result;
+    }
+
     private void saveProperties(URL url) {
         if (file == null) {
             return;
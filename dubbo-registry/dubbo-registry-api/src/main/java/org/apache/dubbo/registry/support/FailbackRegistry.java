@@ -28,6 +28,8 @@ import org.apache.dubbo.registry.retry.FailedUnregisteredTask;
 import org.apache.dubbo.registry.retry.FailedUnsubscribedTask;
 import org.apache.dubbo.remoting.Constants;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -260,6 +262,35 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         }
     }
 
+    @Override
+    public void batchRegister(Collection<URL> urls) {
+        List<URL> accepted = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            if (!acceptable(url)) {
+                logger.info("URL " + url + " will not be registered to Registry. Registry " + url + " does not accept service of this protocol type.");
+                continue;
+            }
+            super.register(url);
+            removeFailedRegistered(url);
+            removeFailedUnregistered(url);
+            accepted.add(url);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            // Sending a single registration request to the server side
+            doBatchRegister(accepted);
+        } catch (Exception e) {
+            // Registering them one by one decides for each url whether to fail or to retry later
+            logger.warn("Failed to register " + accepted.size() + " urls at once to registry " + getUrl().getAddress()
+                    + ", registering them one by one, cause: " + e.getMessage(), e);
+            for (URL url : accepted) {
+                register(url);
+            }
+        }
+    }
+
     @Override
     public void reExportRegister(URL url) {
         if (!acceptable(url)) {
@@ -444,6 +475,15 @@ public abstract class FailbackRegistry extends AbstractRegistry {
 
     public abstract void doRegister(URL url);
 
+    /**
+     * Registers the urls one after another, to be overridden by the registries able to do it in a single request.
+     */
+    public void doBatchRegister(Collection<URL> urls) {
+        for (URL url : urls) {
+            doRegister(url);
+        }
+    }
+
     public abstract void doUnregister(URL url);
 
     public abstract void doSubscribe(URL url, NotifyListener listener);
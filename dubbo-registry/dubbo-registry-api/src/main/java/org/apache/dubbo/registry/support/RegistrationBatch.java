@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.support;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.registry.Registry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds back the registrations of the services being exported while it is open, to send them when flushed in a
+ * single {@link Registry#batchRegister(java.util.Collection)} request per registry, instead of one per service.
+ * <p>
+ * The batch is global to the process: while it is open, the registrations of all the providers are held back,
+ * whoever exports them. Callers learn that a url actually reached its registry through the callback given to
+ * {@link #defer(Registry, URL, Runnable)}.
+ */
+public final class RegistrationBatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationBatch.class);
+
+    private static final Map<Registry, Map<URL, Runnable>> PENDING = new LinkedHashMap<>();
+
+    private static boolean open;
+
+    private RegistrationBatch() {
+    }
+
+    /**
+     * Hold back the registrations until {@link #flush()}
+     */
+    public static synchronized void open() {
+        open = true;
+    }
+
+    public static synchronized boolean isOpen() {
+        return open;
+    }
+
+    public static boolean defer(Registry registry, URL url) {
+        return defer(registry, url, null);
+    }
+
+    /**
+     * @param onRegistered run once the url is registered by {@link #flush()}, may be null
+     * @return false if the url has to be registered right away, the batch not being open
+     */
+    public static synchronized boolean defer(Registry registry, URL url, Runnable onRegistered) {
+        if (!open) {
+            return false;
+        }
+        PENDING.computeIfAbsent(registry, k -> new LinkedHashMap<>()).put(url, onRegistered);
+        return true;
+    }
+
+    /**
+     * Forget about the url, unregistered before being registered
+     */
+    public static synchronized boolean cancel(Registry registry, URL url) {
+        Map<URL, Runnable> urls = PENDING.get(registry);
+        return urls != null && urls.keySet().remove(url);
+    }
+
+    /**
+     * Register the urls held back and close the batch, the next registrations going straight to the registries.
+     */
+    public static void flush() {
+        Map<Registry, Map<URL, Runnable>> pending;
+        synchronized (RegistrationBatch.class) {
+            open = false;
+            pending = new LinkedHashMap<>(PENDING);
+            PENDING.clear();
+        }
+        RuntimeException exception = null;
+        for (Map.Entry<Registry, Map<URL, Runnable>> entry : pending.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            try {
+                entry.getKey().batchRegister(entry.getValue().keySet());
+                for (Runnable onRegistered : entry.getValue().values()) {
+                    if (onRegistered != null) {
+                        onRegistered.run();
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Close the batch, dropping the urls held back
+     */
+    public static synchronized void discard() {
+        open = false;
+        PENDING.clear();
+    }
+}
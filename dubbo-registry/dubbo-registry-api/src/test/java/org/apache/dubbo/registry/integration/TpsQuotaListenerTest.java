@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.integration;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.filter.tps.ClusterTpsQuota;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TpsQuotaListenerTest {
+
+    private final URL providerUrl = URL.valueOf("dubbo://10.20.30.1:20880/org.apache.dubbo.demo.DemoService?"
+            + "interface=org.apache.dubbo.demo.DemoService&tps.total=1000&weight=100");
+
+    private final TpsQuotaListener listener = new TpsQuotaListener(providerUrl);
+
+    @AfterEach
+    public void tearDown() {
+        listener.destroy();
+    }
+
+    @Test
+    public void testShareByWeight() {
+        listener.notify(Arrays.asList(
+                providerUrl,
+                URL.valueOf("dubbo://10.20.30.2:20880/org.apache.dubbo.demo.DemoService?weight=200"),
+                URL.valueOf("dubbo://10.20.30.3:20880/org.apache.dubbo.demo.DemoService?weight=100")));
+        Assertions.assertEquals(250, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+        Assertions.assertEquals(250, ClusterTpsQuota.getRate(providerUrl));
+    }
+
+    @Test
+    public void testRecomputeWhenProvidersChange() {
+        listener.notify(Arrays.asList(
+                providerUrl,
+                URL.valueOf("dubbo://10.20.30.2:20880/org.apache.dubbo.demo.DemoService"),
+                URL.valueOf("dubbo://10.20.30.3:20880/org.apache.dubbo.demo.DemoService")));
+        // rounded up
+        Assertions.assertEquals(334, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+
+        listener.notify(Arrays.asList(
+                providerUrl,
+                URL.valueOf("dubbo://10.20.30.2:20880/org.apache.dubbo.demo.DemoService"),
+                URL.valueOf("dubbo://10.20.30.3:20880/org.apache.dubbo.demo.DemoService?enabled=false")));
+        Assertions.assertEquals(500, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+
+        listener.notify(Collections.singletonList(
+                URL.valueOf("empty://10.20.30.1:20880/org.apache.dubbo.demo.DemoService?category=providers")));
+        Assertions.assertEquals(1000, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+    }
+
+    @Test
+    public void testNotRegisteredYet() {
+        listener.notify(Collections.singletonList(
+                URL.valueOf("dubbo://10.20.30.2:20880/org.apache.dubbo.demo.DemoService?weight=300")));
+        Assertions.assertEquals(250, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+    }
+
+    @Test
+    public void testDestroy() {
+        listener.notify(Collections.singletonList(providerUrl));
+        Assertions.assertEquals(1000, ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+        listener.destroy();
+        Assertions.assertNull(ClusterTpsQuota.getShare(providerUrl.getServiceKey()));
+    }
+}
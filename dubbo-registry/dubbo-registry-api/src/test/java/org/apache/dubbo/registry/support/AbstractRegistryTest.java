@@ -27,6 +27,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -446,6 +448,65 @@ public class AbstractRegistryTest {
         Assertions.assertTrue(notifySuccess);
     }
 
+    @Test
+    public void testNotifyDelta() throws Exception {
+        URL provider1 = URL.valueOf("dubbo://10.0.0.1:20880/com.test?interface=com.test");
+        URL provider2 = URL.valueOf("dubbo://10.0.0.2:20880/com.test?interface=com.test");
+        URL provider3 = URL.valueOf("dubbo://10.0.0.3:20880/com.test?interface=com.test");
+        List<List<URL>> fulls = new ArrayList<>();
+        List<List<URL>> deltas = new ArrayList<>();
+        NotifyListener deltaListener = new NotifyListener() {
+            @Override
+            public void notify(List<URL> urls) {
+                fulls.add(urls);
+            }
+
+            @Override
+            public void notify(List<URL> urls, List<URL> added, List<URL> removed) {
+                deltas.add(added);
+                deltas.add(removed);
+            }
+        };
+
+        // the first notification is always a full one
+        abstractRegistry.notify(testUrl, deltaListener, Arrays.asList(provider1, provider2));
+        Assertions.assertEquals(1, fulls.size());
+        Assertions.assertTrue(deltas.isEmpty());
+
+        abstractRegistry.notify(testUrl, deltaListener, Arrays.asList(provider2, provider3));
+        Assertions.assertEquals(1, fulls.size());
+        Assertions.assertEquals(Collections.singletonList(provider3), deltas.get(0));
+        Assertions.assertEquals(Collections.singletonList(provider1), deltas.get(1));
+
+        // another listener of the same url has its own base
+        List<List<URL>> otherFulls = new ArrayList<>();
+        abstractRegistry.notify(testUrl, otherFulls::add, Arrays.asList(provider2, provider3));
+        Assertions.assertEquals(1, otherFulls.size());
+
+        // a listener failing to take a notification gets the same difference again
+        NotifyListener failingListener = new NotifyListener() {
+            private boolean failed;
+
+            @Override
+            public void notify(List<URL> urls) {
+            }
+
+            @Override
+            public void notify(List<URL> urls, List<URL> added, List<URL> removed) {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("failed");
+                }
+                deltas.add(added);
+            }
+        };
+        abstractRegistry.notify(testUrl, failingListener, Collections.singletonList(provider1));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> abstractRegistry.notify(testUrl, failingListener, Arrays.asList(provider1, provider2)));
+        abstractRegistry.notify(testUrl, failingListener, Arrays.asList(provider1, provider2));
+        Assertions.assertEquals(Collections.singletonList(provider2), deltas.get(deltas.size() - 1));
+    }
+
     @Test
     public void filterEmptyTest() throws Exception {
         // check parameters
@@ -207,6 +207,31 @@ public class FailbackRegistryTest {
         Assertions.assertEquals(countDownLatch.getCount(), 0);
     }
 
+    @Test
+    public void testBatchRegister() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        URL anotherServiceUrl = URL.valueOf("remote://127.0.0.1/anotherservice?method=get");
+
+        registry = new MockRegistry(registryUrl, latch);
+        registry.setBad(true);
+        registry.batchRegister(Arrays.asList(serviceUrl, anotherServiceUrl));
+
+        // failed at once, then one by one, to be retried
+        assertEquals(2, registry.getRegistered().size());
+        assertEquals(2, registry.getFailedRegistered().size());
+        assertEquals(2, latch.getCount());
+
+        registry.setBad(false);
+
+        for (int i = 0; i < trytimes; i++) {
+            if (latch.getCount() == 0)
+                break;
+            Thread.sleep(sleeptime);
+        }
+        assertEquals(0, latch.getCount());
+        assertEquals(0, registry.getFailedRegistered().size());
+    }
+
     private static class MockRegistry extends FailbackRegistry {
         CountDownLatch latch;
         private boolean bad = false;
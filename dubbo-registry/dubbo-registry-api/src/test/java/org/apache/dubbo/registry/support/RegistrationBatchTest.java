@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.support;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.registry.ListenerRegistryWrapper;
+import org.apache.dubbo.registry.Registry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class RegistrationBatchTest {
+
+    private static final URL FOO_URL = URL.valueOf("dubbo://127.0.0.1:20880/org.apache.dubbo.FooService");
+
+    private static final URL BAR_URL = URL.valueOf("dubbo://127.0.0.1:20880/org.apache.dubbo.BarService");
+
+    private static final URL BAZ_URL = URL.valueOf("dubbo://127.0.0.1:20880/org.apache.dubbo.BazService");
+
+    @AfterEach
+    public void tearDown() {
+        RegistrationBatch.discard();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush() {
+        Registry registry = mock(Registry.class);
+        assertFalse(RegistrationBatch.defer(registry, FOO_URL));
+
+        AtomicInteger registered = new AtomicInteger();
+        RegistrationBatch.open();
+        assertTrue(RegistrationBatch.defer(registry, FOO_URL, registered::incrementAndGet));
+        assertTrue(RegistrationBatch.defer(registry, BAR_URL, registered::incrementAndGet));
+        assertTrue(RegistrationBatch.defer(registry, BAZ_URL));
+        assertTrue(RegistrationBatch.cancel(registry, BAR_URL));
+        verify(registry, never()).batchRegister(any());
+        assertEquals(0, registered.get());
+
+        RegistrationBatch.flush();
+        ArgumentCaptor<Collection<URL>> urls = ArgumentCaptor.forClass(Collection.class);
+        verify(registry).batchRegister(urls.capture());
+        assertThat(urls.getValue(), contains(FOO_URL, BAZ_URL));
+        assertEquals(1, registered.get());
+
+        assertFalse(RegistrationBatch.isOpen());
+        assertFalse(RegistrationBatch.defer(registry, BAR_URL));
+    }
+
+    @Test
+    public void testDiscard() {
+        Registry registry = mock(Registry.class);
+        RegistrationBatch.open();
+        RegistrationBatch.defer(registry, FOO_URL);
+        RegistrationBatch.discard();
+
+        RegistrationBatch.flush();
+        verify(registry, never()).batchRegister(any());
+        assertFalse(RegistrationBatch.cancel(registry, FOO_URL));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWrappedRegistry() {
+        Registry registry = mock(Registry.class);
+        RegistrationBatch.open();
+        // wrapped anew at each lookup
+        RegistrationBatch.defer(new ListenerRegistryWrapper(registry, Collections.emptyList()), FOO_URL);
+        RegistrationBatch.defer(new ListenerRegistryWrapper(registry, Collections.emptyList()), BAR_URL);
+
+        RegistrationBatch.flush();
+        ArgumentCaptor<Collection<URL>> urls = ArgumentCaptor.forClass(Collection.class);
+        verify(registry).batchRegister(urls.capture());
+        assertThat(urls.getValue(), contains(FOO_URL, BAR_URL));
+    }
+}
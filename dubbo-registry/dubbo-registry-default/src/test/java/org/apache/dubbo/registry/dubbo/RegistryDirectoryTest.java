@@ -46,6 +46,8 @@ import org.mockito.Mockito;
 import javax.script.ScriptEngineManager;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -913,6 +915,51 @@ public class RegistryDirectoryTest {
         Assertions.assertEquals(1, invokers3.size());
     }
 
+    /**
+     * Test that only the added and removed providers are referred and destroyed.
+     */
+    @Test
+    public void testNotify_Delta() {
+        RegistryDirectory registryDirectory = getRegistryDirectory();
+        invocation = new RpcInvocation();
+
+        URL url140 = SERVICEURL.setHost("10.20.30.140");
+        URL url141 = SERVICEURL.setHost("10.20.30.141");
+        URL url142 = SERVICEURL.setHost("10.20.30.142");
+        registryDirectory.notify(Arrays.asList(url140, url141));
+        Map<String, Invoker<?>> urlInvokerMap = new HashMap<>(registryDirectory.getUrlInvokerMap());
+        Assertions.assertEquals(2, urlInvokerMap.size());
+        Invoker<?> invoker140 = findInvoker(urlInvokerMap, "10.20.30.140");
+        Invoker<?> invoker141 = findInvoker(urlInvokerMap, "10.20.30.141");
+
+        registryDirectory.notify(Arrays.asList(url141, url142), Collections.singletonList(url142), Collections.singletonList(url140));
+        List<Invoker<?>> invokers = registryDirectory.list(invocation);
+        Assertions.assertEquals(2, invokers.size());
+        Map<String, Invoker<?>> urlInvokerMap2 = registryDirectory.getUrlInvokerMap();
+        Assertions.assertSame(invoker141, findInvoker(urlInvokerMap2, "10.20.30.141"));
+        Assertions.assertNotNull(findInvoker(urlInvokerMap2, "10.20.30.142"));
+        Assertions.assertNull(findInvoker(urlInvokerMap2, "10.20.30.140"));
+        Assertions.assertFalse(invoker140.isAvailable());
+
+        // a stale difference changes nothing
+        registryDirectory.notify(Arrays.asList(url141, url142), Collections.singletonList(url142), Collections.singletonList(url140));
+        Assertions.assertEquals(2, registryDirectory.list(invocation).size());
+
+        // removing the last providers goes through the full notification
+        URL empty = URL.valueOf("empty://0.0.0.0/" + service + "?" + CATEGORY_KEY + "=" + PROVIDERS_CATEGORY);
+        registryDirectory.notify(Collections.singletonList(empty), Collections.singletonList(empty), Arrays.asList(url141, url142));
+        Assertions.assertFalse(registryDirectory.isAvailable());
+    }
+
+    private Invoker<?> findInvoker(Map<String, Invoker<?>> urlInvokerMap, String host) {
+        for (Invoker<?> invoker : urlInvokerMap.values()) {
+            if (host.equals(invoker.getUrl().getHost())) {
+                return invoker;
+            }
+        }
+        return null;
+    }
+
     /**
      * Test override disables a specified service provider through enable=false
      * It is expected that a specified service provider can be disable.
@@ -34,6 +34,7 @@ import org.apache.dubbo.remoting.zookeeper.ZookeeperTransporter;
 import org.apache.dubbo.rpc.RpcException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +133,25 @@ public class ZookeeperRegistry extends FailbackRegistry {
         }
     }
 
+    @Override
+    public void doBatchRegister(Collection<URL> urls) {
+        List<String> ephemeralPaths = new ArrayList<>(urls.size());
+        List<String> persistentPaths = new ArrayList<>();
+        for (URL url : urls) {
+            if (url.getParameter(DYNAMIC_KEY, true)) {
+                ephemeralPaths.add(toUrlPath(url));
+            } else {
+                persistentPaths.add(toUrlPath(url));
+            }
+        }
+        try {
+            zkClient.batchCreate(ephemeralPaths, true);
+            zkClient.batchCreate(persistentPaths, false);
+        } catch (Throwable e) {
+            throw new RpcException("Failed to register " + urls.size() + " urls to zookeeper " + getUrl() + ", cause: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void doUnregister(URL url) {
         try {
@@ -268,7 +288,7 @@ public class ZookeeperRegistry extends FailbackRegistry {
         if (CollectionUtils.isNotEmpty(providers)) {
             for (String provider : providers) {
                 if (provider.contains(PROTOCOL_SEPARATOR_ENCODED)) {
-                    URL url = URLStrParser.parseEncodedStr(provider);
+                    URL url = URLStrParser.parseEncodedStr(provider, true);
                     if (UrlUtils.isMatch(consumer, url)) {
                         urls.add(url);
                     }
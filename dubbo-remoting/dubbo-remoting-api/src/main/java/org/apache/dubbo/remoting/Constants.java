@@ -73,6 +73,35 @@ public interface Constants {
      */
     int DEFAULT_PAYLOAD = 8 * 1024 * 1024;
 
+    /**
+     * Encoded messages expected to be at least this large (in bytes) are written into a composite buffer that grows
+     * by appending pooled chunks, instead of a single buffer that is reallocated and copied as it grows.
+     */
+    String ENCODE_COMPOSITE_THRESHOLD_KEY = "encode.composite.threshold";
+
+    int DEFAULT_ENCODE_COMPOSITE_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Coalesce the flushes of messages sent on the same channel, so that many small messages go out in one write
+     * syscall.
+     */
+    String WRITE_COALESCING_KEY = "write.coalescing";
+
+    /**
+     * Flush as soon as this many messages are waiting to be flushed.
+     */
+    String WRITE_COALESCING_MAX_PENDING_KEY = "write.coalescing.max.pending";
+
+    int DEFAULT_WRITE_COALESCING_MAX_PENDING = 64;
+
+    /**
+     * How long (in microseconds) a written message may wait for its flush. 0 flushes once the IO thread has
+     * processed the writes already queued to it.
+     */
+    String WRITE_COALESCING_MAX_DELAY_KEY = "write.coalescing.max.delay";
+
+    int DEFAULT_WRITE_COALESCING_MAX_DELAY = 0;
+
     String CONNECT_TIMEOUT_KEY = "connect.timeout";
 
     int DEFAULT_CONNECT_TIMEOUT = 3000;
@@ -113,6 +142,11 @@ public interface Constants {
 
     String CHANNEL_ATTRIBUTE_READONLY_KEY = "channel.readonly";
 
+    /**
+     * Set on a channel while its transport write buffer is above the high water mark
+     */
+    String CHANNEL_ATTRIBUTE_UNWRITABLE_KEY = "channel.unwritable";
+
     String CHANNEL_READONLYEVENT_SENT_KEY = "channel.readonly.sent";
 
     String CHANNEL_SEND_READONLYEVENT_KEY = "channel.readonly.send";
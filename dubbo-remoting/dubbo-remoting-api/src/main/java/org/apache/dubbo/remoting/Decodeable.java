@@ -21,4 +21,11 @@ public interface Decodeable {
 
     public void decode() throws Exception;
 
+    /**
+     * Releases what is held for a deferred {@link #decode()}, e.g. a retained network buffer. Called when the
+     * message is dropped without ever being decoded.
+     */
+    default void release() {
+    }
+
 }
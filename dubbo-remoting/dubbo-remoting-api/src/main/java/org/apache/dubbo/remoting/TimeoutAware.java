@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting;
+
+/**
+ * Message data that tells how long its sender is willing to wait for the answer, so that a receiver which could not
+ * get to it in time can drop it rather than do work nobody waits for.
+ */
+public interface TimeoutAware {
+
+    /**
+     * @return the timeout in milliseconds the sender had left when it sent the message, counted from its arrival on
+     * this side, or a negative value if the sender did not tell
+     */
+    long getRemainingTimeout();
+
+}
@@ -51,6 +51,14 @@ public class ChannelBufferInputStream extends InputStream {
         return buffer.readerIndex() - startIndex;
     }
 
+    ChannelBuffer buffer() {
+        return buffer;
+    }
+
+    int remaining() {
+        return endIndex - buffer.readerIndex();
+    }
+
     @Override
     public int available() throws IOException {
         return endIndex - buffer.readerIndex();
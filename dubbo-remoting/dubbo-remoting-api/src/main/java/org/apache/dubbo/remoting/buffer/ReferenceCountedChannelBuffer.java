@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.buffer;
+
+/**
+ * A {@link ChannelBuffer} backed by reference counted memory, e.g. a pooled netty buffer.
+ * <p>
+ * Codecs can hand out retained slices of such a buffer instead of copying the bytes of a message, as long as the
+ * slice is released once the message has been consumed.
+ */
+public interface ReferenceCountedChannelBuffer extends ChannelBuffer {
+
+    /**
+     * Returns a retained slice of this buffer's sub-region starting at the current readerIndex and increases the
+     * readerIndex by the size of the new slice. The slice shares the memory of this buffer and must be released.
+     *
+     * @param length the size of the new slice
+     * @return the newly created slice
+     */
+    ReferenceCountedChannelBuffer readRetainedSlice(int length);
+
+    /**
+     * @return the reference count of the backing memory
+     */
+    int refCnt();
+
+    /**
+     * Decreases the reference count by 1.
+     *
+     * @return true if and only if the reference count became 0 and the backing memory has been deallocated
+     */
+    boolean release();
+
+    /**
+     * Records the current access location of this buffer with an additional hint, so that a leak report of the
+     * underlying memory tells which message it belonged to. Does nothing unless leak detection is enabled.
+     *
+     * @param hint additional information about the access
+     * @return this buffer
+     */
+    ReferenceCountedChannelBuffer touch(Object hint);
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.buffer;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Input stream over a retained slice of a {@link ReferenceCountedChannelBuffer}.
+ * <p>
+ * It lets a message body outlive the IO thread's read buffer without copying it into a byte[]. The slice is
+ * released exactly once, by {@link #close()}. {@link #pendingCount()} tells how many such streams have not been
+ * closed yet, a number that keeps growing is a leak.
+ */
+public class RetainedChannelBufferInputStream extends ChannelBufferInputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetainedChannelBufferInputStream.class);
+
+    private static final AtomicLong PENDING = new AtomicLong();
+
+    private static final AtomicIntegerFieldUpdater<RetainedChannelBufferInputStream> RELEASED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(RetainedChannelBufferInputStream.class, "released");
+
+    private final ReferenceCountedChannelBuffer slice;
+
+    private volatile int released;
+
+    private RetainedChannelBufferInputStream(ReferenceCountedChannelBuffer slice) {
+        super(slice);
+        this.slice = slice;
+        PENDING.incrementAndGet();
+    }
+
+    /**
+     * Consumes the remaining bytes of the given stream as a retained slice of its buffer.
+     *
+     * @return the stream over the slice, or null if the buffer of the given stream is not reference counted, in
+     * which case nothing has been consumed
+     */
+    public static RetainedChannelBufferInputStream retain(ChannelBufferInputStream is) {
+        ChannelBuffer buffer = is.buffer();
+        if (!(buffer instanceof ReferenceCountedChannelBuffer)) {
+            return null;
+        }
+        int length = is.remaining();
+        return new RetainedChannelBufferInputStream(((ReferenceCountedChannelBuffer) buffer).readRetainedSlice(length));
+    }
+
+    /**
+     * @return the number of retained streams created and not closed yet.
+     */
+    public static long pendingCount() {
+        return PENDING.get();
+    }
+
+    /**
+     * @see ReferenceCountedChannelBuffer#touch(Object)
+     */
+    public RetainedChannelBufferInputStream touch(Object hint) {
+        if (released == 0) {
+            slice.touch(hint);
+        }
+        return this;
+    }
+
+    public boolean isReleased() {
+        return released != 0;
+    }
+
+    /**
+     * Releases the slice, further calls have no effect.
+     */
+    @Override
+    public void close() {
+        if (RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+            PENDING.decrementAndGet();
+            try {
+                slice.release();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release retained buffer: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -230,16 +230,20 @@ public class ExchangeCodec extends TelnetCodec {
         // encode request data.
         int savedWriteIndex = buffer.writerIndex();
         buffer.writerIndex(savedWriteIndex + HEADER_LENGTH);
-        ChannelBufferOutputStream bos = new ChannelBufferOutputStream(buffer);
+        ChannelBufferOutputStream bos = new PayloadLimitedOutputStream(channel, buffer);
         ObjectOutput out = serialization.serialize(channel.getUrl(), bos);
-        if (req.isEvent()) {
-            encodeEventData(channel, out, req.getData());
-        } else {
-            encodeRequestData(channel, out, req.getData(), req.getVersion());
-        }
-        out.flushBuffer();
-        if (out instanceof Cleanable) {
-            ((Cleanable) out).cleanup();
+        try {
+            if (req.isEvent()) {
+                encodeEventData(channel, out, req.getData());
+            } else {
+                encodeRequestData(channel, out, req.getData(), req.getVersion());
+            }
+            out.flushBuffer();
+        } finally {
+            // the payload check may abort serialization half way, reusable outputs must be reset anyway.
+            if (out instanceof Cleanable) {
+                ((Cleanable) out).cleanup();
+            }
         }
         bos.flush();
         bos.close();
@@ -247,10 +251,8 @@ public class ExchangeCodec extends TelnetCodec {
         checkPayload(channel, len);
         Bytes.int2bytes(len, header, 12);
 
-        // write
-        buffer.writerIndex(savedWriteIndex);
-        buffer.writeBytes(header); // write header.
-        buffer.writerIndex(savedWriteIndex + HEADER_LENGTH + len);
+        // write header in place, the body is already behind it.
+        buffer.setBytes(savedWriteIndex, header);
     }
 
     protected void encodeResponse(Channel channel, ChannelBuffer buffer, Response res) throws IOException {
@@ -273,21 +275,24 @@ public class ExchangeCodec extends TelnetCodec {
             Bytes.long2bytes(res.getId(), header, 4);
 
             buffer.writerIndex(savedWriteIndex + HEADER_LENGTH);
-            ChannelBufferOutputStream bos = new ChannelBufferOutputStream(buffer);
+            ChannelBufferOutputStream bos = new PayloadLimitedOutputStream(channel, buffer);
             ObjectOutput out = serialization.serialize(channel.getUrl(), bos);
-            // encode response data or error message.
-            if (status == Response.OK) {
-                if (res.isHeartbeat()) {
-                    encodeEventData(channel, out, res.getResult());
+            try {
+                // encode response data or error message.
+                if (status == Response.OK) {
+                    if (res.isHeartbeat()) {
+                        encodeEventData(channel, out, res.getResult());
+                    } else {
+                        encodeResponseData(channel, out, res.getResult(), res.getVersion());
+                    }
                 } else {
-                    encodeResponseData(channel, out, res.getResult(), res.getVersion());
+                    out.writeUTF(res.getErrorMessage());
+                }
+                out.flushBuffer();
+            } finally {
+                if (out instanceof Cleanable) {
+                    ((Cleanable) out).cleanup();
                 }
-            } else {
-                out.writeUTF(res.getErrorMessage());
-            }
-            out.flushBuffer();
-            if (out instanceof Cleanable) {
-                ((Cleanable) out).cleanup();
             }
             bos.flush();
             bos.close();
@@ -295,10 +300,8 @@ public class ExchangeCodec extends TelnetCodec {
             int len = bos.writtenBytes();
             checkPayload(channel, len);
             Bytes.int2bytes(len, header, 12);
-            // write
-            buffer.writerIndex(savedWriteIndex);
-            buffer.writeBytes(header); // write header.
-            buffer.writerIndex(savedWriteIndex + HEADER_LENGTH + len);
+            // write header in place, the body is already behind it.
+            buffer.setBytes(savedWriteIndex, header);
         } catch (Throwable t) {
             // clear buffer
             buffer.writerIndex(savedWriteIndex);
@@ -450,5 +453,45 @@ public class ExchangeCodec extends TelnetCodec {
         encodeResponseData(out, data);
     }
 
+    /**
+     * Fails as soon as the serialized body grows past the payload limit of the channel, instead of letting the
+     * whole body be written into the buffer before {@link #checkPayload(Channel, long)} rejects it.
+     */
+    private static class PayloadLimitedOutputStream extends ChannelBufferOutputStream {
+
+        private final Channel channel;
+
+        private final int payload;
+
+        PayloadLimitedOutputStream(Channel channel, ChannelBuffer buffer) {
+            super(buffer);
+            this.channel = channel;
+            this.payload = getPayload(channel);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkWritable(len);
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            checkWritable(b.length);
+            super.write(b);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkWritable(1);
+            super.write(b);
+        }
+
+        private void checkWritable(int len) throws IOException {
+            if (payload > 0 && (long) writtenBytes() + len > payload) {
+                checkPayload(channel, (long) writtenBytes() + len);
+            }
+        }
+    }
 
 }
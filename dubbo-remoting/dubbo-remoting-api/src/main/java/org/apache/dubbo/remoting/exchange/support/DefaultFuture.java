@@ -20,9 +20,7 @@ import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.threadpool.ThreadlessExecutor;
 import org.apache.dubbo.common.timer.HashedWheelTimer;
-import org.apache.dubbo.common.timer.Timeout;
 import org.apache.dubbo.common.timer.Timer;
-import org.apache.dubbo.common.timer.TimerTask;
 import org.apache.dubbo.common.utils.NamedThreadFactory;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.RemotingException;
@@ -32,11 +30,10 @@ import org.apache.dubbo.remoting.exchange.Response;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_TIMEOUT;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
@@ -48,23 +45,35 @@ public class DefaultFuture extends CompletableFuture<Object> {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultFuture.class);
 
-    private static final Map<Long, Channel> CHANNELS = new ConcurrentHashMap<>();
+    /**
+     * channel attribute holding the {@link FutureTable} of the requests in flight on that channel
+     */
+    private static final String CHANNEL_FUTURES_KEY = DefaultFuture.class.getName() + ".FUTURES";
 
-    private static final Map<Long, DefaultFuture> FUTURES = new ConcurrentHashMap<>();
+    private static final FutureTable FUTURES = new FutureTable(64);
+
+    /**
+     * futures whose channel can not hold attributes (e.g. a client not connected yet), only those
+     * require a scan of {@link #FUTURES} when the channel closes.
+     */
+    private static final AtomicInteger UNTRACKED = new AtomicInteger();
 
     public static final Timer TIME_OUT_TIMER = new HashedWheelTimer(
             new NamedThreadFactory("dubbo-future-timeout", true),
             30,
             TimeUnit.MILLISECONDS);
 
+    private static final TimeoutBuckets TIMEOUT_BUCKETS = new TimeoutBuckets(TIME_OUT_TIMER, 30, 512);
+
     // invoke id.
-    private final Long id;
+    private final long id;
     private final Channel channel;
     private final Request request;
     private final int timeout;
     private final long start = System.currentTimeMillis();
     private volatile long sent;
-    private Timeout timeoutCheckTask;
+    private final FutureTable channelFutures;
+    private volatile TimeoutBuckets.Entry timeoutEntry;
 
     private ExecutorService executor;
 
@@ -81,17 +90,49 @@ public class DefaultFuture extends CompletableFuture<Object> {
         this.request = request;
         this.id = request.getId();
         this.timeout = timeout > 0 ? timeout : channel.getUrl().getPositiveParameter(TIMEOUT_KEY, DEFAULT_TIMEOUT);
-        // put into waiting map.
+        // put into the channel table first, so that a removal from the waiting table always finds it there.
+        this.channelFutures = getChannelFutures(channel);
+        if (channelFutures != null) {
+            channelFutures.put(id, this);
+        } else {
+            UNTRACKED.incrementAndGet();
+        }
+        // put into waiting table.
         FUTURES.put(id, this);
-        CHANNELS.put(id, channel);
+    }
+
+    private static FutureTable getChannelFutures(Channel channel) {
+        Object table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+        if (table instanceof FutureTable) {
+            return (FutureTable) table;
+        }
+        synchronized (CHANNEL_FUTURES_KEY) {
+            table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+            if (!(table instanceof FutureTable)) {
+                channel.setAttribute(CHANNEL_FUTURES_KEY, new FutureTable(4));
+                table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+            }
+        }
+        return table instanceof FutureTable ? (FutureTable) table : null;
+    }
+
+    private static DefaultFuture removeFuture(long id) {
+        DefaultFuture future = FUTURES.remove(id);
+        if (future != null) {
+            if (future.channelFutures != null) {
+                future.channelFutures.remove(id);
+            } else {
+                UNTRACKED.decrementAndGet();
+            }
+        }
+        return future;
     }
 
     /**
      * check time out of the future
      */
     private static void timeoutCheck(DefaultFuture future) {
-        TimeoutCheckTask task = new TimeoutCheckTask(future.getId());
-        future.timeoutCheckTask = TIME_OUT_TIMER.newTimeout(task, future.getTimeout(), TimeUnit.MILLISECONDS);
+        future.timeoutEntry = TIMEOUT_BUCKETS.add(future);
     }
 
     /**
@@ -121,7 +162,26 @@ public class DefaultFuture extends CompletableFuture<Object> {
     }
 
     public static boolean hasFuture(Channel channel) {
-        return CHANNELS.containsValue(channel);
+        Object table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+        if (table instanceof FutureTable && !((FutureTable) table).isEmpty()) {
+            return true;
+        }
+        if (UNTRACKED.get() > 0) {
+            for (DefaultFuture future : FUTURES.values()) {
+                if (future.channelFutures == null && channel.equals(future.channel)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of requests in flight on the channel, 0 when it can not hold attributes
+     */
+    public static int getFutureCount(Channel channel) {
+        Object table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+        return table instanceof FutureTable ? ((FutureTable) table).size() : 0;
     }
 
     public static void sent(Channel channel, Request request) {
@@ -138,50 +198,56 @@ public class DefaultFuture extends CompletableFuture<Object> {
      * @param channel channel to close
      */
     public static void closeChannel(Channel channel) {
-        for (Map.Entry<Long, Channel> entry : CHANNELS.entrySet()) {
-            if (channel.equals(entry.getValue())) {
-                DefaultFuture future = getFuture(entry.getKey());
-                if (future != null && !future.isDone()) {
-                    ExecutorService futureExecutor = future.getExecutor();
-                    if (futureExecutor != null && !futureExecutor.isTerminated()) {
-                        futureExecutor.shutdownNow();
-                    }
-
-                    Response disconnectResponse = new Response(future.getId());
-                    disconnectResponse.setStatus(Response.CHANNEL_INACTIVE);
-                    disconnectResponse.setErrorMessage("Channel " +
-                            channel +
-                            " is inactive. Directly return the unFinished request : " +
-                            future.getRequest());
-                    DefaultFuture.received(channel, disconnectResponse);
+        Object table = channel.getAttribute(CHANNEL_FUTURES_KEY);
+        if (table instanceof FutureTable) {
+            for (DefaultFuture future : ((FutureTable) table).values()) {
+                closeFuture(channel, future);
+            }
+        }
+        if (UNTRACKED.get() > 0) {
+            for (DefaultFuture future : FUTURES.values()) {
+                if (future.channelFutures == null && channel.equals(future.channel)) {
+                    closeFuture(channel, future);
                 }
             }
         }
     }
 
+    private static void closeFuture(Channel channel, DefaultFuture future) {
+        if (!future.isDone()) {
+            ExecutorService futureExecutor = future.getExecutor();
+            if (futureExecutor != null && !futureExecutor.isTerminated()) {
+                futureExecutor.shutdownNow();
+            }
+
+            Response disconnectResponse = new Response(future.getId());
+            disconnectResponse.setStatus(Response.CHANNEL_INACTIVE);
+            disconnectResponse.setErrorMessage("Channel " +
+                    channel +
+                    " is inactive. Directly return the unFinished request : " +
+                    future.getRequest());
+            DefaultFuture.received(channel, disconnectResponse);
+        }
+    }
+
     public static void received(Channel channel, Response response) {
         received(channel, response, false);
     }
 
     public static void received(Channel channel, Response response, boolean timeout) {
-        try {
-            DefaultFuture future = FUTURES.remove(response.getId());
-            if (future != null) {
-                Timeout t = future.timeoutCheckTask;
-                if (!timeout) {
-                    // decrease Time
-                    t.cancel();
-                }
-                future.doReceived(response);
-            } else {
-                logger.warn("The timeout response finally returned at "
-                        + (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()))
-                        + ", response status is " + response.getStatus()
-                        + (channel == null ? "" : ", channel: " + channel.getLocalAddress()
-                        + " -> " + channel.getRemoteAddress()) + ", please check provider side for detailed result.");
+        DefaultFuture future = removeFuture(response.getId());
+        if (future != null) {
+            if (!timeout) {
+                // the bucket has unlinked the entry of a timed out future already
+                future.releaseTimeoutEntry();
             }
-        } finally {
-            CHANNELS.remove(response.getId());
+            future.doReceived(response);
+        } else {
+            logger.warn("The timeout response finally returned at "
+                    + (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()))
+                    + ", response status is " + response.getStatus()
+                    + (channel == null ? "" : ", channel: " + channel.getLocalAddress()
+                    + " -> " + channel.getRemoteAddress()) + ", please check provider side for detailed result.");
         }
     }
 
@@ -190,9 +256,9 @@ public class DefaultFuture extends CompletableFuture<Object> {
         Response errorResult = new Response(id);
         errorResult.setStatus(Response.CLIENT_ERROR);
         errorResult.setErrorMessage("request future has been canceled.");
+        releaseTimeoutEntry();
         this.doReceived(errorResult);
-        FUTURES.remove(id);
-        CHANNELS.remove(id);
+        removeFuture(id);
         return true;
     }
 
@@ -200,6 +266,16 @@ public class DefaultFuture extends CompletableFuture<Object> {
         this.cancel(true);
     }
 
+    /**
+     * let go of the future in its timeout bucket, like the cancel of a timeout task
+     */
+    private void releaseTimeoutEntry() {
+        TimeoutBuckets.Entry entry = timeoutEntry;
+        if (entry != null) {
+            TIMEOUT_BUCKETS.cancel(entry);
+        }
+    }
+
     private void doReceived(Response res) {
         if (res == null) {
             throw new IllegalStateException("response cannot be null");
@@ -239,8 +315,12 @@ public class DefaultFuture extends CompletableFuture<Object> {
         return request;
     }
 
-    private int getTimeout() {
-        return timeout;
+    long getDeadline() {
+        return start + timeout;
+    }
+
+    TimeoutBuckets.Entry getTimeoutEntry() {
+        return timeoutEntry;
     }
 
     private void doSent() {
@@ -266,36 +346,27 @@ public class DefaultFuture extends CompletableFuture<Object> {
         return newRequest;
     }
 
-    private static class TimeoutCheckTask implements TimerTask {
-
-        private final Long requestID;
-
-        TimeoutCheckTask(Long requestID) {
-            this.requestID = requestID;
-        }
-
-        @Override
-        public void run(Timeout timeout) {
-            DefaultFuture future = DefaultFuture.getFuture(requestID);
-            if (future == null || future.isDone()) {
-                return;
-            }
-
-            if (future.getExecutor() != null) {
-                future.getExecutor().execute(() -> notifyTimeout(future));
-            } else {
-                notifyTimeout(future);
-            }
+    /**
+     * called by {@link TimeoutBuckets} once the deadline has passed
+     */
+    void timeout() {
+        if (getExecutor() != null) {
+            getExecutor().execute(this::notifyTimeout);
+        } else {
+            notifyTimeout();
         }
+    }
 
-        private void notifyTimeout(DefaultFuture future) {
-            // create exception response.
-            Response timeoutResponse = new Response(future.getId());
-            // set timeout status.
-            timeoutResponse.setStatus(future.isSent() ? Response.SERVER_TIMEOUT : Response.CLIENT_TIMEOUT);
-            timeoutResponse.setErrorMessage(future.getTimeoutMessage(true));
-            // handle response.
-            DefaultFuture.received(future.getChannel(), timeoutResponse, true);
+    private void notifyTimeout() {
+        if (isDone()) {
+            return;
         }
+        // create exception response.
+        Response timeoutResponse = new Response(getId());
+        // set timeout status.
+        timeoutResponse.setStatus(isSent() ? Response.SERVER_TIMEOUT : Response.CLIENT_TIMEOUT);
+        timeoutResponse.setErrorMessage(getTimeoutMessage(true));
+        // handle response.
+        DefaultFuture.received(getChannel(), timeoutResponse, true);
     }
 }
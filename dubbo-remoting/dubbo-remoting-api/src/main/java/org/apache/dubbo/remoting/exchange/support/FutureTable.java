@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.exchange.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-flight request table keyed by the primitive request id.
+ * <p>
+ * The table is split into lock stripes, each one an open-addressing (linear probing) hash table, so
+ * concurrent callers rarely contend on the same lock and no boxed {@link Long} keys or map entries
+ * are allocated per request. A slot is empty when its value is {@code null}, which keeps id 0 usable.
+ */
+final class FutureTable {
+
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    FutureTable(int concurrency) {
+        int n = 1;
+        while (n < concurrency) {
+            n <<= 1;
+        }
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = n - 1;
+    }
+
+    void put(long id, DefaultFuture future) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            stripe.put(id, future);
+        }
+    }
+
+    DefaultFuture get(long id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            return stripe.get(id);
+        }
+    }
+
+    DefaultFuture remove(long id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            return stripe.remove(id);
+        }
+    }
+
+    boolean isEmpty() {
+        for (Stripe stripe : stripes) {
+            if (stripe.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return a point-in-time copy of the futures held by this table
+     */
+    List<DefaultFuture> values() {
+        List<DefaultFuture> values = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (DefaultFuture future : stripe.values) {
+                    if (future != null) {
+                        values.add(future);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private Stripe stripeFor(long id) {
+        return stripes[(int) mix(id) & mask];
+    }
+
+    private static long mix(long id) {
+        // request ids are sequential, spread them over stripes and slots
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Stripe {
+
+        private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+
+        private DefaultFuture[] values = new DefaultFuture[INITIAL_STRIPE_CAPACITY];
+
+        private volatile int size;
+
+        void put(long id, DefaultFuture future) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize(values.length << 1);
+            }
+            int m = values.length - 1;
+            int i = slot(id, m);
+            while (values[i] != null) {
+                if (keys[i] == id) {
+                    values[i] = future;
+                    return;
+                }
+                i = (i + 1) & m;
+            }
+            keys[i] = id;
+            values[i] = future;
+            size++;
+        }
+
+        DefaultFuture get(long id) {
+            int m = values.length - 1;
+            int i = slot(id, m);
+            DefaultFuture value;
+            while ((value = values[i]) != null) {
+                if (keys[i] == id) {
+                    return value;
+                }
+                i = (i + 1) & m;
+            }
+            return null;
+        }
+
+        DefaultFuture remove(long id) {
+            int m = values.length - 1;
+            int i = slot(id, m);
+            DefaultFuture value;
+            while ((value = values[i]) != null) {
+                if (keys[i] == id) {
+                    shiftBack(i, m);
+                    size--;
+                    if (values.length > INITIAL_STRIPE_CAPACITY && size * 8 < values.length) {
+                        resize(values.length >>> 1);
+                    }
+                    return value;
+                }
+                i = (i + 1) & m;
+            }
+            return null;
+        }
+
+        /**
+         * Backward-shift deletion, keeps probe sequences intact without tombstones.
+         */
+        private void shiftBack(int hole, int m) {
+            int i = hole;
+            while (true) {
+                i = (i + 1) & m;
+                if (values[i] == null) {
+                    break;
+                }
+                int home = slot(keys[i], m);
+                // move the entry into the hole unless its home lies cyclically in (hole, i]
+                boolean stay = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+                if (!stay) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            values[hole] = null;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            DefaultFuture[] oldValues = values;
+            keys = new long[capacity];
+            values = new DefaultFuture[capacity];
+            int m = capacity - 1;
+            for (int j = 0; j < oldValues.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = slot(oldKeys[j], m);
+                    while (values[i] != null) {
+                        i = (i + 1) & m;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int slot(long id, int m) {
+            return (int) (mix(id) >>> 16) & m;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.exchange.support;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.timer.Timeout;
+import org.apache.dubbo.common.timer.Timer;
+import org.apache.dubbo.common.timer.TimerTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks future timeouts in deadline buckets with a single recurring timer task, instead of
+ * scheduling one timer task per request.
+ * <p>
+ * Callers only append to a pending queue. On every tick the timer thread moves pending futures into
+ * the ring bucket of their deadline and expires the current bucket: futures whose deadline lies a full
+ * revolution ahead are put back, the rest time out. A completed future lets go of its entry at once, the
+ * entry itself being unlinked from its bucket on the next tick, like a cancelled timeout of a
+ * {@link org.apache.dubbo.common.timer.HashedWheelTimer}. The buckets are only touched by the timer thread.
+ */
+final class TimeoutBuckets implements TimerTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutBuckets.class);
+
+    private final Timer timer;
+
+    private final long tickMillis;
+
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final Bucket[] buckets;
+
+    private final int mask;
+
+    /**
+     * the last tick whose bucket has been expired, only accessed by the timer thread
+     */
+    private long lastTick;
+
+    TimeoutBuckets(Timer timer, long tickMillis, int bucketCount) {
+        int n = 1;
+        while (n < bucketCount) {
+            n <<= 1;
+        }
+        this.timer = timer;
+        this.tickMillis = tickMillis;
+        this.buckets = new Bucket[n];
+        for (int i = 0; i < n; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = n - 1;
+        this.lastTick = System.currentTimeMillis() / tickMillis - 1;
+        timer.newTimeout(this, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    Entry add(DefaultFuture future) {
+        Entry entry = new Entry(future);
+        pending.offer(entry);
+        return entry;
+    }
+
+    /**
+     * Stop checking the future of the entry, which drops its reference to it right away
+     */
+    void cancel(Entry entry) {
+        if (entry.future != null) {
+            entry.future = null;
+            cancelled.offer(entry);
+        }
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        try {
+            long now = System.currentTimeMillis();
+            long elapsedTick = now / tickMillis - 1;
+            removeCancelled();
+            transferPending();
+            // catch up on every fully elapsed tick since the last run, but never walk the ring more than once
+            for (long tick = Math.max(lastTick + 1, elapsedTick - mask); tick <= elapsedTick; tick++) {
+                expire(buckets[(int) tick & mask], now);
+            }
+            if (elapsedTick > lastTick) {
+                lastTick = elapsedTick;
+            }
+        } catch (Throwable t) {
+            logger.warn("Failed to check request timeouts: " + t.getMessage(), t);
+        } finally {
+            if (!timeout.isCancelled()) {
+                timer.newTimeout(this, tickMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Entry entry;
+        while ((entry = cancelled.poll()) != null) {
+            // still pending otherwise, skipped when transferred
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private void transferPending() {
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            DefaultFuture future = entry.future;
+            if (future == null || future.isDone()) {
+                continue;
+            }
+            // never file into a bucket that was already expired in this revolution
+            long tick = Math.max(future.getDeadline() / tickMillis, lastTick + 1);
+            buckets[(int) tick & mask].add(entry);
+        }
+    }
+
+    private void expire(Bucket bucket, long now) {
+        Entry entry = bucket.head;
+        while (entry != null) {
+            Entry next = entry.next;
+            DefaultFuture future = entry.future;
+            if (future == null || future.isDone()) {
+                bucket.remove(entry);
+            } else if (future.getDeadline() <= now) {
+                // otherwise the bucket tick has elapsed, so the deadline is at least one revolution ahead
+                bucket.remove(entry);
+                future.timeout();
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * A future being checked, linked into the bucket of its deadline
+     */
+    static final class Entry {
+
+        private volatile DefaultFuture future;
+
+        private Bucket bucket;
+
+        private Entry prev;
+
+        private Entry next;
+
+        private Entry(DefaultFuture future) {
+            this.future = future;
+        }
+
+        DefaultFuture getFuture() {
+            return future;
+        }
+
+        boolean isLinked() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket {
+
+        private Entry head;
+
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.bucket = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+    }
+}
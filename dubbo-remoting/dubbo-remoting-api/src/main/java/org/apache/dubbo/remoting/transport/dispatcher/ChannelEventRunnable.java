@@ -16,19 +16,34 @@
  */
 package org.apache.dubbo.remoting.transport.dispatcher;
 
+import org.apache.dubbo.common.lang.Prioritized;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.Sheddable;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.ChannelHandler;
-
-public class ChannelEventRunnable implements Runnable {
+import org.apache.dubbo.remoting.TimeoutAware;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.exchange.Response;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ChannelEventRunnable implements Sheddable, Prioritized {
     private static final Logger logger = LoggerFactory.getLogger(ChannelEventRunnable.class);
 
+    private static final ConcurrentMap<Integer, LongAdder> EXPIRED_COUNTS = new ConcurrentHashMap<>();
+
     private final ChannelHandler handler;
     private final Channel channel;
     private final ChannelState state;
     private final Throwable exception;
     private final Object message;
+    private final long createdNanos;
 
     public ChannelEventRunnable(Channel channel, ChannelHandler handler, ChannelState state) {
         this(channel, handler, state, null);
@@ -48,11 +63,30 @@ public class ChannelEventRunnable implements Runnable {
         this.state = state;
         this.message = message;
         this.exception = exception;
+        this.createdNanos = System.nanoTime();
+    }
+
+    /**
+     * Number of received requests dropped so far because their sender's timeout passed while they were queued,
+     * keyed by the local port of the channel
+     */
+    public static Map<Integer, Long> getExpiredCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        EXPIRED_COUNTS.forEach((port, adder) -> counts.put(port, adder.sum()));
+        return counts;
+    }
+
+    public static long getExpiredCount(int port) {
+        LongAdder adder = EXPIRED_COUNTS.get(port);
+        return adder == null ? 0 : adder.sum();
     }
 
     @Override
     public void run() {
         if (state == ChannelState.RECEIVED) {
+            if (expire()) {
+                return;
+            }
             try {
                 handler.received(channel, message);
             } catch (Exception e) {
@@ -98,6 +132,75 @@ public class ChannelEventRunnable implements Runnable {
 
     }
 
+    /**
+     * Drops a received request whose sender gave up on it while it was queued. No response is sent, as the sender
+     * started counting before the request arrived and so is no longer waiting for one.
+     */
+    private boolean expire() {
+        if (!(message instanceof Request) || !(((Request) message).getData() instanceof TimeoutAware)) {
+            return false;
+        }
+        Request request = (Request) message;
+        long timeout = ((TimeoutAware) request.getData()).getRemainingTimeout();
+        if (timeout < 0) {
+            return false;
+        }
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdNanos);
+        if (waited < timeout) {
+            return false;
+        }
+        WrappedChannelHandler.release(request);
+        int port = channel.getUrl() == null ? 0 : channel.getUrl().getPort();
+        EXPIRED_COUNTS.computeIfAbsent(port, k -> new LongAdder()).increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request " + request.getId() + " waited " + waited + "ms in the server side queue, longer than "
+                    + "the " + timeout + "ms left to its sender, it is dropped. Channel is " + channel);
+        }
+        return true;
+    }
+
+    /**
+     * A received request takes the priority of its data, other events come before any request.
+     */
+    @Override
+    public int getPriority() {
+        if (state == ChannelState.RECEIVED && message instanceof Request) {
+            Object data = ((Request) message).getData();
+            return data instanceof Prioritized ? ((Prioritized) data).getPriority() : NORMAL_PRIORITY;
+        }
+        return MAX_PRIORITY;
+    }
+
+    /**
+     * Only received requests may be shed, their sender is answered. Connection events, sent notifications and
+     * responses have to reach the handler, or channels and the futures waiting on them would never be cleaned up.
+     */
+    @Override
+    public boolean isSheddable() {
+        return state == ChannelState.RECEIVED && message instanceof Request;
+    }
+
+    @Override
+    public void shed() {
+        WrappedChannelHandler.release(message);
+        if (!(message instanceof Request)) {
+            logger.warn("ChannelEventRunnable " + state + " event is shed, channel is " + channel);
+            return;
+        }
+        Request request = (Request) message;
+        if (request.isTwoWay()) {
+            Response response = new Response(request.getId(), request.getVersion());
+            response.setStatus(Response.SERVER_THREADPOOL_EXHAUSTED_ERROR);
+            response.setErrorMessage("Server side(" + channel.getLocalAddress() + ") thread pool is overloaded or shutting "
+                    + "down, the request is shed from its queue.");
+            try {
+                channel.send(response);
+            } catch (Exception e) {
+                logger.warn("Failed to answer shed request " + request.getId() + ", channel is " + channel, e);
+            }
+        }
+    }
+
     /**
      * ChannelState
      *
@@ -23,6 +23,7 @@ import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.ChannelHandler;
+import org.apache.dubbo.remoting.Decodeable;
 import org.apache.dubbo.remoting.RemotingException;
 import org.apache.dubbo.remoting.exchange.Request;
 import org.apache.dubbo.remoting.exchange.Response;
@@ -74,6 +75,7 @@ public class WrappedChannelHandler implements ChannelHandlerDelegate {
     }
 
     protected void sendFeedback(Channel channel, Request request, Throwable t) throws RemotingException {
+        release(request);
         if (request.isTwoWay()) {
             String msg = "Server side(" + url.getIp() + "," + url.getPort()
                     + ") thread pool is exhausted, detail msg:" + t.getMessage();
@@ -85,6 +87,22 @@ public class WrappedChannelHandler implements ChannelHandlerDelegate {
         }
     }
 
+    /**
+     * Lets go of the buffer kept for decoding a received request or response that is dropped without being handled.
+     * Safe to call more than once.
+     */
+    protected static void release(Object message) {
+        Object data = null;
+        if (message instanceof Request) {
+            data = ((Request) message).getData();
+        } else if (message instanceof Response) {
+            data = ((Response) message).getResult();
+        }
+        if (data instanceof Decodeable) {
+            ((Decodeable) data).release();
+        }
+    }
+
     @Override
     public ChannelHandler getHandler() {
         if (handler instanceof ChannelHandlerDelegate) {
@@ -65,6 +65,7 @@ public class AllChannelHandler extends WrappedChannelHandler {
                 sendFeedback(channel, (Request) message, t);
                 return;
         	}
+            release(message);
             throw new ExecutionException(message, channel, getClass() + " error when process received event .", t);
         }
     }
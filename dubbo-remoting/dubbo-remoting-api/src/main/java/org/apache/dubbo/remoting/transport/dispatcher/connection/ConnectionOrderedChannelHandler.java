@@ -87,6 +87,7 @@ public class ConnectionOrderedChannelHandler extends WrappedChannelHandler {
                 sendFeedback(channel, (Request) message, t);
                 return;
             }
+            release(message);
             throw new ExecutionException(message, channel, getClass() + " error when process received event .", t);
         }
     }
@@ -54,6 +54,7 @@ public class ExecutionChannelHandler extends WrappedChannelHandler {
                 if (t instanceof RejectedExecutionException) {
                     sendFeedback(channel, (Request) message, t);
                 }
+                release(message);
                 throw new ExecutionException(message, channel, getClass() + " error when process received event.", t);
             }
         } else if (executor instanceof ThreadlessExecutor) {
@@ -45,6 +45,7 @@ public class MessageOnlyChannelHandler extends WrappedChannelHandler {
                 sendFeedback(channel, (Request) message, t);
                 return;
             }
+            release(message);
             throw new ExecutionException(message, channel, getClass() + " error when process received event .", t);
         }
     }
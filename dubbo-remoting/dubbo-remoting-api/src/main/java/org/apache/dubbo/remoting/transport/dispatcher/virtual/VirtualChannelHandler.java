@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.dispatcher.virtual;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.support.virtual.VirtualThreadExecutor;
+import org.apache.dubbo.remoting.Channel;
+import org.apache.dubbo.remoting.ChannelHandler;
+import org.apache.dubbo.remoting.ExecutionException;
+import org.apache.dubbo.remoting.RemotingException;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.transport.dispatcher.all.AllChannelHandler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Dispatches like {@link AllChannelHandler}, except that requests handled by a {@link VirtualThreadExecutor} are run
+ * directly on the thread it starts: the executor is resolved once instead of per message, and no
+ * {@link org.apache.dubbo.remoting.transport.dispatcher.ChannelEventRunnable} is built around them. Responses and
+ * other thread pools take the regular path.
+ * <p>
+ * Such requests are therefore not checked against their {@link org.apache.dubbo.remoting.TimeoutAware deadline}
+ * before being handled: the virtual thread executor has no queue, only a limit on the running tasks past which it
+ * rejects, so a request never waits for a thread long enough to expire on the way.
+ */
+public class VirtualChannelHandler extends AllChannelHandler {
+
+    private volatile ExecutorService executor;
+
+    public VirtualChannelHandler(ChannelHandler handler, URL url) {
+        super(handler, url);
+    }
+
+    @Override
+    public void received(Channel channel, Object message) throws RemotingException {
+        if (!(message instanceof Request)) {
+            super.received(channel, message);
+            return;
+        }
+        ExecutorService executor = getRequestExecutor();
+        if (!(executor instanceof VirtualThreadExecutor)) {
+            super.received(channel, message);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    handler.received(channel, message);
+                } catch (Exception e) {
+                    logger.warn("VirtualChannelHandler handle received operation error, channel is " + channel
+                            + ", message is " + message, e);
+                }
+            });
+        } catch (Throwable t) {
+            if (t instanceof RejectedExecutionException) {
+                sendFeedback(channel, (Request) message, t);
+                return;
+            }
+            release(message);
+            throw new ExecutionException(message, channel, getClass() + " error when process received event .", t);
+        }
+    }
+
+    private ExecutorService getRequestExecutor() {
+        ExecutorService current = executor;
+        if (current == null || current.isShutdown()) {
+            current = getSharedExecutorService();
+            executor = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.exchange.support;
+
+import org.apache.dubbo.remoting.Channel;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.exchange.Response;
+import org.apache.dubbo.remoting.handler.MockedChannel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+public class FutureTableTest {
+
+    @Test
+    public void putGetRemove() {
+        DefaultFuture[] futures = new DefaultFuture[8];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = DefaultFuture.newFuture(new MockedChannel(), new Request(), 3000, null);
+            futures[i].cancel();
+        }
+        FutureTable table = new FutureTable(4);
+        Map<Long, DefaultFuture> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                DefaultFuture future = futures[i % futures.length];
+                table.put(id, future);
+                expected.put(id, future);
+            } else {
+                Assertions.assertSame(expected.remove(id), table.remove(id));
+            }
+            Assertions.assertEquals(expected.size(), table.size());
+        }
+        for (long id = 0; id < 2000; id++) {
+            Assertions.assertSame(expected.get(id), table.get(id));
+        }
+        Assertions.assertEquals(expected.size(), table.values().size());
+        for (Long id : expected.keySet()) {
+            table.remove(id);
+        }
+        Assertions.assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void closeChannelOnlyCompletesItsOwnFutures() {
+        Channel channel = new MockedChannel();
+        Channel other = new MockedChannel();
+        DefaultFuture f1 = DefaultFuture.newFuture(channel, new Request(), 3000, null);
+        DefaultFuture f2 = DefaultFuture.newFuture(other, new Request(), 3000, null);
+        Assertions.assertTrue(DefaultFuture.hasFuture(channel));
+
+        DefaultFuture.closeChannel(channel);
+        Assertions.assertTrue(f1.isDone());
+        Assertions.assertFalse(f2.isDone());
+        Assertions.assertFalse(DefaultFuture.hasFuture(channel));
+        Assertions.assertTrue(DefaultFuture.hasFuture(other));
+
+        Response response = new Response(f2.getRequest().getId());
+        response.setResult("ok");
+        DefaultFuture.received(other, response);
+        Assertions.assertFalse(DefaultFuture.hasFuture(other));
+        Assertions.assertNull(DefaultFuture.getFuture(f2.getRequest().getId()));
+    }
+
+    @Test
+    public void timeoutByBuckets() throws Exception {
+        Channel channel = new MockedChannel();
+        Request request = new Request();
+        DefaultFuture future = DefaultFuture.newFuture(channel, request, 100, null);
+        long start = System.currentTimeMillis();
+        try {
+            future.get();
+            Assertions.fail();
+        } catch (ExecutionException e) {
+            Assertions.assertTrue(e.getCause() instanceof org.apache.dubbo.remoting.TimeoutException);
+        }
+        Assertions.assertTrue(System.currentTimeMillis() - start < 2000);
+        Assertions.assertFalse(DefaultFuture.hasFuture(channel));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.exchange.support;
+
+import org.apache.dubbo.common.timer.Timeout;
+import org.apache.dubbo.common.timer.Timer;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.exchange.Response;
+import org.apache.dubbo.remoting.handler.MockedChannel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class TimeoutBucketsTest {
+
+    private final Timer timer = mock(Timer.class);
+
+    private final Timeout timeout = mock(Timeout.class);
+
+    @Test
+    public void testCompletedFutureIsUnlinked() {
+        TimeoutBuckets buckets = new TimeoutBuckets(timer, 30, 8);
+        DefaultFuture future = DefaultFuture.newFuture(new MockedChannel(), new Request(), 60000, null);
+        TimeoutBuckets.Entry entry = buckets.add(future);
+        buckets.run(timeout);
+        Assertions.assertTrue(entry.isLinked());
+
+        buckets.cancel(entry);
+        // let go of the future right away, the entry being unlinked on the next tick
+        Assertions.assertNull(entry.getFuture());
+        buckets.run(timeout);
+        Assertions.assertFalse(entry.isLinked());
+        future.cancel();
+    }
+
+    @Test
+    public void testReceivedFutureIsReleased() {
+        DefaultFuture future = DefaultFuture.newFuture(new MockedChannel(), new Request(), 60000, null);
+        Response response = new Response(future.getRequest().getId());
+        response.setResult("result");
+        DefaultFuture.received(null, response);
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertNull(future.getTimeoutEntry().getFuture());
+    }
+
+    @Test
+    public void testTimedOutFutureIsNotCancelled() {
+        DefaultFuture future = DefaultFuture.newFuture(new MockedChannel(), new Request(), 60000, null);
+        future.timeout();
+
+        Assertions.assertTrue(future.isDone());
+        // unlinked by the bucket that timed it out, not queued for unlinking again
+        Assertions.assertSame(future, future.getTimeoutEntry().getFuture());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        TimeoutBuckets buckets = new TimeoutBuckets(timer, 30, 8);
+        DefaultFuture future = DefaultFuture.newFuture(new MockedChannel(), new Request(), 1, null);
+        TimeoutBuckets.Entry entry = buckets.add(future);
+        Thread.sleep(100);
+        buckets.run(timeout);
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertFalse(entry.isLinked());
+    }
+}
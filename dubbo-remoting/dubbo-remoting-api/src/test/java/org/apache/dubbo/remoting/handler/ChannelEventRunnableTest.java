@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.handler;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.support.codel.CoDelTaskQueue;
+import org.apache.dubbo.remoting.Channel;
+import org.apache.dubbo.remoting.TimeoutAware;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.transport.dispatcher.ChannelEventRunnable;
+import org.apache.dubbo.remoting.transport.dispatcher.ChannelEventRunnable.ChannelState;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ChannelEventRunnableTest {
+
+    private final Channel channel = new MockedChannel() {
+        @Override
+        public URL getUrl() {
+            return URL.valueOf("dubbo://127.0.0.1:20886/demo");
+        }
+    };
+
+    @Test
+    public void testRunUnexpiredRequest() {
+        List<Object> received = new ArrayList<>();
+        Request request = request(1000);
+        new ChannelEventRunnable(channel, receiver(received), ChannelEventRunnable.ChannelState.RECEIVED, request).run();
+        Assertions.assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testRunRequestWithoutTimeout() throws Exception {
+        List<Object> received = new ArrayList<>();
+        ChannelEventRunnable runnable = new ChannelEventRunnable(channel, receiver(received),
+                ChannelEventRunnable.ChannelState.RECEIVED, request(-1));
+        Thread.sleep(5);
+        runnable.run();
+        Assertions.assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testDropExpiredRequest() throws Exception {
+        List<Object> received = new ArrayList<>();
+        long before = ChannelEventRunnable.getExpiredCount(20886);
+        ChannelEventRunnable runnable = new ChannelEventRunnable(channel, receiver(received),
+                ChannelEventRunnable.ChannelState.RECEIVED, request(1));
+        Thread.sleep(5);
+        runnable.run();
+        Assertions.assertTrue(received.isEmpty());
+        Assertions.assertEquals(before + 1, ChannelEventRunnable.getExpiredCount(20886));
+        Assertions.assertEquals(before + 1, ChannelEventRunnable.getExpiredCounts().get(20886));
+    }
+
+    @Test
+    public void testOnlyRequestsSheddable() {
+        MockedChannelHandler handler = receiver(new ArrayList<>());
+        Assertions.assertTrue(event(handler, ChannelState.RECEIVED, request(-1)).isSheddable());
+        Assertions.assertFalse(event(handler, ChannelState.RECEIVED, new Object()).isSheddable());
+        Assertions.assertFalse(event(handler, ChannelState.DISCONNECTED, null).isSheddable());
+        Assertions.assertFalse(event(handler, ChannelState.CONNECTED, null).isSheddable());
+        Assertions.assertFalse(event(handler, ChannelState.SENT, request(-1)).isSheddable());
+    }
+
+    @Test
+    public void testDisconnectedRunsWhileCoDelDropsRequests() throws Exception {
+        List<Object> received = new ArrayList<>();
+        List<Channel> disconnected = new ArrayList<>();
+        MockedChannelHandler handler = new MockedChannelHandler() {
+            @Override
+            public void received(Channel channel, Object message) {
+                received.add(message);
+            }
+
+            @Override
+            public void disconnected(Channel channel) {
+                disconnected.add(channel);
+            }
+        };
+        CoDelTaskQueue queue = new CoDelTaskQueue(100, 1, 10, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(event(handler, ChannelState.RECEIVED, request(-1)));
+        }
+        queue.offer(event(handler, ChannelState.DISCONNECTED, null));
+        queue.offer(event(handler, ChannelState.RECEIVED, request(-1)));
+
+        Thread.sleep(5);
+        queue.poll().run();
+        // above the target for an interval: the second request is dropped, the next drop is due an interval later
+        Thread.sleep(20);
+        queue.poll().run();
+        Assertions.assertTrue(queue.getDroppedCount() > 0);
+        // still dropping when the disconnected event comes up, it is handed out anyway
+        Thread.sleep(20);
+        Runnable next;
+        while ((next = queue.poll()) != null) {
+            next.run();
+        }
+        Assertions.assertEquals(1, disconnected.size());
+        Assertions.assertFalse(received.isEmpty());
+    }
+
+    private ChannelEventRunnable event(MockedChannelHandler handler, ChannelState state, Object message) {
+        return new ChannelEventRunnable(channel, handler, state, message);
+    }
+
+    private static Request request(long timeout) {
+        Request request = new Request();
+        request.setData((TimeoutAware) () -> timeout);
+        return request;
+    }
+
+    private static MockedChannelHandler receiver(List<Object> received) {
+        return new MockedChannelHandler() {
+            @Override
+            public void received(Channel channel, Object message) {
+                received.add(message);
+            }
+        };
+    }
+}
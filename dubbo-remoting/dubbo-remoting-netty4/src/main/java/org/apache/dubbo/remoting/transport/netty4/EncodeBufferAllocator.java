@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+/**
+ * Allocates the buffer a message is encoded into.
+ * <p>
+ * The size of the next buffer follows the size of recently encoded messages, so that the codec rarely has to grow
+ * (reallocate and copy) the buffer while serializing. Once recent messages reach the composite threshold, a
+ * {@link CompositeByteBuf} is handed out instead: it grows by appending pooled chunks and never copies the bytes
+ * already written, as it is created without a limit on its number of chunks past which netty would consolidate them
+ * into one. The payload limit checked while encoding bounds how many chunks it gets.
+ * <p>
+ * The size estimate is updated without synchronization, a lost update only costs one resize.
+ */
+final class EncodeBufferAllocator {
+
+    static final int MIN_SIZE = 256;
+
+    static final int MAX_COMPONENTS = Integer.MAX_VALUE;
+
+    private final int compositeThreshold;
+
+    private volatile int nextSize = MIN_SIZE;
+
+    EncodeBufferAllocator(int compositeThreshold) {
+        this.compositeThreshold = compositeThreshold;
+    }
+
+    ByteBuf allocate(ByteBufAllocator alloc, boolean preferDirect) {
+        int size = nextSize;
+        if (compositeThreshold > 0 && size >= compositeThreshold) {
+            CompositeByteBuf buffer = preferDirect ? alloc.compositeDirectBuffer(MAX_COMPONENTS)
+                    : alloc.compositeHeapBuffer(MAX_COMPONENTS);
+            // reserve the first chunk, the codec moves the writer index over the header before writing the body.
+            buffer.capacity(compositeThreshold);
+            return buffer;
+        }
+        // leave some headroom so that messages slightly larger than the average fit as well.
+        int capacity = size + (size >>> 2);
+        return preferDirect ? alloc.ioBuffer(capacity) : alloc.heapBuffer(capacity);
+    }
+
+    void record(int encodedSize) {
+        int size = nextSize;
+        if (encodedSize > size) {
+            nextSize = encodedSize;
+        } else {
+            // shrink slowly, a single small message should not undo the estimate of a stream of large ones.
+            nextSize = Math.max(MIN_SIZE, size - ((size - encodedSize) >>> 3));
+        }
+    }
+
+    int nextSize() {
+        return nextSize;
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.dubbo.common.utils.Assert;
 import org.apache.dubbo.remoting.buffer.ChannelBuffer;
 import org.apache.dubbo.remoting.buffer.ChannelBufferFactory;
 import org.apache.dubbo.remoting.buffer.ChannelBuffers;
+import org.apache.dubbo.remoting.buffer.ReferenceCountedChannelBuffer;
 
 import io.netty.buffer.ByteBuf;
 
@@ -28,7 +29,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
-public class NettyBackedChannelBuffer implements ChannelBuffer {
+public class NettyBackedChannelBuffer implements ReferenceCountedChannelBuffer {
 
     private ByteBuf buffer;
 
@@ -288,6 +289,31 @@ public class NettyBackedChannelBuffer implements ChannelBuffer {
     }
 
 
+    @Override
+    public ReferenceCountedChannelBuffer readRetainedSlice(int length) {
+        return new NettyBackedChannelBuffer(buffer.readRetainedSlice(length));
+    }
+
+
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+
+    @Override
+    public ReferenceCountedChannelBuffer touch(Object hint) {
+        buffer.touch(hint);
+        return this;
+    }
+
+
     @Override
     public void resetReaderIndex() {
         buffer.resetReaderIndex();
@@ -35,6 +35,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_TIMEOUT;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
+import static org.apache.dubbo.remoting.Constants.DEFAULT_WRITE_COALESCING_MAX_DELAY;
+import static org.apache.dubbo.remoting.Constants.DEFAULT_WRITE_COALESCING_MAX_PENDING;
+import static org.apache.dubbo.remoting.Constants.WRITE_COALESCING_KEY;
+import static org.apache.dubbo.remoting.Constants.WRITE_COALESCING_MAX_DELAY_KEY;
+import static org.apache.dubbo.remoting.Constants.WRITE_COALESCING_MAX_PENDING_KEY;
 
 /**
  * NettyChannel maintains the cache of channel.
@@ -55,6 +60,11 @@ final class NettyChannel extends AbstractChannel {
 
     private final AtomicBoolean active = new AtomicBoolean(false);
 
+    /**
+     * batches flushes when write coalescing is enabled, null otherwise
+     */
+    private final WriteCoalescer writeCoalescer;
+
     /**
      * The constructor of NettyChannel.
      * It is private so NettyChannel usually create by {@link NettyChannel#getOrAddChannel(Channel, URL, ChannelHandler)}
@@ -69,6 +79,11 @@ final class NettyChannel extends AbstractChannel {
             throw new IllegalArgumentException("netty channel == null;");
         }
         this.channel = channel;
+        this.writeCoalescer = url.getParameter(WRITE_COALESCING_KEY, false)
+                ? new WriteCoalescer(channel,
+                url.getParameter(WRITE_COALESCING_MAX_PENDING_KEY, DEFAULT_WRITE_COALESCING_MAX_PENDING),
+                url.getParameter(WRITE_COALESCING_MAX_DELAY_KEY, DEFAULT_WRITE_COALESCING_MAX_DELAY))
+                : null;
     }
 
     /**
@@ -90,6 +105,9 @@ final class NettyChannel extends AbstractChannel {
             if (ch.isActive()) {
                 nettyChannel.markActive(true);
                 ret = CHANNEL_MAP.putIfAbsent(ch, nettyChannel);
+                if (ret == null) {
+                    nettyChannel.openWriteCoalescingStatistics();
+                }
             }
             if (ret == null) {
                 ret = nettyChannel;
@@ -108,6 +126,7 @@ final class NettyChannel extends AbstractChannel {
             NettyChannel nettyChannel = CHANNEL_MAP.remove(ch);
             if (nettyChannel != null) {
                 nettyChannel.markActive(false);
+                nettyChannel.closeWriteCoalescingStatistics();
             }
         }
     }
@@ -117,10 +136,23 @@ final class NettyChannel extends AbstractChannel {
             NettyChannel nettyChannel = CHANNEL_MAP.remove(ch);
             if (nettyChannel != null) {
                 nettyChannel.markActive(false);
+                nettyChannel.closeWriteCoalescingStatistics();
             }
         }
     }
 
+    private void openWriteCoalescingStatistics() {
+        if (writeCoalescer != null) {
+            writeCoalescer.getStatistics().open();
+        }
+    }
+
+    private void closeWriteCoalescingStatistics() {
+        if (writeCoalescer != null) {
+            writeCoalescer.getStatistics().close();
+        }
+    }
+
     @Override
     public InetSocketAddress getLocalAddress() {
         return (InetSocketAddress) channel.localAddress();
@@ -159,7 +191,7 @@ final class NettyChannel extends AbstractChannel {
         boolean success = true;
         int timeout = 0;
         try {
-            ChannelFuture future = channel.writeAndFlush(message);
+            ChannelFuture future = writeCoalescer == null ? channel.writeAndFlush(message) : writeCoalescer.write(message);
             if (sent) {
                 // wait timeout ms
                 timeout = getUrl().getPositiveParameter(TIMEOUT_KEY, DEFAULT_TIMEOUT);
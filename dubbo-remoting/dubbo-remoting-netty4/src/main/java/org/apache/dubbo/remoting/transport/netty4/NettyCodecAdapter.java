@@ -30,6 +30,9 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.util.List;
 
+import static org.apache.dubbo.remoting.Constants.DEFAULT_ENCODE_COMPOSITE_THRESHOLD;
+import static org.apache.dubbo.remoting.Constants.ENCODE_COMPOSITE_THRESHOLD_KEY;
+
 /**
  * NettyCodecAdapter.
  */
@@ -45,10 +48,14 @@ final public class NettyCodecAdapter {
 
     private final org.apache.dubbo.remoting.ChannelHandler handler;
 
+    private final EncodeBufferAllocator encodeBufferAllocator;
+
     public NettyCodecAdapter(Codec2 codec, URL url, org.apache.dubbo.remoting.ChannelHandler handler) {
         this.codec = codec;
         this.url = url;
         this.handler = handler;
+        this.encodeBufferAllocator = new EncodeBufferAllocator(
+                url.getParameter(ENCODE_COMPOSITE_THRESHOLD_KEY, DEFAULT_ENCODE_COMPOSITE_THRESHOLD));
     }
 
     public ChannelHandler getEncoder() {
@@ -61,12 +68,19 @@ final public class NettyCodecAdapter {
 
     private class InternalEncoder extends MessageToByteEncoder {
 
+        @Override
+        protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) {
+            return encodeBufferAllocator.allocate(ctx.alloc(), preferDirect);
+        }
+
         @Override
         protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
             org.apache.dubbo.remoting.buffer.ChannelBuffer buffer = new NettyBackedChannelBuffer(out);
             Channel ch = ctx.channel();
             NettyChannel channel = NettyChannel.getOrAddChannel(ch, url, handler);
+            int start = out.writerIndex();
             codec.encode(channel, buffer, msg);
+            encodeBufferAllocator.record(out.writerIndex() - start);
         }
     }
 
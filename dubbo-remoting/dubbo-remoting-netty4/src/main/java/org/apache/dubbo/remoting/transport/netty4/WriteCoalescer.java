@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batches the flushes of one netty channel.
+ * <p>
+ * Every write is handed to the channel's event loop, which flushes once {@code maxPending} messages are waiting or,
+ * at the latest, {@code maxDelayMicros} after the first unflushed write. With a delay of 0 the flush runs right after
+ * the writes already queued to the event loop, so that the responses produced by many business threads at the same
+ * time leave in a single gathering write.
+ * <p>
+ * All mutable state is only touched from the event loop.
+ */
+final class WriteCoalescer {
+
+    private final Channel channel;
+
+    private final int maxPending;
+
+    private final long maxDelayMicros;
+
+    private final Runnable flushTask = this::flushPending;
+
+    private final WriteCoalescingStatistics statistics = new WriteCoalescingStatistics();
+
+    private int pending;
+
+    private boolean flushScheduled;
+
+    WriteCoalescer(Channel channel, int maxPending, long maxDelayMicros) {
+        this.channel = channel;
+        this.maxPending = Math.max(1, maxPending);
+        this.maxDelayMicros = Math.max(0, maxDelayMicros);
+    }
+
+    WriteCoalescingStatistics getStatistics() {
+        return statistics;
+    }
+
+    ChannelFuture write(Object message) {
+        ChannelPromise promise = channel.newPromise();
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            write0(message, promise);
+        } else {
+            eventLoop.execute(() -> write0(message, promise));
+        }
+        return promise;
+    }
+
+    private void write0(Object message, ChannelPromise promise) {
+        channel.write(message, promise);
+        if (++pending >= maxPending) {
+            flushPending();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            if (maxDelayMicros > 0) {
+                channel.eventLoop().schedule(flushTask, maxDelayMicros, TimeUnit.MICROSECONDS);
+            } else {
+                channel.eventLoop().execute(flushTask);
+            }
+        }
+    }
+
+    private void flushPending() {
+        flushScheduled = false;
+        if (pending > 0) {
+            int messages = pending;
+            pending = 0;
+            channel.flush();
+            statistics.record(messages);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flush counters of one channel sending with write coalescing enabled, and the totals of the process.
+ * <p>
+ * The counters are cumulative, a channel adds its own into the process totals when it is closed. They are only
+ * written from the channel's event loop and may be read from any thread.
+ */
+public final class WriteCoalescingStatistics {
+
+    // guarded by the class lock: the statistics of the open channels and the counts of the closed ones
+
+    private static final Set<WriteCoalescingStatistics> OPEN = new HashSet<>();
+
+    private static long closedFlushCount;
+
+    private static long closedMessageCount;
+
+    private volatile long flushCount;
+
+    private volatile long messageCount;
+
+    private boolean closed;
+
+    WriteCoalescingStatistics() {
+    }
+
+    /**
+     * @return the statistics of the open channels sending with write coalescing enabled
+     */
+    public static synchronized List<WriteCoalescingStatistics> getOpenChannelStatistics() {
+        return new ArrayList<>(OPEN);
+    }
+
+    /**
+     * @return number of flushes of all the channels, open or closed, since startup
+     */
+    public static synchronized long getTotalFlushCount() {
+        long flushes = closedFlushCount;
+        for (WriteCoalescingStatistics statistics : OPEN) {
+            flushes += statistics.flushCount;
+        }
+        return flushes;
+    }
+
+    /**
+     * @return number of flushed messages of all the channels, open or closed, since startup
+     */
+    public static synchronized long getTotalMessageCount() {
+        long messages = closedMessageCount;
+        for (WriteCoalescingStatistics statistics : OPEN) {
+            messages += statistics.messageCount;
+        }
+        return messages;
+    }
+
+    /**
+     * Counts the channel in the totals until it is closed
+     */
+    void open() {
+        synchronized (WriteCoalescingStatistics.class) {
+            if (!closed) {
+                OPEN.add(this);
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of the channel into the totals of the closed channels
+     */
+    void close() {
+        synchronized (WriteCoalescingStatistics.class) {
+            if (!closed) {
+                closed = true;
+                OPEN.remove(this);
+                closedFlushCount += flushCount;
+                closedMessageCount += messageCount;
+            }
+        }
+    }
+
+    void record(int messages) {
+        messageCount += messages;
+        flushCount++;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * @return average number of messages per flush, 0 if nothing has been flushed yet.
+     */
+    public double getAverageMessagesPerFlush() {
+        long flushes = flushCount;
+        return flushes == 0 ? 0 : (double) messageCount / flushes;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4.status;
+
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.common.status.Status;
+import org.apache.dubbo.common.status.StatusChecker;
+import org.apache.dubbo.remoting.transport.netty4.WriteCoalescingStatistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WriteCoalescingStatusChecker, the flushes per second are measured since the previous check
+ */
+@Activate
+public class WriteCoalescingStatusChecker implements StatusChecker {
+
+    private long lastCheckNanos = System.nanoTime();
+
+    private long lastFlushCount;
+
+    @Override
+    public synchronized Status check() {
+        long now = System.nanoTime();
+        long flushes = WriteCoalescingStatistics.getTotalFlushCount();
+        long messages = WriteCoalescingStatistics.getTotalMessageCount();
+        long elapsed = now - lastCheckNanos;
+        double flushesPerSecond = elapsed <= 0 ? 0
+                : (flushes - lastFlushCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        lastCheckNanos = now;
+        lastFlushCount = flushes;
+        if (flushes == 0) {
+            return new Status(Status.Level.UNKNOWN);
+        }
+        return new Status(Status.Level.OK, String.format("flushes/s: %.1f, messages/flush: %.2f, flushes: %d, messages: %d",
+                flushesPerSecond, (double) messages / flushes, flushes, messages));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EncodeBufferAllocatorTest {
+
+    private final PooledByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+
+    @Test
+    public void testSizeFollowsEncodedMessages() {
+        EncodeBufferAllocator allocator = new EncodeBufferAllocator(1024 * 1024);
+        Assertions.assertEquals(EncodeBufferAllocator.MIN_SIZE, allocator.nextSize());
+
+        allocator.record(4096);
+        Assertions.assertEquals(4096, allocator.nextSize());
+        ByteBuf buffer = allocator.allocate(alloc, true);
+        try {
+            Assertions.assertTrue(buffer.capacity() >= 4096);
+            Assertions.assertFalse(buffer instanceof CompositeByteBuf);
+        } finally {
+            buffer.release();
+        }
+
+        // one small message only shrinks the estimate a little.
+        allocator.record(16);
+        Assertions.assertTrue(allocator.nextSize() > 3000);
+        for (int i = 0; i < 200; i++) {
+            allocator.record(16);
+        }
+        Assertions.assertEquals(EncodeBufferAllocator.MIN_SIZE, allocator.nextSize());
+    }
+
+    @Test
+    public void testLargeMessagesUseCompositeBuffer() {
+        EncodeBufferAllocator allocator = new EncodeBufferAllocator(64 * 1024);
+        allocator.record(512 * 1024);
+        ByteBuf buffer = allocator.allocate(alloc, true);
+        try {
+            Assertions.assertTrue(buffer instanceof CompositeByteBuf);
+            Assertions.assertEquals(64 * 1024, buffer.capacity());
+
+            // header is back-patched after the body is written.
+            buffer.writerIndex(16);
+            byte[] body = new byte[300 * 1024];
+            body[body.length - 1] = 7;
+            buffer.writeBytes(body);
+            buffer.setBytes(0, new byte[]{(byte) 0xda, (byte) 0xbb});
+
+            Assertions.assertEquals(16 + body.length, buffer.readableBytes());
+            Assertions.assertEquals((byte) 0xda, buffer.getByte(0));
+            Assertions.assertEquals(7, buffer.getByte(16 + body.length - 1));
+            Assertions.assertTrue(((CompositeByteBuf) buffer).numComponents() > 1);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testCompositeNeverConsolidates() {
+        EncodeBufferAllocator allocator = new EncodeBufferAllocator(1024);
+        allocator.record(4096);
+        CompositeByteBuf buffer = (CompositeByteBuf) allocator.allocate(alloc, false);
+        try {
+            // a composite buffer consolidates (copies) all its chunks into one once it has more than its maximum.
+            for (int i = 0; i < 100; i++) {
+                buffer.capacity(buffer.capacity() + 1024);
+            }
+            Assertions.assertEquals(EncodeBufferAllocator.MAX_COMPONENTS, buffer.maxNumComponents());
+            Assertions.assertTrue(buffer.numComponents() > 100);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testCompositeDisabled() {
+        EncodeBufferAllocator allocator = new EncodeBufferAllocator(0);
+        allocator.record(16 * 1024 * 1024);
+        ByteBuf buffer = allocator.allocate(alloc, false);
+        try {
+            Assertions.assertFalse(buffer instanceof CompositeByteBuf);
+        } finally {
+            buffer.release();
+        }
+    }
+}
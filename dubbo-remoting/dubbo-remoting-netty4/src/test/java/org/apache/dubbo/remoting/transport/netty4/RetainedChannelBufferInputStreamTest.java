@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import org.apache.dubbo.remoting.buffer.ChannelBufferInputStream;
+import org.apache.dubbo.remoting.buffer.ChannelBuffers;
+import org.apache.dubbo.remoting.buffer.RetainedChannelBufferInputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetainedChannelBufferInputStreamTest {
+
+    @Test
+    public void testRetainAndRelease() throws Exception {
+        ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.buffer(64);
+        byteBuf.writeBytes(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        NettyBackedChannelBuffer buffer = new NettyBackedChannelBuffer(byteBuf);
+        buffer.skipBytes(2);
+
+        long pending = RetainedChannelBufferInputStream.pendingCount();
+        ChannelBufferInputStream is = new ChannelBufferInputStream(buffer, 4);
+        RetainedChannelBufferInputStream retained = RetainedChannelBufferInputStream.retain(is);
+        Assertions.assertNotNull(retained);
+        Assertions.assertEquals(pending + 1, RetainedChannelBufferInputStream.pendingCount());
+
+        // the slice is consumed from the original buffer, which is still owned by the IO side.
+        Assertions.assertEquals(0, is.available());
+        Assertions.assertEquals(6, buffer.readerIndex());
+        Assertions.assertEquals(2, byteBuf.refCnt());
+
+        // the IO side lets go of its buffer, the retained slice is still readable.
+        byteBuf.release();
+        byte[] data = new byte[4];
+        Assertions.assertEquals(4, retained.available());
+        Assertions.assertEquals(4, retained.read(data));
+        Assertions.assertArrayEquals(new byte[]{3, 4, 5, 6}, data);
+
+        retained.close();
+        retained.close();
+        Assertions.assertTrue(retained.isReleased());
+        Assertions.assertEquals(0, byteBuf.refCnt());
+        Assertions.assertEquals(pending, RetainedChannelBufferInputStream.pendingCount());
+    }
+
+    @Test
+    public void testNotReferenceCounted() throws Exception {
+        ChannelBufferInputStream is = new ChannelBufferInputStream(ChannelBuffers.wrappedBuffer(new byte[]{1, 2, 3}));
+        Assertions.assertNull(RetainedChannelBufferInputStream.retain(is));
+        Assertions.assertEquals(3, is.available());
+    }
+}
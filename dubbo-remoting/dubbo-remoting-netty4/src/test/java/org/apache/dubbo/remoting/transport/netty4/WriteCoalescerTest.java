@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WriteCoalescerTest {
+
+    @Test
+    public void testFlushAfterQueuedWrites() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 16, 0);
+
+        ChannelFuture first = coalescer.write("a");
+        coalescer.write("b");
+        coalescer.write("c");
+        Assertions.assertTrue(channel.outboundMessages().isEmpty());
+        Assertions.assertFalse(first.isDone());
+
+        channel.runPendingTasks();
+        Assertions.assertEquals(3, channel.outboundMessages().size());
+        Assertions.assertTrue(first.isSuccess());
+        Assertions.assertEquals(1, coalescer.getStatistics().getFlushCount());
+        Assertions.assertEquals(3, coalescer.getStatistics().getMessageCount());
+        Assertions.assertEquals(3.0, coalescer.getStatistics().getAverageMessagesPerFlush());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testFlushWhenMaxPendingReached() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 2, 1000 * 1000);
+
+        coalescer.write("a");
+        Assertions.assertTrue(channel.outboundMessages().isEmpty());
+        coalescer.write("b");
+        Assertions.assertEquals(2, channel.outboundMessages().size());
+
+        // the delayed flush finds nothing left to flush.
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, coalescer.getStatistics().getFlushCount());
+        channel.finishAndReleaseAll();
+    }
+}
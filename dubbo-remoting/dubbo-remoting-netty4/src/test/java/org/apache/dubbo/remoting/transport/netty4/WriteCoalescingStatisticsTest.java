@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.transport.netty4;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WriteCoalescingStatisticsTest {
+
+    @Test
+    public void testTotalsKeepClosedChannels() {
+        long flushes = WriteCoalescingStatistics.getTotalFlushCount();
+        long messages = WriteCoalescingStatistics.getTotalMessageCount();
+
+        WriteCoalescingStatistics first = new WriteCoalescingStatistics();
+        WriteCoalescingStatistics second = new WriteCoalescingStatistics();
+        first.open();
+        second.open();
+        first.record(3);
+        first.record(1);
+        second.record(4);
+        Assertions.assertEquals(2.0, first.getAverageMessagesPerFlush());
+        Assertions.assertTrue(WriteCoalescingStatistics.getOpenChannelStatistics().contains(first));
+        Assertions.assertEquals(flushes + 3, WriteCoalescingStatistics.getTotalFlushCount());
+        Assertions.assertEquals(messages + 8, WriteCoalescingStatistics.getTotalMessageCount());
+
+        // a closed channel stays in the totals, counted once
+        first.close();
+        first.close();
+        Assertions.assertFalse(WriteCoalescingStatistics.getOpenChannelStatistics().contains(first));
+        Assertions.assertEquals(flushes + 3, WriteCoalescingStatistics.getTotalFlushCount());
+        Assertions.assertEquals(messages + 8, WriteCoalescingStatistics.getTotalMessageCount());
+
+        second.record(2);
+        second.close();
+        Assertions.assertEquals(flushes + 4, WriteCoalescingStatistics.getTotalFlushCount());
+        Assertions.assertEquals(messages + 10, WriteCoalescingStatistics.getTotalMessageCount());
+    }
+
+    @Test
+    public void testNotReopenedOnceClosed() {
+        WriteCoalescingStatistics statistics = new WriteCoalescingStatistics();
+        statistics.close();
+        statistics.open();
+        Assertions.assertFalse(WriteCoalescingStatistics.getOpenChannelStatistics().contains(statistics));
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.dubbo.remoting.zookeeper;
 
 import org.apache.dubbo.common.URL;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -25,6 +26,15 @@ public interface ZookeeperClient {
 
     void create(String path, boolean ephemeral);
 
+    /**
+     * Create the nodes in as few requests as the client allows, their parents as needed
+     */
+    default void batchCreate(Collection<String> paths, boolean ephemeral) {
+        for (String path : paths) {
+            create(path, ephemeral);
+        }
+    }
+
     void delete(String path);
 
     List<String> getChildren(String path);
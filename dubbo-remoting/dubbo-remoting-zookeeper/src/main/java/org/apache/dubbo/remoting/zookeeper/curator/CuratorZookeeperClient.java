@@ -28,6 +28,7 @@ import org.apache.dubbo.remoting.zookeeper.support.AbstractZookeeperClient;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.CuratorWatcher;
+import org.apache.curator.framework.api.transaction.CuratorOp;
 import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
@@ -41,6 +42,8 @@ import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +58,11 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
     private static final String ZK_SESSION_EXPIRE_KEY = "zk.session.expire";
 
     static final Charset CHARSET = Charset.forName("UTF-8");
+    /**
+     * Keeps the transactions well under the default 1MB limit of a zookeeper request
+     */
+    static final int MAX_TRANSACTION_OPERATIONS = 128;
+
     private final CuratorFramework client;
     private Map<String, TreeCache> treeCacheMap = new ConcurrentHashMap<>();
 
@@ -111,6 +119,36 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
         }
     }
 
+    @Override
+    protected void batchCreateEphemeral(Collection<String> paths) {
+        List<String> batch = new ArrayList<>(Math.min(paths.size(), MAX_TRANSACTION_OPERATIONS));
+        for (String path : paths) {
+            batch.add(path);
+            if (batch.size() == MAX_TRANSACTION_OPERATIONS) {
+                createEphemeralInTransaction(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            createEphemeralInTransaction(batch);
+        }
+    }
+
+    private void createEphemeralInTransaction(List<String> paths) {
+        try {
+            List<CuratorOp> operations = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                operations.add(client.transactionOp().create().withMode(CreateMode.EPHEMERAL).forPath(path));
+            }
+            client.transaction().forOperations(operations);
+        } catch (Exception e) {
+            // a single node left over by an expired session fails the whole transaction, see createEphemeral(String)
+            logger.warn("Failed to create " + paths.size() + " ZNodes in one transaction, creating them one by one, cause: "
+                    + e.getMessage(), e);
+            super.batchCreateEphemeral(paths);
+        }
+    }
+
     @Override
     protected void createPersistent(String path, String data) {
         byte[] dataBytes = data.getBytes(CHARSET);
@@ -25,6 +25,8 @@ import org.apache.dubbo.remoting.zookeeper.DataListener;
 import org.apache.dubbo.remoting.zookeeper.StateListener;
 import org.apache.dubbo.remoting.zookeeper.ZookeeperClient;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -91,6 +93,27 @@ public abstract class AbstractZookeeperClient<TargetDataListener, TargetChildLis
         }
     }
 
+    @Override
+    public void batchCreate(Collection<String> paths, boolean ephemeral) {
+        if (!ephemeral) {
+            for (String path : paths) {
+                create(path, false);
+            }
+            return;
+        }
+        Set<String> parents = new LinkedHashSet<>();
+        for (String path : paths) {
+            int i = path.lastIndexOf('/');
+            if (i > 0) {
+                parents.add(path.substring(0, i));
+            }
+        }
+        for (String parent : parents) {
+            create(parent, false);
+        }
+        batchCreateEphemeral(paths);
+    }
+
     @Override
     public void addStateListener(StateListener listener) {
         stateListeners.add(listener);
@@ -195,6 +218,15 @@ public abstract class AbstractZookeeperClient<TargetDataListener, TargetChildLis
 
     protected abstract void createEphemeral(String path);
 
+    /**
+     * Creates the ephemeral nodes, whose parents exist, one after another unless overridden
+     */
+    protected void batchCreateEphemeral(Collection<String> paths) {
+        for (String path : paths) {
+            createEphemeral(path);
+        }
+    }
+
     protected abstract void createPersistent(String path, String data);
 
     protected abstract void createEphemeral(String path, String data);
@@ -25,6 +25,7 @@ import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.WatchedEvent;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -93,6 +95,36 @@ public class CuratorZookeeperClientTest {
     }
 
 
+    @Test
+    public void testBatchCreateEphemeral() {
+        String path = "/dubbo/org.apache.dubbo.demo.DemoService/providers";
+        List<String> paths = new ArrayList<>();
+        // more than fits in one transaction
+        for (int i = 0; i < CuratorZookeeperClient.MAX_TRANSACTION_OPERATIONS * 2 + 1; i++) {
+            paths.add(path + "/provider" + i);
+        }
+        curatorClient.batchCreate(paths, true);
+
+        assertThat(curatorClient.getChildren(path).size(), is(paths.size()));
+    }
+
+    @Test
+    public void testBatchCreateEphemeralWithExistingNode() throws Exception {
+        String path = "/dubbo/org.apache.dubbo.demo.DemoService/providers";
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            paths.add(path + "/provider" + i);
+        }
+        // left over by another session, which fails the transaction
+        client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(paths.get(5));
+
+        curatorClient.batchCreate(paths, true);
+
+        assertThat(curatorClient.getChildren(path).size(), is(paths.size()));
+        assertThat(curatorClient.getClient().checkExists().forPath(paths.get(5)).getEphemeralOwner(),
+                is(curatorClient.getClient().getZookeeperClient().getZooKeeper().getSessionId()));
+    }
+
     @Test
     public void testWithInvalidServer() {
         Assertions.assertThrows(IllegalStateException.class, () -> {
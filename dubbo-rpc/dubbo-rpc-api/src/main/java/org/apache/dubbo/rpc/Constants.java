@@ -48,6 +48,24 @@ public interface Constants {
 
     long DEFAULT_TPS_LIMIT_INTERVAL = 60 * 1000;
 
+    /**
+     * {@link #TPS_LIMITER_TOKEN_BUCKET} to refill the <b>tps</b> permits smoothly over <b>tps.interval</b>, instead of
+     * all at once at the start of each interval
+     */
+    String TPS_LIMITER_KEY = "tps.limiter";
+
+    String TPS_LIMITER_TOKEN_BUCKET = "tokenbucket";
+
+    /**
+     * How many permits the token bucket holds at most, <b>tps</b> when not set
+     */
+    String TPS_BURST_KEY = "tps.burst";
+
+    /**
+     * TPS quota of the service as a whole, split among its providers in proportion to their weight
+     */
+    String TPS_TOTAL_KEY = "tps.total";
+
     String AUTO_ATTACH_INVOCATIONID_KEY = "invocationid.autoattach";
 
     boolean DEFAULT_STUB_EVENT = false;
@@ -60,8 +78,48 @@ public interface Constants {
 
     String ACCESS_LOG_KEY = "accesslog";
 
+    /**
+     * How many access log entries may wait for the writer, rounded up to a power of two; any more are dropped
+     */
+    String ACCESS_LOG_BUFFER_KEY = "accesslog.buffer";
+
+    int DEFAULT_ACCESS_LOG_BUFFER = 8192;
+
+    /**
+     * Size in bytes at which the access log file is rolled over, besides the daily roll; 0 for no limit
+     */
+    String ACCESS_LOG_MAX_SIZE_KEY = "accesslog.max.size";
+
     String ACTIVES_KEY = "actives";
 
+    /**
+     * Limits the concurrent executions of a method on the provider to what the chosen algorithm,
+     * {@link #ADAPTIVE_LIMIT_VEGAS} (also for any other value) or {@link #ADAPTIVE_LIMIT_GRADIENT}, estimates from
+     * the observed response times.
+     */
+    String ADAPTIVE_EXECUTES_KEY = "adaptive.executes";
+
+    /**
+     * Same as {@link #ADAPTIVE_EXECUTES_KEY} for the concurrent calls of a consumer to each provider.
+     */
+    String ADAPTIVE_ACTIVES_KEY = "adaptive.actives";
+
+    String ADAPTIVE_LIMIT_VEGAS = "vegas";
+
+    String ADAPTIVE_LIMIT_GRADIENT = "gradient";
+
+    String ADAPTIVE_LIMIT_INITIAL_KEY = "adaptive.limit.initial";
+
+    int DEFAULT_ADAPTIVE_LIMIT_INITIAL = 20;
+
+    String ADAPTIVE_LIMIT_MIN_KEY = "adaptive.limit.min";
+
+    int DEFAULT_ADAPTIVE_LIMIT_MIN = 1;
+
+    String ADAPTIVE_LIMIT_MAX_KEY = "adaptive.limit.max";
+
+    int DEFAULT_ADAPTIVE_LIMIT_MAX = 1000;
+
     String ID_KEY = "id";
 
     String ASYNC_KEY = "async";
@@ -37,6 +37,7 @@ public /**final**/ class RpcException extends RuntimeException {
     public static final int NO_INVOKER_AVAILABLE_AFTER_FILTER = 6;
     public static final int LIMIT_EXCEEDED_EXCEPTION = 7;
     public static final int TIMEOUT_TERMINATE = 8;
+    public static final int CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION = 9;
     private static final long serialVersionUID = 7815426752583648734L;
     /**
      * RpcException cannot be extended, use error code for exception type to keep compatibility
@@ -112,6 +113,11 @@ public /**final**/ class RpcException extends RuntimeException {
     }
 
     public boolean isLimitExceed() {
-        return code == LIMIT_EXCEEDED_EXCEPTION || getCause() instanceof LimitExceededException;
+        return code == LIMIT_EXCEEDED_EXCEPTION || code == CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION
+                || getCause() instanceof LimitExceededException;
+    }
+
+    public boolean isConcurrencyLimitExceed() {
+        return code == CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION;
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.filter.limiter.ConcurrencyLimiter;
+
+import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER;
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_ACTIVES_KEY;
+
+/**
+ * AdaptiveActiveLimitFilter restricts the concurrent client invocations of a service's method on each provider to a
+ * limit estimated from the response times, instead of configured like <b>actives</b>.
+ * <pre>
+ *     e.g. <dubbo:reference id="demoService" interface="org.apache.dubbo.demo.DemoService">
+ *              <dubbo:parameter key="adaptive.actives" value="gradient"/>
+ *          </dubbo:reference>
+ * </pre>
+ * Unlike {@link ActiveLimitFilter} an invocation over the current limit does not wait, it fails right away with
+ * {@link RpcException#CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION} so that the cluster can try another provider. Timeouts
+ * and limits reached on the provider cut the limit.
+ *
+ * @see ConcurrencyLimiter
+ */
+@Activate(group = CONSUMER, value = ADAPTIVE_ACTIVES_KEY)
+public class AdaptiveActiveLimitFilter implements Filter, Filter.Listener {
+
+    private static final String ADAPTIVE_ACTIVE_LIMIT_FILTER_START_TIME = "adaptive_active_limit_filter_start_time";
+
+    private static final String ADAPTIVE_ACTIVE_LIMIT_FILTER_LIMITER = "adaptive_active_limit_filter_limiter";
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        ConcurrencyLimiter limiter = getLimiter(invoker, invocation);
+        if (!limiter.tryAcquire()) {
+            throw new RpcException(RpcException.CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION,
+                    "Concurrent invoke limit reached in client-side for service: " + invoker.getInterface().getName()
+                            + ", method: " + invocation.getMethodName() + ", provider: " + invoker.getUrl().getAddress()
+                            + ". concurrent invokes: " + limiter.getInflight() + ". adaptive concurrent invoke limit: "
+                            + limiter.getLimit());
+        }
+
+        invocation.put(ADAPTIVE_ACTIVE_LIMIT_FILTER_START_TIME, System.nanoTime());
+        // completed on the limiter it acquired, even if the invoker got destroyed and its limiters removed meanwhile
+        invocation.put(ADAPTIVE_ACTIVE_LIMIT_FILTER_LIMITER, limiter);
+        return invoker.invoke(invocation);
+    }
+
+    @Override
+    public void onResponse(Result appResponse, Invoker<?> invoker, Invocation invocation) {
+        Object beginTime = invocation.getAttributes().remove(ADAPTIVE_ACTIVE_LIMIT_FILTER_START_TIME);
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) invocation.getAttributes().remove(ADAPTIVE_ACTIVE_LIMIT_FILTER_LIMITER);
+        if (beginTime == null || limiter == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (Long) beginTime;
+        if (isOverload(appResponse.getException())) {
+            limiter.onDropped(elapsed);
+        } else {
+            limiter.onSuccess(elapsed);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t, Invoker<?> invoker, Invocation invocation) {
+        // absent when the invocation was refused, or did not get through this filter at all
+        Object beginTime = invocation.getAttributes().remove(ADAPTIVE_ACTIVE_LIMIT_FILTER_START_TIME);
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) invocation.getAttributes().remove(ADAPTIVE_ACTIVE_LIMIT_FILTER_LIMITER);
+        if (beginTime == null || limiter == null) {
+            return;
+        }
+        if (isOverload(t)) {
+            limiter.onDropped(System.nanoTime() - (Long) beginTime);
+        } else {
+            limiter.onIgnore();
+        }
+    }
+
+    private ConcurrencyLimiter getLimiter(Invoker<?> invoker, Invocation invocation) {
+        URL url = invoker.getUrl();
+        String methodName = invocation.getMethodName();
+        return ConcurrencyLimiter.getLimiter(url, methodName, url.getMethodParameter(methodName, ADAPTIVE_ACTIVES_KEY));
+    }
+
+    private static boolean isOverload(Throwable t) {
+        if (!(t instanceof RpcException)) {
+            return false;
+        }
+        RpcException e = (RpcException) t;
+        return e.isTimeout() || e.isLimitExceed();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.filter.limiter.ConcurrencyLimiter;
+
+import static org.apache.dubbo.common.constants.CommonConstants.PROVIDER;
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_EXECUTES_KEY;
+
+/**
+ * The maximum parallel execution request count per method per service for the provider, estimated from the response
+ * times instead of configured like <b>executes</b>. Set <b>adaptive.executes</b> to <b>vegas</b> or <b>gradient</b>
+ * to choose the algorithm. A request over the current limit fails right away with
+ * {@link RpcException#CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION}.
+ *
+ * @see ConcurrencyLimiter
+ */
+@Activate(group = PROVIDER, value = ADAPTIVE_EXECUTES_KEY)
+public class AdaptiveExecuteLimitFilter implements Filter, Filter.Listener {
+
+    private static final String ADAPTIVE_EXECUTE_LIMIT_FILTER_START_TIME = "adaptive_execute_limit_filter_start_time";
+
+    private static final String ADAPTIVE_EXECUTE_LIMIT_FILTER_LIMITER = "adaptive_execute_limit_filter_limiter";
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        URL url = invoker.getUrl();
+        String methodName = invocation.getMethodName();
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, methodName,
+                url.getMethodParameter(methodName, ADAPTIVE_EXECUTES_KEY));
+        if (!limiter.tryAcquire()) {
+            throw new RpcException(RpcException.CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION,
+                    "Failed to invoke method " + methodName + " in provider " + url + ", cause: The service using "
+                            + "threads greater than its adaptive limit " + limiter.getLimit() + ".");
+        }
+
+        invocation.put(ADAPTIVE_EXECUTE_LIMIT_FILTER_START_TIME, System.nanoTime());
+        // completed on the limiter it acquired, even if the service got unexported and its limiters removed meanwhile
+        invocation.put(ADAPTIVE_EXECUTE_LIMIT_FILTER_LIMITER, limiter);
+        return invoker.invoke(invocation);
+    }
+
+    @Override
+    public void onResponse(Result appResponse, Invoker<?> invoker, Invocation invocation) {
+        Object beginTime = invocation.getAttributes().remove(ADAPTIVE_EXECUTE_LIMIT_FILTER_START_TIME);
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) invocation.getAttributes().remove(ADAPTIVE_EXECUTE_LIMIT_FILTER_LIMITER);
+        if (beginTime != null && limiter != null) {
+            limiter.onSuccess(System.nanoTime() - (Long) beginTime);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t, Invoker<?> invoker, Invocation invocation) {
+        // absent when the request was refused, or did not get through this filter at all
+        Object beginTime = invocation.getAttributes().remove(ADAPTIVE_EXECUTE_LIMIT_FILTER_START_TIME);
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) invocation.getAttributes().remove(ADAPTIVE_EXECUTE_LIMIT_FILTER_LIMITER);
+        if (beginTime == null || limiter == null) {
+            return;
+        }
+        if (t instanceof RpcException && ((RpcException) t).isTimeout()) {
+            limiter.onDropped(System.nanoTime() - (Long) beginTime);
+        } else {
+            limiter.onIgnore();
+        }
+    }
+}
@@ -26,25 +26,33 @@ import org.apache.dubbo.rpc.Result;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.filter.tps.DefaultTPSLimiter;
 import org.apache.dubbo.rpc.filter.tps.TPSLimiter;
+import org.apache.dubbo.rpc.filter.tps.TokenBucketTPSLimiter;
 
+import static org.apache.dubbo.rpc.Constants.TPS_LIMITER_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMITER_TOKEN_BUCKET;
 import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_RATE_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_TOTAL_KEY;
 
 /**
  * TpsLimitFilter limit the TPS (transaction per second) for all method of a service or a particular method.
  * Service or method url can define <b>tps</b> or <b>tps.interval</b> to control this control.It use {@link DefaultTPSLimiter}
  * as it limit checker. If a provider service method is configured with <b>tps</b>(optionally with <b>tps.interval</b>),then
  * if invocation count exceed the configured <b>tps</b> value (default is -1 which means unlimited) then invocation will get
- * RpcException.
+ * RpcException. With <b>tps.limiter</b> set to <b>tokenbucket</b> it uses {@link TokenBucketTPSLimiter} instead, and with
+ * <b>tps.total</b> the rate is this provider's share of the quota of the whole service.
  * */
-@Activate(group = CommonConstants.PROVIDER, value = TPS_LIMIT_RATE_KEY)
+@Activate(group = CommonConstants.PROVIDER, value = {TPS_LIMIT_RATE_KEY, TPS_TOTAL_KEY})
 public class TpsLimitFilter implements Filter {
 
     private final TPSLimiter tpsLimiter = new DefaultTPSLimiter();
 
+    private final TPSLimiter tokenBucketLimiter = new TokenBucketTPSLimiter();
+
     @Override
     public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
-
-        if (!tpsLimiter.isAllowable(invoker.getUrl(), invocation)) {
+        TPSLimiter limiter = TPS_LIMITER_TOKEN_BUCKET.equals(invoker.getUrl().getParameter(TPS_LIMITER_KEY))
+                ? tokenBucketLimiter : tpsLimiter;
+        if (!limiter.isAllowable(invoker.getUrl(), invocation)) {
             throw new RpcException(
                     "Failed to invoke service " +
                             invoker.getInterface().getName() +
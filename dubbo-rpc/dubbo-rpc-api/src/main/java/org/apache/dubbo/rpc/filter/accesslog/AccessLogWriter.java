@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.accesslog;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.lang.ShutdownHookCallback;
+import org.apache.dubbo.common.lang.ShutdownHookCallbacks;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.utils.ConfigUtils;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
+import org.apache.dubbo.rpc.support.AccessLogData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.dubbo.rpc.Constants.ACCESS_LOG_BUFFER_KEY;
+import static org.apache.dubbo.rpc.Constants.ACCESS_LOG_MAX_SIZE_KEY;
+import static org.apache.dubbo.rpc.Constants.DEFAULT_ACCESS_LOG_BUFFER;
+
+/**
+ * Writes the access log of one <b>accesslog</b> target, either a file or, for <code>true</code> / <code>default</code>,
+ * the <code>dubbo.accesslog.&lt;service&gt;</code> loggers.
+ * <p>
+ * Business threads only put entries into a bounded {@link AccessLogRingBuffer}; a full buffer drops the entry and
+ * counts it instead of blocking or growing. A single daemon thread formats the entries and appends them in batches to
+ * a {@link FileChannel} kept open between writes, rolling the file over to <code>file.yyyyMMdd</code> when the day
+ * changes and to <code>file.yyyyMMdd.N</code> when it grows beyond <b>accesslog.max.size</b> bytes. A file moved away
+ * or truncated by an external tool such as logrotate is noticed before the next batch, which then goes to a new file.
+ * <p>
+ * The writers are destroyed by the Dubbo shutdown hook, after everything else, so that the entries of the last
+ * requests are written out and the files closed.
+ */
+public class AccessLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final String LOG_KEY = "dubbo.accesslog";
+
+    private static final long LOG_OUTPUT_INTERVAL = 1000;
+
+    private static final int LOG_BATCH_SIZE = 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd")
+            .withZone(ZoneId.systemDefault());
+
+    private static final ConcurrentMap<String, AccessLogWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService LOG_SCHEDULED = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Dubbo-Access-Log", true));
+
+    static {
+        LOG_SCHEDULED.scheduleWithFixedDelay(AccessLogWriter::flushAll, LOG_OUTPUT_INTERVAL, LOG_OUTPUT_INTERVAL, TimeUnit.MILLISECONDS);
+        ShutdownHookCallbacks.INSTANCE.addCallback(new ShutdownHookCallback() {
+            @Override
+            public void callback() {
+                destroyAll();
+            }
+
+            @Override
+            public int getPriority() {
+                // after the services are unexported, so that their last requests are logged
+                return MIN_PRIORITY;
+            }
+        });
+    }
+
+    private final String accessLog;
+
+    private final boolean useServiceLogger;
+
+    private final long maxSize;
+
+    private final AccessLogRingBuffer<AccessLogData> buffer;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final StringBuilder batch = new StringBuilder(256);
+
+    // only touched by the writer, under the lock of flush()
+    private long reportedDropped;
+
+    private FileChannel channel;
+
+    // identifies the file the channel was opened on, null when the platform has no such key
+    private Object fileKey;
+
+    private String day;
+
+    private long size;
+
+    AccessLogWriter(String accessLog, int bufferSize, long maxSize) {
+        this.accessLog = accessLog;
+        this.useServiceLogger = ConfigUtils.isDefault(accessLog);
+        this.maxSize = maxSize;
+        this.buffer = new AccessLogRingBuffer<>(bufferSize);
+    }
+
+    /**
+     * The writer of the given <b>accesslog</b> target, sized by the url which first asked for it.
+     */
+    public static AccessLogWriter getWriter(URL url, String accessLog) {
+        AccessLogWriter writer = WRITERS.get(accessLog);
+        if (writer == null) {
+            writer = WRITERS.computeIfAbsent(accessLog, k -> new AccessLogWriter(k,
+                    url.getParameter(ACCESS_LOG_BUFFER_KEY, DEFAULT_ACCESS_LOG_BUFFER),
+                    url.getParameter(ACCESS_LOG_MAX_SIZE_KEY, 0L)));
+        }
+        return writer;
+    }
+
+    public static Collection<AccessLogWriter> getWriters() {
+        return Collections.unmodifiableCollection(WRITERS.values());
+    }
+
+    public static void flushAll() {
+        for (AccessLogWriter writer : WRITERS.values()) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes out and closes all the writers
+     */
+    public static void destroyAll() {
+        for (AccessLogWriter writer : WRITERS.values()) {
+            writer.destroy();
+        }
+    }
+
+    /**
+     * Never blocks: wakes the writer up early once the buffer is half full, and drops the entry when it is full.
+     *
+     * @return false if the entry was dropped
+     */
+    public boolean append(AccessLogData logData) {
+        if (!buffer.offer(logData)) {
+            dropped.increment();
+            scheduleFlush();
+            return false;
+        }
+        if (buffer.size() >= buffer.getCapacity() >> 1) {
+            scheduleFlush();
+        }
+        return true;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                LOG_SCHEDULED.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes out everything buffered so far. Normally called on the writer thread only.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        reportDropped();
+        if (useServiceLogger) {
+            written.add(buffer.drain(this::logWithServiceLogger, Integer.MAX_VALUE));
+            return;
+        }
+        int drained;
+        do {
+            batch.setLength(0);
+            drained = buffer.drain(this::format, LOG_BATCH_SIZE);
+            if (drained > 0) {
+                try {
+                    write(batch.toString().getBytes(StandardCharsets.UTF_8));
+                    written.add(drained);
+                } catch (IOException e) {
+                    dropped.add(drained);
+                    closeChannel();
+                    logger.error("Failed to write " + drained + " access log entries to " + accessLog + ", cause: " + e.getMessage(), e);
+                    return;
+                }
+            }
+        } while (drained == LOG_BATCH_SIZE);
+    }
+
+    /**
+     * Writes out what is left and closes the file, the writer can not be used afterwards.
+     */
+    public synchronized void destroy() {
+        WRITERS.remove(accessLog, this);
+        flush();
+        closeChannel();
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            logger.warn("AccessLog buffer of " + accessLog + " is full, " + (total - reportedDropped)
+                    + " entries were dropped since the last write, " + total + " in total.");
+            reportedDropped = total;
+        }
+    }
+
+    private void logWithServiceLogger(AccessLogData logData) {
+        LoggerFactory.getLogger(LOG_KEY + "." + logData.getServiceName()).info(logData.getLogMessage());
+    }
+
+    private void format(AccessLogData logData) {
+        batch.append(logData.getLogMessage()).append(LINE_SEPARATOR);
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        String today = FILE_NAME_FORMATTER.format(Instant.now());
+        if (channel != null && rotatedExternally()) {
+            closeChannel();
+        }
+        if (channel == null) {
+            open(today);
+        } else if (!today.equals(day) || (maxSize > 0 && size > 0 && size + bytes.length > maxSize)) {
+            closeChannel();
+            archive(new File(accessLog), day);
+            open(today);
+        }
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        while (byteBuffer.hasRemaining()) {
+            size += channel.write(byteBuffer);
+        }
+    }
+
+    /**
+     * Whether the file was moved away from the path, or truncated, since the channel was opened on it
+     */
+    private boolean rotatedExternally() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(new File(accessLog).toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+        if (fileKey != null && !Objects.equals(fileKey, attributes.fileKey())) {
+            return true;
+        }
+        return attributes.size() < size;
+    }
+
+    private void open(String today) throws IOException {
+        File file = new File(accessLog);
+        File dir = file.getParentFile();
+        if (null != dir && !dir.exists()) {
+            dir.mkdirs();
+        }
+        if (file.exists()) {
+            String last = FILE_NAME_FORMATTER.format(Instant.ofEpochMilli(file.lastModified()));
+            if (!today.equals(last)) {
+                archive(file, last);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Append log to " + accessLog);
+        }
+        channel = FileChannel.open(file.toPath(), CREATE, WRITE, APPEND);
+        fileKey = Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+        size = channel.size();
+        day = today;
+    }
+
+    private void archive(File file, String fileDay) {
+        File archive = new File(file.getAbsolutePath() + "." + fileDay);
+        for (int i = 1; archive.exists(); i++) {
+            archive = new File(file.getAbsolutePath() + "." + fileDay + "." + i);
+        }
+        if (!file.renameTo(archive)) {
+            logger.warn("Failed to roll access log " + file + " over to " + archive);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close access log " + accessLog + ", cause: " + e.getMessage(), e);
+            }
+            channel = null;
+            fileKey = null;
+        }
+    }
+
+    public String getAccessLog() {
+        return accessLog;
+    }
+
+    public int getCapacity() {
+        return buffer.getCapacity();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "AccessLogWriter[accessLog=" + accessLog + ", capacity=" + getCapacity() + ", pending="
+                + getPendingCount() + ", written=" + getWrittenCount() + ", dropped=" + getDroppedCount() + "]";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.common.status.Status;
+import org.apache.dubbo.common.status.StatusChecker;
+
+import java.util.List;
+
+/**
+ * Publishes the current adaptive concurrency limit of every method, warning when one is reached.
+ */
+@Activate
+public class ConcurrencyLimitStatusChecker implements StatusChecker {
+
+    @Override
+    public Status check() {
+        List<ConcurrencyLimiter> limiters = ConcurrencyLimiter.getLimiters();
+        if (limiters.isEmpty()) {
+            return new Status(Status.Level.UNKNOWN);
+        }
+        StringBuilder msg = new StringBuilder();
+        Status.Level level = Status.Level.OK;
+        for (ConcurrencyLimiter limiter : limiters) {
+            int limit = limiter.getLimit();
+            int inflight = limiter.getInflight();
+            if (inflight >= limit) {
+                level = Status.Level.WARN;
+            }
+            if (msg.length() > 0) {
+                msg.append(";");
+            }
+            msg.append(limiter.getAddress()).append("/").append(limiter.getServiceKey()).append("#").append(limiter.getMethodName())
+                    .append(" limit:").append(limit).append(", inflight:").append(inflight);
+        }
+        return new Status(level, msg.toString());
+    }
+
+}
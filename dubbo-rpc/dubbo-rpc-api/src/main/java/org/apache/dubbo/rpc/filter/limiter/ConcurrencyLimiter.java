@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.URL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_LIMIT_GRADIENT;
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_LIMIT_INITIAL_KEY;
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_LIMIT_MAX_KEY;
+import static org.apache.dubbo.rpc.Constants.ADAPTIVE_LIMIT_MIN_KEY;
+import static org.apache.dubbo.rpc.Constants.DEFAULT_ADAPTIVE_LIMIT_INITIAL;
+import static org.apache.dubbo.rpc.Constants.DEFAULT_ADAPTIVE_LIMIT_MAX;
+import static org.apache.dubbo.rpc.Constants.DEFAULT_ADAPTIVE_LIMIT_MIN;
+
+/**
+ * Concurrency limit of a method that adapts to the response times sampled from the calls it lets through. (API,
+ * Cached, ThreadSafe)
+ * <p>
+ * A call {@link #tryAcquire() acquires} a slot before it starts and gives it back when it completes, reporting how
+ * it went. Subclasses turn these samples into a new limit; the samples are fed to them one at a time.
+ *
+ * @see org.apache.dubbo.rpc.filter.AdaptiveExecuteLimitFilter
+ * @see org.apache.dubbo.rpc.filter.AdaptiveActiveLimitFilter
+ */
+public abstract class ConcurrencyLimiter {
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrencyLimiter>> LIMITERS =
+            new ConcurrentHashMap<>();
+
+    private final String address;
+
+    private final String serviceKey;
+
+    private final String methodName;
+
+    protected final int minLimit;
+
+    protected final int maxLimit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+
+    protected ConcurrencyLimiter(URL url, String methodName) {
+        this.address = url.getAddress();
+        this.serviceKey = url.getServiceKey();
+        this.methodName = methodName;
+        this.minLimit = Math.max(1, url.getMethodParameter(methodName, ADAPTIVE_LIMIT_MIN_KEY, DEFAULT_ADAPTIVE_LIMIT_MIN));
+        this.maxLimit = Math.max(minLimit, url.getMethodParameter(methodName, ADAPTIVE_LIMIT_MAX_KEY, DEFAULT_ADAPTIVE_LIMIT_MAX));
+        this.limit = clamp(url.getMethodParameter(methodName, ADAPTIVE_LIMIT_INITIAL_KEY, DEFAULT_ADAPTIVE_LIMIT_INITIAL));
+    }
+
+    /**
+     * @param url       the url the limit applies to, consumer urls include the provider address
+     * @param methodName
+     * @param algorithm {@link org.apache.dubbo.rpc.Constants#ADAPTIVE_LIMIT_GRADIENT} or else Vegas
+     * @return the limiter of the method, created with the algorithm on first use
+     */
+    public static ConcurrencyLimiter getLimiter(URL url, String methodName, String algorithm) {
+        String uri = url.toIdentityString();
+        // plain get first, computeIfAbsent locks the bin even if the key is present on JDK 8
+        ConcurrentMap<String, ConcurrencyLimiter> limiters = LIMITERS.get(uri);
+        if (limiters == null) {
+            limiters = LIMITERS.computeIfAbsent(uri, k -> new ConcurrentHashMap<>(4));
+        }
+        ConcurrencyLimiter limiter = limiters.get(methodName);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(methodName, k -> ADAPTIVE_LIMIT_GRADIENT.equals(algorithm)
+                    ? new GradientLimiter(url, methodName) : new VegasLimiter(url, methodName));
+        }
+        return limiter;
+    }
+
+    /**
+     * @return a snapshot of all the limiters
+     */
+    public static List<ConcurrencyLimiter> getLimiters() {
+        List<ConcurrencyLimiter> result = new ArrayList<>();
+        for (ConcurrentMap<String, ConcurrencyLimiter> limiters : LIMITERS.values()) {
+            result.addAll(limiters.values());
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the limiters of a destroyed invoker or an unexported service, calls in flight still complete on theirs
+     */
+    public static void removeLimiters(URL url) {
+        if (url != null) {
+            LIMITERS.remove(url.toIdentityString());
+        }
+    }
+
+    /**
+     * @return whether the call may start, in which case one of the completion methods must follow
+     */
+    public boolean tryAcquire() {
+        for (; ; ) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The call got its response, whatever it is, after the given time
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        synchronized (this) {
+            limit = clamp(update(limit, rttNanos, current, false));
+        }
+    }
+
+    /**
+     * The call timed out or was refused for overload downstream
+     */
+    public void onDropped(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        synchronized (this) {
+            limit = clamp(update(limit, rttNanos, current, true));
+        }
+    }
+
+    /**
+     * The call failed in a way that tells nothing about the load, e.g. it could not be sent
+     */
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Called one sample at a time.
+     *
+     * @param limit    the current limit
+     * @param rttNanos how long the call took
+     * @param inflight the number of calls in flight when it completed, itself included
+     * @param dropped  whether it was dropped rather than answered
+     * @return the new limit, clamped to the configured bounds by the caller
+     */
+    protected abstract int update(int limit, long rttNanos, int inflight, boolean dropped);
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getServiceKey() {
+        return serviceKey;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private int clamp(int value) {
+        return Math.min(maxLimit, Math.max(minLimit, value));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + address + "/" + serviceKey + "#" + methodName + ", limit=" + limit
+                + ", inflight=" + inflight.get() + "]";
+    }
+}
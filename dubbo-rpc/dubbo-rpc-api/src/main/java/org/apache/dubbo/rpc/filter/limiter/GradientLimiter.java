@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.URL;
+
+/**
+ * Limit following the gradient between a long term average of the response times and the latest one: while they
+ * are alike the limit grows by its square root, as the latest gets longer the limit is cut by up to half. The long
+ * term average slowly follows the response times, and quickly comes down when they drop well below it.
+ */
+public class GradientLimiter extends ConcurrencyLimiter {
+
+    private static final int LONG_WINDOW = 600;
+
+    private static final int WARMUP_WINDOW = 10;
+
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private int samples;
+
+    public GradientLimiter(URL url, String methodName) {
+        super(url, methodName);
+        this.estimatedLimit = getLimit();
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return limit;
+        }
+        double shortRtt = rttNanos;
+        if (samples < WARMUP_WINDOW) {
+            samples++;
+            longRtt += (shortRtt - longRtt) / samples;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        }
+        if (longRtt / shortRtt > 2) {
+            // the response times dropped a lot, stop comparing them with the past
+            longRtt *= 0.95;
+        }
+        if (!dropped && inflight < estimatedLimit / 2) {
+            // far from the limit, the sample tells nothing about it
+            return limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        return (int) estimatedLimit;
+    }
+}
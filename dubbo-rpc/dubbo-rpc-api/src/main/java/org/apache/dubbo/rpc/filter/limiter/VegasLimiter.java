@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.URL;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Limit after TCP Vegas: the shortest response time seen is taken as the one without queueing, from which a
+ * response time tells how many calls are queued downstream. The limit grows while few are, shrinks once many are
+ * or a call is dropped, and stays put in between. Every so often the shortest response time is forgotten, so that
+ * a lasting change downstream is picked up.
+ */
+public class VegasLimiter extends ConcurrencyLimiter {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private long rttNoLoad;
+
+    private long probeCountdown;
+
+    public VegasLimiter(URL url, String methodName) {
+        super(url, methodName);
+        resetProbe(getLimit());
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return limit;
+        }
+        if (--probeCountdown <= 0) {
+            resetProbe(limit);
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+
+        int step = log10(limit);
+        if (dropped) {
+            return limit - step;
+        }
+        if (inflight * 2 < limit) {
+            // far from the limit, the sample tells nothing about it
+            return limit;
+        }
+        int queued = (int) Math.ceil(limit * (1 - (double) rttNoLoad / rttNanos));
+        if (queued <= step) {
+            return limit + 6 * step;
+        } else if (queued < 3 * step) {
+            return limit + step;
+        } else if (queued > 6 * step) {
+            return limit - step;
+        }
+        return limit;
+    }
+
+    private void resetProbe(int limit) {
+        // jittered so that the limiters of a process do not probe in step
+        probeCountdown = (long) (PROBE_MULTIPLIER * limit * ThreadLocalRandom.current().nextDouble(0.5, 1.0)) + 1;
+    }
+
+    private static int log10(int limit) {
+        return Math.max(1, (int) Math.log10(limit));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.tps;
+
+import org.apache.dubbo.common.URL;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_RATE_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_TOTAL_KEY;
+
+/**
+ * Share of the <b>tps.total</b> quota of a service that falls to this provider. The registry protocol keeps it up to
+ * date as providers of the service come and go; until it first does, the provider takes the whole quota.
+ */
+public final class ClusterTpsQuota {
+
+    private static final ConcurrentMap<String, Integer> SHARES = new ConcurrentHashMap<>();
+
+    private ClusterTpsQuota() {
+    }
+
+    /**
+     * @return the TPS rate that applies to the url: its share of <b>tps.total</b> if set, otherwise <b>tps</b>
+     */
+    public static int getRate(URL url) {
+        int total = url.getParameter(TPS_TOTAL_KEY, -1);
+        if (total <= 0) {
+            return url.getParameter(TPS_LIMIT_RATE_KEY, -1);
+        }
+        Integer share = SHARES.get(url.getServiceKey());
+        return share != null ? Math.min(share, total) : total;
+    }
+
+    public static void setShare(String serviceKey, int share) {
+        SHARES.put(serviceKey, share);
+    }
+
+    public static Integer getShare(String serviceKey) {
+        return SHARES.get(serviceKey);
+    }
+
+    public static void removeShare(String serviceKey) {
+        SHARES.remove(serviceKey);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.tps;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket refilled by one permit every <code>interval / rate</code>, holding up to <code>burst</code> permits.
+ * Kept as the generic cell rate algorithm: rather than a count of permits, it tracks the theoretical arrival time
+ * of the next invocation, which a single CAS moves forward.
+ */
+class TokenBucket {
+
+    private final String name;
+
+    private final int rate;
+
+    private final long interval;
+
+    private final int burst;
+
+    private final long emissionNanos;
+
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(String name, int rate, long interval, int burst) {
+        this.name = name;
+        this.rate = rate;
+        this.interval = interval;
+        this.burst = burst;
+        this.emissionNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(interval) / rate);
+        this.toleranceNanos = emissionNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean isAllowable() {
+        for (; ; ) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long from = arrival - now > 0 ? arrival : now;
+            if (from - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, from + emissionNanos)) {
+                return true;
+            }
+        }
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(32).append("TokenBucket ")
+                .append("[name=").append(name).append(", ")
+                .append("rate = ").append(rate).append(", ")
+                .append("interval = ").append(interval).append(", ")
+                .append("burst = ").append(burst).append("]")
+                .toString();
+    }
+}
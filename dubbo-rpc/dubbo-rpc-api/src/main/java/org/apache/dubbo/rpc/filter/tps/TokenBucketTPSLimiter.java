@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.tps;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invocation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.apache.dubbo.rpc.Constants.DEFAULT_TPS_LIMIT_INTERVAL;
+import static org.apache.dubbo.rpc.Constants.TPS_BURST_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_INTERVAL_KEY;
+
+/**
+ * TokenBucketTPSLimiter lets <b>tps</b> invocations through per <b>tps.interval</b> like {@link DefaultTPSLimiter},
+ * but gives the permits back one at a time, so that no more than <b>tps.burst</b> invocations get through at once
+ * and at most the rate does over any interval, not just over the fixed ones.
+ *
+ * @see org.apache.dubbo.rpc.filter.TpsLimitFilter
+ */
+public class TokenBucketTPSLimiter implements TPSLimiter {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<String, TokenBucket>();
+
+    @Override
+    public boolean isAllowable(URL url, Invocation invocation) {
+        int rate = ClusterTpsQuota.getRate(url);
+        long interval = url.getParameter(TPS_LIMIT_INTERVAL_KEY, DEFAULT_TPS_LIMIT_INTERVAL);
+        int burst = url.getParameter(TPS_BURST_KEY, rate);
+        String serviceKey = url.getServiceKey();
+        if (rate <= 0) {
+            buckets.remove(serviceKey);
+            return true;
+        }
+        if (interval <= 0 || burst <= 0) {
+            return true;
+        }
+        TokenBucket bucket = buckets.get(serviceKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(serviceKey, k -> new TokenBucket(k, rate, interval, burst));
+        } else if (bucket.getRate() != rate || bucket.getInterval() != interval || bucket.getBurst() != burst) {
+            //rate, interval or burst has changed, rebuild
+            bucket = new TokenBucket(serviceKey, rate, interval, burst);
+            buckets.put(serviceKey, bucket);
+        }
+        return bucket.isAllowable();
+    }
+
+}
@@ -34,6 +34,7 @@ import org.apache.dubbo.rpc.Result;
 import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.filter.limiter.ConcurrencyLimiter;
 import org.apache.dubbo.rpc.protocol.dubbo.FutureAdapter;
 import org.apache.dubbo.rpc.support.RpcUtils;
 
@@ -120,6 +121,7 @@ public abstract class AbstractInvoker<T> implements Invoker<T> {
             return;
         }
         setAvailable(false);
+        ConcurrencyLimiter.removeLimiters(getUrl());
     }
 
     public boolean isDestroyed() {
@@ -187,7 +189,7 @@ public abstract class AbstractInvoker<T> implements Invoker<T> {
     protected ExecutorService getCallbackExecutor(URL url, Invocation inv) {
         ExecutorService sharedExecutor = ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension().getExecutor(url);
         if (InvokeMode.SYNC == RpcUtils.getInvokeMode(getUrl(), inv)) {
-            return new ThreadlessExecutor(sharedExecutor);
+            return new ThreadlessExecutor(sharedExecutor, url);
         } else {
             return sharedExecutor;
         }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc;
+
+import org.apache.dubbo.common.URL;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class RpcStatusTest {
+
+    @Test
+    public void testBeginAndEndCount() {
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/RpcStatusTest.count");
+        Assertions.assertTrue(RpcStatus.beginCount(url, "hello", 1));
+        Assertions.assertFalse(RpcStatus.beginCount(url, "hello", 1));
+        Assertions.assertEquals(1, RpcStatus.getStatus(url).getActive());
+        Assertions.assertEquals(1, RpcStatus.getStatus(url, "hello").getActive());
+
+        RpcStatus.endCount(url, "hello", 10, true);
+        RpcStatus.beginCount(url, "hello");
+        RpcStatus.endCount(url, "hello", 30, false);
+
+        RpcStatus status = RpcStatus.getStatus(url, "hello");
+        Assertions.assertEquals(0, status.getActive());
+        Assertions.assertEquals(2, status.getTotal());
+        Assertions.assertEquals(1, status.getFailed());
+        Assertions.assertEquals(40, status.getTotalElapsed());
+        Assertions.assertEquals(30, status.getMaxElapsed());
+        Assertions.assertEquals(30, status.getFailedMaxElapsed());
+        Assertions.assertEquals(10, status.getSucceededMaxElapsed());
+        Assertions.assertEquals(10, status.getSucceededAverageElapsed());
+        Assertions.assertEquals(2, RpcStatus.getStatus(url).getTotal());
+
+        RpcStatus.removeStatus(url, "hello");
+        Assertions.assertEquals(0, RpcStatus.getStatus(url, "hello").getTotal());
+        Assertions.assertEquals(2, RpcStatus.getStatus(url).getTotal());
+        RpcStatus.removeStatus(url);
+        Assertions.assertEquals(0, RpcStatus.getStatus(url).getTotal());
+    }
+
+    @Test
+    public void testConcurrentCount() throws Exception {
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/RpcStatusTest.concurrent");
+        int threads = 8;
+        int calls = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < calls; j++) {
+                    RpcStatus.beginCount(url, "hello");
+                    RpcStatus.endCount(url, "hello", j, true);
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        RpcStatus status = RpcStatus.getStatus(url, "hello");
+        Assertions.assertEquals(0, status.getActive());
+        Assertions.assertEquals((long) threads * calls, status.getTotal());
+        Assertions.assertEquals(calls - 1, status.getMaxElapsed());
+        RpcStatus.removeStatus(url);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.filter.limiter.ConcurrencyLimiter;
+import org.apache.dubbo.rpc.filter.limiter.GradientLimiter;
+import org.apache.dubbo.rpc.support.DemoService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveActiveLimitFilterTest {
+
+    private AdaptiveActiveLimitFilter filter = new AdaptiveActiveLimitFilter();
+
+    @Test
+    public void testFailFastOverLimit() throws Exception {
+        URL url = URL.valueOf("test://127.0.0.1:9032/test?adaptive.actives=gradient&adaptive.limit.initial=1");
+        Invoker invoker = Mockito.mock(Invoker.class);
+        when(invoker.invoke(any(Invocation.class))).thenReturn(new AppResponse("result"));
+        when(invoker.getUrl()).thenReturn(url);
+        when(invoker.getInterface()).thenReturn(DemoService.class);
+
+        RpcInvocation first = new RpcInvocation("testFailFastOverLimit", "test", new Class<?>[0], new Object[0]);
+        RpcInvocation second = new RpcInvocation("testFailFastOverLimit", "test", new Class<?>[0], new Object[0]);
+        filter.invoke(invoker, first);
+        long start = System.currentTimeMillis();
+        RpcException e = Assertions.assertThrows(RpcException.class, () -> filter.invoke(invoker, second));
+        Assertions.assertTrue(System.currentTimeMillis() - start < 1000);
+        Assertions.assertEquals(RpcException.CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION, e.getCode());
+        filter.onError(e, invoker, second);
+
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, "testFailFastOverLimit", "gradient");
+        Assertions.assertTrue(limiter instanceof GradientLimiter);
+        Assertions.assertEquals(1, limiter.getInflight());
+        filter.onResponse(new AppResponse("result"), invoker, first);
+        Assertions.assertEquals(0, limiter.getInflight());
+        Assertions.assertTrue(limiter.tryAcquire());
+        limiter.onIgnore();
+    }
+
+    @Test
+    public void testProviderLimitCountsAsDrop() throws Exception {
+        URL url = URL.valueOf("test://127.0.0.1:9032/test?adaptive.actives=vegas&adaptive.limit.initial=100");
+        Invoker invoker = Mockito.mock(Invoker.class);
+        when(invoker.invoke(any(Invocation.class))).thenReturn(new AppResponse("result"));
+        when(invoker.getUrl()).thenReturn(url);
+
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, "testProviderLimitCountsAsDrop", "vegas");
+        for (int i = 0; i < 2; i++) {
+            RpcInvocation invocation = new RpcInvocation("testProviderLimitCountsAsDrop", "test", new Class<?>[0], new Object[0]);
+            filter.invoke(invoker, invocation);
+            Thread.sleep(i * 5);
+            AppResponse response = new AppResponse();
+            response.setException(new RpcException(RpcException.CONCURRENCY_LIMIT_EXCEEDED_EXCEPTION));
+            filter.onResponse(response, invoker, invocation);
+        }
+        Assertions.assertEquals(98, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInflight());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.filter.limiter.ConcurrencyLimiter;
+import org.apache.dubbo.rpc.filter.limiter.VegasLimiter;
+import org.apache.dubbo.rpc.protocol.AbstractExporter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveExecuteLimitFilterTest {
+
+    private AdaptiveExecuteLimitFilter filter = new AdaptiveExecuteLimitFilter();
+
+    @Test
+    public void testRejectOverLimit() throws Exception {
+        URL url = URL.valueOf("test://test:11/test?adaptive.executes=vegas&adaptive.limit.initial=2&adaptive.limit.min=2");
+        Invoker invoker = Mockito.mock(Invoker.class);
+        when(invoker.invoke(any(Invocation.class))).thenReturn(new AppResponse("result"));
+        when(invoker.getUrl()).thenReturn(url);
+
+        RpcInvocation first = new RpcInvocation("testRejectOverLimit", "test", new Class<?>[0], new Object[0]);
+        RpcInvocation second = new RpcInvocation("testRejectOverLimit", "test", new Class<?>[0], new Object[0]);
+        RpcInvocation third = new RpcInvocation("testRejectOverLimit", "test", new Class<?>[0], new Object[0]);
+        Assertions.assertEquals("result", filter.invoke(invoker, first).getValue());
+        Assertions.assertEquals("result", filter.invoke(invoker, second).getValue());
+
+        RpcException e = Assertions.assertThrows(RpcException.class, () -> filter.invoke(invoker, third));
+        Assertions.assertTrue(e.isConcurrencyLimitExceed());
+        Assertions.assertTrue(e.isLimitExceed());
+        // refused, so nothing to give back
+        filter.onError(e, invoker, third);
+
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, "testRejectOverLimit", "vegas");
+        Assertions.assertTrue(limiter instanceof VegasLimiter);
+        Assertions.assertEquals(2, limiter.getInflight());
+        filter.onResponse(new AppResponse("result"), invoker, first);
+        filter.onError(new RpcException(), invoker, second);
+        Assertions.assertEquals(0, limiter.getInflight());
+        // once only
+        filter.onResponse(new AppResponse("result"), invoker, first);
+        Assertions.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void testTimeoutCutsLimit() throws Exception {
+        URL url = URL.valueOf("test://test:11/test?adaptive.executes=vegas&adaptive.limit.initial=100");
+        Invoker invoker = Mockito.mock(Invoker.class);
+        when(invoker.invoke(any(Invocation.class))).thenReturn(new AppResponse("result"));
+        when(invoker.getUrl()).thenReturn(url);
+
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, "testTimeoutCutsLimit", "vegas");
+        for (int i = 0; i < 2; i++) {
+            RpcInvocation invocation = new RpcInvocation("testTimeoutCutsLimit", "test", new Class<?>[0], new Object[0]);
+            filter.invoke(invoker, invocation);
+            Thread.sleep(i * 5);
+            filter.onError(new RpcException(RpcException.TIMEOUT_EXCEPTION), invoker, invocation);
+        }
+        // the first sample sets the shortest response time, the second one is a drop
+        Assertions.assertEquals(98, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void testRemovedOnUnexport() throws Exception {
+        URL url = URL.valueOf("test://test:11/testRemovedOnUnexport?adaptive.executes=vegas");
+        Invoker invoker = Mockito.mock(Invoker.class);
+        when(invoker.invoke(any(Invocation.class))).thenReturn(new AppResponse("result"));
+        when(invoker.getUrl()).thenReturn(url);
+        when(invoker.getInterface()).thenReturn(Object.class);
+
+        RpcInvocation invocation = new RpcInvocation("testRemovedOnUnexport", "test", new Class<?>[0], new Object[0]);
+        filter.invoke(invoker, invocation);
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.getLimiter(url, "testRemovedOnUnexport", "vegas");
+        Assertions.assertTrue(ConcurrencyLimiter.getLimiters().contains(limiter));
+
+        new AbstractExporter<Object>(invoker) {
+        }.unexport();
+        Assertions.assertFalse(ConcurrencyLimiter.getLimiters().contains(limiter));
+
+        // the call in flight completes on the limiter it acquired, without bringing it back
+        filter.onResponse(new AppResponse("result"), invoker, invocation);
+        Assertions.assertEquals(0, limiter.getInflight());
+        Assertions.assertFalse(ConcurrencyLimiter.getLimiters().contains(limiter));
+        for (ConcurrencyLimiter other : ConcurrencyLimiter.getLimiters()) {
+            Assertions.assertNotEquals("testRemovedOnUnexport", other.getMethodName());
+        }
+    }
+}
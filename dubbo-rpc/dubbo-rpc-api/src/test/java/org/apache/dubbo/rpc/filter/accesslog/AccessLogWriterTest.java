@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.accesslog;
+
+import org.apache.dubbo.rpc.support.AccessLogData;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+public class AccessLogWriterTest {
+
+    @Test
+    public void testRingBufferCapacity() {
+        Assertions.assertEquals(1, new AccessLogRingBuffer<>(0).getCapacity());
+        Assertions.assertEquals(8, new AccessLogRingBuffer<>(8).getCapacity());
+        Assertions.assertEquals(16, new AccessLogRingBuffer<>(9).getCapacity());
+    }
+
+    @Test
+    public void testRingBufferWrapsAround() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertTrue(buffer.offer(round * 4 + i));
+            }
+            Assertions.assertFalse(buffer.offer(-1));
+            Assertions.assertEquals(4, buffer.size());
+            Assertions.assertEquals(3, buffer.drain(drained::add, 3));
+            Assertions.assertEquals(1, buffer.drain(drained::add, Integer.MAX_VALUE));
+            Assertions.assertEquals(0, buffer.size());
+        }
+        for (int i = 0; i < drained.size(); i++) {
+            Assertions.assertEquals(i, drained.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testRingBufferConcurrentOffer() throws Exception {
+        int producers = 4;
+        int perProducer = 2000;
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(producers * perProducer);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    Assertions.assertTrue(buffer.offer(base + i));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Set<Integer> drained = ConcurrentHashMap.newKeySet();
+        Assertions.assertEquals(producers * perProducer, buffer.drain(drained::add, Integer.MAX_VALUE));
+        Assertions.assertEquals(producers * perProducer, drained.size());
+    }
+
+    @Test
+    public void testDropWhenFull(@TempDir Path tmpDir) throws Exception {
+        File file = new File(tmpDir.toFile(), "access.log");
+        AccessLogWriter writer = new AccessLogWriter(file.getAbsolutePath(), 2, 0);
+        // holds off the flush the writer thread is woken up for once the buffer is half full
+        synchronized (writer) {
+            Assertions.assertTrue(writer.append(newLogData("sayHello")));
+            Assertions.assertTrue(writer.append(newLogData("sayHello")));
+            Assertions.assertFalse(writer.append(newLogData("sayHello")));
+        }
+        Assertions.assertEquals(1, writer.getDroppedCount());
+
+        writer.destroy();
+        Assertions.assertEquals(2, writer.getWrittenCount());
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("DemoService sayHello()"));
+    }
+
+    @Test
+    public void testRollOverBySize(@TempDir Path tmpDir) throws Exception {
+        File file = new File(tmpDir.toFile(), "access.log");
+        AccessLogWriter writer = new AccessLogWriter(file.getAbsolutePath(), 16, 10);
+        writer.append(newLogData("first"));
+        writer.flush();
+        writer.append(newLogData("second"));
+        writer.flush();
+        writer.append(newLogData("third"));
+        writer.destroy();
+
+        File[] files = tmpDir.toFile().listFiles();
+        Assertions.assertNotNull(files);
+        Assertions.assertEquals(3, files.length);
+        Assertions.assertTrue(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).contains("third()"));
+    }
+
+    @Test
+    public void testReopenAfterExternalRotation(@TempDir Path tmpDir) throws Exception {
+        File file = new File(tmpDir.toFile(), "access.log");
+        File rotated = new File(tmpDir.toFile(), "access.log.1");
+        AccessLogWriter writer = new AccessLogWriter(file.getAbsolutePath(), 16, 0);
+        writer.append(newLogData("first"));
+        writer.flush();
+        Assertions.assertTrue(file.renameTo(rotated));
+
+        writer.append(newLogData("second"));
+        writer.flush();
+        Files.write(file.toPath(), new byte[0]);
+        writer.append(newLogData("third"));
+        writer.destroy();
+
+        String rotatedContent = new String(Files.readAllBytes(rotated.toPath()), StandardCharsets.UTF_8);
+        Assertions.assertTrue(rotatedContent.contains("first()"));
+        Assertions.assertFalse(rotatedContent.contains("second()"));
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("third()"));
+    }
+
+    private AccessLogData newLogData(String methodName) {
+        AccessLogData logData = AccessLogData.newLogData();
+        logData.setServiceName("org.apache.dubbo.rpc.support.DemoService");
+        logData.setMethodName(methodName);
+        logData.setInvocationTime(new Date());
+        return logData;
+    }
+}
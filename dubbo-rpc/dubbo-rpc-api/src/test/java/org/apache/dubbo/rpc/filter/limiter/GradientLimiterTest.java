@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.URL;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class GradientLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final GradientLimiter limiter = new GradientLimiter(URL.valueOf("test://test:11/test"), "sayHello");
+
+    @Test
+    public void testGrowWhileSteady() {
+        int limit = 20;
+        for (int i = 0; i < 20; i++) {
+            limit = limiter.update(limit, RTT, limit, false);
+        }
+        Assertions.assertTrue(limit > 30, "limit " + limit);
+    }
+
+    @Test
+    public void testShrinkWhenSlower() {
+        int limit = 20;
+        for (int i = 0; i < 10; i++) {
+            limit = limiter.update(limit, RTT, limit, false);
+        }
+        int steady = limit;
+        for (int i = 0; i < 10; i++) {
+            limit = limiter.update(limit, 4 * RTT, limit, false);
+        }
+        Assertions.assertTrue(limit < steady, "limit " + limit + " steady " + steady);
+    }
+
+    @Test
+    public void testIgnoreWhenFarFromLimit() {
+        int limit = 20;
+        for (int i = 0; i < 10; i++) {
+            limit = limiter.update(limit, RTT, 1, false);
+        }
+        Assertions.assertEquals(20, limit);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.limiter;
+
+import org.apache.dubbo.common.URL;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class VegasLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final VegasLimiter limiter = new VegasLimiter(URL.valueOf("test://test:11/test"), "sayHello");
+
+    @Test
+    public void testGrowWithoutQueueing() {
+        Assertions.assertEquals(20, limiter.update(20, RTT, 20, false));
+        Assertions.assertEquals(26, limiter.update(20, RTT, 20, false));
+    }
+
+    @Test
+    public void testShrinkWhenQueueing() {
+        limiter.update(20, RTT, 20, false);
+        // half of the calls are queued
+        Assertions.assertEquals(19, limiter.update(20, 2 * RTT, 20, false));
+    }
+
+    @Test
+    public void testHoldWhenSomewhatQueueing() {
+        limiter.update(100, RTT, 100, false);
+        // 8 queued calls are between the thresholds of 6 and 12 at 100
+        Assertions.assertEquals(100, limiter.update(100, RTT * 100 / 92, 100, false));
+    }
+
+    @Test
+    public void testShrinkOnDrop() {
+        limiter.update(100, RTT, 100, false);
+        Assertions.assertEquals(98, limiter.update(100, 2 * RTT, 1, true));
+    }
+
+    @Test
+    public void testIgnoreWhenFarFromLimit() {
+        limiter.update(20, RTT, 20, false);
+        Assertions.assertEquals(20, limiter.update(20, RTT, 5, false));
+        Assertions.assertEquals(20, limiter.update(20, 5 * RTT, 5, false));
+    }
+
+    @Test
+    public void testClampToBounds() {
+        VegasLimiter bounded = new VegasLimiter(URL.valueOf("test://test:11/test?adaptive.limit.min=3&adaptive.limit.max=4"
+                + "&adaptive.limit.initial=10"), "sayHello");
+        Assertions.assertEquals(4, bounded.getLimit());
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(bounded.tryAcquire());
+            bounded.onDropped(RTT * (i + 1));
+        }
+        Assertions.assertEquals(3, bounded.getLimit());
+    }
+}
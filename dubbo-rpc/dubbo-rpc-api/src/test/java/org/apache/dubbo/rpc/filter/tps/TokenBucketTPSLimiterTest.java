@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter.tps;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.support.MockInvocation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.dubbo.common.constants.CommonConstants.INTERFACE_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_BURST_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_INTERVAL_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_RATE_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_TOTAL_KEY;
+
+public class TokenBucketTPSLimiterTest {
+
+    private TokenBucketTPSLimiter tokenBucketTPSLimiter = new TokenBucketTPSLimiter();
+
+    @Test
+    public void testBurstThenNotAllowable() throws Exception {
+        Invocation invocation = new MockInvocation();
+        URL url = URL.valueOf("test://test");
+        url = url.addParameter(INTERFACE_KEY, "org.apache.dubbo.rpc.file.TpsService");
+        url = url.addParameter(TPS_LIMIT_RATE_KEY, 2);
+        url = url.addParameter(TPS_LIMIT_INTERVAL_KEY, 60000);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        }
+        Assertions.assertFalse(tokenBucketTPSLimiter.isAllowable(url, invocation));
+    }
+
+    @Test
+    public void testSmoothRefill() throws Exception {
+        Invocation invocation = new MockInvocation();
+        URL url = URL.valueOf("test://test");
+        url = url.addParameter(INTERFACE_KEY, "org.apache.dubbo.rpc.file.TpsService2");
+        url = url.addParameter(TPS_LIMIT_RATE_KEY, 100);
+        url = url.addParameter(TPS_LIMIT_INTERVAL_KEY, 1000);
+        url = url.addParameter(TPS_BURST_KEY, 1);
+        Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        Assertions.assertFalse(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        // a permit comes back every 10ms, not only after a whole second
+        Thread.sleep(20);
+        Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+    }
+
+    @Test
+    public void testConfigChange() throws Exception {
+        Invocation invocation = new MockInvocation();
+        URL url = URL.valueOf("test://test");
+        url = url.addParameter(INTERFACE_KEY, "org.apache.dubbo.rpc.file.TpsService3");
+        url = url.addParameter(TPS_LIMIT_RATE_KEY, 1);
+        url = url.addParameter(TPS_LIMIT_INTERVAL_KEY, 60000);
+        Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        Assertions.assertFalse(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        url = url.addParameter(TPS_LIMIT_RATE_KEY, 3);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        }
+        Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url.removeParameter(TPS_LIMIT_RATE_KEY), invocation));
+    }
+
+    @Test
+    public void testClusterShare() throws Exception {
+        Invocation invocation = new MockInvocation();
+        URL url = URL.valueOf("test://test");
+        url = url.addParameter(INTERFACE_KEY, "org.apache.dubbo.rpc.file.TpsService4");
+        url = url.addParameter(TPS_TOTAL_KEY, 10);
+        url = url.addParameter(TPS_LIMIT_INTERVAL_KEY, 60000);
+        ClusterTpsQuota.setShare(url.getServiceKey(), 2);
+        try {
+            Assertions.assertEquals(2, ClusterTpsQuota.getRate(url));
+            for (int i = 0; i < 2; i++) {
+                Assertions.assertTrue(tokenBucketTPSLimiter.isAllowable(url, invocation));
+            }
+            Assertions.assertFalse(tokenBucketTPSLimiter.isAllowable(url, invocation));
+        } finally {
+            ClusterTpsQuota.removeShare(url.getServiceKey());
+        }
+        Assertions.assertEquals(10, ClusterTpsQuota.getRate(url));
+    }
+}
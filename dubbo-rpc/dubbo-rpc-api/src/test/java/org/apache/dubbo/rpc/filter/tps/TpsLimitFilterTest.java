@@ -28,6 +28,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import static org.apache.dubbo.common.constants.CommonConstants.INTERFACE_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMITER_KEY;
+import static org.apache.dubbo.rpc.Constants.TPS_LIMITER_TOKEN_BUCKET;
 import static org.apache.dubbo.rpc.Constants.TPS_LIMIT_RATE_KEY;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -64,4 +66,18 @@ public class TpsLimitFilterTest {
         });
 
     }
+
+    @Test
+    public void testTokenBucketFail() throws Exception {
+        URL url = URL.valueOf("test://test");
+        url = url.addParameter(INTERFACE_KEY, "org.apache.dubbo.rpc.file.TokenBucketTpsService");
+        url = url.addParameter(TPS_LIMIT_RATE_KEY, 5);
+        url = url.addParameter(TPS_LIMITER_KEY, TPS_LIMITER_TOKEN_BUCKET);
+        Invoker<TpsLimitFilterTest> invoker = new MyInvoker<TpsLimitFilterTest>(url);
+        Invocation invocation = new MockInvocation();
+        for (int i = 0; i < 5; i++) {
+            filter.invoke(invoker, invocation);
+        }
+        Assertions.assertThrows(RpcException.class, () -> filter.invoke(invoker, invocation));
+    }
 }
@@ -30,10 +30,52 @@ public interface Constants {
      */
     String DEFAULT_SHARE_CONNECTIONS = "1";
 
+    /**
+     * Upper bound of the exclusive connections of a reference. When it is greater than <code>connections</code>, the
+     * reference opens another connection after the requests in flight per connection stayed at or above
+     * <code>connections.grow.threshold</code> for several adjust intervals, and closes the extra connections again
+     * once they stay well below it.
+     */
+    String MAX_CONNECTIONS_KEY = "connections.max";
+
+    String CONNECTIONS_GROW_THRESHOLD_KEY = "connections.grow.threshold";
+
+    int DEFAULT_CONNECTIONS_GROW_THRESHOLD = 64;
+
+    /**
+     * Interval in milliseconds between two samples of the requests in flight
+     */
+    String CONNECTIONS_ADJUST_INTERVAL_KEY = "connections.adjust.interval";
+
+    int DEFAULT_CONNECTIONS_ADJUST_INTERVAL = 1000;
+
     String DECODE_IN_IO_THREAD_KEY = "decode.in.io";
 
     boolean DEFAULT_DECODE_IN_IO_THREAD = false;
 
+    /**
+     * Only takes effect when decode.in.io is false: hand a retained slice of the network buffer to the business
+     * thread instead of copying the message body into a byte[]. The slice is released once the body is decoded.
+     */
+    String DECODE_RETAIN_BUFFER_KEY = "decode.retain.buffer";
+
+    boolean DEFAULT_DECODE_RETAIN_BUFFER = false;
+
+    /**
+     * Threads of the dedicated executor of a service or method, only takes effect with dispatcher=bulkhead
+     */
+    String BULKHEAD_THREADS_KEY = "bulkhead.threads";
+
+    String BULKHEAD_QUEUES_KEY = "bulkhead.queues";
+
+    int DEFAULT_BULKHEAD_QUEUES = 0;
+
+    /**
+     * Priority of a request in threadpool="priority", smaller is more urgent. Read from the method or service
+     * configuration of the provider, then from the invocation attachments.
+     */
+    String PRIORITY_KEY = "priority";
+
     /**
      * callback inst id
      */
@@ -17,6 +17,7 @@
 package org.apache.dubbo.rpc.protocol.dubbo;
 
 
+import org.apache.dubbo.common.lang.Prioritized;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.serialize.Cleanable;
@@ -27,8 +28,11 @@ import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.Codec;
 import org.apache.dubbo.remoting.Decodeable;
+import org.apache.dubbo.remoting.TimeoutAware;
+import org.apache.dubbo.remoting.buffer.RetainedChannelBufferInputStream;
 import org.apache.dubbo.remoting.exchange.Request;
 import org.apache.dubbo.remoting.transport.CodecSupport;
+import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcInvocation;
 import org.apache.dubbo.rpc.model.ApplicationModel;
 import org.apache.dubbo.rpc.model.MethodDescriptor;
@@ -48,8 +52,9 @@ import static org.apache.dubbo.common.constants.CommonConstants.GROUP_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
 import static org.apache.dubbo.rpc.protocol.dubbo.CallbackServiceCodec.decodeInvocationArgument;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.PRIORITY_KEY;
 
-public class DecodeableRpcInvocation extends RpcInvocation implements Codec, Decodeable {
+public class DecodeableRpcInvocation extends RpcInvocation implements Codec, Decodeable, Prioritized, TimeoutAware {
 
     private static final Logger log = LoggerFactory.getLogger(DecodeableRpcInvocation.class);
 
@@ -63,6 +68,8 @@ public class DecodeableRpcInvocation extends RpcInvocation implements Codec, Dec
 
     private volatile boolean hasDecoded;
 
+    private volatile Integer priority;
+
     public DecodeableRpcInvocation(Channel channel, Request request, InputStream is, byte id) {
         Assert.notNull(channel, "channel == null");
         Assert.notNull(request, "request == null");
@@ -86,8 +93,82 @@ public class DecodeableRpcInvocation extends RpcInvocation implements Codec, Dec
                 request.setData(e);
             } finally {
                 hasDecoded = true;
+                release();
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        if (inputStream instanceof RetainedChannelBufferInputStream) {
+            ((RetainedChannelBufferInputStream) inputStream).close();
+        }
+    }
+
+    /**
+     * Priority configured on the provider for the method or service, otherwise the one the consumer put in the
+     * attachments. Asking for it decodes the invocation on the calling thread, which is the IO thread when the
+     * {@link org.apache.dubbo.common.threadpool.support.priority.PriorityTaskQueue} asks, so that queue only asks
+     * once it is backed up.
+     */
+    @Override
+    public int getPriority() {
+        Integer p = priority;
+        if (p == null) {
+            p = resolvePriority();
+            priority = p;
+        }
+        return p;
+    }
+
+    /**
+     * Timeout the consumer had left when it sent the invocation, only passed along when it counts timeouts down.
+     * Asking for it decodes the invocation on the calling thread.
+     */
+    @Override
+    public long getRemainingTimeout() {
+        try {
+            decode();
+        } catch (Exception e) {
+            return -1;
+        }
+        if (request.isBroken()) {
+            return -1;
+        }
+        return RpcUtils.getTimeout(this, -1);
+    }
+
+    private int resolvePriority() {
+        try {
+            decode();
+        } catch (Exception e) {
+            return NORMAL_PRIORITY;
+        }
+        if (request.isBroken()) {
+            return NORMAL_PRIORITY;
+        }
+        try {
+            Invoker<?> invoker = DubboProtocol.getDubboProtocol().getInvoker(channel, this);
+            String configured = invoker.getUrl().getMethodParameter(getMethodName(), PRIORITY_KEY);
+            if (StringUtils.isNotEmpty(configured)) {
+                return Integer.parseInt(configured.trim());
+            }
+        } catch (Exception e) {
+            // not exported or badly configured, let the request handler report it
+            return NORMAL_PRIORITY;
+        }
+        Object attachment = getObjectAttachment(PRIORITY_KEY);
+        if (attachment instanceof Number) {
+            return ((Number) attachment).intValue();
+        }
+        if (attachment instanceof String) {
+            try {
+                return Integer.parseInt(((String) attachment).trim());
+            } catch (NumberFormatException e) {
+                return NORMAL_PRIORITY;
             }
         }
+        return NORMAL_PRIORITY;
     }
 
     @Override
@@ -26,6 +26,7 @@ import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.Codec;
 import org.apache.dubbo.remoting.Decodeable;
+import org.apache.dubbo.remoting.buffer.RetainedChannelBufferInputStream;
 import org.apache.dubbo.remoting.exchange.Response;
 import org.apache.dubbo.remoting.transport.CodecSupport;
 import org.apache.dubbo.rpc.AppResponse;
@@ -123,10 +124,18 @@ public class DecodeableRpcResult extends AppResponse implements Codec, Decodeabl
                 response.setErrorMessage(StringUtils.toString(e));
             } finally {
                 hasDecoded = true;
+                release();
             }
         }
     }
 
+    @Override
+    public void release() {
+        if (inputStream instanceof RetainedChannelBufferInputStream) {
+            ((RetainedChannelBufferInputStream) inputStream).close();
+        }
+    }
+
     private void handleValue(ObjectInput in) throws IOException {
         try {
             Type[] returnTypes;
@@ -25,6 +25,8 @@ import org.apache.dubbo.common.serialize.ObjectInput;
 import org.apache.dubbo.common.serialize.ObjectOutput;
 import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.remoting.Channel;
+import org.apache.dubbo.remoting.buffer.ChannelBufferInputStream;
+import org.apache.dubbo.remoting.buffer.RetainedChannelBufferInputStream;
 import org.apache.dubbo.remoting.exchange.Request;
 import org.apache.dubbo.remoting.exchange.Response;
 import org.apache.dubbo.remoting.exchange.codec.ExchangeCodec;
@@ -42,7 +44,9 @@ import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
 import static org.apache.dubbo.rpc.protocol.dubbo.CallbackServiceCodec.encodeInvocationArgument;
 import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DECODE_IN_IO_THREAD_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DECODE_RETAIN_BUFFER_KEY;
 import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DEFAULT_DECODE_IN_IO_THREAD;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DEFAULT_DECODE_RETAIN_BUFFER;
 
 /**
  * Dubbo codec.
@@ -89,7 +93,7 @@ public class DubboCodec extends ExchangeCodec {
                             result.decode();
                         } else {
                             result = new DecodeableRpcResult(channel, res,
-                                    new UnsafeByteArrayInputStream(readMessageData(is)),
+                                    readDeferredMessageData(channel, is, res),
                                     (Invocation) getRequestData(id), proto);
                         }
                         data = result;
@@ -127,7 +131,7 @@ public class DubboCodec extends ExchangeCodec {
                         inv.decode();
                     } else {
                         inv = new DecodeableRpcInvocation(channel, req,
-                                new UnsafeByteArrayInputStream(readMessageData(is)), proto);
+                                readDeferredMessageData(channel, is, req), proto);
                     }
                     data = inv;
                 }
@@ -145,6 +149,20 @@ public class DubboCodec extends ExchangeCodec {
         }
     }
 
+    /**
+     * Takes the message body off the IO thread's buffer, to be decoded later on a business thread.
+     */
+    private InputStream readDeferredMessageData(Channel channel, InputStream is, Object message) throws IOException {
+        if (is instanceof ChannelBufferInputStream
+                && channel.getUrl().getParameter(DECODE_RETAIN_BUFFER_KEY, DEFAULT_DECODE_RETAIN_BUFFER)) {
+            RetainedChannelBufferInputStream retained = RetainedChannelBufferInputStream.retain((ChannelBufferInputStream) is);
+            if (retained != null) {
+                return retained.touch(message);
+            }
+        }
+        return new UnsafeByteArrayInputStream(readMessageData(is));
+    }
+
     private byte[] readMessageData(InputStream is) throws IOException {
         if (is.available() > 0) {
             byte[] result = new byte[is.available()];
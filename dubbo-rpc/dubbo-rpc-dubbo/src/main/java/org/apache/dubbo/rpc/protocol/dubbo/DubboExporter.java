@@ -19,6 +19,7 @@ package org.apache.dubbo.rpc.protocol.dubbo;
 import org.apache.dubbo.rpc.Exporter;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.protocol.AbstractExporter;
+import org.apache.dubbo.rpc.protocol.dubbo.bulkhead.Bulkheads;
 
 import java.util.Map;
 
@@ -41,6 +42,7 @@ public class DubboExporter<T> extends AbstractExporter<T> {
     public void unexport() {
         super.unexport();
         exporterMap.remove(key);
+        Bulkheads.destroy(getInvoker().getUrl());
     }
 
 }
\ No newline at end of file
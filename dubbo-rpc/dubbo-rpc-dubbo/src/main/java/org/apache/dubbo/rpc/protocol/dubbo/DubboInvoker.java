@@ -18,11 +18,17 @@ package org.apache.dubbo.rpc.protocol.dubbo;
 
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.config.ConfigurationUtils;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
+import org.apache.dubbo.common.timer.HashedWheelTimer;
+import org.apache.dubbo.common.timer.Timer;
 import org.apache.dubbo.common.utils.AtomicPositiveInteger;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
 import org.apache.dubbo.remoting.Constants;
 import org.apache.dubbo.remoting.RemotingException;
 import org.apache.dubbo.remoting.TimeoutException;
 import org.apache.dubbo.remoting.exchange.ExchangeClient;
+import org.apache.dubbo.remoting.exchange.support.DefaultFuture;
 import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.AsyncRpcResult;
 import org.apache.dubbo.rpc.FutureContext;
@@ -36,11 +42,15 @@ import org.apache.dubbo.rpc.TimeoutCountDown;
 import org.apache.dubbo.rpc.protocol.AbstractInvoker;
 import org.apache.dubbo.rpc.support.RpcUtils;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_TIMEOUT;
 import static org.apache.dubbo.common.constants.CommonConstants.ENABLE_TIMEOUT_COUNTDOWN_KEY;
@@ -51,13 +61,38 @@ import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_ATTACHEN
 import static org.apache.dubbo.common.constants.CommonConstants.TIME_COUNTDOWN_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
 import static org.apache.dubbo.rpc.Constants.TOKEN_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.CONNECTIONS_ADJUST_INTERVAL_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.CONNECTIONS_GROW_THRESHOLD_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DEFAULT_CONNECTIONS_ADJUST_INTERVAL;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DEFAULT_CONNECTIONS_GROW_THRESHOLD;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.MAX_CONNECTIONS_KEY;
 
 /**
  * DubboInvoker
  */
 public class DubboInvoker<T> extends AbstractInvoker<T> {
 
-    private final ExchangeClient[] clients;
+    /**
+     * a connection whose write buffer is full ranks behind any writable one, a disconnected one behind both
+     */
+    private static final long UNWRITABLE_PENALTY = 1L << 32;
+
+    private static final long DISCONNECTED_PENALTY = 1L << 40;
+
+    /**
+     * consecutive samples required before the connections are grown or shrunk
+     */
+    private static final int SUSTAINED_SAMPLES = 3;
+
+    /**
+     * interval in milliseconds at which a removed connection is checked for requests still in flight
+     */
+    private static final long CLOSE_CHECK_INTERVAL = 10;
+
+    private static final Timer CLOSE_TIMER = new HashedWheelTimer(
+            new NamedThreadFactory("dubbo-connection-close", true), CLOSE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+
+    private volatile ExchangeClient[] clients;
 
     private final AtomicPositiveInteger index = new AtomicPositiveInteger();
 
@@ -67,16 +102,47 @@ public class DubboInvoker<T> extends AbstractInvoker<T> {
 
     private final Set<Invoker<?>> invokers;
 
+    /**
+     * opens an extra connection, null when the number of connections is fixed
+     */
+    private final Supplier<ExchangeClient> connector;
+
+    private final int minConnections;
+
+    private final int maxConnections;
+
+    private final int growThreshold;
+
+    private final long adjustInterval;
+
+    private final AtomicLong nextAdjustTime = new AtomicLong();
+
+    private final AtomicBoolean adjusting = new AtomicBoolean();
+
+    private volatile int highSamples;
+
+    private volatile int lowSamples;
+
     public DubboInvoker(Class<T> serviceType, URL url, ExchangeClient[] clients) {
         this(serviceType, url, clients, null);
     }
 
     public DubboInvoker(Class<T> serviceType, URL url, ExchangeClient[] clients, Set<Invoker<?>> invokers) {
+        this(serviceType, url, clients, invokers, null);
+    }
+
+    DubboInvoker(Class<T> serviceType, URL url, ExchangeClient[] clients, Set<Invoker<?>> invokers,
+                 Supplier<ExchangeClient> connector) {
         super(serviceType, url, new String[]{INTERFACE_KEY, GROUP_KEY, TOKEN_KEY});
         this.clients = clients;
         // get version.
         this.version = url.getParameter(VERSION_KEY, "0.0.0");
         this.invokers = invokers;
+        this.minConnections = clients.length;
+        this.maxConnections = Math.max(clients.length, url.getParameter(MAX_CONNECTIONS_KEY, clients.length));
+        this.connector = maxConnections > minConnections ? connector : null;
+        this.growThreshold = url.getPositiveParameter(CONNECTIONS_GROW_THRESHOLD_KEY, DEFAULT_CONNECTIONS_GROW_THRESHOLD);
+        this.adjustInterval = url.getPositiveParameter(CONNECTIONS_ADJUST_INTERVAL_KEY, DEFAULT_CONNECTIONS_ADJUST_INTERVAL);
     }
 
     @Override
@@ -86,12 +152,7 @@ public class DubboInvoker<T> extends AbstractInvoker<T> {
         inv.setAttachment(PATH_KEY, getUrl().getPath());
         inv.setAttachment(VERSION_KEY, version);
 
-        ExchangeClient currentClient;
-        if (clients.length == 1) {
-            currentClient = clients[0];
-        } else {
-            currentClient = clients[index.getAndIncrement() % clients.length];
-        }
+        ExchangeClient currentClient = selectClient();
         try {
             boolean isOneway = RpcUtils.isOneway(getUrl(), invocation);
             int timeout = calculateTimeout(invocation, methodName);
@@ -162,6 +223,157 @@ public class DubboInvoker<T> extends AbstractInvoker<T> {
         }
     }
 
+    /**
+     * Pick the connection with the fewest requests in flight, preferring writable and connected ones. The scan starts
+     * at a rotating offset, so that equally loaded connections are still used in turn.
+     */
+    private ExchangeClient selectClient() {
+        ExchangeClient[] current = clients;
+        if (connector != null) {
+            adjustConnections(current);
+        }
+        if (current.length == 1) {
+            return current[0];
+        }
+        int start = index.getAndIncrement() % current.length;
+        ExchangeClient selected = null;
+        long selectedLoad = Long.MAX_VALUE;
+        for (int i = 0; i < current.length; i++) {
+            ExchangeClient client = current[(start + i) % current.length];
+            long load = loadOf(client);
+            if (load < selectedLoad) {
+                selected = client;
+                selectedLoad = load;
+                if (load == 0) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static long loadOf(ExchangeClient client) {
+        long load = DefaultFuture.getFutureCount(client);
+        if (client.hasAttribute(Constants.CHANNEL_ATTRIBUTE_UNWRITABLE_KEY)) {
+            load += UNWRITABLE_PENALTY;
+        }
+        if (!client.isConnected()) {
+            load += DISCONNECTED_PENALTY;
+        }
+        return load;
+    }
+
+    /**
+     * Sample the requests in flight once per adjust interval, and open or close a connection in the background once
+     * the average per connection stayed above the grow threshold, or below a quarter of it, for several samples.
+     */
+    private void adjustConnections(ExchangeClient[] current) {
+        long now = System.currentTimeMillis();
+        long due = nextAdjustTime.get();
+        if (now < due || !nextAdjustTime.compareAndSet(due, now + adjustInterval)) {
+            return;
+        }
+        long inFlight = 0;
+        for (ExchangeClient client : current) {
+            inFlight += DefaultFuture.getFutureCount(client);
+        }
+        long perConnection = inFlight / current.length;
+        if (perConnection >= growThreshold) {
+            highSamples++;
+            lowSamples = 0;
+        } else if (perConnection < growThreshold / 4) {
+            lowSamples++;
+            highSamples = 0;
+        } else {
+            highSamples = 0;
+            lowSamples = 0;
+        }
+        if (highSamples >= SUSTAINED_SAMPLES && current.length < maxConnections && adjusting.compareAndSet(false, true)) {
+            highSamples = 0;
+            getSharedExecutor().execute(this::addClient);
+        } else if (lowSamples >= SUSTAINED_SAMPLES && current.length > minConnections && adjusting.compareAndSet(false, true)) {
+            lowSamples = 0;
+            getSharedExecutor().execute(this::removeClient);
+        }
+    }
+
+    private void addClient() {
+        try {
+            ExchangeClient client = connector.get();
+            destroyLock.lock();
+            try {
+                if (!isDestroyed()) {
+                    ExchangeClient[] current = clients;
+                    ExchangeClient[] grown = Arrays.copyOf(current, current.length + 1);
+                    grown[current.length] = client;
+                    clients = grown;
+                    return;
+                }
+            } finally {
+                destroyLock.unlock();
+            }
+            client.close();
+        } catch (Throwable t) {
+            logger.warn("Failed to open an extra connection to " + getUrl().getAddress() + ", cause: " + t.getMessage(), t);
+        } finally {
+            adjusting.set(false);
+        }
+    }
+
+    private void removeClient() {
+        try {
+            ExchangeClient removed;
+            destroyLock.lock();
+            try {
+                ExchangeClient[] current = clients;
+                if (isDestroyed() || current.length <= minConnections) {
+                    adjusting.set(false);
+                    return;
+                }
+                removed = current[current.length - 1];
+                clients = Arrays.copyOf(current, current.length - 1);
+            } finally {
+                destroyLock.unlock();
+            }
+            // callers that read the connections just before may still be sending on the removed one, give them an
+            // adjust interval to do so, then wait for the requests still in flight before closing it
+            long deadline = System.currentTimeMillis() + adjustInterval + ConfigurationUtils.getServerShutdownTimeout();
+            CLOSE_TIMER.newTimeout(timeout -> closeWhenIdle(removed, deadline), adjustInterval, TimeUnit.MILLISECONDS);
+        } catch (Throwable t) {
+            logger.warn(t.getMessage(), t);
+            adjusting.set(false);
+        }
+    }
+
+    /**
+     * Runs on the timer thread, which only checks the removed connection and leaves closing it to the shared executor
+     */
+    private void closeWhenIdle(ExchangeClient removed, long deadline) {
+        try {
+            if (DefaultFuture.getFutureCount(removed) > 0 && System.currentTimeMillis() < deadline) {
+                CLOSE_TIMER.newTimeout(timeout -> closeWhenIdle(removed, deadline), CLOSE_CHECK_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+                return;
+            }
+            getSharedExecutor().execute(() -> {
+                try {
+                    removed.close();
+                } catch (Throwable t) {
+                    logger.warn(t.getMessage(), t);
+                } finally {
+                    adjusting.set(false);
+                }
+            });
+        } catch (Throwable t) {
+            logger.warn(t.getMessage(), t);
+            adjusting.set(false);
+        }
+    }
+
+    private static ExecutorService getSharedExecutor() {
+        return ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension().getSharedExecutor();
+    }
+
     private int calculateTimeout(Invocation invocation, String methodName) {
         Object countdown = RpcContext.getContext().get(TIME_COUNTDOWN_KEY);
         int timeout = DEFAULT_TIMEOUT;
@@ -47,6 +47,7 @@ import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.RpcInvocation;
 import org.apache.dubbo.rpc.protocol.AbstractProtocol;
+import org.apache.dubbo.rpc.protocol.dubbo.bulkhead.Bulkheads;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -300,6 +301,7 @@ public class DubboProtocol extends AbstractProtocol {
             }
         }
 
+        Bulkheads.create(url);
         openServer(url);
         optimizeSerialization(url);
 
@@ -400,8 +402,10 @@ public class DubboProtocol extends AbstractProtocol {
     public <T> Invoker<T> protocolBindingRefer(Class<T> serviceType, URL url) throws RpcException {
         optimizeSerialization(url);
 
-        // create rpc invoker.
-        DubboInvoker<T> invoker = new DubboInvoker<T>(serviceType, url, getClients(url), invokers);
+        // create rpc invoker, only exclusive connections may grow beyond the configured number
+        boolean exclusive = url.getParameter(CONNECTIONS_KEY, 0) > 0;
+        DubboInvoker<T> invoker = new DubboInvoker<T>(serviceType, url, getClients(url), invokers,
+                exclusive ? () -> initClient(url) : null);
         invokers.add(invoker);
 
         return invoker;
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol.dubbo.bulkhead;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
+import org.apache.dubbo.remoting.ChannelHandler;
+import org.apache.dubbo.remoting.Decodeable;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.transport.dispatcher.all.AllChannelHandler;
+import org.apache.dubbo.rpc.Invocation;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.dubbo.common.constants.CommonConstants.GROUP_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+
+/**
+ * Picks the bulkhead of the requested method, then of the requested service, and falls back to the executor of
+ * the port. The service and method are only known once the invocation is decoded, so on a port with bulkheads
+ * requests are decoded on the IO thread.
+ */
+public class BulkheadChannelHandler extends AllChannelHandler {
+
+    private final ExecutorRepository executorRepository =
+            ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension();
+
+    public BulkheadChannelHandler(ChannelHandler handler, URL url) {
+        super(handler, url);
+    }
+
+    @Override
+    public ExecutorService getPreferredExecutorService(Object msg) {
+        if (msg instanceof Request) {
+            Map<String, ExecutorService> bulkheads = executorRepository.getBulkheadExecutors(url);
+            if (!bulkheads.isEmpty()) {
+                ExecutorService executor = getBulkhead(bulkheads, ((Request) msg).getData());
+                if (executor != null && !executor.isShutdown()) {
+                    return executor;
+                }
+            }
+        }
+        return super.getPreferredExecutorService(msg);
+    }
+
+    private ExecutorService getBulkhead(Map<String, ExecutorService> bulkheads, Object data) {
+        if (data instanceof Decodeable) {
+            try {
+                ((Decodeable) data).decode();
+            } catch (Throwable e) {
+                // let the decode handler report it
+                return null;
+            }
+        }
+        if (!(data instanceof Invocation)) {
+            return null;
+        }
+        Invocation inv = (Invocation) data;
+        String service = Bulkheads.serviceName(url.getPort(), (String) inv.getObjectAttachment(PATH_KEY),
+                (String) inv.getObjectAttachment(VERSION_KEY), (String) inv.getObjectAttachment(GROUP_KEY));
+        ExecutorService executor = bulkheads.get(Bulkheads.methodName(service, inv.getMethodName()));
+        return executor != null ? executor : bulkheads.get(service);
+    }
+}
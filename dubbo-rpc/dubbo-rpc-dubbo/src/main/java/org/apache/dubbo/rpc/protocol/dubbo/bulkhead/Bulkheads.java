@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol.dubbo.bulkhead;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
+import org.apache.dubbo.rpc.support.ProtocolUtils;
+
+import java.util.Map;
+
+import static org.apache.dubbo.common.constants.CommonConstants.CORE_THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.QUEUES_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+import static org.apache.dubbo.remoting.Constants.DISPATCHER_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.BULKHEAD_QUEUES_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.BULKHEAD_THREADS_KEY;
+import static org.apache.dubbo.rpc.protocol.dubbo.Constants.DEFAULT_BULKHEAD_QUEUES;
+
+/**
+ * Creates and destroys the bulkheads declared by an exported service: one for the service when it has
+ * <code>bulkhead.threads</code>, one per method with <code>&lt;method&gt;.bulkhead.threads</code>. Queues default to
+ * <code>bulkhead.queues</code> of the service, then to 0.
+ */
+public final class Bulkheads {
+
+    private static final Logger logger = LoggerFactory.getLogger(Bulkheads.class);
+
+    private static final String THREAD_NAME_PREFIX = "DubboBulkhead-";
+
+    private Bulkheads() {
+    }
+
+    public static void create(URL url) {
+        if (!hasBulkhead(url)) {
+            return;
+        }
+        if (!BulkheadDispatcher.NAME.equals(url.getParameter(DISPATCHER_KEY))) {
+            logger.warn("Bulkheads of " + url.getServiceKey() + " are ignored, they take effect only with "
+                    + DISPATCHER_KEY + "=\"" + BulkheadDispatcher.NAME + "\" on the protocol.");
+            return;
+        }
+        ExecutorRepository repository = getExecutorRepository();
+        String service = serviceName(url);
+        int queues = url.getParameter(BULKHEAD_QUEUES_KEY, DEFAULT_BULKHEAD_QUEUES);
+        int threads = url.getParameter(BULKHEAD_THREADS_KEY, 0);
+        if (threads > 0) {
+            repository.createBulkheadExecutorIfAbsent(executorUrl(url, service, threads, queues), service);
+        }
+        for (Map.Entry<String, Map<String, String>> entry : url.getMethodParameters().entrySet()) {
+            threads = parseInt(entry.getValue().get(BULKHEAD_THREADS_KEY), 0);
+            if (threads > 0) {
+                String method = methodName(service, entry.getKey());
+                int methodQueues = parseInt(entry.getValue().get(BULKHEAD_QUEUES_KEY), queues);
+                repository.createBulkheadExecutorIfAbsent(executorUrl(url, method, threads, methodQueues), method);
+            }
+        }
+    }
+
+    public static void destroy(URL url) {
+        if (!hasBulkhead(url)) {
+            return;
+        }
+        ExecutorRepository repository = getExecutorRepository();
+        String service = serviceName(url);
+        repository.destroyBulkheadExecutor(url, service);
+        for (String method : url.getMethodParameters().keySet()) {
+            repository.destroyBulkheadExecutor(url, methodName(service, method));
+        }
+    }
+
+    static String serviceName(URL url) {
+        return ProtocolUtils.serviceKey(url);
+    }
+
+    static String serviceName(int port, String path, String version, String group) {
+        return ProtocolUtils.serviceKey(port, path, version, group);
+    }
+
+    static String methodName(String service, String method) {
+        return service + "#" + method;
+    }
+
+    private static boolean hasBulkhead(URL url) {
+        if (url.getParameter(BULKHEAD_THREADS_KEY, 0) > 0) {
+            return true;
+        }
+        for (Map<String, String> parameters : url.getMethodParameters().values()) {
+            if (parameters.containsKey(BULKHEAD_THREADS_KEY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static URL executorUrl(URL url, String name, int threads, int queues) {
+        return url.removeParameter(CORE_THREADS_KEY)
+                .addParameter(THREADS_KEY, threads)
+                .addParameter(QUEUES_KEY, queues)
+                .addParameter(THREAD_NAME_KEY, THREAD_NAME_PREFIX + name);
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid " + BULKHEAD_THREADS_KEY + " or " + BULKHEAD_QUEUES_KEY + " value: " + value);
+            return defaultValue;
+        }
+    }
+
+    private static ExecutorRepository getExecutorRepository() {
+        return ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension();
+    }
+}
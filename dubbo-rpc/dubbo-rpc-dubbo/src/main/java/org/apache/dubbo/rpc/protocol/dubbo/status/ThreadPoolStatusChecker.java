@@ -22,6 +22,10 @@ import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.common.status.Status;
 import org.apache.dubbo.common.status.StatusChecker;
 import org.apache.dubbo.common.store.DataStore;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
+import org.apache.dubbo.common.threadpool.support.codel.CoDelTaskQueue;
+import org.apache.dubbo.common.threadpool.support.priority.PriorityTaskQueue;
+import org.apache.dubbo.remoting.transport.dispatcher.ChannelEventRunnable;
 
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -59,9 +63,53 @@ public class ThreadPoolStatusChecker implements StatusChecker {
                 msg.append("Pool status:").append(lvl).append(", max:").append(tp.getMaximumPoolSize()).append(", core:")
                         .append(tp.getCorePoolSize()).append(", largest:").append(tp.getLargestPoolSize()).append(", active:")
                         .append(tp.getActiveCount()).append(", task:").append(tp.getTaskCount()).append(", service port: ").append(port);
+                if (tp.getQueue() instanceof PriorityTaskQueue) {
+                    msg.append(", shed:").append(((PriorityTaskQueue) tp.getQueue()).getShedCounts());
+                } else if (tp.getQueue() instanceof CoDelTaskQueue) {
+                    msg.append(", dropped:").append(((CoDelTaskQueue) tp.getQueue()).getDroppedCount());
+                }
+                long expired = expiredCount(port);
+                if (expired > 0) {
+                    msg.append(", expired:").append(expired);
+                }
+            }
+        }
+
+        ExecutorRepository executorRepository = ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension();
+        for (Map.Entry<Integer, Map<String, ExecutorService>> entry : executorRepository.getAllBulkheadExecutors().entrySet()) {
+            for (Map.Entry<String, ExecutorService> bulkhead : entry.getValue().entrySet()) {
+                if (bulkhead.getValue() instanceof ThreadPoolExecutor) {
+                    ThreadPoolExecutor tp = (ThreadPoolExecutor) bulkhead.getValue();
+                    Status.Level lvl = checkBulkhead(tp);
+                    if (lvl == Status.Level.WARN) {
+                        level = Status.Level.WARN;
+                    }
+
+                    if (msg.length() > 0) {
+                        msg.append(";");
+                    }
+                    msg.append("Bulkhead ").append(bulkhead.getKey()).append(" status:").append(lvl)
+                            .append(", max:").append(tp.getMaximumPoolSize()).append(", active:").append(tp.getActiveCount())
+                            .append(", queue:").append(tp.getQueue().size()).append(", task:").append(tp.getTaskCount())
+                            .append(", service port: ").append(entry.getKey());
+                }
             }
         }
         return msg.length() == 0 ? new Status(Status.Level.UNKNOWN) : new Status(level, msg.toString());
     }
 
+    private long expiredCount(String port) {
+        try {
+            return ChannelEventRunnable.getExpiredCount(Integer.parseInt(port));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private Status.Level checkBulkhead(ThreadPoolExecutor tp) {
+        // warn once the bulkhead is queueing or about to reject
+        boolean ok = tp.getActiveCount() < tp.getMaximumPoolSize() - 1 && tp.getQueue().isEmpty();
+        return ok ? Status.Level.OK : Status.Level.WARN;
+    }
+
 }
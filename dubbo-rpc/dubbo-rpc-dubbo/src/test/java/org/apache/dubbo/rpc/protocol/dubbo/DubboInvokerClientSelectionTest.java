@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol.dubbo;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.remoting.Constants;
+import org.apache.dubbo.remoting.exchange.ExchangeClient;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.remoting.exchange.support.DefaultFuture;
+import org.apache.dubbo.rpc.RpcInvocation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DubboInvokerClientSelectionTest {
+
+    private final URL url = URL.valueOf("dubbo://127.0.0.1:20880/" + IDemoService.class.getName());
+
+    private final List<DefaultFuture> futures = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        for (DefaultFuture future : futures) {
+            future.cancel();
+        }
+    }
+
+    @Test
+    public void testSelectLeastInFlight() throws Throwable {
+        ExchangeClient busy = mockClient();
+        ExchangeClient idle = mockClient();
+        inFlight(busy, 100);
+        DubboInvoker<IDemoService> invoker = new DubboInvoker<>(IDemoService.class, url, new ExchangeClient[]{busy, idle});
+
+        for (int i = 0; i < 10; i++) {
+            invoker.doInvoke(invocation());
+        }
+        Assertions.assertEquals(100, DefaultFuture.getFutureCount(busy));
+        Assertions.assertEquals(10, DefaultFuture.getFutureCount(idle));
+    }
+
+    @Test
+    public void testSpreadEvenly() throws Throwable {
+        ExchangeClient[] clients = {mockClient(), mockClient(), mockClient()};
+        DubboInvoker<IDemoService> invoker = new DubboInvoker<>(IDemoService.class, url, clients);
+
+        for (int i = 0; i < 30; i++) {
+            invoker.doInvoke(invocation());
+        }
+        for (ExchangeClient client : clients) {
+            Assertions.assertEquals(10, DefaultFuture.getFutureCount(client));
+        }
+    }
+
+    @Test
+    public void testAvoidUnwritableAndDisconnected() throws Throwable {
+        ExchangeClient unwritable = mockClient();
+        unwritable.setAttribute(Constants.CHANNEL_ATTRIBUTE_UNWRITABLE_KEY, Boolean.TRUE);
+        ExchangeClient disconnected = mockClient();
+        when(disconnected.isConnected()).thenReturn(false);
+        ExchangeClient loaded = mockClient();
+        inFlight(loaded, 20);
+        DubboInvoker<IDemoService> invoker = new DubboInvoker<>(IDemoService.class, url,
+                new ExchangeClient[]{unwritable, disconnected, loaded});
+
+        for (int i = 0; i < 5; i++) {
+            invoker.doInvoke(invocation());
+        }
+        Assertions.assertEquals(25, DefaultFuture.getFutureCount(loaded));
+
+        unwritable.removeAttribute(Constants.CHANNEL_ATTRIBUTE_UNWRITABLE_KEY);
+        invoker.doInvoke(invocation());
+        Assertions.assertEquals(1, DefaultFuture.getFutureCount(unwritable));
+        Assertions.assertEquals(0, DefaultFuture.getFutureCount(disconnected));
+    }
+
+    @Test
+    public void testGrowAndShrinkConnections() throws Throwable {
+        URL elasticUrl = url.addParameter(org.apache.dubbo.rpc.protocol.dubbo.Constants.MAX_CONNECTIONS_KEY, 2)
+                .addParameter(org.apache.dubbo.rpc.protocol.dubbo.Constants.CONNECTIONS_GROW_THRESHOLD_KEY, 4)
+                .addParameter(org.apache.dubbo.rpc.protocol.dubbo.Constants.CONNECTIONS_ADJUST_INTERVAL_KEY, 1);
+        ExchangeClient initial = mockClient();
+        ExchangeClient extra = mockClient();
+        AtomicInteger connects = new AtomicInteger();
+        DubboInvoker<IDemoService> invoker = new DubboInvoker<>(IDemoService.class, elasticUrl,
+                new ExchangeClient[]{initial}, null, () -> {
+            connects.incrementAndGet();
+            return extra;
+        });
+
+        inFlight(initial, 8);
+        for (int i = 0; i < 200 && getClients(invoker).length < 2; i++) {
+            invoker.doInvoke(invocation());
+            Thread.sleep(2);
+        }
+        Assertions.assertEquals(2, getClients(invoker).length);
+        Assertions.assertEquals(1, connects.get());
+
+        for (DefaultFuture future : futures) {
+            future.cancel();
+        }
+        futures.clear();
+        DefaultFuture pending = DefaultFuture.newFuture(extra, new Request(), 60000, null);
+        for (int i = 0; i < 200 && getClients(invoker).length > 1; i++) {
+            invoker.doInvoke(invocation());
+            futures.get(futures.size() - 1).cancel();
+            Thread.sleep(2);
+        }
+        Assertions.assertArrayEquals(new ExchangeClient[]{initial}, getClients(invoker));
+        // the removed connection is only closed once its requests in flight are done
+        verify(extra, after(100).never()).close();
+        pending.cancel();
+        verify(extra, timeout(1000)).close();
+    }
+
+    private RpcInvocation invocation() {
+        return new RpcInvocation("sayHello", IDemoService.class.getName(), new Class<?>[]{String.class},
+                new Object[]{"world"});
+    }
+
+    private void inFlight(ExchangeClient client, int count) {
+        for (int i = 0; i < count; i++) {
+            futures.add(DefaultFuture.newFuture(client, new Request(), 60000, null));
+        }
+    }
+
+    private ExchangeClient mockClient() throws Exception {
+        ExchangeClient client = mock(ExchangeClient.class);
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        when(client.getUrl()).thenReturn(url);
+        when(client.isConnected()).thenReturn(true);
+        doAnswer(invocation -> attributes.get(invocation.<String>getArgument(0))).when(client).getAttribute(anyString());
+        doAnswer(invocation -> attributes.containsKey(invocation.<String>getArgument(0))).when(client).hasAttribute(anyString());
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(client).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0))).when(client).removeAttribute(anyString());
+        doAnswer(invocation -> {
+            DefaultFuture future = DefaultFuture.newFuture(client, new Request(), 60000, null);
+            futures.add(future);
+            return future;
+        }).when(client).request(any(), anyInt(), any());
+        return client;
+    }
+
+    private ExchangeClient[] getClients(DubboInvoker<?> invoker) throws Exception {
+        Field field = DubboInvoker.class.getDeclaredField("clients");
+        field.setAccessible(true);
+        return (ExchangeClient[]) field.get(invoker);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol.dubbo.bulkhead;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
+import org.apache.dubbo.remoting.ChannelHandler;
+import org.apache.dubbo.remoting.exchange.Request;
+import org.apache.dubbo.rpc.RpcInvocation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.apache.dubbo.common.constants.CommonConstants.GROUP_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.PATH_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+import static org.mockito.Mockito.mock;
+
+public class BulkheadChannelHandlerTest {
+
+    private static final String SERVICE = "org.apache.dubbo.rpc.protocol.dubbo.support.DemoService";
+
+    private final ExecutorRepository repository =
+            ExtensionLoader.getExtensionLoader(ExecutorRepository.class).getDefaultExtension();
+
+    private URL url;
+
+    @BeforeEach
+    public void setUp() {
+        url = URL.valueOf("dubbo://127.0.0.1:20995/" + SERVICE + "?interface=" + SERVICE
+                + "&dispatcher=bulkhead&group=g&version=1.0.0&methods=sayHello,echo,getSize"
+                + "&bulkhead.threads=4&bulkhead.queues=2&echo.bulkhead.threads=1");
+        Bulkheads.create(url);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Bulkheads.destroy(url);
+    }
+
+    @Test
+    public void testCreate() {
+        Map<String, ExecutorService> bulkheads = repository.getBulkheadExecutors(url);
+        Assertions.assertEquals(2, bulkheads.size());
+
+        ThreadPoolExecutor service = (ThreadPoolExecutor) bulkheads.get(Bulkheads.serviceName(url));
+        Assertions.assertEquals(4, service.getMaximumPoolSize());
+        Assertions.assertEquals(2, service.getQueue().remainingCapacity());
+
+        ThreadPoolExecutor echo = (ThreadPoolExecutor) bulkheads.get(Bulkheads.methodName(Bulkheads.serviceName(url), "echo"));
+        Assertions.assertEquals(1, echo.getMaximumPoolSize());
+        // queues fall back to the service setting
+        Assertions.assertEquals(2, echo.getQueue().remainingCapacity());
+    }
+
+    @Test
+    public void testIgnoredWithoutBulkheadDispatcher() {
+        URL other = url.setPort(20996).removeParameter("dispatcher");
+        Bulkheads.create(other);
+        Assertions.assertTrue(repository.getBulkheadExecutors(other).isEmpty());
+    }
+
+    @Test
+    public void testDestroy() {
+        ExecutorService service = repository.getBulkheadExecutors(url).get(Bulkheads.serviceName(url));
+        Bulkheads.destroy(url);
+        Assertions.assertTrue(repository.getBulkheadExecutors(url).isEmpty());
+        Assertions.assertTrue(service.isShutdown());
+    }
+
+    @Test
+    public void testPreferredExecutor() {
+        BulkheadChannelHandler handler = new BulkheadChannelHandler(mock(ChannelHandler.class), url);
+        Map<String, ExecutorService> bulkheads = repository.getBulkheadExecutors(url);
+        String service = Bulkheads.serviceName(url);
+
+        Assertions.assertSame(bulkheads.get(Bulkheads.methodName(service, "echo")),
+                handler.getPreferredExecutorService(request("echo", SERVICE, "1.0.0", "g")));
+        Assertions.assertSame(bulkheads.get(service),
+                handler.getPreferredExecutorService(request("sayHello", SERVICE, "1.0.0", "g")));
+
+        // another version of the service has no bulkhead
+        ExecutorService shared = handler.getPreferredExecutorService(request("sayHello", SERVICE, "2.0.0", "g"));
+        Assertions.assertFalse(bulkheads.containsValue(shared));
+        Assertions.assertSame(shared, handler.getSharedExecutorService());
+    }
+
+    private Request request(String method, String path, String version, String group) {
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setMethodName(method);
+        invocation.setAttachment(PATH_KEY, path);
+        invocation.setAttachment(VERSION_KEY, version);
+        invocation.setAttachment(GROUP_KEY, group);
+        Request request = new Request();
+        request.setData(invocation);
+        return request;
+    }
+}